@@ -14,6 +14,8 @@ java {
 }
 
 dependencies {
+    implementation("com.github.luben:zstd-jni:1.5.6-3")
+    implementation("org.tukaani:xz:1.10")
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
     testImplementation("junit:junit:4.13.2")  // JUnit 4 dependency
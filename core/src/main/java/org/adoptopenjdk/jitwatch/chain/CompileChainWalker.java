@@ -16,6 +16,7 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_CALL;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_DEPENDENCY;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_DIRECT_CALL;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_INLINE_FAIL;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_INLINE_ID;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_INLINE_SUCCESS;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_KLASS;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_METHOD;
@@ -42,6 +43,7 @@ import org.adoptopenjdk.jitwatch.model.IParseDictionary;
 import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
 import org.adoptopenjdk.jitwatch.model.LogParseException;
 import org.adoptopenjdk.jitwatch.model.Tag;
+import org.adoptopenjdk.jitwatch.util.StringUtil;
 import org.adoptopenjdk.jitwatch.util.TooltipUtil;
 import org.adoptopenjdk.jitwatch.logger.Logger;
 import org.adoptopenjdk.jitwatch.logger.LoggerFactory;
@@ -74,6 +76,7 @@ public class CompileChainWalker extends AbstractCompilationVisitable
 		ignoreTags.add(TAG_HOT_THROW);
 		ignoreTags.add(TAG_CAST_UP);
 		ignoreTags.add(TAG_HOT_THROW);
+		ignoreTags.add(TAG_INLINE_ID);
 	}
 
 	public CompileNode buildCallTree(Compilation compilation)
@@ -206,6 +209,7 @@ public class CompileChainWalker extends AbstractCompilationVisitable
 		
 		childNode.setInlined(inlined);
 		childNode.setVirtualCall(virtualCall);
+		childNode.setReason(reason == null ? null : StringUtil.replaceXMLEntities(reason));
 		childNode.setTooltipText(tooltip);
 		
 		return childNode;
@@ -22,6 +22,8 @@ public class CompileNode
 	
 	private boolean virtualCall = false;
 	
+	private String reason;
+
 	private String tooltip;
 	
 	private List<CompileNode> children;
@@ -83,6 +85,17 @@ public class CompileNode
 		this.virtualCall = virtualCall;
 	}
 
+	// the compiler's reason for the inlining decision, null if it gave none
+	public String getReason()
+	{
+		return reason;
+	}
+
+	public void setReason(String reason)
+	{
+		this.reason = reason;
+	}
+
 	public boolean isCompiled()
 	{
 		boolean result = false;
@@ -160,6 +173,18 @@ public class CompileNode
 		return ParseUtil.getMethodName(methodID, root.parseDictionary);
 	}
 
+	// holder class and method name without resolving the member in the model
+	public String getQualifiedMemberName()
+	{
+		CompileNode root = getRoot();
+
+		String className = ParseUtil.lookupMetaClassName(methodID, root.parseDictionary);
+
+		String memberName = ParseUtil.getMethodName(methodID, root.parseDictionary);
+
+		return className != null ? className + C_DOT + memberName : memberName;
+	}
+
 	private void show(CompileNode node, StringBuilder builder, int depth)
 	{
 		if (depth >= 0)
@@ -9,6 +9,7 @@ import org.adoptopenjdk.jitwatch.compilation.AbstractCompilationWalker;
 import org.adoptopenjdk.jitwatch.model.CodeCacheEvent;
 import org.adoptopenjdk.jitwatch.model.CodeCacheEvent.CodeCacheEventType;
 import org.adoptopenjdk.jitwatch.model.Compilation;
+import org.adoptopenjdk.jitwatch.model.CompilationTable;
 import org.adoptopenjdk.jitwatch.model.IMetaMember;
 import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
 import org.adoptopenjdk.jitwatch.logger.Logger;
@@ -31,6 +32,25 @@ public class CodeCacheEventWalker extends AbstractCompilationWalker
 		result.reset();
 	}
 
+	// scans the compilation table instead of walking the member tree
+	@Override
+	public void walkCompilations()
+	{
+		reset();
+
+		CompilationTable table = model.getCompilationTable();
+
+		for (int row = 0; row < table.size(); row++)
+		{
+			if (table.hasMemberFlag(table.getMemberIndex(row), CompilationTable.MEMBER_FLAG_COMPILED)
+					&& !table.hasFlag(row, CompilationTable.FLAG_FAILED))
+			{
+				addCompilationEvent(table.getCompilation(row), table.getStampTaskCompilationStart(row),
+						table.getNativeSize(row));
+			}
+		}
+	}
+
 	@Override
 	public void visit(IMetaMember metaMember)
 	{
@@ -43,42 +63,42 @@ public class CodeCacheEventWalker extends AbstractCompilationWalker
 					continue;
 				}
 
-				String address = compilation.getNativeAddress(); // hex string
+				addCompilationEvent(compilation, compilation.getStampTaskCompilationStart(), compilation.getNativeSize());
+			}
+		}
+	}
+
+	// intrinsic has no size info
+	private void addCompilationEvent(Compilation compilation, long stamp, int nativeCodeSize)
+	{
+		String address = compilation.getNativeAddress(); // hex string
+
+		if (address != null)
+		{
+			long addressLong = 0;
 
-				if (address != null)
+			try
+			{
+				if (address.startsWith("0x"))
 				{
-					long addressLong = 0;
-
-					long stamp = compilation.getStampTaskCompilationStart();
-
-					try
-					{
-						if (address.startsWith("0x"))
-						{
-							addressLong = Long.decode(address);
-						}
-						else
-						{
-							addressLong = Long.parseLong(address, 16);
-						}
-					}
-					catch (NumberFormatException exception)
-					{
-
-						logger.error("Couldn't decode address {} on compilation {}", address, compilation);
-						continue; // don't allow a zero address
-					}
-
-					// intrinsic has no size info
-					int nativeCodeSize = compilation.getNativeSize();
-
-					CodeCacheEvent event = new CodeCacheEvent(CodeCacheEventType.COMPILATION, stamp, nativeCodeSize, 0);
-					event.setNativeAddress(addressLong);
-					event.setCompilation(compilation);
-
-					result.addEvent(event);
+					addressLong = Long.decode(address);
 				}
+				else
+				{
+					addressLong = Long.parseLong(address, 16);
+				}
+			}
+			catch (NumberFormatException exception)
+			{
+				logger.error("Couldn't decode address {} on compilation {}", address, compilation);
+				return; // don't allow a zero address
 			}
+
+			CodeCacheEvent event = new CodeCacheEvent(CodeCacheEventType.COMPILATION, stamp, nativeCodeSize, 0);
+			event.setNativeAddress(addressLong);
+			event.setCompilation(compilation);
+
+			result.addEvent(event);
 		}
 	}
 
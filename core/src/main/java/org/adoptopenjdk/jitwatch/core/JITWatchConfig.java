@@ -71,6 +71,8 @@ public class JITWatchConfig
 	private static final String KEY_TRIVIEW_TRILINK_MOUSE_FOLLOW = "triview.mouse_follow";
 	private static final String KEY_TRIVIEW_LOCAL_ASM_LABELS = "triview.local_asm_labels";
 
+	private static final String KEY_MODEL_BUDGET = "ModelBudgetMB";
+
 	private static final String SANDBOX_PREFIX = "sandbox";
 	private static final String KEY_SANDBOX_INTEL_MODE = SANDBOX_PREFIX + ".intel.mode";
 	private static final String KEY_SANDBOX_TIERED_MODE = SANDBOX_PREFIX + ".tiered.mode";
@@ -104,6 +106,9 @@ public class JITWatchConfig
 	private boolean mouseFollow = false;
 	private boolean localAsmLabels = false;
 
+	// 0 sizes the budget from the maximum heap
+	private int modelBudgetMB = 0;
+
 	private TieredCompilation tieredCompilationMode;
 	private CompressedOops compressedOopsMode;
 	private BackgroundCompilation backgroundCompilationMode;
@@ -342,6 +347,8 @@ public class JITWatchConfig
 		mouseFollow = loadBooleanFromProperty(loadedProps, KEY_TRIVIEW_TRILINK_MOUSE_FOLLOW, false);
 		localAsmLabels = loadBooleanFromProperty(loadedProps, KEY_TRIVIEW_LOCAL_ASM_LABELS, true);
 
+		modelBudgetMB = loadIntFromProperty(loadedProps, KEY_MODEL_BUDGET, 0);
+
 		loadTieredMode();
 
 		loadCompressedOopsMode();
@@ -602,6 +609,7 @@ public class JITWatchConfig
 		putProperty(loadedProps, KEY_SANDBOX_INTEL_MODE, Boolean.toString(intelMode));
 		putProperty(loadedProps, KEY_TRIVIEW_TRILINK_MOUSE_FOLLOW, Boolean.toString(mouseFollow));
 		putProperty(loadedProps, KEY_TRIVIEW_LOCAL_ASM_LABELS, Boolean.toString(localAsmLabels));
+		putProperty(loadedProps, KEY_MODEL_BUDGET, Integer.toString(modelBudgetMB));
 
 		saveTieredCompilationMode();
 
@@ -959,6 +967,33 @@ public class JITWatchConfig
 		this.localAsmLabels = localAsmLabels;
 	}
 
+	public int getModelBudgetMB()
+	{
+		return modelBudgetMB;
+	}
+
+	public void setModelBudgetMB(int modelBudgetMB)
+	{
+		this.modelBudgetMB = modelBudgetMB;
+	}
+
+	// the model may use half the heap unless a budget is configured
+	public long getModelBudgetBytes()
+	{
+		long result;
+
+		if (modelBudgetMB > 0)
+		{
+			result = modelBudgetMB * 1024L * 1024L;
+		}
+		else
+		{
+			result = Runtime.getRuntime().maxMemory() / 2;
+		}
+
+		return result;
+	}
+
 	public boolean isNoPromptHsdis()
 	{
 		return noPromptHsdis;
@@ -98,6 +98,7 @@ public final class JITWatchConstants
 	public static final String TAG_INTRINSIC = "intrinsic";
 	public static final String TAG_INLINE_FAIL = "inline_fail";
 	public static final String TAG_INLINE_SUCCESS = "inline_success";
+	public static final String TAG_INLINE_ID = "inline_id";
 	public static final String TAG_BRANCH = "branch";
 	public static final String TAG_WRITER = "writer";
 	public static final String TAG_VM_ARGUMENTS = "vm_arguments";
@@ -135,6 +136,7 @@ public final class JITWatchConstants
 	public static final String ATTR_METHOD = METHOD;
 	public static final String ATTR_KLASS = "klass";
 	public static final String ATTR_THREAD = "thread";
+	public static final String ATTR_PROCESS = "process";
 	public static final String ATTR_COMPILE_ID = "compile_id";
 	public static final String ATTR_COMPILE_KIND = "compile_kind";
 	public static final String ATTR_STAMP = "stamp";
@@ -193,7 +193,11 @@ public class TagProcessor
 
 		if (JITWatchConstants.TAG_TASK.equals(name))
 		{
-			nextTag = new Task(attributeString, selfClosing);
+			Task task = new Task(attributeString, selfClosing);
+
+			task.setParsedFromLog(true);
+
+			nextTag = task;
 		}
 		else
 		{
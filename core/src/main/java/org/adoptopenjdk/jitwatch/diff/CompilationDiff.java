@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.diff;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+import org.adoptopenjdk.jitwatch.diff.DiffChange.ChangeType;
+
+// A compilation of the base log against the matching one of the changed log. Either side
+// is null when only one log has it.
+public final class CompilationDiff
+{
+	private final String matchKey;
+
+	private final CompilationSnapshot base;
+	private final CompilationSnapshot changed;
+
+	private final List<DiffChange> changes = new ArrayList<>();
+
+	public CompilationDiff(String matchKey, CompilationSnapshot base, CompilationSnapshot changed)
+	{
+		this.matchKey = matchKey;
+		this.base = base;
+		this.changed = changed;
+
+		if (base != null && changed != null)
+		{
+			compare();
+		}
+	}
+
+	private void compare()
+	{
+		if (!Objects.equals(base.getFailureReason(), changed.getFailureReason()))
+		{
+			changes.add(new DiffChange(ChangeType.FAILURE, matchKey, base.getFailureReason(), changed.getFailureReason()));
+		}
+
+		if (base.getNativeSize() != changed.getNativeSize())
+		{
+			changes.add(new DiffChange(ChangeType.NATIVE_SIZE, matchKey, Integer.toString(base.getNativeSize()), Integer
+					.toString(changed.getNativeSize())));
+		}
+
+		if (base.getCompileTime() != changed.getCompileTime())
+		{
+			changes.add(new DiffChange(ChangeType.COMPILE_TIME, matchKey, Long.toString(base.getCompileTime()), Long
+					.toString(changed.getCompileTime())));
+		}
+
+		compareMaps(ChangeType.INLINE, base.getInlineDecisions(), changed.getInlineDecisions());
+		compareMaps(ChangeType.INTRINSIC, base.getIntrinsics(), changed.getIntrinsics());
+		compareMaps(ChangeType.UNCOMMON_TRAP, base.getUncommonTraps(), changed.getUncommonTraps());
+	}
+
+	private void compareMaps(ChangeType type, Map<String, ?> before, Map<String, ?> after)
+	{
+		TreeSet<String> keys = new TreeSet<>(before.keySet());
+		keys.addAll(after.keySet());
+
+		for (String key : keys)
+		{
+			Object valueBefore = before.get(key);
+			Object valueAfter = after.get(key);
+
+			if (!Objects.equals(valueBefore, valueAfter))
+			{
+				changes.add(new DiffChange(type, key, Objects.toString(valueBefore, null), Objects.toString(valueAfter, null)));
+			}
+		}
+	}
+
+	public String getMatchKey()
+	{
+		return matchKey;
+	}
+
+	public CompilationSnapshot getBase()
+	{
+		return base;
+	}
+
+	public CompilationSnapshot getChanged()
+	{
+		return changed;
+	}
+
+	public boolean isAdded()
+	{
+		return base == null;
+	}
+
+	public boolean isRemoved()
+	{
+		return changed == null;
+	}
+
+	public int getNativeSizeDelta()
+	{
+		return (changed != null ? changed.getNativeSize() : 0) - (base != null ? base.getNativeSize() : 0);
+	}
+
+	public long getCompileTimeDelta()
+	{
+		return (changed != null ? changed.getCompileTime() : 0) - (base != null ? base.getCompileTime() : 0);
+	}
+
+	// compile times vary from run to run so they are reported with other changes but are not one
+	public boolean hasChanges()
+	{
+		boolean result = base == null || changed == null;
+
+		for (DiffChange change : changes)
+		{
+			if (change.getType() != ChangeType.COMPILE_TIME)
+			{
+				result = true;
+				break;
+			}
+		}
+
+		return result;
+	}
+
+	public List<DiffChange> getChanges()
+	{
+		return Collections.unmodifiableList(changes);
+	}
+}
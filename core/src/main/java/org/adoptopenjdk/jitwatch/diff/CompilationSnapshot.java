@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.diff;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_ACTION;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_ID;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_NAME;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_REASON;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_PARSE_HIR;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_INTRINSIC;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_PARSE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_PHASE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_UNCOMMON_TRAP;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.adoptopenjdk.jitwatch.chain.CompileChainWalker;
+import org.adoptopenjdk.jitwatch.chain.CompileNode;
+import org.adoptopenjdk.jitwatch.compilation.CompilationUtil;
+import org.adoptopenjdk.jitwatch.logger.Logger;
+import org.adoptopenjdk.jitwatch.logger.LoggerFactory;
+import org.adoptopenjdk.jitwatch.model.Compilation;
+import org.adoptopenjdk.jitwatch.model.CompilationSummary;
+import org.adoptopenjdk.jitwatch.model.LogParseException;
+import org.adoptopenjdk.jitwatch.model.Tag;
+
+// What a diff needs of one compilation, kept without its tags so a model can be dropped
+// once its snapshot is taken
+public final class CompilationSnapshot
+{
+	private static final Logger logger = LoggerFactory.getLogger(CompilationSnapshot.class);
+
+	public static final String DECISION_INLINED = "inlined";
+	public static final String DECISION_VIRTUAL_CALL = "virtual call";
+	public static final String DECISION_NOT_INLINED = "not inlined";
+
+	private static final String PATH_SEPARATOR = " > ";
+	private static final String OCCURRENCE_SEPARATOR = " #";
+
+	// a virtual call the compiler did not name
+	private static final String UNKNOWN_CALLEE = "<unknown>";
+
+	private final int level;
+	private final int osrBCI;
+	private final String compiler;
+	private final int nativeSize;
+	private final long compileTime;
+	private final String failureReason;
+
+	// call path from the compiled method to the decision made there
+	private final Map<String, String> inlineDecisions;
+	private final Map<String, Integer> intrinsics;
+	private final Map<String, Integer> uncommonTraps;
+
+	private CompilationSnapshot(CompilationSummary summary, Map<String, String> inlineDecisions,
+			Map<String, Integer> intrinsics, Map<String, Integer> uncommonTraps)
+	{
+		this.level = summary.getLevel();
+		this.osrBCI = summary.isOSR() ? summary.getOSRBCI() : -1;
+		this.compiler = summary.getCompiler();
+		this.nativeSize = summary.getNativeSize();
+		this.compileTime = summary.isC2N() ? 0 : summary.getCompilationDuration();
+		this.failureReason = summary.isFailed() ? summary.getFailureReason() : null;
+		this.inlineDecisions = inlineDecisions;
+		this.intrinsics = intrinsics;
+		this.uncommonTraps = uncommonTraps;
+	}
+
+	public static CompilationSnapshot of(Compilation compilation, CompileChainWalker walker)
+	{
+		Map<String, String> inlineDecisions = new TreeMap<>();
+		Map<String, Integer> intrinsics = new TreeMap<>();
+		Map<String, Integer> uncommonTraps = new TreeMap<>();
+
+		if (compilation.getTagTask() != null)
+		{
+			CompileNode root = walker.buildCallTree(compilation);
+
+			if (root != null)
+			{
+				addInlineDecisions(root, null, inlineDecisions);
+			}
+
+			try
+			{
+				CompilationUtil.visitParseTagsOfCompilation(compilation, (parseTag, parseDictionary) -> addParseFeatures(
+						parseTag, intrinsics, uncommonTraps));
+			}
+			catch (LogParseException e)
+			{
+				logger.warn("Could not read intrinsics and traps of {}", compilation, e);
+			}
+		}
+
+		return new CompilationSnapshot(compilation.getSummary(), inlineDecisions, intrinsics, uncommonTraps);
+	}
+
+	private static void addInlineDecisions(CompileNode node, String path, Map<String, String> decisions)
+	{
+		Map<String, Integer> occurrences = new HashMap<>();
+
+		for (CompileNode child : node.getChildren())
+		{
+			String name = child.getMethodID() != null ? child.getQualifiedMemberName() : UNKNOWN_CALLEE;
+
+			int occurrence = occurrences.merge(name, 1, Integer::sum);
+
+			// a callee can be called from several sites of the same caller
+			String childPath = (path == null ? name : path + PATH_SEPARATOR + name) + (occurrence > 1 ? OCCURRENCE_SEPARATOR
+					+ occurrence : "");
+
+			String decision;
+
+			if (child.isInlined())
+			{
+				decision = DECISION_INLINED;
+			}
+			else if (child.isVirtualCall())
+			{
+				decision = DECISION_VIRTUAL_CALL;
+			}
+			else
+			{
+				decision = child.getReason() != null ? child.getReason() : DECISION_NOT_INLINED;
+			}
+
+			decisions.put(childPath, decision);
+
+			addInlineDecisions(child, childPath, decisions);
+		}
+	}
+
+	private static void addParseFeatures(Tag parseTag, Map<String, Integer> intrinsics, Map<String, Integer> uncommonTraps)
+	{
+		for (Tag child : parseTag.getChildren())
+		{
+			Map<String, String> attrs = child.getAttributes();
+
+			switch (child.getName())
+			{
+			case TAG_INTRINSIC:
+				intrinsics.merge(attrs.get(ATTR_ID), 1, Integer::sum);
+				break;
+
+			case TAG_UNCOMMON_TRAP:
+				uncommonTraps.merge(attrs.get(ATTR_REASON) + "/" + attrs.get(ATTR_ACTION), 1, Integer::sum);
+				break;
+
+			case TAG_PARSE:
+				addParseFeatures(child, intrinsics, uncommonTraps);
+				break;
+
+			case TAG_PHASE:
+				if (S_PARSE_HIR.equals(attrs.get(ATTR_NAME)))
+				{
+					addParseFeatures(child, intrinsics, uncommonTraps);
+				}
+				break;
+
+			default:
+				break;
+			}
+		}
+	}
+
+	// compilations of a member are matched by tier and OSR entry
+	public String getMatchKey()
+	{
+		return "level " + level + (osrBCI >= 0 ? " OSR@" + osrBCI : "");
+	}
+
+	public int getLevel()
+	{
+		return level;
+	}
+
+	public int getOSRBCI()
+	{
+		return osrBCI;
+	}
+
+	public String getCompiler()
+	{
+		return compiler;
+	}
+
+	public int getNativeSize()
+	{
+		return nativeSize;
+	}
+
+	public long getCompileTime()
+	{
+		return compileTime;
+	}
+
+	public String getFailureReason()
+	{
+		return failureReason;
+	}
+
+	public Map<String, String> getInlineDecisions()
+	{
+		return Collections.unmodifiableMap(inlineDecisions);
+	}
+
+	public Map<String, Integer> getIntrinsics()
+	{
+		return Collections.unmodifiableMap(intrinsics);
+	}
+
+	public Map<String, Integer> getUncommonTraps()
+	{
+		return Collections.unmodifiableMap(uncommonTraps);
+	}
+}
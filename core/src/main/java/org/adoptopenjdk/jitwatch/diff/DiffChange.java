@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.diff;
+
+// One value that differs between the base and the changed log, null where it is absent
+public final class DiffChange
+{
+	public enum ChangeType
+	{
+		INLINE, INTRINSIC, UNCOMMON_TRAP, NATIVE_SIZE, COMPILE_TIME, FAILURE, CODE_CACHE
+	}
+
+	private final ChangeType type;
+	private final String key;
+	private final String before;
+	private final String after;
+
+	public DiffChange(ChangeType type, String key, String before, String after)
+	{
+		this.type = type;
+		this.key = key;
+		this.before = before;
+		this.after = after;
+	}
+
+	public ChangeType getType()
+	{
+		return type;
+	}
+
+	public String getKey()
+	{
+		return key;
+	}
+
+	public String getBefore()
+	{
+		return before;
+	}
+
+	public String getAfter()
+	{
+		return after;
+	}
+
+	@Override
+	public String toString()
+	{
+		return type + " " + key + ": " + before + " -> " + after;
+	}
+}
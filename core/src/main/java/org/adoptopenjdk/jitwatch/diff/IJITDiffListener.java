@@ -0,0 +1,16 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.diff;
+
+import java.util.List;
+
+public interface IJITDiffListener
+{
+	// members arrive in signature order, only those that changed
+	void handleMemberDiff(MemberDiff memberDiff);
+
+	void handleDiffComplete(List<DiffChange> summaryChanges);
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.diff;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.adoptopenjdk.jitwatch.diff.DiffChange.ChangeType;
+import org.adoptopenjdk.jitwatch.parser.ILogParseErrorListener;
+import org.adoptopenjdk.jitwatch.parser.ILogParser;
+import org.adoptopenjdk.jitwatch.parser.hotspot.CompilerThreadLog;
+
+// Compares the JIT behaviour of two logs. Each log is reduced to a JITSnapshot so only
+// one parsed model is held at a time, then the snapshots are walked together in member
+// signature order and each changed member is passed on as soon as it is found.
+public final class JITDiff
+{
+	private JITDiff()
+	{
+	}
+
+	// the parser's model is reset once the snapshot is taken
+	public static JITSnapshot snapshotLog(ILogParser parser, File logFile, ILogParseErrorListener errorListener)
+			throws IOException
+	{
+		parser.processLogFile(logFile, CompilerThreadLog.findCompilerThreadLogs(logFile), errorListener);
+
+		JITSnapshot result = JITSnapshot.build(parser.getModel());
+
+		parser.reset();
+
+		return result;
+	}
+
+	public static void compare(JITSnapshot base, JITSnapshot changed, IJITDiffListener listener)
+	{
+		Iterator<Map.Entry<String, List<CompilationSnapshot>>> baseIterator = base.getMembers().entrySet().iterator();
+		Iterator<Map.Entry<String, List<CompilationSnapshot>>> changedIterator = changed.getMembers().entrySet().iterator();
+
+		Map.Entry<String, List<CompilationSnapshot>> baseEntry = next(baseIterator);
+		Map.Entry<String, List<CompilationSnapshot>> changedEntry = next(changedIterator);
+
+		while (baseEntry != null || changedEntry != null)
+		{
+			int order;
+
+			if (baseEntry == null)
+			{
+				order = 1;
+			}
+			else if (changedEntry == null)
+			{
+				order = -1;
+			}
+			else
+			{
+				order = baseEntry.getKey().compareTo(changedEntry.getKey());
+			}
+
+			String memberKey = order <= 0 ? baseEntry.getKey() : changedEntry.getKey();
+
+			List<CompilationSnapshot> baseCompilations = order <= 0 ? baseEntry.getValue() : null;
+			List<CompilationSnapshot> changedCompilations = order >= 0 ? changedEntry.getValue() : null;
+
+			List<CompilationDiff> compilationDiffs = compareCompilations(baseCompilations, changedCompilations);
+
+			if (!compilationDiffs.isEmpty())
+			{
+				listener.handleMemberDiff(new MemberDiff(memberKey, baseCompilations != null, changedCompilations != null,
+						compilationDiffs));
+			}
+
+			if (order <= 0)
+			{
+				baseEntry = next(baseIterator);
+			}
+
+			if (order >= 0)
+			{
+				changedEntry = next(changedIterator);
+			}
+		}
+
+		listener.handleDiffComplete(compareSummary(base, changed));
+	}
+
+	private static <T> T next(Iterator<T> iterator)
+	{
+		return iterator.hasNext() ? iterator.next() : null;
+	}
+
+	// the nth compilation at a tier and OSR entry is matched with the nth of the other log
+	private static List<CompilationDiff> compareCompilations(List<CompilationSnapshot> base, List<CompilationSnapshot> changed)
+	{
+		Map<String, List<CompilationSnapshot>> baseByKey = groupByMatchKey(base);
+		Map<String, List<CompilationSnapshot>> changedByKey = groupByMatchKey(changed);
+
+		Set<String> matchKeys = new LinkedHashSet<>(baseByKey.keySet());
+		matchKeys.addAll(changedByKey.keySet());
+
+		List<CompilationDiff> result = new ArrayList<>();
+
+		for (String matchKey : matchKeys)
+		{
+			List<CompilationSnapshot> baseList = baseByKey.getOrDefault(matchKey, Collections.emptyList());
+			List<CompilationSnapshot> changedList = changedByKey.getOrDefault(matchKey, Collections.emptyList());
+
+			for (int i = 0; i < Math.max(baseList.size(), changedList.size()); i++)
+			{
+				CompilationDiff diff = new CompilationDiff(matchKey, i < baseList.size() ? baseList.get(i) : null,
+						i < changedList.size() ? changedList.get(i) : null);
+
+				if (diff.hasChanges())
+				{
+					result.add(diff);
+				}
+			}
+		}
+
+		return result;
+	}
+
+	private static Map<String, List<CompilationSnapshot>> groupByMatchKey(List<CompilationSnapshot> compilations)
+	{
+		Map<String, List<CompilationSnapshot>> result = new LinkedHashMap<>();
+
+		if (compilations != null)
+		{
+			for (CompilationSnapshot compilation : compilations)
+			{
+				result.computeIfAbsent(compilation.getMatchKey(), key -> new ArrayList<>()).add(compilation);
+			}
+		}
+
+		return result;
+	}
+
+	private static List<DiffChange> compareSummary(JITSnapshot base, JITSnapshot changed)
+	{
+		List<DiffChange> result = new ArrayList<>();
+
+		addSummaryChange(result, "Compilations", base.getCompilationCount(), changed.getCompilationCount());
+		addSummaryChange(result, "Native code bytes", base.getTotalNativeSize(), changed.getTotalNativeSize());
+		addSummaryChange(result, "Min free code cache", base.getMinFreeCodeCache(), changed.getMinFreeCodeCache());
+		addSummaryChange(result, "Code cache full events", base.getCodeCacheFullCount(), changed.getCodeCacheFullCount());
+
+		return result;
+	}
+
+	private static void addSummaryChange(List<DiffChange> changes, String key, long before, long after)
+	{
+		if (before != after)
+		{
+			changes.add(new DiffChange(ChangeType.CODE_CACHE, key, Long.toString(before), Long.toString(after)));
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.diff;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_DOT;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.adoptopenjdk.jitwatch.chain.CompileChainWalker;
+import org.adoptopenjdk.jitwatch.model.CodeCacheEvent;
+import org.adoptopenjdk.jitwatch.model.CodeCacheEvent.CodeCacheEventType;
+import org.adoptopenjdk.jitwatch.model.CompilationTable;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
+
+// The compilations of a model by member signature in sorted order, plus its code cache
+// pressure. Taking the snapshot walks every compilation's call tree once.
+public final class JITSnapshot
+{
+	private final NavigableMap<String, List<CompilationSnapshot>> members = new TreeMap<>();
+
+	private int compilationCount = 0;
+	private long totalNativeSize = 0;
+	private long minFreeCodeCache = -1;
+	private int codeCacheFullCount = 0;
+
+	private JITSnapshot()
+	{
+	}
+
+	public static JITSnapshot build(IReadOnlyJITDataModel model)
+	{
+		JITSnapshot snapshot = new JITSnapshot();
+
+		CompilationTable table = model.getCompilationTable();
+
+		CompileChainWalker walker = new CompileChainWalker(model);
+
+		Map<IMetaMember, List<CompilationSnapshot>> memberCompilations = new IdentityHashMap<>();
+
+		for (int row = 0; row < table.size(); row++)
+		{
+			IMetaMember member = table.getMember(row);
+
+			CompilationSnapshot compilation = CompilationSnapshot.of(table.getCompilation(row), walker);
+
+			memberCompilations.computeIfAbsent(member, key -> snapshot.members.computeIfAbsent(getMemberKey(key),
+					signature -> new ArrayList<>())).add(compilation);
+
+			snapshot.compilationCount++;
+			snapshot.totalNativeSize += compilation.getNativeSize();
+		}
+
+		for (CodeCacheEvent event : model.getCodeCacheEvents())
+		{
+			if (event.getEventType() == CodeCacheEventType.CACHE_FULL)
+			{
+				snapshot.codeCacheFullCount++;
+			}
+			else if (event.getFreeCodeCache() > 0)
+			{
+				snapshot.minFreeCodeCache = snapshot.minFreeCodeCache < 0 ? event.getFreeCodeCache() : Math.min(
+						snapshot.minFreeCodeCache, event.getFreeCodeCache());
+			}
+		}
+
+		return snapshot;
+	}
+
+	// the same for a member in logs of different runs and parsers
+	public static String getMemberKey(IMetaMember member)
+	{
+		return member.getMetaClass().getFullyQualifiedName() + C_DOT + member.toStringUnqualifiedMethodName(false, true);
+	}
+
+	public NavigableMap<String, List<CompilationSnapshot>> getMembers()
+	{
+		return Collections.unmodifiableNavigableMap(members);
+	}
+
+	public int getCompilationCount()
+	{
+		return compilationCount;
+	}
+
+	public long getTotalNativeSize()
+	{
+		return totalNativeSize;
+	}
+
+	// -1 if the log had no code cache statistics
+	public long getMinFreeCodeCache()
+	{
+		return minFreeCodeCache;
+	}
+
+	public int getCodeCacheFullCount()
+	{
+		return codeCacheFullCount;
+	}
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.diff;
+
+import java.util.Collections;
+import java.util.List;
+
+// The changed compilations of one member, by member signature
+public final class MemberDiff
+{
+	private final String memberKey;
+
+	private final boolean inBase;
+	private final boolean inChanged;
+
+	private final List<CompilationDiff> compilationDiffs;
+
+	public MemberDiff(String memberKey, boolean inBase, boolean inChanged, List<CompilationDiff> compilationDiffs)
+	{
+		this.memberKey = memberKey;
+		this.inBase = inBase;
+		this.inChanged = inChanged;
+		this.compilationDiffs = compilationDiffs;
+	}
+
+	public String getMemberKey()
+	{
+		return memberKey;
+	}
+
+	// compiled only in the changed log
+	public boolean isAdded()
+	{
+		return !inBase;
+	}
+
+	// compiled only in the base log
+	public boolean isRemoved()
+	{
+		return !inChanged;
+	}
+
+	public List<CompilationDiff> getCompilationDiffs()
+	{
+		return Collections.unmodifiableList(compilationDiffs);
+	}
+}
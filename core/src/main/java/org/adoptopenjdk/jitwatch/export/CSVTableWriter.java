@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// RFC 4180 with a header row, null is an empty field
+public class CSVTableWriter implements ITableWriter
+{
+	private final Writer writer;
+
+	public CSVTableWriter(Path file, String[] columns) throws IOException
+	{
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+
+		writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+
+		writeRow((Object[]) columns);
+	}
+
+	@Override
+	public void writeRow(Object... values) throws IOException
+	{
+		for (int i = 0; i < values.length; i++)
+		{
+			if (i > 0)
+			{
+				writer.write(',');
+			}
+
+			if (values[i] != null)
+			{
+				writeField(values[i].toString());
+			}
+		}
+
+		writer.write("\r\n");
+	}
+
+	private void writeField(String value) throws IOException
+	{
+		boolean quote = false;
+
+		for (int i = 0; i < value.length() && !quote; i++)
+		{
+			char c = value.charAt(i);
+
+			quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+		}
+
+		if (quote)
+		{
+			writer.write('"');
+			writer.write(value.replace("\"", "\"\""));
+			writer.write('"');
+		}
+		else
+		{
+			writer.write(value);
+		}
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		writer.close();
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Rows are buffered in groups and each group is written column by column so a reader can
+// load only the columns it needs. Big endian throughout:
+//
+//   "JWCOL1", column count, each column name
+//   per row group: row count, then per column its byte length and one value per row
+//   0 row count to end
+//
+// Names and values are a byte length then UTF-8, a null value has length -1.
+public class ColumnarTableWriter implements ITableWriter
+{
+	private static final byte[] MAGIC = "JWCOL1".getBytes(StandardCharsets.US_ASCII);
+
+	// bounds the memory held for a table whatever its size
+	private static final int ROW_GROUP_ROWS = 8192;
+
+	private final FileChannel channel;
+
+	private final ByteArrayOutputStream[] columnBytes;
+	private final DataOutputStream[] columnData;
+
+	private int groupRows = 0;
+
+	public ColumnarTableWriter(Path file, String[] columns) throws IOException
+	{
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+
+		columnBytes = new ByteArrayOutputStream[columns.length];
+		columnData = new DataOutputStream[columns.length];
+
+		ByteArrayOutputStream header = new ByteArrayOutputStream();
+		DataOutputStream headerData = new DataOutputStream(header);
+
+		headerData.write(MAGIC);
+		headerData.writeInt(columns.length);
+
+		for (int i = 0; i < columns.length; i++)
+		{
+			writeValue(headerData, columns[i]);
+
+			columnBytes[i] = new ByteArrayOutputStream();
+			columnData[i] = new DataOutputStream(columnBytes[i]);
+		}
+
+		write(ByteBuffer.wrap(header.toByteArray()));
+	}
+
+	@Override
+	public void writeRow(Object... values) throws IOException
+	{
+		for (int i = 0; i < columnData.length; i++)
+		{
+			Object value = i < values.length ? values[i] : null;
+
+			writeValue(columnData[i], value != null ? value.toString() : null);
+		}
+
+		if (++groupRows == ROW_GROUP_ROWS)
+		{
+			flushRowGroup();
+		}
+	}
+
+	private static void writeValue(DataOutputStream data, String value) throws IOException
+	{
+		if (value == null)
+		{
+			data.writeInt(-1);
+		}
+		else
+		{
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+			data.writeInt(bytes.length);
+			data.write(bytes);
+		}
+	}
+
+	private void flushRowGroup() throws IOException
+	{
+		if (groupRows > 0)
+		{
+			write(ByteBuffer.allocate(Integer.BYTES).putInt(groupRows).flip());
+
+			for (ByteArrayOutputStream column : columnBytes)
+			{
+				write(ByteBuffer.allocate(Integer.BYTES).putInt(column.size()).flip());
+				write(ByteBuffer.wrap(column.toByteArray()));
+
+				column.reset();
+			}
+
+			groupRows = 0;
+		}
+	}
+
+	private void write(ByteBuffer buffer) throws IOException
+	{
+		while (buffer.hasRemaining())
+		{
+			channel.write(buffer);
+		}
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		try
+		{
+			flushRowGroup();
+
+			write(ByteBuffer.allocate(Integer.BYTES).putInt(0).flip());
+		}
+		finally
+		{
+			channel.close();
+		}
+	}
+}
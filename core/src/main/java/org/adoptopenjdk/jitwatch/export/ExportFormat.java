@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.export;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public enum ExportFormat
+{
+	JSONL, CSV, COLUMNAR;
+
+	public String getExtension()
+	{
+		switch (this)
+		{
+		case JSONL:
+			return ".jsonl";
+		case CSV:
+			return ".csv";
+		case COLUMNAR:
+			return ".jwcol";
+		default:
+			throw new RuntimeException("Unknown export format");
+		}
+	}
+
+	public ITableWriter createWriter(Path file, String[] columns) throws IOException
+	{
+		switch (this)
+		{
+		case JSONL:
+			return new JSONLinesTableWriter(file, columns);
+		case CSV:
+			return new CSVTableWriter(file, columns);
+		case COLUMNAR:
+			return new ColumnarTableWriter(file, columns);
+		default:
+			throw new RuntimeException("Unknown export format");
+		}
+	}
+
+	public static ExportFormat fromString(String input)
+	{
+		if (input != null)
+		{
+			switch (input.toLowerCase())
+			{
+			case "jsonl":
+				return JSONL;
+			case "csv":
+				return CSV;
+			case "columnar":
+				return COLUMNAR;
+			}
+		}
+
+		throw new RuntimeException("Unknown export format: " + input);
+	}
+}
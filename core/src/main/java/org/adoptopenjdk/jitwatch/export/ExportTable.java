@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.export;
+
+// Each table is written to its own file named after it
+public enum ExportTable
+{
+	TIMELINE("timeline", "stamp_ms", "event", "class", "member"),
+
+	ERRORS("errors", "title", "message"),
+
+	COMPILATIONS("compilations", "compile_id", "class", "member", "level", "compiler", "osr_bci", "queued_ms", "start_ms",
+			"emitted_ms", "compile_ms", "native_size", "bytecode_size", "decompiles", "failure_reason"),
+
+	INLINING("inlining", "compile_id", "class", "member", "level", "depth", "callee", "inlined", "virtual_call", "reason"),
+
+	SUGGESTIONS("suggestions", "type", "score", "class", "member", "bci", "text"),
+
+	ELIMINATED_ALLOCATIONS("eliminated_allocations", "type", "score", "class", "member", "bci", "text"),
+
+	CODE_CACHE("code_cache", "stamp_ms", "event", "compile_id", "level", "native_size", "free_code_cache");
+
+	private final String fileName;
+	private final String[] columns;
+
+	ExportTable(String fileName, String... columns)
+	{
+		this.fileName = fileName;
+		this.columns = columns;
+	}
+
+	public String getFileName()
+	{
+		return fileName;
+	}
+
+	public String[] getColumns()
+	{
+		return columns.clone();
+	}
+}
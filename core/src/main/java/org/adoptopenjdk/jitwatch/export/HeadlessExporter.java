@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.adoptopenjdk.jitwatch.chain.CompileChainWalker;
+import org.adoptopenjdk.jitwatch.chain.CompileNode;
+import org.adoptopenjdk.jitwatch.model.CodeCacheEvent;
+import org.adoptopenjdk.jitwatch.model.Compilation;
+import org.adoptopenjdk.jitwatch.model.CompilationSummary;
+import org.adoptopenjdk.jitwatch.model.CompilationTable;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
+import org.adoptopenjdk.jitwatch.model.JITEvent;
+import org.adoptopenjdk.jitwatch.report.Report;
+import org.adoptopenjdk.jitwatch.report.comparator.ScoreComparator;
+import org.adoptopenjdk.jitwatch.report.escapeanalysis.eliminatedallocation.EliminatedAllocationWalker;
+import org.adoptopenjdk.jitwatch.report.suggestion.SuggestionWalker;
+
+// Writes each ExportTable to its own file in the export directory. Timeline and error rows
+// are written as the parser reports them, the model tables once the parse is complete, and
+// every row goes straight to its writer.
+public class HeadlessExporter implements Closeable
+{
+	private final Path directory;
+	private final ExportFormat format;
+
+	private final Map<ExportTable, ITableWriter> writers = new EnumMap<>(ExportTable.class);
+
+	// the parser callbacks cannot throw so the first failure is kept for close()
+	private IOException streamFailure;
+
+	public HeadlessExporter(Path directory, ExportFormat format) throws IOException
+	{
+		this.directory = directory;
+		this.format = format;
+
+		Files.createDirectories(directory);
+	}
+
+	// a table with no rows has no file
+	private ITableWriter getWriter(ExportTable table) throws IOException
+	{
+		ITableWriter writer = writers.get(table);
+
+		if (writer == null)
+		{
+			writer = format.createWriter(directory.resolve(table.getFileName() + format.getExtension()), table.getColumns());
+
+			writers.put(table, writer);
+		}
+
+		return writer;
+	}
+
+	public void writeTimeline(JITEvent event)
+	{
+		IMetaMember member = event.getEventMember();
+
+		streamRow(ExportTable.TIMELINE, event.getStamp(), event.getEventType().getText(), member.getMetaClass()
+				.getFullyQualifiedName(), member.toStringUnqualifiedMethodName(true, true));
+	}
+
+	public void writeError(String title, String message)
+	{
+		streamRow(ExportTable.ERRORS, title, message);
+	}
+
+	private void streamRow(ExportTable table, Object... values)
+	{
+		if (streamFailure == null)
+		{
+			try
+			{
+				getWriter(table).writeRow(values);
+			}
+			catch (IOException ioe)
+			{
+				streamFailure = ioe;
+			}
+		}
+	}
+
+	public void exportModel(IReadOnlyJITDataModel model) throws IOException
+	{
+		exportCompilations(model);
+
+		exportReports(ExportTable.SUGGESTIONS, new SuggestionWalker(model).getReports(new ScoreComparator()));
+
+		exportReports(ExportTable.ELIMINATED_ALLOCATIONS, new EliminatedAllocationWalker(model).getReports(
+				new ScoreComparator()));
+
+		exportCodeCache(model);
+	}
+
+	// the inlining tree of a compilation is built, written and dropped before the next
+	private void exportCompilations(IReadOnlyJITDataModel model) throws IOException
+	{
+		CompilationTable table = model.getCompilationTable();
+
+		CompileChainWalker walker = new CompileChainWalker(model);
+
+		for (int row = 0; row < table.size(); row++)
+		{
+			IMetaMember member = table.getMember(row);
+			Compilation compilation = table.getCompilation(row);
+			CompilationSummary summary = compilation.getSummary();
+
+			String className = member.getMetaClass().getFullyQualifiedName();
+			String memberName = member.toStringUnqualifiedMethodName(true, true);
+
+			getWriter(ExportTable.COMPILATIONS).writeRow(table.getCompileID(row), className, memberName, table.getLevel(row),
+					summary.getCompiler(), table.hasFlag(row, CompilationTable.FLAG_OSR) ? summary.getOSRBCI() : null, table
+							.getStampTaskQueued(row), table.getStampTaskCompilationStart(row), table.getStampNMethodEmitted(
+							row), table.hasFlag(row, CompilationTable.FLAG_C2N) ? null : table.getCompilationDuration(row),
+					table.getNativeSize(row), table.getBytecodeSize(row), summary.getDecompiles(), table.hasFlag(row,
+							CompilationTable.FLAG_FAILED) ? summary.getFailureReason() : null);
+
+			if (compilation.getTagTask() != null)
+			{
+				CompileNode root = walker.buildCallTree(compilation);
+
+				if (root != null)
+				{
+					exportInlining(root, 1, table.getCompileID(row), className, memberName, table.getLevel(row));
+				}
+			}
+		}
+	}
+
+	private void exportInlining(CompileNode node, int depth, int compileID, String className, String memberName, int level)
+			throws IOException
+	{
+		ITableWriter writer = getWriter(ExportTable.INLINING);
+
+		for (CompileNode child : node.getChildren())
+		{
+			writer.writeRow(compileID, className, memberName, level, depth, child.getMethodID() != null ? child
+					.getQualifiedMemberName() : null, child.isInlined(), child.isVirtualCall(), child.getReason());
+
+			exportInlining(child, depth + 1, compileID, className, memberName, level);
+		}
+	}
+
+	private void exportReports(ExportTable table, List<Report> reports) throws IOException
+	{
+		for (Report report : reports)
+		{
+			IMetaMember caller = report.getCaller();
+
+			getWriter(table).writeRow(report.getType(), report.getScore(), caller != null ? caller.getMetaClass()
+					.getFullyQualifiedName() : null, caller != null ? caller.toStringUnqualifiedMethodName(true, true) : null,
+					report.getBytecodeOffset(), report.getText());
+		}
+	}
+
+	private void exportCodeCache(IReadOnlyJITDataModel model) throws IOException
+	{
+		for (CodeCacheEvent event : model.getCodeCacheEvents())
+		{
+			Compilation compilation = event.getCompilation();
+
+			getWriter(ExportTable.CODE_CACHE).writeRow(event.getStamp(), event.getEventType(), compilation != null
+					? compilation.getCompileID() : null, compilation != null ? event.getCompilationLevel() : null, event
+							.getNativeCodeSize(), event.getFreeCodeCache());
+		}
+	}
+
+	public Path getDirectory()
+	{
+		return directory;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		IOException failure = streamFailure;
+
+		for (ITableWriter writer : writers.values())
+		{
+			try
+			{
+				writer.close();
+			}
+			catch (IOException ioe)
+			{
+				if (failure == null)
+				{
+					failure = ioe;
+				}
+			}
+		}
+
+		writers.clear();
+
+		if (failure != null)
+		{
+			throw failure;
+		}
+	}
+}
@@ -0,0 +1,15 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// Writes the rows of one table, values are strings, numbers, booleans or null
+public interface ITableWriter extends Closeable
+{
+	void writeRow(Object... values) throws IOException;
+}
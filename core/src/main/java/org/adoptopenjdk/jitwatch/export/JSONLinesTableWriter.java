@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.adoptopenjdk.jitwatch.util.JSONUtil;
+
+// One JSON object per row keyed by column name
+public class JSONLinesTableWriter implements ITableWriter
+{
+	private final Writer writer;
+	private final String[] keys;
+
+	// reused for every row
+	private final StringBuilder builder = new StringBuilder();
+
+	public JSONLinesTableWriter(Path file, String[] columns) throws IOException
+	{
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+
+		writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+
+		keys = new String[columns.length];
+
+		for (int i = 0; i < columns.length; i++)
+		{
+			keys[i] = JSONUtil.quote(columns[i]) + ':';
+		}
+	}
+
+	@Override
+	public void writeRow(Object... values) throws IOException
+	{
+		builder.setLength(0);
+
+		builder.append('{');
+
+		for (int i = 0; i < keys.length; i++)
+		{
+			if (i > 0)
+			{
+				builder.append(',');
+			}
+
+			builder.append(keys[i]);
+
+			JSONUtil.appendValue(builder, i < values.length ? values[i] : null);
+		}
+
+		builder.append("}\n");
+
+		writer.append(builder);
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		writer.close();
+	}
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.fleet;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.adoptopenjdk.jitwatch.core.IJITListener;
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
+import org.adoptopenjdk.jitwatch.model.JITEvent;
+import org.adoptopenjdk.jitwatch.parser.ILogParseErrorListener;
+import org.adoptopenjdk.jitwatch.parser.ILogParser;
+import org.adoptopenjdk.jitwatch.parser.ParserFactory;
+import org.adoptopenjdk.jitwatch.parser.ParserType;
+import org.adoptopenjdk.jitwatch.parser.hotspot.CompilerThreadLog;
+
+// Parses the logs of the nodes running one service in parallel, each into its own model,
+// and merges them in log order into a FleetModel. A node model is released once merged.
+public class FleetAggregator
+{
+	private final ParserType parserType;
+	private final JITWatchConfig config;
+	private final int threads;
+
+	// receives the log and error entries of every node, prefixed with the node name
+	private final IJITListener listener;
+	private final ILogParseErrorListener errorListener;
+
+	public FleetAggregator(ParserType parserType, JITWatchConfig config, int threads, IJITListener listener,
+			ILogParseErrorListener errorListener)
+	{
+		this.parserType = parserType;
+		this.config = config;
+		this.threads = Math.max(1, threads);
+		this.listener = listener;
+		this.errorListener = errorListener;
+	}
+
+	public FleetModel aggregate(List<File> logFiles) throws IOException
+	{
+		List<String> nodeNames = new ArrayList<>(logFiles.size());
+
+		for (File logFile : logFiles)
+		{
+			nodeNames.add(logFile.getName());
+		}
+
+		FleetModel fleetModel = new FleetModel(nodeNames);
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, Math.max(1, logFiles.size())), runnable ->
+		{
+			Thread thread = new Thread(runnable, "JITWatch fleet parser");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		try
+		{
+			List<Future<IReadOnlyJITDataModel>> futures = new ArrayList<>(logFiles.size());
+
+			for (int i = 0; i < logFiles.size(); i++)
+			{
+				File logFile = logFiles.get(i);
+				String nodeName = nodeNames.get(i);
+
+				futures.add(executor.submit(() -> parseNode(logFile, nodeName)));
+			}
+
+			for (int i = 0; i < futures.size(); i++)
+			{
+				fleetModel.addNode(i, futures.get(i).get());
+
+				futures.set(i, null);
+
+				log(nodeNames.get(i), "Merged node " + (i + 1) + " of " + futures.size());
+			}
+		}
+		catch (InterruptedException ie)
+		{
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while aggregating logs");
+		}
+		catch (ExecutionException ee)
+		{
+			Throwable cause = ee.getCause();
+
+			throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+
+		return fleetModel;
+	}
+
+	private IReadOnlyJITDataModel parseNode(File logFile, String nodeName) throws IOException
+	{
+		NodeListener nodeListener = new NodeListener(nodeName);
+
+		ILogParser parser = ParserFactory.getParser(parserType, nodeListener);
+
+		parser.setConfig(config);
+
+		parser.processLogFile(logFile, CompilerThreadLog.findCompilerThreadLogs(logFile), nodeListener);
+
+		return parser.getModel();
+	}
+
+	private void log(String nodeName, String entry)
+	{
+		synchronized (listener)
+		{
+			listener.handleLogEntry(nodeName + ": " + entry);
+		}
+	}
+
+	// the node's JIT events are not kept, its timeline means nothing across the fleet
+	private class NodeListener implements IJITListener, ILogParseErrorListener
+	{
+		private final String nodeName;
+
+		NodeListener(String nodeName)
+		{
+			this.nodeName = nodeName;
+		}
+
+		@Override
+		public void handleLogEntry(String entry)
+		{
+			log(nodeName, entry);
+		}
+
+		@Override
+		public void handleErrorEntry(String entry)
+		{
+			synchronized (listener)
+			{
+				listener.handleErrorEntry(nodeName + ": " + entry);
+			}
+		}
+
+		@Override
+		public void handleError(String title, String body)
+		{
+			synchronized (errorListener)
+			{
+				errorListener.handleError(nodeName + ": " + title, body);
+			}
+		}
+
+		@Override
+		public void handleJITEvent(JITEvent event)
+		{
+		}
+
+		@Override
+		public void handleReadStart()
+		{
+		}
+
+		@Override
+		public void handleReadComplete()
+		{
+		}
+	}
+}
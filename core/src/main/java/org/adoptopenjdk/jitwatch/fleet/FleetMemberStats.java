@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.fleet;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.adoptopenjdk.jitwatch.model.CompilationSummary;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+
+// How one member was compiled across the nodes of a fleet
+public class FleetMemberStats
+{
+	private final IMetaMember member;
+
+	private final int[] compileCounts;
+	private final int[] decompiles;
+
+	private long[] compileTimes = new long[4];
+	private int compileTimeCount = 0;
+
+	private final Map<String, Integer> inlineFailReasons = new HashMap<>();
+
+	public FleetMemberStats(IMetaMember member, int nodeCount)
+	{
+		this.member = member;
+		this.compileCounts = new int[nodeCount];
+		this.decompiles = new int[nodeCount];
+	}
+
+	void addCompilation(int nodeIndex, CompilationSummary summary)
+	{
+		compileCounts[nodeIndex]++;
+
+		// each compilation carries the number of times the method had been deoptimised so far
+		decompiles[nodeIndex] = Math.max(decompiles[nodeIndex], summary.getDecompiles());
+
+		if (!summary.isC2N())
+		{
+			if (compileTimeCount == compileTimes.length)
+			{
+				compileTimes = Arrays.copyOf(compileTimes, compileTimeCount * 2);
+			}
+
+			compileTimes[compileTimeCount++] = summary.getCompilationDuration();
+		}
+	}
+
+	void addInlineFailReason(String reason)
+	{
+		inlineFailReasons.merge(reason, 1, Integer::sum);
+	}
+
+	public IMetaMember getMember()
+	{
+		return member;
+	}
+
+	public int getNodeCount()
+	{
+		return compileCounts.length;
+	}
+
+	public int getCompileCount(int nodeIndex)
+	{
+		return compileCounts[nodeIndex];
+	}
+
+	public int getTotalCompileCount()
+	{
+		int result = 0;
+
+		for (int count : compileCounts)
+		{
+			result += count;
+		}
+
+		return result;
+	}
+
+	public int getNodesCompiled()
+	{
+		int result = 0;
+
+		for (int count : compileCounts)
+		{
+			if (count > 0)
+			{
+				result++;
+			}
+		}
+
+		return result;
+	}
+
+	// nodes that did not compile the member count as zero
+	public long getCompileCountPercentile(double percentile)
+	{
+		long[] counts = new long[compileCounts.length];
+
+		for (int i = 0; i < counts.length; i++)
+		{
+			counts[i] = compileCounts[i];
+		}
+
+		return percentile(counts, counts.length, percentile);
+	}
+
+	public int getDecompiles(int nodeIndex)
+	{
+		return decompiles[nodeIndex];
+	}
+
+	public int getNodesDeoptimised()
+	{
+		int result = 0;
+
+		for (int count : decompiles)
+		{
+			if (count > 0)
+			{
+				result++;
+			}
+		}
+
+		return result;
+	}
+
+	// fraction of the fleet on which the member was deoptimised
+	public double getDeoptFrequency()
+	{
+		return decompiles.length == 0 ? 0 : (double) getNodesDeoptimised() / decompiles.length;
+	}
+
+	public int getCompileTimeCount()
+	{
+		return compileTimeCount;
+	}
+
+	// nearest rank over every compilation on every node, 0 if there were none
+	public long getCompileTimePercentile(double percentile)
+	{
+		return percentile(compileTimes.clone(), compileTimeCount, percentile);
+	}
+
+	public Map<String, Integer> getInlineFailReasons()
+	{
+		return Collections.unmodifiableMap(inlineFailReasons);
+	}
+
+	private static long percentile(long[] values, int count, double percentile)
+	{
+		long result = 0;
+
+		if (count > 0)
+		{
+			Arrays.sort(values, 0, count);
+
+			int rank = (int) Math.ceil(percentile / 100 * count);
+
+			result = values[Math.min(count, Math.max(1, rank)) - 1];
+		}
+
+		return result;
+	}
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.fleet;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_METHOD;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_NAME;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_REASON;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_DOT;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_PARSE_HIR;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_SLASH;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_INLINE_FAIL;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_PARSE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_PHASE;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.adoptopenjdk.jitwatch.compilation.CompilationUtil;
+import org.adoptopenjdk.jitwatch.logger.Logger;
+import org.adoptopenjdk.jitwatch.logger.LoggerFactory;
+import org.adoptopenjdk.jitwatch.model.Compilation;
+import org.adoptopenjdk.jitwatch.model.CompilationTable;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
+import org.adoptopenjdk.jitwatch.model.JITDataModel;
+import org.adoptopenjdk.jitwatch.model.LogParseException;
+import org.adoptopenjdk.jitwatch.model.Tag;
+import org.adoptopenjdk.jitwatch.util.ParseUtil;
+import org.adoptopenjdk.jitwatch.util.StringUtil;
+
+// The compilations of every node merged into one model with a single package and class
+// tree, so the top lists and suggestions run over the whole fleet, plus the per member
+// statistics across nodes. The merged compilations share the node models' tags.
+public class FleetModel
+{
+	private static final Logger logger = LoggerFactory.getLogger(FleetModel.class);
+
+	private final JITDataModel model = new JITDataModel();
+
+	private final List<String> nodeNames;
+
+	private final Map<IMetaMember, FleetMemberStats> memberStats = new IdentityHashMap<>();
+
+	public FleetModel(List<String> nodeNames)
+	{
+		this.nodeNames = new ArrayList<>(nodeNames);
+	}
+
+	public IReadOnlyJITDataModel getModel()
+	{
+		return model;
+	}
+
+	public int getNodeCount()
+	{
+		return nodeNames.size();
+	}
+
+	public List<String> getNodeNames()
+	{
+		return Collections.unmodifiableList(nodeNames);
+	}
+
+	public FleetMemberStats getMemberStats(IMetaMember member)
+	{
+		return memberStats.get(member);
+	}
+
+	public List<FleetMemberStats> getMemberStats(Comparator<FleetMemberStats> comparator)
+	{
+		List<FleetMemberStats> result = new ArrayList<>(memberStats.values());
+
+		result.sort(comparator);
+
+		return result;
+	}
+
+	// nodes must be added one at a time
+	public void addNode(int nodeIndex, IReadOnlyJITDataModel nodeModel)
+	{
+		CompilationTable table = nodeModel.getCompilationTable();
+
+		Map<IMetaMember, IMetaMember> mergedMembers = new IdentityHashMap<>();
+
+		for (int row = 0; row < table.size(); row++)
+		{
+			IMetaMember nodeMember = table.getMember(row);
+
+			IMetaMember mergedMember = mergedMembers.computeIfAbsent(nodeMember, this::findMergedMember);
+
+			if (mergedMember != null)
+			{
+				addCompilation(nodeIndex, table.getCompilation(row), mergedMember);
+			}
+		}
+
+		model.invalidateCompilationTable();
+	}
+
+	private void addCompilation(int nodeIndex, Compilation nodeCompilation, IMetaMember mergedMember)
+	{
+		Compilation compilation = new Compilation(mergedMember, mergedMember.getCompilations().size());
+
+		if (nodeCompilation.getTagTaskQueued() != null)
+		{
+			compilation.setTagTaskQueued(nodeCompilation.getTagTaskQueued());
+		}
+
+		if (nodeCompilation.getTagNMethod() != null)
+		{
+			compilation.setTagNMethod(nodeCompilation.getTagNMethod());
+		}
+
+		if (nodeCompilation.getTagTask() != null)
+		{
+			compilation.setTagTask(nodeCompilation.getTagTask());
+		}
+
+		if (nodeCompilation.getTagTaskDone() != null)
+		{
+			compilation.setTagTaskDone(nodeCompilation.getTagTaskDone());
+		}
+
+		mergedMember.storeCompilation(compilation);
+
+		if (nodeCompilation.getMember().isCompiled())
+		{
+			mergedMember.setCompiled(true);
+			mergedMember.getMetaClass().getPackage().setHasCompiledClasses();
+		}
+
+		if (nodeCompilation.getTagTask() != null)
+		{
+			model.updateStats(mergedMember, nodeCompilation.getTagTask().getAttributes());
+		}
+
+		FleetMemberStats stats = memberStats.computeIfAbsent(mergedMember, member -> new FleetMemberStats(member,
+				nodeNames.size()));
+
+		stats.addCompilation(nodeIndex, compilation.getSummary());
+
+		try
+		{
+			CompilationUtil.visitParseTagsOfCompilation(compilation, (parseTag, parseDictionary) -> addInlineFailReasons(
+					parseTag, stats));
+		}
+		catch (LogParseException e)
+		{
+			logger.warn("Could not read inlining of {}", mergedMember, e);
+		}
+	}
+
+	private IMetaMember findMergedMember(IMetaMember nodeMember)
+	{
+		IMetaMember result = null;
+
+		String logSignature = getLogSignature(nodeMember);
+
+		if (logSignature != null)
+		{
+			try
+			{
+				result = ParseUtil.findMemberWithSignature(model, logSignature.replace(S_SLASH, S_DOT));
+			}
+			catch (LogParseException e)
+			{
+				logger.warn("Could not merge member {}", nodeMember, e);
+			}
+		}
+
+		return result;
+	}
+
+	// the signature the member was found by when its node's log was parsed
+	private static String getLogSignature(IMetaMember nodeMember)
+	{
+		String result = null;
+
+		for (Compilation compilation : nodeMember.getCompilations())
+		{
+			Tag tag = compilation.getTagTaskQueued() != null ? compilation.getTagTaskQueued() : compilation.getTagNMethod();
+
+			if (tag != null && tag.getAttributes().get(ATTR_METHOD) != null)
+			{
+				result = tag.getAttributes().get(ATTR_METHOD);
+				break;
+			}
+		}
+
+		return result;
+	}
+
+	private static void addInlineFailReasons(Tag parseTag, FleetMemberStats stats)
+	{
+		for (Tag child : parseTag.getChildren())
+		{
+			Map<String, String> attrs = child.getAttributes();
+
+			switch (child.getName())
+			{
+			case TAG_INLINE_FAIL:
+				stats.addInlineFailReason(StringUtil.replaceXMLEntities(attrs.get(ATTR_REASON)));
+				break;
+
+			case TAG_PARSE:
+				addInlineFailReasons(child, stats);
+				break;
+
+			case TAG_PHASE:
+				if (S_PARSE_HIR.equals(attrs.get(ATTR_NAME)))
+				{
+					addInlineFailReasons(child, stats);
+				}
+				break;
+
+			default:
+				break;
+			}
+		}
+	}
+}
@@ -18,22 +18,36 @@ public abstract class AbstractHistoVisitable extends AbstractCompilationVisitabl
 	protected IReadOnlyJITDataModel model;
 	protected long resolution;
 
+	// values spanning several orders of magnitude, at resolution 1 these use bounded log-linear buckets
+	private final boolean wideRange;
+
 	public AbstractHistoVisitable(IReadOnlyJITDataModel model, long resolution)
+	{
+		this(model, resolution, false);
+	}
+
+	protected AbstractHistoVisitable(IReadOnlyJITDataModel model, long resolution, boolean wideRange)
 	{
 		this.model = model;
 		this.resolution = resolution;
+		this.wideRange = wideRange;
 	}
 
 	@Override
 	public Histo buildHistogram()
 	{
-		histo = new Histo(resolution);
+		histo = createHisto();
 
 		TreeVisitor.walkTree(model, this);
 
 		return histo;
 	}
 
+	protected Histo createHisto()
+	{
+		return wideRange && resolution <= 1 ? Histo.logLinear() : new Histo(resolution);
+	}
+
 	@Override
 	public void reset()
 	{
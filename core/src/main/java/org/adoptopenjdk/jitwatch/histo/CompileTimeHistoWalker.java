@@ -13,7 +13,7 @@ public class CompileTimeHistoWalker extends AbstractHistoVisitable
 {
 	public CompileTimeHistoWalker(IReadOnlyJITDataModel model, long resolution) // TODO filter by compile level?
 	{
-		super(model, resolution);
+		super(model, resolution, true);
 	}
 
 	@Override
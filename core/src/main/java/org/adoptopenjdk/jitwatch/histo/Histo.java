@@ -1,133 +1,332 @@
 /*
- * Copyright (c) 2013-2015 Chris Newland.
+ * Copyright (c) 2013-2026 Chris Newland.
  * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
  * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
  */
 package org.adoptopenjdk.jitwatch.histo;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Arrays;
 
+/*
+ * Histogram over primitive bucket counts.
+ *
+ * FIXED mode uses buckets of width resolution for the first 2^FIXED_EXACT_BITS
+ * buckets and log-linear buckets of the scaled value beyond that, so an
+ * outlying value cannot grow the counts without bound. It also keeps the raw
+ * values in a primitive array so percentiles are exact.
+ * LOG_LINEAR mode is exact below 2^subBucketBits and above that splits each
+ * power of two into 2^(subBucketBits-1) buckets, bounding the relative error.
+ * Raw values are not retained so memory depends on the value range, not the
+ * number of samples, and percentiles are the top of the bucket.
+ *
+ * Not thread safe.
+ */
 public class Histo
 {
-	private Map<Long, Integer> bucketMap = new HashMap<>();
+	public enum Mode
+	{
+		FIXED, LOG_LINEAR
+	}
+
+	private static final int INITIAL_FIXED_BUCKETS = 64;
+
+	private static final int FIXED_EXACT_BITS = 12;
+
+	public static final int DEFAULT_SUB_BUCKET_BITS = 8;
+
+	private final Mode mode;
 
-	// lots of writes, not COWAL
-	private List<Long> values = new ArrayList<>();
+	private final long resolution;
+
+	private final int subBucketBits;
+	private final int subBucketCount;
+	private final int subBucketHalfCount;
+
+	private long[] counts;
+
+	// FIXED mode only, sorted lazily by getPercentile
+	private long[] values;
+	private boolean valuesSorted = true;
+
+	private long totalCount = 0;
+
+	private long minValue = Long.MAX_VALUE;
+	private long maxValue = 0;
 
 	private long lastTime = 0;
-	private int maxCount = 0;
-	private long resolution = 1;
+	private long maxCount = 0;
 
 	public Histo()
 	{
-
+		this(1);
 	}
 
 	public Histo(long resolution)
 	{
+		this(Mode.FIXED, Math.max(1, resolution), FIXED_EXACT_BITS);
+	}
+
+	public static Histo logLinear()
+	{
+		return logLinear(DEFAULT_SUB_BUCKET_BITS);
+	}
+
+	public static Histo logLinear(int subBucketBits)
+	{
+		if (subBucketBits < 1 || subBucketBits > 16)
+		{
+			throw new IllegalArgumentException("subBucketBits must be between 1 and 16: " + subBucketBits);
+		}
+
+		return new Histo(Mode.LOG_LINEAR, 1, subBucketBits);
+	}
+
+	private Histo(Mode mode, long resolution, int subBucketBits)
+	{
+		this.mode = mode;
 		this.resolution = resolution;
+		this.subBucketBits = subBucketBits;
+
+		subBucketCount = 1 << subBucketBits;
+		subBucketHalfCount = subBucketCount >> 1;
+
+		if (mode == Mode.LOG_LINEAR)
+		{
+			counts = new long[getMaxBucketCount()];
+		}
+		else
+		{
+			counts = new long[INITIAL_FIXED_BUCKETS];
+			values = new long[INITIAL_FIXED_BUCKETS];
+		}
+	}
+
+	public Mode getMode()
+	{
+		return mode;
 	}
 
+	public long getResolution()
+	{
+		return resolution;
+	}
+
+	// negative values are counted in the zero bucket
 	public void addValue(long inValue)
 	{
-        long value = inValue;
-		synchronized (values)
+		recordValue(Math.max(0, inValue));
+	}
+
+	private int getMaxBucketCount()
+	{
+		return subBucketCount + (63 - subBucketBits) * subBucketHalfCount;
+	}
+
+	private void recordValue(long value)
+	{
+		int index = getBucketIndex(value);
+
+		if (index >= counts.length)
+		{
+			counts = Arrays.copyOf(counts, Math.min(Math.max(index + 1, counts.length * 2), getMaxBucketCount()));
+		}
+
+		long newCount = ++counts[index];
+
+		if (values != null)
 		{
-			values.add(value);
+			if (totalCount == values.length)
+			{
+				values = Arrays.copyOf(values, values.length * 2);
+			}
+
+			values[(int) totalCount] = value;
+
+			valuesSorted = false;
 		}
 
-		if (resolution > 1)
+		totalCount++;
+
+		if (newCount > maxCount)
 		{
-			value = (value / resolution) * resolution;
+			maxCount = newCount;
 		}
 
-		int newCount = 0;
+		long bucketValue = getBucketValue(index);
 
-		if (bucketMap.containsKey(value))
+		if (bucketValue > lastTime)
 		{
-			newCount = bucketMap.get(value) + 1;
+			lastTime = bucketValue;
+		}
+
+		minValue = Math.min(minValue, value);
+		maxValue = Math.max(maxValue, value);
+	}
+
+	// both modes bucket value / resolution log-linearly, LOG_LINEAR always has resolution 1
+	private int getBucketIndex(long value)
+	{
+		long scaled = value / resolution;
+
+		int result;
+
+		if (scaled < subBucketCount)
+		{
+			result = (int) scaled;
 		}
 		else
 		{
-			newCount = 1;
+			int exponent = 63 - Long.numberOfLeadingZeros(scaled);
+			int shift = exponent - subBucketBits + 1;
+
+			result = subBucketCount + (exponent - subBucketBits) * subBucketHalfCount
+					+ (int) ((scaled >>> shift) - subBucketHalfCount);
 		}
 
-		bucketMap.put(value, newCount);
+		return result;
+	}
+
+	private long getScaledBucketValue(int index)
+	{
+		long result;
 
-		if (newCount > maxCount)
+		if (index < subBucketCount)
 		{
-			maxCount = newCount;
+			result = index;
 		}
+		else
+		{
+			int offset = index - subBucketCount;
+			int exponent = subBucketBits + offset / subBucketHalfCount;
+			long subBucket = (offset % subBucketHalfCount) + subBucketHalfCount;
+
+			result = subBucket << (exponent - subBucketBits + 1);
+		}
+
+		return result;
+	}
+
+	// lowest value counted in the bucket
+	public long getBucketValue(int index)
+	{
+		return getScaledBucketValue(index) * resolution;
+	}
+
+	// highest value counted in the bucket
+	private long getBucketHighestValue(int index)
+	{
+		long scaledWidth = 1;
 
-		if (value > lastTime)
+		if (index >= subBucketCount)
 		{
-			lastTime = value;
+			int exponent = subBucketBits + (index - subBucketCount) / subBucketHalfCount;
+
+			scaledWidth = 1L << (exponent - subBucketBits + 1);
 		}
 
+		return (getScaledBucketValue(index) + scaledWidth) * resolution - 1;
 	}
 
 	public void clear()
 	{
-		bucketMap.clear();
+		Arrays.fill(counts, 0);
+
+		if (values != null)
+		{
+			values = new long[INITIAL_FIXED_BUCKETS];
+			valuesSorted = true;
+		}
+
+		totalCount = 0;
+		minValue = Long.MAX_VALUE;
+		maxValue = 0;
 		lastTime = 0;
 		maxCount = 0;
 	}
 
-	public List<Map.Entry<Long, Integer>> getSortedData()
+	// number of bucket slots, iterate with getBucketValue/getBucketFrequency in ascending value order
+	public int getBucketCount()
 	{
-		List<Map.Entry<Long, Integer>> result = new ArrayList<>(bucketMap.entrySet());
+		return mode == Mode.FIXED ? getBucketIndex(lastTime) + (totalCount > 0 ? 1 : 0) : counts.length;
+	}
 
-		Collections.sort(result, new Comparator<Map.Entry<Long, Integer>>()
-		{
-			@Override
-			public int compare(Entry<Long, Integer> o1, Entry<Long, Integer> o2)
-			{
-				return o1.getValue().compareTo(o2.getValue());
-			}
-		});
+	public long getBucketFrequency(int index)
+	{
+		return index < counts.length ? counts[index] : 0;
+	}
 
-		return result;
+	public long getTotalCount()
+	{
+		return totalCount;
+	}
+
+	public long getMinValue()
+	{
+		return totalCount > 0 ? minValue : 0;
+	}
+
+	public long getMaxValue()
+	{
+		return maxValue;
 	}
 
 	/*
 	 * Nearest rank percentile calculation from
 	 * http://en.wikipedia.org/wiki/Percentile
+	 * FIXED mode returns the recorded value at the rank, LOG_LINEAR mode the
+	 * highest value of the bucket holding the rank capped at the recorded maximum.
 	 */
 	public long getPercentile(double percentile)
 	{
 		long result = 0;
 
-		List<Long> valuesCopy = null;
-
-		synchronized (values)
+		if (totalCount == 0 || percentile <= 0)
 		{
-			valuesCopy = new ArrayList<>(values);
+			result = 0;
 		}
-
-		Collections.sort(valuesCopy);
-
-		int count = valuesCopy.size();
-
-		if (percentile >= 100)
+		else if (percentile >= 100)
 		{
-			result = valuesCopy.get(count - 1);
+			result = maxValue;
 		}
-		else if (percentile <= 0)
+		else
 		{
-			result = 0;
+			double position = 0.5 + (percentile) / 100.0 * totalCount;
+			long rank = Math.max(1, Math.round(position));
+
+			if (values != null)
+			{
+				if (!valuesSorted)
+				{
+					Arrays.sort(values, 0, (int) totalCount);
+					valuesSorted = true;
+				}
+
+				result = values[(int) rank - 1];
+			}
+			else
+			{
+				result = getBucketPercentile(rank);
+			}
 		}
-		else
+
+		return result;
+	}
+
+	private long getBucketPercentile(long rank)
+	{
+		long result = 0;
+
+		long cumulative = 0;
+
+		for (int i = 0; i < counts.length; i++)
 		{
-			double position = 0.5 + (percentile) / 100.0 * count;
-			int index = (int) Math.round(position) - 1;
+			cumulative += counts[i];
 
-			result = valuesCopy.get(index);
+			if (cumulative >= rank)
+			{
+				result = Math.min(getBucketHighestValue(i), maxValue);
+				break;
+			}
 		}
 
 		return result;
@@ -138,7 +337,7 @@ public class Histo
 		return lastTime;
 	}
 
-	public int getMaxCount()
+	public long getMaxCount()
 	{
 		return maxCount;
 	}
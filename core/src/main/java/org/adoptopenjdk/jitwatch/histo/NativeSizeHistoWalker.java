@@ -13,7 +13,7 @@ public class NativeSizeHistoWalker extends AbstractHistoVisitable
 {
 	public NativeSizeHistoWalker(IReadOnlyJITDataModel model, long resolution)
 	{
-		super(model, resolution);
+		super(model, resolution, true);
 	}
 
 	@Override
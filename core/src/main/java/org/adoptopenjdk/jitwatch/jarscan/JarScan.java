@@ -20,6 +20,7 @@ import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Map;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -83,6 +84,8 @@ public class JarScan
 
 		classLocations.add(jarFile.getPath());
 
+		List<String> fqClassNames = new ArrayList<>();
+
 		try (ZipFile zip = new ZipFile(jarFile))
 		{
 			@SuppressWarnings("unchecked")
@@ -98,20 +101,31 @@ public class JarScan
 				{
 					String fqName = name.replace(S_SLASH, S_DOT).substring(0, name.length() - S_DOT_CLASS.length());
 
-					process(classLocations, fqName);
+					fqClassNames.add(fqName);
 				}
 			}
 		}
+
+		process(classLocations, fqClassNames);
 	}
 
 	public void iterateFolder(File root, File folder) throws IOException
 	{
-		int rootLength = root.getAbsolutePath().length() + 1;
-
 		List<String> classLocations = new ArrayList<>();
 
 		classLocations.add(root.getPath());
 
+		List<String> fqClassNames = new ArrayList<>();
+
+		collectFolder(root, folder, fqClassNames);
+
+		process(classLocations, fqClassNames);
+	}
+
+	private void collectFolder(File root, File folder, List<String> fqClassNames)
+	{
+		int rootLength = root.getAbsolutePath().length() + 1;
+
 		File[] children = folder.listFiles();
 
 		for (File child : children)
@@ -124,11 +138,11 @@ public class JarScan
 			{
 				String fqName = fileName.replace(S_SLASH, S_DOT).substring(0, fileName.length() - S_DOT_CLASS.length());
 
-				process(classLocations, fqName);
+				fqClassNames.add(fqName);
 			}
 			else if (child.isDirectory())
 			{
-				iterateFolder(root, child);
+				collectFolder(root, child, fqClassNames);
 			}
 		}
 	}
@@ -161,29 +175,45 @@ public class JarScan
 		return allowed;
 	}
 
-	private void process(List<String> classLocations, String fqClassName)
+	// javap runs once per batch of classes rather than once per class
+	private void process(List<String> classLocations, List<String> fqClassNames)
 	{
-		if (!isAllowedPackage(fqClassName))
+		List<String> allowedClassNames = new ArrayList<>();
+
+		for (String fqClassName : fqClassNames)
 		{
+			if (isAllowedPackage(fqClassName))
+			{
+				allowedClassNames.add(fqClassName);
+			}
+		}
+
+		if (counting)
+		{
+			processableClassCount += allowedClassNames.size();
 			return;
 		}
 
-		if (verbose)
+		for (int start = 0; start < allowedClassNames.size(); start += BytecodeLoader.JAVAP_BATCH_SIZE)
 		{
-			if (counting)
-			{
-				processableClassCount++;
-				return;
-			}
-			else
+			List<String> batch = allowedClassNames.subList(start, Math.min(start + BytecodeLoader.JAVAP_BATCH_SIZE,
+					allowedClassNames.size()));
+
+			Map<String, ClassBC> batchBytecode = BytecodeLoader.fetchBytecodeForClasses(classLocations, batch, null);
+
+			for (String fqClassName : batch)
 			{
-				System.err.println("Parsing class " + (1 + processingClass++ + "/" + processableClassCount) + " " + fqClassName);
+				process(fqClassName, batchBytecode.get(fqClassName));
 			}
 		}
+	}
 
-		boolean cacheBytecode = false;
-
-		ClassBC classBytecode = BytecodeLoader.fetchBytecodeForClass(classLocations, fqClassName, cacheBytecode);
+	private void process(String fqClassName, ClassBC classBytecode)
+	{
+		if (verbose)
+		{
+			System.err.println("Parsing class " + (1 + processingClass++ + "/" + processableClassCount) + " " + fqClassName);
+		}
 
 		if (classBytecode != null)
 		{
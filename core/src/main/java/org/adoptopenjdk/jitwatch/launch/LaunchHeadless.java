@@ -12,20 +12,39 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_NEWLINE;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 import org.adoptopenjdk.jitwatch.logger.LoggerFactory;
 import org.adoptopenjdk.jitwatch.core.IJITListener;
 import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.diff.CompilationDiff;
+import org.adoptopenjdk.jitwatch.diff.DiffChange;
+import org.adoptopenjdk.jitwatch.diff.IJITDiffListener;
+import org.adoptopenjdk.jitwatch.diff.JITDiff;
+import org.adoptopenjdk.jitwatch.diff.JITSnapshot;
+import org.adoptopenjdk.jitwatch.diff.MemberDiff;
+import org.adoptopenjdk.jitwatch.export.ExportFormat;
+import org.adoptopenjdk.jitwatch.export.HeadlessExporter;
+import org.adoptopenjdk.jitwatch.fleet.FleetAggregator;
+import org.adoptopenjdk.jitwatch.fleet.FleetMemberStats;
+import org.adoptopenjdk.jitwatch.fleet.FleetModel;
 import org.adoptopenjdk.jitwatch.inline.HeadlessInlineVisitor;
+import org.adoptopenjdk.jitwatch.metrics.ParseMetrics;
 import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
 import org.adoptopenjdk.jitwatch.model.JITEvent;
 import org.adoptopenjdk.jitwatch.parser.ILogParseErrorListener;
 import org.adoptopenjdk.jitwatch.parser.ILogParser;
 import org.adoptopenjdk.jitwatch.parser.ParserFactory;
 import org.adoptopenjdk.jitwatch.parser.ParserType;
+import org.adoptopenjdk.jitwatch.parser.hotspot.CompilerThreadLog;
+import org.adoptopenjdk.jitwatch.parser.jfr.JFRLiveParser;
 import org.adoptopenjdk.jitwatch.report.Report;
 import org.adoptopenjdk.jitwatch.report.comparator.ScoreComparator;
 import org.adoptopenjdk.jitwatch.report.suggestion.SuggestionWalker;
@@ -35,6 +54,12 @@ import org.adoptopenjdk.jitwatch.util.StringUtil;
 
 public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 {
+	private static final long ATTACH_POLL_MILLIS = 250;
+
+	private static final String EXPORT_DIR_OPTION = "--export-dir=";
+	private static final String BUDGET_OPTION = "--budget=";
+	private static final String DEFAULT_EXPORT_DIR = "headless-export";
+
 	private boolean showTimeLine;
 	private boolean showErrors;
 	private boolean showModel;
@@ -42,9 +67,20 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 	private boolean showSuggestions;
 	private boolean outputFile;
 	private boolean showInlineFailedCalls;
+	private boolean attach;
+	private boolean fleet;
+	private boolean diff;
+	private boolean showMetrics;
+
+	private int modelBudgetMB = 0;
+
+	private ExportFormat exportFormat;
+	private String exportDir = DEFAULT_EXPORT_DIR;
 
 	private ILogParser parser;
+	private FleetModel fleetModel;
 	private JITWatchConfig config;
+	private HeadlessExporter exporter;
 
 	private StringBuilder timelineBuilder = new StringBuilder();
 	private StringBuilder errorBuilder = new StringBuilder();
@@ -64,15 +100,214 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 
 		config = new JITWatchConfig();
 
+		if (modelBudgetMB > 0)
+		{
+			config.setModelBudgetMB(modelBudgetMB);
+		}
+
+		// a diff has its own output
+		if (exportFormat != null && !diff)
+		{
+			exporter = new HeadlessExporter(Paths.get(exportDir), exportFormat);
+		}
+
+		if (attach)
+		{
+			attachToJVM(compilationLog);
+			return;
+		}
+
 		String parserProperty = System.getProperty("jitwatch.parser", ParserType.HOTSPOT.toString());
 
 		ParserType parserType = ParserType.fromString(parserProperty);
 
+		if (fleet)
+		{
+			aggregateFleet(parserType, compilationLog);
+			return;
+		}
+
+		if (diff)
+		{
+			diffLogs(parserType, args[args.length - 2], compilationLog);
+			return;
+		}
+
+		parser = ParserFactory.getParser(parserType, this);
+
+		parser.setConfig(config);
+
+		File logFile = new File(compilationLog);
+
+		// a VM that did not exit cleanly leaves its compiler thread output in hs_c*.log files
+		parser.processLogFile(logFile, CompilerThreadLog.findCompilerThreadLogs(logFile), this);
+	}
+
+	// streams compiler events from a running JVM until it exits or Enter is pressed
+	private void attachToJVM(String pid) throws IOException
+	{
+		JFRLiveParser liveParser = new JFRLiveParser(this);
+
+		liveParser.setConfig(config);
+
+		parser = liveParser;
+
+		liveParser.attach(pid, this);
+
+		System.err.println("Attached to JVM " + pid + ", press Enter to stop");
+
+		try
+		{
+			while (liveParser.isAttached() && System.in.available() == 0)
+			{
+				Thread.sleep(ATTACH_POLL_MILLIS);
+			}
+		}
+		catch (InterruptedException ie)
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		liveParser.detach();
+	}
+
+	// one log per node of a fleet, the compiler thread logs are found next to their main log
+	private void aggregateFleet(ParserType parserType, String directory) throws IOException
+	{
+		File[] files = new File(directory).listFiles();
+
+		if (files == null)
+		{
+			throw new IOException("Not a directory: " + directory);
+		}
+
+		Arrays.sort(files);
+
+		List<File> logFiles = new ArrayList<>();
+
+		for (File file : files)
+		{
+			if (file.isFile() && !CompilerThreadLog.isCompilerThreadLog(file))
+			{
+				logFiles.add(file);
+			}
+		}
+
+		FleetAggregator aggregator = new FleetAggregator(parserType, config, Runtime.getRuntime().availableProcessors(),
+				this, this);
+
+		fleetModel = aggregator.aggregate(logFiles);
+
+		handleReadComplete();
+	}
+
+	// the changes are written as they are found so the whole diff is never held
+	private void diffLogs(ParserType parserType, String baseLog, String changedLog) throws IOException
+	{
 		parser = ParserFactory.getParser(parserType, this);
 
 		parser.setConfig(config);
 
-		parser.processLogFile(new File(compilationLog), this);
+		JITSnapshot base = JITDiff.snapshotLog(parser, new File(baseLog), this);
+
+		JITSnapshot changed = JITDiff.snapshotLog(parser, new File(changedLog), this);
+
+		LoggerFactory.flush();
+
+		PrintStream out = outputFile ? new PrintStream(Files.newOutputStream(Paths.get("headless.csv"))) : System.out;
+
+		try
+		{
+			if (outputFile)
+			{
+				out.println("sep=" + HEADLESS_SEPARATOR);
+			}
+
+			JITDiff.compare(base, changed, new DiffPrinter(out));
+		}
+		finally
+		{
+			if (outputFile)
+			{
+				out.close();
+
+				System.out.println("Wrote to headless.csv");
+			}
+		}
+
+		if (showErrors)
+		{
+			System.out.println(errorBuilder.toString());
+		}
+	}
+
+	private static class DiffPrinter implements IJITDiffListener
+	{
+		private final PrintStream out;
+
+		DiffPrinter(PrintStream out)
+		{
+			this.out = out;
+
+			print("Member", "Compilation", "Change", "Key", "Before", "After");
+		}
+
+		@Override public void handleMemberDiff(MemberDiff memberDiff)
+		{
+			for (CompilationDiff compilationDiff : memberDiff.getCompilationDiffs())
+			{
+				if (compilationDiff.isAdded())
+				{
+					print(memberDiff.getMemberKey(), compilationDiff.getMatchKey(), "ADDED", "Native size", "",
+							Integer.toString(compilationDiff.getChanged().getNativeSize()));
+				}
+				else if (compilationDiff.isRemoved())
+				{
+					print(memberDiff.getMemberKey(), compilationDiff.getMatchKey(), "REMOVED", "Native size",
+							Integer.toString(compilationDiff.getBase().getNativeSize()), "");
+				}
+				else
+				{
+					for (DiffChange change : compilationDiff.getChanges())
+					{
+						print(memberDiff.getMemberKey(), compilationDiff.getMatchKey(), change.getType().toString(),
+								change.getKey(), change.getBefore(), change.getAfter());
+					}
+				}
+			}
+		}
+
+		@Override public void handleDiffComplete(List<DiffChange> summaryChanges)
+		{
+			for (DiffChange change : summaryChanges)
+			{
+				print("Summary", "", change.getType().toString(), change.getKey(), change.getBefore(), change.getAfter());
+			}
+
+			out.flush();
+		}
+
+		private void print(String... columns)
+		{
+			StringBuilder builder = new StringBuilder();
+
+			for (int i = 0; i < columns.length; i++)
+			{
+				if (i > 0)
+				{
+					builder.append(HEADLESS_SEPARATOR);
+				}
+
+				builder.append(columns[i] == null ? "" : columns[i].replace(C_NEWLINE, C_SPACE));
+			}
+
+			out.println(builder.toString());
+		}
+	}
+
+	private IReadOnlyJITDataModel getModel()
+	{
+		return fleetModel != null ? fleetModel.getModel() : parser.getModel();
 	}
 
 	@Override public void handleLogEntry(String entry)
@@ -81,6 +316,11 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 
 	@Override public void handleErrorEntry(String entry)
 	{
+		if (exporter != null)
+		{
+			exporter.writeError(null, entry);
+		}
+
 		if (showErrors)
 		{
 			errorBuilder.append(entry).append(S_NEWLINE);
@@ -89,6 +329,11 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 
 	@Override public void handleJITEvent(JITEvent event)
 	{
+		if (exporter != null)
+		{
+			exporter.writeTimeline(event);
+		}
+
 		if (showTimeLine)
 		{
 			timelineBuilder.append(StringUtil.formatTimestamp(event.getStamp(), true)).append(HEADLESS_SEPARATOR);
@@ -104,6 +349,11 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 
 	@Override public void handleError(String title, String body)
 	{
+		if (exporter != null)
+		{
+			exporter.writeError(title, body);
+		}
+
 		if (showErrors)
 		{
 			errorBuilder.append(title).append(HEADLESS_SEPARATOR).append(body).append(S_NEWLINE);
@@ -115,6 +365,9 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 		if (args.length < 2)
 		{
 			System.err.println("Usage: LaunchHeadless <options> <hotspot log file>");
+			System.err.println("       LaunchHeadless -a <options> <pid>");
+			System.err.println("       LaunchHeadless -F <options> <directory of logs>");
+			System.err.println("       LaunchHeadless --diff <options> <base log file> <changed log file>");
 			System.err.println("options:");
 			System.err.println("-e\tShow parse errors");
 			System.err.println("-m\tShow model");
@@ -123,12 +376,42 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 			System.err.println("-t\tShow compilation timeline");
 			System.err.println("-f\tWrite output to headless.csv");
 			System.err.println("-i\tShow inline failed calls");
+			System.err.println("-a\tAttach to a running local JVM and stream its JIT events until it exits or Enter is pressed");
+			System.err.println("-F\tMerge the logs of every node of a fleet and show compilation statistics across the nodes");
+			System.err.println("--diff\tShow how the JIT behaviour of the changed log differs from the base log");
+			System.err.println("--jsonl\tExport the timeline, errors, compilations, inlining decisions, suggestions,");
+			System.err.println("\teliminated allocations and code cache events as JSON Lines, one file per table");
+			System.err.println("--csv\tExport the same tables as CSV");
+			System.err.println("--columnar\tExport the same tables in the JITWatch columnar format");
+			System.err.println("--export-dir=<directory>\tDirectory to export to (default " + DEFAULT_EXPORT_DIR + ")");
+			System.err.println("--metrics\tShow the time, throughput and allocation of each parse phase, tag counts,");
+			System.err.println("\tqueue depths, cache hit rates and the estimated model size on stderr once done");
+			System.err.println("--budget=<MB>\tEstimated model size above which task trees are compacted and assembly is dropped");
+			System.err.println("\t(default half the maximum heap)");
 			// System.err.println("-o\tShow optimized virtual calls");
 
 			System.exit(-1);
 		}
 
-		new LaunchHeadless(args);
+		LaunchHeadless headless = new LaunchHeadless(args);
+
+		headless.printMetrics();
+	}
+
+	// on stderr so the output on stdout is unchanged
+	private void printMetrics()
+	{
+		if (showMetrics)
+		{
+			LoggerFactory.flush();
+
+			System.err.println(ParseMetrics.getInstance().getReport());
+
+			if (parser != null || fleetModel != null)
+			{
+				System.err.println(getModel().getFootprint().getReport());
+			}
+		}
 	}
 
 	private void parseOptions(String[] args)
@@ -167,6 +450,45 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 				showInlineFailedCalls = true;
 				break;
 
+			case "-a":
+				attach = true;
+				break;
+
+			case "-F":
+				fleet = true;
+				break;
+
+			case "--diff":
+				diff = true;
+				break;
+
+			case "--jsonl":
+				exportFormat = ExportFormat.JSONL;
+				break;
+
+			case "--csv":
+				exportFormat = ExportFormat.CSV;
+				break;
+
+			case "--columnar":
+				exportFormat = ExportFormat.COLUMNAR;
+				break;
+
+			case "--metrics":
+				showMetrics = true;
+				break;
+
+			default:
+				if (arg.startsWith(EXPORT_DIR_OPTION))
+				{
+					exportDir = arg.substring(EXPORT_DIR_OPTION.length());
+				}
+				else if (arg.startsWith(BUDGET_OPTION))
+				{
+					modelBudgetMB = Integer.parseInt(arg.substring(BUDGET_OPTION.length()));
+				}
+				break;
+
 			// case "-o":
 			// showOptimizedVirtualCalls = true;
 			// break;s
@@ -176,6 +498,20 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 
 	@Override public void handleReadComplete()
 	{
+		// a diff is written once both logs are read
+		if (diff)
+		{
+			return;
+		}
+
+		// pending log lines are written before the report rather than through it
+		LoggerFactory.flush();
+
+		if (exporter != null)
+		{
+			exportModel();
+		}
+
 		StringBuilder outputBuilder = new StringBuilder();
 
 		if (showTimeLine)
@@ -190,7 +526,7 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 
 		if (showModel)
 		{
-			IReadOnlyJITDataModel model = parser.getModel();
+			IReadOnlyJITDataModel model = getModel();
 
 			String modelString = HeadlessUtil.modelToString(model, showOnlyCompiledMethods);
 
@@ -199,13 +535,18 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 
 		if (showSuggestions)
 		{
-			SuggestionWalker walker = new SuggestionWalker(parser.getModel());
+			SuggestionWalker walker = new SuggestionWalker(getModel());
 
 			List<Report> suggestions = walker.getReports(new ScoreComparator());
 
 			outputBuilder.append(getSuggestions(suggestions));
 		}
 
+		if (fleetModel != null)
+		{
+			outputBuilder.append(getFleetStats()).append(S_NEWLINE);
+		}
+
 		if (outputFile)
 		{
 			outputBuilder.insert(0, "sep=" + HEADLESS_SEPARATOR + S_NEWLINE);
@@ -228,8 +569,8 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 
 		if (showInlineFailedCalls)
 		{
-			HeadlessInlineVisitor inlineVisitor = new HeadlessInlineVisitor(parser.getModel());
-			TreeVisitor.walkTree(parser.getModel(), inlineVisitor);
+			HeadlessInlineVisitor inlineVisitor = new HeadlessInlineVisitor(getModel());
+			TreeVisitor.walkTree(getModel(), inlineVisitor);
 			inlineVisitor.printFailedList(System.out);
 		}
 
@@ -247,6 +588,75 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 
 	}
 
+	// closed here as the parse is complete, any callbacks after it are not exported
+	private void exportModel()
+	{
+		IOException failure = null;
+
+		try (HeadlessExporter modelExporter = exporter)
+		{
+			modelExporter.exportModel(getModel());
+		}
+		catch (IOException e)
+		{
+			failure = e;
+		}
+
+		if (failure == null)
+		{
+			System.out.println("Exported to " + exporter.getDirectory().toAbsolutePath());
+		}
+		else
+		{
+			System.err.println("Could not export to " + exporter.getDirectory().toAbsolutePath() + ": " + failure.getMessage());
+		}
+
+		exporter = null;
+	}
+
+	// most compiled across the fleet first
+	private String getFleetStats()
+	{
+		StringBuilder builder = new StringBuilder();
+
+		builder.append("Class").append(HEADLESS_SEPARATOR);
+		builder.append("Member").append(HEADLESS_SEPARATOR);
+		builder.append("Nodes").append(HEADLESS_SEPARATOR);
+		builder.append("Nodes Compiled").append(HEADLESS_SEPARATOR);
+		builder.append("Compilations").append(HEADLESS_SEPARATOR);
+		builder.append("Median Compilations").append(HEADLESS_SEPARATOR);
+		builder.append("Max Compilations").append(HEADLESS_SEPARATOR);
+		builder.append("Deopt Frequency").append(HEADLESS_SEPARATOR);
+		builder.append("Compile ms p50").append(HEADLESS_SEPARATOR);
+		builder.append("Compile ms p90").append(HEADLESS_SEPARATOR);
+		builder.append("Compile ms p99").append(HEADLESS_SEPARATOR);
+		builder.append("Top Inline Fail Reason").append(S_NEWLINE);
+
+		Comparator<FleetMemberStats> comparator = Comparator.comparingInt(FleetMemberStats::getTotalCompileCount)
+				.thenComparingInt(FleetMemberStats::getNodesCompiled).reversed();
+
+		for (FleetMemberStats stats : fleetModel.getMemberStats(comparator))
+		{
+			String topReason = stats.getInlineFailReasons().entrySet().stream().max(Map.Entry.comparingByValue())
+					.map(entry -> entry.getKey() + " (" + entry.getValue() + ")").orElse("");
+
+			builder.append(stats.getMember().getMetaClass().getFullyQualifiedName()).append(HEADLESS_SEPARATOR);
+			builder.append(stats.getMember().toStringUnqualifiedMethodName(true, true)).append(HEADLESS_SEPARATOR);
+			builder.append(stats.getNodeCount()).append(HEADLESS_SEPARATOR);
+			builder.append(stats.getNodesCompiled()).append(HEADLESS_SEPARATOR);
+			builder.append(stats.getTotalCompileCount()).append(HEADLESS_SEPARATOR);
+			builder.append(stats.getCompileCountPercentile(50)).append(HEADLESS_SEPARATOR);
+			builder.append(stats.getCompileCountPercentile(100)).append(HEADLESS_SEPARATOR);
+			builder.append(String.format("%.2f", stats.getDeoptFrequency())).append(HEADLESS_SEPARATOR);
+			builder.append(stats.getCompileTimePercentile(50)).append(HEADLESS_SEPARATOR);
+			builder.append(stats.getCompileTimePercentile(90)).append(HEADLESS_SEPARATOR);
+			builder.append(stats.getCompileTimePercentile(99)).append(HEADLESS_SEPARATOR);
+			builder.append(topReason.replace(C_NEWLINE, C_SPACE)).append(S_NEWLINE);
+		}
+
+		return builder.toString();
+	}
+
 	private String getSuggestions(List<Report> suggestions)
 	{
 		StringBuilder builder = new StringBuilder();
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.launch;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.logger.LoggerFactory;
+import org.adoptopenjdk.jitwatch.parser.ParserType;
+import org.adoptopenjdk.jitwatch.server.AnalysisServer;
+import org.adoptopenjdk.jitwatch.server.ModelPool;
+
+public class LaunchServer
+{
+	private static final int DEFAULT_PORT = 8088;
+	private static final int DEFAULT_MAX_MODELS = 4;
+
+	public static void main(String[] args) throws IOException
+	{
+		int port = DEFAULT_PORT;
+		int maxModels = DEFAULT_MAX_MODELS;
+
+		try
+		{
+			for (int i = 0; i < args.length; i++)
+			{
+				switch (args[i])
+				{
+				case "-p":
+					port = Integer.parseInt(args[++i]);
+					break;
+
+				case "-n":
+					maxModels = Integer.parseInt(args[++i]);
+					break;
+
+				default:
+					usage();
+					break;
+				}
+			}
+		}
+		catch (NumberFormatException | ArrayIndexOutOfBoundsException e)
+		{
+			usage();
+		}
+
+		LoggerFactory.setLogFile(Paths.get("jitwatch.out"));
+
+		String parserProperty = System.getProperty("jitwatch.parser", ParserType.HOTSPOT.toString());
+
+		ModelPool pool = new ModelPool(ParserType.fromString(parserProperty), new JITWatchConfig(), maxModels);
+
+		// local tools only so the server is not reachable from other hosts
+		AnalysisServer server = new AnalysisServer(pool, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+
+		server.start();
+
+		System.out.println("JITWatch analysis server on http://" + server.getAddress().getHostString() + ":" + server
+				.getAddress().getPort() + "/");
+	}
+
+	private static void usage()
+	{
+		System.err.println("Usage: LaunchServer <options>");
+		System.err.println("options:");
+		System.err.println("-p <port>\tPort to listen on, default " + DEFAULT_PORT);
+		System.err.println("-n <count>\tMost parsed logs to keep, the least recently queried is evicted first, default "
+				+ DEFAULT_MAX_MODELS);
+		System.err.println("queries, each naming its log with ?log=<path>:");
+		System.err.println("/load /models /evict /members /chain /toplist /suggestions /bytecode");
+
+		System.exit(-1);
+	}
+}
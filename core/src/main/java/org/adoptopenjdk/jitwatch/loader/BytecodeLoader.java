@@ -41,7 +41,9 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_SPACE;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -62,8 +64,10 @@ import org.adoptopenjdk.jitwatch.model.bytecode.LineTableEntry;
 import org.adoptopenjdk.jitwatch.model.bytecode.MemberBytecode;
 import org.adoptopenjdk.jitwatch.model.bytecode.Opcode;
 import org.adoptopenjdk.jitwatch.model.bytecode.SourceMapper;
+import org.adoptopenjdk.jitwatch.process.javap.JavapArguments;
 import org.adoptopenjdk.jitwatch.process.javap.JavapProcess;
 import org.adoptopenjdk.jitwatch.process.javap.ReflectionJavap;
+import org.adoptopenjdk.jitwatch.process.javap.ToolProviderJavap;
 import org.adoptopenjdk.jitwatch.util.StringUtil;
 import org.adoptopenjdk.jitwatch.logger.Logger;
 import org.adoptopenjdk.jitwatch.logger.LoggerFactory;
@@ -72,6 +76,9 @@ public final class BytecodeLoader
 {
 	private static final Logger logger = LoggerFactory.getLogger(BytecodeLoader.class);
 
+	// bounds the javap output held at once and the length of a forked javap command line
+	public static final int JAVAP_BATCH_SIZE = 1000;
+
 	private static final Pattern PATTERN_BYTECODE_INSTRUCTION = Pattern.compile(
 			"^([0-9]+):\\s([0-9a-z_]+)\\s?([#0-9a-z,\\- ]+)?\\s?\\{?\\s?(//.*)?");
 
@@ -108,56 +115,100 @@ public final class BytecodeLoader
 		return null;
 	}
 
-	public static ClassBC fetchBytecodeForClass(List<String> classLocations, String fqClassName, boolean cacheBytecode)
+	public static ClassBC fetchBytecodeForClass(List<String> classLocations, String fqClassName, SourceMapper sourceMapper)
+	{
+		return fetchBytecodeForClass(null, classLocations, fqClassName, null, sourceMapper);
+	}
+
+	public static ClassBC fetchBytecodeForClass(ClassBC parentClassBC, List<String> classLocations, String fqClassName, Path javapPath, SourceMapper sourceMapper)
+	{
+		return fetchBytecodeForClasses(parentClassBC, classLocations, Collections.singletonList(fqClassName), javapPath,
+				sourceMapper).get(fqClassName);
+	}
+
+	public static Map<String, ClassBC> fetchBytecodeForClasses(List<String> classLocations, List<String> fqClassNames,
+			SourceMapper sourceMapper)
 	{
-		return fetchBytecodeForClass(null, classLocations, fqClassName, null, cacheBytecode);
+		return fetchBytecodeForClasses(null, classLocations, fqClassNames, null, sourceMapper);
 	}
 
-	public static ClassBC fetchBytecodeForClass(ClassBC parentClassBC, List<String> classLocations, String fqClassName, Path javapPath, boolean cacheBytecode)
+	// javap is run once per JAVAP_BATCH_SIZE classes, a class that could not be loaded is missing from the result.
+	// Classes are added to the SourceMapper when one is given.
+	public static Map<String, ClassBC> fetchBytecodeForClasses(ClassBC parentClassBC, List<String> classLocations,
+			List<String> fqClassNames, Path javapPath, SourceMapper sourceMapper)
 	{
 		if (DEBUG_LOGGING_BYTECODE)
 		{
-			logger.debug("fetchBytecodeForClass: {}", fqClassName);
+			logger.debug("fetchBytecodeForClasses: {}", StringUtil.listToString(fqClassNames));
 
 			logger.debug("Class locations: {}", StringUtil.listToString(classLocations));
 		}
 
-		ClassBC classBytecode = null;
-
-		String byteCodeString = null;
+		Map<String, ClassBC> result = new LinkedHashMap<>();
 
-		try
+		for (int start = 0; start < fqClassNames.size(); start += JAVAP_BATCH_SIZE)
 		{
-			if (ReflectionJavap.canUseReflectionJavap())
+			List<String> batch = fqClassNames.subList(start, Math.min(start + JAVAP_BATCH_SIZE, fqClassNames.size()));
+
+			try
 			{
-				try
-				{
-					byteCodeString = ReflectionJavap.getBytecode(classLocations, fqClassName);
-				}
-				catch (Exception e)
+				Map<String, String> byteCodeStrings = JavapArguments.splitOutput(getBytecodeString(classLocations, batch,
+						javapPath), batch);
+
+				for (Map.Entry<String, String> entry : byteCodeStrings.entrySet())
 				{
-					logger.info("Could not fetch bytecode via reflection, trying Process");
+					ClassBC classBytecode = parseByteCodeFromString(parentClassBC, entry.getKey(), entry.getValue(),
+							sourceMapper);
 
-					byteCodeString = getBytecodeStringViaProcess(classLocations, fqClassName, javapPath);
+					if (classBytecode != null)
+					{
+						result.put(entry.getKey(), classBytecode);
+					}
 				}
 			}
-			else
+			catch (Exception e)
 			{
-				byteCodeString = getBytecodeStringViaProcess(classLocations, fqClassName, javapPath);
+				logger.error("Could not fetch bytecode for {}", batch.size() == 1 ? batch.get(0) : batch.size() + " classes", e);
 			}
+		}
 
-			classBytecode = parseByteCodeFromString(parentClassBC, fqClassName, byteCodeString, cacheBytecode);
+		return result;
+	}
+
+	// in-process where the JDK allows it and no other JDK's javap was asked for, a forked javap otherwise
+	private static String getBytecodeString(List<String> classLocations, List<String> fqClassNames, Path javapPath)
+			throws IOException
+	{
+		String result = null;
+
+		boolean inProcess = ToolProviderJavap.isRunningJdkJavap(javapPath);
 
+		if (inProcess && ToolProviderJavap.isAvailable())
+		{
+			result = ToolProviderJavap.getBytecode(classLocations, fqClassNames);
 		}
-		catch (Exception e)
+		else if (inProcess && ReflectionJavap.canUseReflectionJavap())
 		{
-			logger.error("Could not fetch bytecode for {}", fqClassName, e);
+			try
+			{
+				result = ReflectionJavap.getBytecode(classLocations, fqClassNames);
+			}
+			catch (Exception e)
+			{
+				logger.info("Could not fetch bytecode via reflection, trying Process");
+
+				result = getBytecodeStringViaProcess(classLocations, fqClassNames, javapPath);
+			}
+		}
+		else
+		{
+			result = getBytecodeStringViaProcess(classLocations, fqClassNames, javapPath);
 		}
 
-		return classBytecode;
+		return result;
 	}
 
-	private static String getBytecodeStringViaProcess(List<String> classLocations, String fqClassName, Path javapPath)
+	private static String getBytecodeStringViaProcess(List<String> classLocations, List<String> fqClassNames, Path javapPath)
 			throws IOException
 	{
 		JavapProcess javapProcess;
@@ -173,12 +224,12 @@ public final class BytecodeLoader
 
 		Map<String, String> environment = new HashMap<>();
 
-		javapProcess.execute(classLocations, fqClassName, environment);
+		javapProcess.execute(classLocations, fqClassNames, environment);
 
 		return javapProcess.getOutputStream();
 	}
 
-	private static ClassBC parseByteCodeFromString(ClassBC parentClassBC, String fqClassName, String byteCodeString, boolean cacheBytecode)
+	private static ClassBC parseByteCodeFromString(ClassBC parentClassBC, String fqClassName, String byteCodeString, SourceMapper sourceMapper)
 	{
 		ClassBC result = null;
 
@@ -188,7 +239,7 @@ public final class BytecodeLoader
 
 			try
 			{
-				result = parse(parentClassBC, fqClassName, bytecodeLines, cacheBytecode);
+				result = parse(parentClassBC, fqClassName, bytecodeLines, sourceMapper);
 			}
 			catch (Throwable t)
 			{
@@ -200,7 +251,7 @@ public final class BytecodeLoader
 	}
 
 	// TODO refactor this class - better stateful than all statics
-	public static ClassBC parse(ClassBC parentClassBC, String fqClassName, String[] bytecodeLines, boolean cacheBytecode)
+	public static ClassBC parse(ClassBC parentClassBC, String fqClassName, String[] bytecodeLines, SourceMapper sourceMapper)
 	{
 		ClassBC classBytecode = new ClassBC(parentClassBC, fqClassName);
 
@@ -352,9 +403,9 @@ public final class BytecodeLoader
 					{
 						classBytecode.setSourceFile(sourceFilename);
 
-						if (cacheBytecode)
+						if (sourceMapper != null)
 						{
-							SourceMapper.addSourceClassMapping(classBytecode);
+							sourceMapper.addSourceClassMapping(classBytecode);
 						}
 					}
 					else
@@ -0,0 +1,411 @@
+package org.adoptopenjdk.jitwatch.logger;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Logging threads only copy the parameters into a preallocated slot of a bounded ring buffer.
+// A background thread formats and publishes them. When the buffer is full the event is dropped
+// and counted, and a message template logged more than MAX_PER_WINDOW times in one window is
+// suppressed until the next window, which reports how many were suppressed.
+// Arguments are formatted after the call returns so they should not be mutated by the caller.
+public abstract class AsyncLoggerBackend implements ILoggerBackend
+{
+    private static final int CAPACITY = 8192;
+
+    private static final int MAX_PER_WINDOW = 20;
+    private static final long WINDOW_MILLIS = 1000;
+
+    // templates beyond this are not rate limited, they are usually built by concatenation
+    private static final int MAX_TRACKED_TEMPLATES = 1024;
+
+    private static final long FLUSH_TIMEOUT_MILLIS = 5000;
+
+    // marks an event that only reports the count suppressed for its template
+    private static final Object[] SUPPRESSED_SUMMARY = new Object[0];
+
+    private final Slot[] slots = new Slot[CAPACITY];
+
+    // the position each slot is waiting for, position + 1 once it is filled
+    private final AtomicLongArray sequences = new AtomicLongArray(CAPACITY);
+
+    private final AtomicLong tail = new AtomicLong();
+
+    // the next position to publish, written by the consumer only
+    private volatile long head = 0;
+
+    private final Map<String, RateLimit> rateLimits = new ConcurrentHashMap<>();
+
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder suppressed = new LongAdder();
+
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile Thread consumer;
+    private volatile boolean consumerWaiting = false;
+
+    private final StringBuilder messageBuilder = new StringBuilder(256);
+
+    protected AsyncLoggerBackend()
+    {
+        for (int i = 0; i < CAPACITY; i++)
+        {
+            slots[i] = new Slot();
+            sequences.set(i, i);
+        }
+    }
+
+    // called on the logging thread, return false for levels that are never published
+    protected boolean isEnabled(Logger.Level level)
+    {
+        return true;
+    }
+
+    // called on the background thread only, message has its arguments filled in
+    protected abstract void publish(long timestamp, Class<?> clazz, Logger.Level level, String message, Throwable throwable);
+
+    @Override
+    public void writeLog(Class<?> clazz, Logger.Level level, String message, Throwable throwable, Object... args)
+    {
+        if (!isEnabled(level))
+        {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+
+        int suppressedBefore = 0;
+
+        if (message != null)
+        {
+            RateLimit rateLimit = getRateLimit(message);
+
+            if (rateLimit != null)
+            {
+                suppressedBefore = rateLimit.acquire(now, clazz, level);
+
+                if (suppressedBefore < 0)
+                {
+                    suppressed.increment();
+                    return;
+                }
+            }
+        }
+
+        if (!offer(now, clazz, level, message, throwable, args, suppressedBefore))
+        {
+            dropped.increment();
+        }
+    }
+
+    private RateLimit getRateLimit(String message)
+    {
+        RateLimit result = rateLimits.get(message);
+
+        if (result == null && rateLimits.size() < MAX_TRACKED_TEMPLATES)
+        {
+            result = rateLimits.computeIfAbsent(message, k -> new RateLimit());
+        }
+
+        return result;
+    }
+
+    private boolean offer(long timestamp, Class<?> clazz, Logger.Level level, String message, Throwable throwable, Object[] args,
+            int suppressedBefore)
+    {
+        boolean result = false;
+
+        long pos = tail.get();
+
+        while (true)
+        {
+            int index = (int) (pos & (CAPACITY - 1));
+
+            long available = sequences.get(index) - pos;
+
+            if (available == 0)
+            {
+                if (tail.compareAndSet(pos, pos + 1))
+                {
+                    slots[index].set(timestamp, clazz, level, message, throwable, args, suppressedBefore);
+                    sequences.set(index, pos + 1);
+                    result = true;
+                    break;
+                }
+
+                pos = tail.get();
+            }
+            else if (available < 0)
+            {
+                // the consumer has not yet freed this slot
+                break;
+            }
+            else
+            {
+                pos = tail.get();
+            }
+        }
+
+        if (result)
+        {
+            startConsumer();
+
+            if (consumerWaiting)
+            {
+                LockSupport.unpark(consumer);
+            }
+        }
+
+        return result;
+    }
+
+    private void startConsumer()
+    {
+        if (!started.get() && started.compareAndSet(false, true))
+        {
+            Thread thread = new Thread(this::consume, "JITWatch Logger");
+            thread.setDaemon(true);
+            consumer = thread;
+            thread.start();
+
+            Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "JITWatch Logger Flush"));
+        }
+    }
+
+    private void consume()
+    {
+        while (true)
+        {
+            if (!poll())
+            {
+                consumerWaiting = true;
+
+                // a producer that published before the flag was set is seen here
+                if (!poll())
+                {
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(100));
+                }
+
+                consumerWaiting = false;
+            }
+        }
+    }
+
+    private boolean poll()
+    {
+        boolean result = false;
+
+        long pos = head;
+
+        int index = (int) (pos & (CAPACITY - 1));
+
+        if (sequences.get(index) == pos + 1)
+        {
+            Slot slot = slots[index];
+
+            long timestamp = slot.timestamp;
+            Class<?> clazz = slot.clazz;
+            Logger.Level level = slot.level;
+            Throwable throwable = slot.throwable;
+            String message = slot.message;
+            Object[] args = slot.args;
+            int suppressedBefore = slot.suppressedBefore;
+
+            slot.clear();
+            sequences.set(index, pos + CAPACITY);
+
+            try
+            {
+                messageBuilder.setLength(0);
+
+                if (args == SUPPRESSED_SUMMARY)
+                {
+                    messageBuilder.append(suppressedBefore).append(" similar messages suppressed: ").append(message);
+                }
+                else
+                {
+                    formatMessage(messageBuilder, message, args);
+                }
+
+                if (suppressedBefore > 0 && args != SUPPRESSED_SUMMARY)
+                {
+                    messageBuilder.append(" (").append(suppressedBefore).append(" similar messages suppressed)");
+                }
+
+                publish(timestamp, clazz, level, messageBuilder.toString(), throwable);
+            }
+            catch (RuntimeException e)
+            {
+                // a throwing argument toString() or a failing sink must not stop the consumer
+                dropped.increment();
+            }
+
+            // moved on only once published so flush waits for the sink
+            head = pos + 1;
+
+            result = true;
+        }
+
+        return result;
+    }
+
+    // reports the counts still held by the rate limits and waits until every event logged so far has been published
+    @Override
+    public void flush()
+    {
+        Thread thread = consumer;
+
+        if (thread == null || thread == Thread.currentThread())
+        {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+
+        for (Map.Entry<String, RateLimit> entry : rateLimits.entrySet())
+        {
+            RateLimit rateLimit = entry.getValue();
+
+            int count = rateLimit.suppressedInWindow.getAndSet(0);
+
+            if (count > 0 && !offer(now, rateLimit.lastClass, rateLimit.lastLevel, entry.getKey(), null, SUPPRESSED_SUMMARY, count))
+            {
+                dropped.increment();
+            }
+        }
+
+        long target = tail.get();
+
+        long deadline = System.currentTimeMillis() + FLUSH_TIMEOUT_MILLIS;
+
+        while (head < target && thread.isAlive() && System.currentTimeMillis() < deadline)
+        {
+            LockSupport.unpark(thread);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    // events lost because the buffer was full or the sink failed
+    public long getDroppedCount()
+    {
+        return dropped.sum();
+    }
+
+    // events not queued because their template was over the rate limit
+    public long getSuppressedCount()
+    {
+        return suppressed.sum();
+    }
+
+    // replaces each {} in turn with the next argument
+    protected static void formatMessage(StringBuilder builder, String message, Object[] args)
+    {
+        if (message == null)
+        {
+            builder.append((String) null);
+            return;
+        }
+
+        int argCount = args != null ? args.length : 0;
+        int argIndex = 0;
+        int from = 0;
+
+        while (argIndex < argCount)
+        {
+            int index = message.indexOf("{}", from);
+
+            if (index < 0)
+            {
+                break;
+            }
+
+            builder.append(message, from, index);
+            builder.append(args[argIndex++]);
+            from = index + 2;
+        }
+
+        builder.append(message, from, message.length());
+    }
+
+    protected static String formatErrorTrace(Throwable throwable)
+    {
+        StringWriter errors = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(errors));
+        return errors.toString();
+    }
+
+    private static final class Slot
+    {
+        private long timestamp;
+        private Class<?> clazz;
+        private Logger.Level level;
+        private String message;
+        private Throwable throwable;
+        private Object[] args;
+        private int suppressedBefore;
+
+        void set(long timestamp, Class<?> clazz, Logger.Level level, String message, Throwable throwable, Object[] args,
+                int suppressedBefore)
+        {
+            this.timestamp = timestamp;
+            this.clazz = clazz;
+            this.level = level;
+            this.message = message;
+            this.throwable = throwable;
+            this.args = args;
+            this.suppressedBefore = suppressedBefore;
+        }
+
+        void clear()
+        {
+            clazz = null;
+            message = null;
+            throwable = null;
+            args = null;
+        }
+    }
+
+    private static final class RateLimit
+    {
+        private final AtomicLong windowStart = new AtomicLong();
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicInteger suppressedInWindow = new AtomicInteger();
+
+        // for reporting the suppressed count on flush
+        private volatile Class<?> lastClass;
+        private volatile Logger.Level lastLevel;
+
+        // the number suppressed in earlier windows if this one may be logged, otherwise -1
+        int acquire(long now, Class<?> clazz, Logger.Level level)
+        {
+            int result = 0;
+
+            lastClass = clazz;
+            lastLevel = level;
+
+            long start = windowStart.get();
+
+            if (now - start >= WINDOW_MILLIS && windowStart.compareAndSet(start, now))
+            {
+                count.set(0);
+                result = suppressedInWindow.getAndSet(0);
+            }
+
+            if (count.incrementAndGet() > MAX_PER_WINDOW)
+            {
+                // keep any count taken above for the next message let through
+                suppressedInWindow.addAndGet(result + 1);
+                result = -1;
+            }
+
+            return result;
+        }
+    }
+}
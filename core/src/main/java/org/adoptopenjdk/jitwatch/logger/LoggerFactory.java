@@ -22,7 +22,14 @@ public class LoggerFactory
 
     public static void setLoggerBackend(ILoggerBackend loggerBackend)
     {
+        ILoggerBackend previous = LoggerFactory.loggerBackend;
         LoggerFactory.loggerBackend = loggerBackend;
+        previous.flush();
+    }
+
+    public static void flush()
+    {
+        loggerBackend.flush();
     }
 
     protected static void writeLog(Class clazz, Logger.Level level, String message, Throwable throwable, Object... args)
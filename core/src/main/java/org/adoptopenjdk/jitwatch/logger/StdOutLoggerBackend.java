@@ -1,53 +1,34 @@
 package org.adoptopenjdk.jitwatch.logger;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 
-public class StdOutLoggerBackend implements ILoggerBackend
+public class StdOutLoggerBackend extends AsyncLoggerBackend
 {
-    private static final SimpleDateFormat sdf = new SimpleDateFormat("HH:mm:ss.SSS");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final StringBuilder lineBuilder = new StringBuilder(256);
 
     @Override
-    public void writeLog(Class clazz, Logger.Level level, String message, Throwable throwable, Object... args)
+    protected void publish(long timestamp, Class<?> clazz, Logger.Level level, String message, Throwable throwable)
     {
-        String messageWithArgs = message;
-        for (Object arg : args)
-        {
-            int index = messageWithArgs.indexOf("{}");
-            if (index >= 0)
-            {
-                messageWithArgs = messageWithArgs.substring(0, index) + arg + messageWithArgs.substring(index + 2);
-            }
-        }
-
-        StringBuffer stringBuffer = new StringBuffer();
-        stringBuffer.append(level);
-        stringBuffer.append(" (");
-        stringBuffer.append(clazz.getName());
-        stringBuffer.append(") - ");
-        stringBuffer.append(messageWithArgs);
+        lineBuilder.setLength(0);
+        lineBuilder.append("JITWatch: ");
+        TIME_FORMAT.formatTo(Instant.ofEpochMilli(timestamp), lineBuilder);
+        lineBuilder.append(' ');
+        lineBuilder.append(level);
+        lineBuilder.append(" (");
+        lineBuilder.append(clazz.getName());
+        lineBuilder.append(") - ");
+        lineBuilder.append(message);
 
         if (throwable != null)
         {
-            stringBuffer.append("\n");
-            stringBuffer.append(formatErrorTrace(throwable));
+            lineBuilder.append("\n");
+            lineBuilder.append(formatErrorTrace(throwable));
         }
 
-        printMessage(stringBuffer.toString());
-    }
-
-    private String formatErrorTrace(Throwable throwable)
-    {
-        StringWriter errors = new StringWriter();
-        throwable.printStackTrace(new PrintWriter(errors));
-        return errors.toString();
-    }
-
-    private void printMessage(String message)
-    {
-        String log = "JITWatch: " + sdf.format(new Date()) + " " + message;
-        System.out.println(log);
+        System.out.println(lineBuilder);
     }
 }
@@ -0,0 +1,415 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.metrics;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.HEADLESS_SEPARATOR;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_NEWLINE;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.adoptopenjdk.jitwatch.logger.Logger;
+import org.adoptopenjdk.jitwatch.logger.LoggerFactory;
+
+// Where the time of a parse goes, for the whole process: each phase with its throughput and
+// allocation, tags seen by name, the depths of the queues feeding the parallel readers and
+// the hit rates of the caches. Phases run by several parsers at once (fleet mode) are summed.
+// Items are lines for the reading phases, tags for the compiler thread logs and members for
+// the walkers. Published over JMX as org.adoptopenjdk.jitwatch:type=ParseMetrics.
+public final class ParseMetrics implements ParseMetricsMXBean
+{
+	private static final Logger logger = LoggerFactory.getLogger(ParseMetrics.class);
+
+	public static final String OBJECT_NAME = "org.adoptopenjdk.jitwatch:type=ParseMetrics";
+
+	public static final String PHASE_SPLIT = "split";
+	public static final String PHASE_HEADER = "header";
+	public static final String PHASE_CLASSPATH = "classpath";
+	public static final String PHASE_CLASS_MODEL = "class model";
+	public static final String PHASE_COMPILER_THREAD_LOGS = "compiler thread logs";
+	public static final String PHASE_COMPILATION_TAGS = "compilation tags";
+	public static final String PHASE_ASSEMBLY = "assembly";
+	public static final String PHASE_ATTACH = "attach";
+	public static final String PHASE_WALKER_PREFIX = "walker ";
+
+	public static final String CACHE_BYTECODE = "bytecode";
+	public static final String CACHE_MEMBER_RESOLUTION = "member resolution";
+
+	public static final String QUEUE_READ_AHEAD = "read ahead";
+	public static final String QUEUE_PARALLEL_GZIP = "parallel gzip";
+	public static final String QUEUE_PARALLEL_ZSTD = "parallel zstd";
+	public static final String QUEUE_JFR_LIVE = "jfr live";
+
+	private static final ParseMetrics INSTANCE = new ParseMetrics();
+
+	static
+	{
+		registerMBean(INSTANCE);
+	}
+
+	private final Map<String, PhaseStats> phases = new ConcurrentHashMap<>();
+	private final Map<String, LongAdder> tagCounts = new ConcurrentHashMap<>();
+	private final Map<String, CacheStats> caches = new ConcurrentHashMap<>();
+	private final Map<String, QueueStats> queues = new ConcurrentHashMap<>();
+
+	// phases are reported in the order they first ran
+	private final AtomicInteger phaseSequence = new AtomicInteger();
+
+	private ParseMetrics()
+	{
+	}
+
+	public static ParseMetrics getInstance()
+	{
+		return INSTANCE;
+	}
+
+	private static void registerMBean(ParseMetrics metrics)
+	{
+		try
+		{
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+			ObjectName name = new ObjectName(OBJECT_NAME);
+
+			// left behind by an earlier copy of these classes, e.g. a reloaded plugin
+			if (server.isRegistered(name))
+			{
+				server.unregisterMBean(name);
+			}
+
+			server.registerMBean(metrics, name);
+		}
+		catch (JMException | RuntimeException e)
+		{
+			logger.warn("Could not register {}: {}", OBJECT_NAME, e.toString());
+		}
+	}
+
+	public PhaseTimer startPhase(String phase)
+	{
+		return new PhaseTimer(phases.computeIfAbsent(phase, k -> new PhaseStats(phaseSequence.getAndIncrement())));
+	}
+
+	public void countTag(String tagName)
+	{
+		LongAdder count = tagCounts.get(tagName);
+
+		if (count == null)
+		{
+			count = tagCounts.computeIfAbsent(tagName, k -> new LongAdder());
+		}
+
+		count.increment();
+	}
+
+	public void cacheHit(String cache)
+	{
+		getCache(cache).hits.increment();
+	}
+
+	public void cacheMiss(String cache)
+	{
+		getCache(cache).misses.increment();
+	}
+
+	private CacheStats getCache(String cache)
+	{
+		CacheStats result = caches.get(cache);
+
+		if (result == null)
+		{
+			result = caches.computeIfAbsent(cache, k -> new CacheStats());
+		}
+
+		return result;
+	}
+
+	public void recordQueueDepth(String queue, int depth)
+	{
+		QueueStats stats = queues.get(queue);
+
+		if (stats == null)
+		{
+			stats = queues.computeIfAbsent(queue, k -> new QueueStats());
+		}
+
+		stats.record(depth);
+	}
+
+	@Override
+	public void reset()
+	{
+		phases.clear();
+		tagCounts.clear();
+		caches.clear();
+		queues.clear();
+		phaseSequence.set(0);
+	}
+
+	private List<Map.Entry<String, PhaseStats>> getPhasesInOrder()
+	{
+		List<Map.Entry<String, PhaseStats>> result = new ArrayList<>(phases.entrySet());
+
+		result.sort(Comparator.comparingInt(entry -> entry.getValue().sequence));
+
+		return result;
+	}
+
+	private Map<String, Long> mapPhases(Function<PhaseStats, Long> value)
+	{
+		Map<String, Long> result = new LinkedHashMap<>();
+
+		for (Map.Entry<String, PhaseStats> entry : getPhasesInOrder())
+		{
+			result.put(entry.getKey(), value.apply(entry.getValue()));
+		}
+
+		return result;
+	}
+
+	@Override
+	public Map<String, Long> getPhaseMillis()
+	{
+		return mapPhases(stats -> stats.nanos.sum() / 1_000_000);
+	}
+
+	@Override
+	public Map<String, Long> getPhaseBytesPerSecond()
+	{
+		return mapPhases(stats -> perSecond(stats.bytes.sum(), stats.nanos.sum()));
+	}
+
+	@Override
+	public Map<String, Long> getPhaseItemsPerSecond()
+	{
+		return mapPhases(stats -> perSecond(stats.items.sum(), stats.nanos.sum()));
+	}
+
+	@Override
+	public Map<String, Long> getPhaseAllocatedBytes()
+	{
+		return mapPhases(stats -> stats.allocated.sum());
+	}
+
+	private static long perSecond(long count, long nanos)
+	{
+		return nanos > 0 ? (long) (count * 1_000_000_000.0 / nanos) : 0;
+	}
+
+	@Override
+	public Map<String, Long> getTagCounts()
+	{
+		List<Map.Entry<String, LongAdder>> entries = new ArrayList<>(tagCounts.entrySet());
+
+		entries.sort(Comparator.comparingLong((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum()).reversed()
+				.thenComparing(Map.Entry::getKey));
+
+		Map<String, Long> result = new LinkedHashMap<>();
+
+		for (Map.Entry<String, LongAdder> entry : entries)
+		{
+			result.put(entry.getKey(), entry.getValue().sum());
+		}
+
+		return result;
+	}
+
+	@Override
+	public Map<String, Double> getCacheHitRates()
+	{
+		Map<String, Double> result = new LinkedHashMap<>();
+
+		for (Map.Entry<String, CacheStats> entry : caches.entrySet())
+		{
+			result.put(entry.getKey(), entry.getValue().getHitRate());
+		}
+
+		return result;
+	}
+
+	@Override
+	public Map<String, Double> getQueueMeanDepths()
+	{
+		Map<String, Double> result = new LinkedHashMap<>();
+
+		for (Map.Entry<String, QueueStats> entry : queues.entrySet())
+		{
+			result.put(entry.getKey(), entry.getValue().getMeanDepth());
+		}
+
+		return result;
+	}
+
+	@Override
+	public Map<String, Long> getQueueMaxDepths()
+	{
+		Map<String, Long> result = new LinkedHashMap<>();
+
+		for (Map.Entry<String, QueueStats> entry : queues.entrySet())
+		{
+			result.put(entry.getKey(), entry.getValue().maxDepth.get());
+		}
+
+		return result;
+	}
+
+	@Override
+	public String getReport()
+	{
+		StringBuilder builder = new StringBuilder();
+
+		builder.append("Phase").append(HEADLESS_SEPARATOR);
+		builder.append("Runs").append(HEADLESS_SEPARATOR);
+		builder.append("Millis").append(HEADLESS_SEPARATOR);
+		builder.append("Bytes").append(HEADLESS_SEPARATOR);
+		builder.append("MB/s").append(HEADLESS_SEPARATOR);
+		builder.append("Items").append(HEADLESS_SEPARATOR);
+		builder.append("Items/s").append(HEADLESS_SEPARATOR);
+		builder.append("Allocated MB").append(S_NEWLINE);
+
+		for (Map.Entry<String, PhaseStats> entry : getPhasesInOrder())
+		{
+			PhaseStats stats = entry.getValue();
+
+			long nanos = stats.nanos.sum();
+
+			builder.append(entry.getKey()).append(HEADLESS_SEPARATOR);
+			builder.append(stats.runs.sum()).append(HEADLESS_SEPARATOR);
+			builder.append(nanos / 1_000_000).append(HEADLESS_SEPARATOR);
+			builder.append(stats.bytes.sum()).append(HEADLESS_SEPARATOR);
+			builder.append(formatMegabytes(perSecond(stats.bytes.sum(), nanos))).append(HEADLESS_SEPARATOR);
+			builder.append(stats.items.sum()).append(HEADLESS_SEPARATOR);
+			builder.append(perSecond(stats.items.sum(), nanos)).append(HEADLESS_SEPARATOR);
+			builder.append(formatMegabytes(stats.allocated.sum())).append(S_NEWLINE);
+		}
+
+		builder.append(S_NEWLINE);
+
+		builder.append("Cache").append(HEADLESS_SEPARATOR);
+		builder.append("Hits").append(HEADLESS_SEPARATOR);
+		builder.append("Misses").append(HEADLESS_SEPARATOR);
+		builder.append("Hit Rate").append(S_NEWLINE);
+
+		for (Map.Entry<String, CacheStats> entry : caches.entrySet())
+		{
+			CacheStats stats = entry.getValue();
+
+			builder.append(entry.getKey()).append(HEADLESS_SEPARATOR);
+			builder.append(stats.hits.sum()).append(HEADLESS_SEPARATOR);
+			builder.append(stats.misses.sum()).append(HEADLESS_SEPARATOR);
+			builder.append(String.format("%.3f", stats.getHitRate())).append(S_NEWLINE);
+		}
+
+		builder.append(S_NEWLINE);
+
+		builder.append("Queue").append(HEADLESS_SEPARATOR);
+		builder.append("Samples").append(HEADLESS_SEPARATOR);
+		builder.append("Mean Depth").append(HEADLESS_SEPARATOR);
+		builder.append("Max Depth").append(S_NEWLINE);
+
+		for (Map.Entry<String, QueueStats> entry : queues.entrySet())
+		{
+			QueueStats stats = entry.getValue();
+
+			builder.append(entry.getKey()).append(HEADLESS_SEPARATOR);
+			builder.append(stats.samples.sum()).append(HEADLESS_SEPARATOR);
+			builder.append(String.format("%.1f", stats.getMeanDepth())).append(HEADLESS_SEPARATOR);
+			builder.append(stats.maxDepth.get()).append(S_NEWLINE);
+		}
+
+		builder.append(S_NEWLINE);
+
+		builder.append("Tag").append(HEADLESS_SEPARATOR);
+		builder.append("Count").append(S_NEWLINE);
+
+		for (Map.Entry<String, Long> entry : getTagCounts().entrySet())
+		{
+			builder.append(entry.getKey()).append(HEADLESS_SEPARATOR);
+			builder.append(entry.getValue()).append(S_NEWLINE);
+		}
+
+		return builder.toString();
+	}
+
+	private static String formatMegabytes(long bytes)
+	{
+		return String.format("%.1f", bytes / (1024.0 * 1024.0));
+	}
+
+	static final class PhaseStats
+	{
+		private final int sequence;
+
+		private final LongAdder runs = new LongAdder();
+		private final LongAdder nanos = new LongAdder();
+		private final LongAdder bytes = new LongAdder();
+		private final LongAdder items = new LongAdder();
+		private final LongAdder allocated = new LongAdder();
+
+		PhaseStats(int sequence)
+		{
+			this.sequence = sequence;
+		}
+
+		void record(long nanos, long bytes, long items, long allocated)
+		{
+			this.runs.increment();
+			this.nanos.add(nanos);
+			this.bytes.add(bytes);
+			this.items.add(items);
+			this.allocated.add(allocated);
+		}
+	}
+
+	private static final class CacheStats
+	{
+		private final LongAdder hits = new LongAdder();
+		private final LongAdder misses = new LongAdder();
+
+		double getHitRate()
+		{
+			long hitCount = hits.sum();
+			long total = hitCount + misses.sum();
+
+			return total > 0 ? (double) hitCount / total : 0;
+		}
+	}
+
+	private static final class QueueStats
+	{
+		private final LongAdder samples = new LongAdder();
+		private final LongAdder totalDepth = new LongAdder();
+		private final AtomicLong maxDepth = new AtomicLong();
+
+		void record(int depth)
+		{
+			samples.increment();
+			totalDepth.add(depth);
+			maxDepth.accumulateAndGet(depth, Math::max);
+		}
+
+		double getMeanDepth()
+		{
+			long count = samples.sum();
+
+			return count > 0 ? (double) totalDepth.sum() / count : 0;
+		}
+	}
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.metrics;
+
+import java.util.Map;
+
+public interface ParseMetricsMXBean
+{
+	Map<String, Long> getPhaseMillis();
+
+	Map<String, Long> getPhaseBytesPerSecond();
+
+	Map<String, Long> getPhaseItemsPerSecond();
+
+	Map<String, Long> getPhaseAllocatedBytes();
+
+	Map<String, Long> getTagCounts();
+
+	Map<String, Double> getCacheHitRates();
+
+	Map<String, Double> getQueueMeanDepths();
+
+	Map<String, Long> getQueueMaxDepths();
+
+	String getReport();
+
+	void reset();
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+// One run of a phase on the calling thread, recorded when closed. The allocation estimate
+// counts what the calling thread allocated so work handed to other threads is not included.
+public final class PhaseTimer implements AutoCloseable
+{
+	private static final com.sun.management.ThreadMXBean ALLOCATION_BEAN = getAllocationBean();
+
+	private final ParseMetrics.PhaseStats stats;
+
+	private final long startNanos;
+	private final long startAllocated;
+
+	private long bytes = 0;
+	private long items = 0;
+
+	private boolean closed = false;
+
+	PhaseTimer(ParseMetrics.PhaseStats stats)
+	{
+		this.stats = stats;
+
+		startAllocated = getAllocatedBytes();
+		startNanos = System.nanoTime();
+	}
+
+	private static com.sun.management.ThreadMXBean getAllocationBean()
+	{
+		com.sun.management.ThreadMXBean result = null;
+
+		try
+		{
+			ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+			if (threadBean instanceof com.sun.management.ThreadMXBean)
+			{
+				com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+
+				if (allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled())
+				{
+					result = allocationBean;
+				}
+			}
+		}
+		catch (RuntimeException | LinkageError e)
+		{
+			// no estimate on this VM
+		}
+
+		return result;
+	}
+
+	private static long getAllocatedBytes()
+	{
+		return ALLOCATION_BEAN != null ? ALLOCATION_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+	}
+
+	public void addBytes(long count)
+	{
+		bytes += count;
+	}
+
+	// lines, tags or members depending on the phase
+	public void addItems(long count)
+	{
+		items += count;
+	}
+
+	@Override
+	public void close()
+	{
+		if (!closed)
+		{
+			closed = true;
+
+			long nanos = System.nanoTime() - startNanos;
+
+			stats.record(nanos, bytes, items, getAllocatedBytes() - startAllocated);
+		}
+	}
+}
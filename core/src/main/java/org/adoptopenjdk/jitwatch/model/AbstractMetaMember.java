@@ -31,7 +31,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-import org.adoptopenjdk.jitwatch.model.assembly.AssemblyMethod;
+import org.adoptopenjdk.jitwatch.model.assembly.IAssemblyMethod;
 import org.adoptopenjdk.jitwatch.model.bytecode.BytecodeInstruction;
 import org.adoptopenjdk.jitwatch.model.bytecode.ClassBC;
 import org.adoptopenjdk.jitwatch.model.bytecode.MemberBytecode;
@@ -321,7 +321,7 @@ public abstract class AbstractMetaMember implements IMetaMember, Comparable<IMet
 	}
 
 	@Override
-	public Compilation getCompilationByAddress(AssemblyMethod asmMethod)
+	public Compilation getCompilationByAddress(IAssemblyMethod asmMethod)
 	{
 		Compilation result = null;
 
@@ -353,6 +353,8 @@ public abstract class AbstractMetaMember implements IMetaMember, Comparable<IMet
 		compilations.add(compilation);
 
 		selectedCompilationIndex = compilations.size() - 1;
+
+		Compilation.markModified();
 	}
 
 	@Override
@@ -365,6 +367,8 @@ public abstract class AbstractMetaMember implements IMetaMember, Comparable<IMet
 	public void setCompiled(boolean compiled)
 	{
 		isCompiled = compiled;
+
+		Compilation.markModified();
 	}
 
 	@Override
@@ -416,7 +420,7 @@ public abstract class AbstractMetaMember implements IMetaMember, Comparable<IMet
 	}
 
 	@Override
-	public void addAssembly(AssemblyMethod asmMethod)
+	public void addAssembly(IAssemblyMethod asmMethod)
 	{
 		if (DEBUG_LOGGING_ASSEMBLY)
 		{
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// A list that only grows, stored in segments of doubling size so an append never copies.
+// Writers claim a slot, fill it and then publish every filled slot in order, so appends take
+// no lock and a slow writer never blocks the others. Readers see the published prefix.
+// Seen through the List interface it is read-only.
+public final class AppendOnlyList<E> extends AbstractList<E> implements RandomAccess
+{
+	private static final int FIRST_SEGMENT_BITS = 4;
+
+	// enough segments for any int index
+	private static final int MAX_SEGMENTS = 32 - FIRST_SEGMENT_BITS;
+
+	private final AtomicReferenceArray<AtomicReferenceArray<Object>> segments = new AtomicReferenceArray<>(MAX_SEGMENTS);
+
+	private final AtomicInteger claimed = new AtomicInteger();
+
+	// every slot below this is filled
+	private final AtomicInteger published = new AtomicInteger();
+
+	private volatile SortedView<E> sortedView = null;
+
+	public void append(E element)
+	{
+		if (element == null)
+		{
+			throw new NullPointerException();
+		}
+
+		int index = claimed.getAndIncrement();
+
+		int segment = segmentFor(index);
+
+		getSegment(segment).set(offsetFor(index, segment), element);
+
+		// publish this slot and any later ones already filled by writers that finished first
+		int next = published.get();
+
+		while (next < claimed.get() && isFilled(next))
+		{
+			published.compareAndSet(next, next + 1);
+
+			next = published.get();
+		}
+	}
+
+	private AtomicReferenceArray<Object> getSegment(int segment)
+	{
+		AtomicReferenceArray<Object> result = segments.get(segment);
+
+		if (result == null)
+		{
+			segments.compareAndSet(segment, null, new AtomicReferenceArray<>(1 << (segment + FIRST_SEGMENT_BITS)));
+
+			result = segments.get(segment);
+		}
+
+		return result;
+	}
+
+	private boolean isFilled(int index)
+	{
+		int segment = segmentFor(index);
+
+		AtomicReferenceArray<Object> slots = segments.get(segment);
+
+		return slots != null && slots.get(offsetFor(index, segment)) != null;
+	}
+
+	private static int segmentFor(int index)
+	{
+		return 31 - Integer.numberOfLeadingZeros((index >>> FIRST_SEGMENT_BITS) + 1);
+	}
+
+	private static int offsetFor(int index, int segment)
+	{
+		return index - (((1 << segment) - 1) << FIRST_SEGMENT_BITS);
+	}
+
+	@SuppressWarnings("unchecked")
+	private E elementAt(int index)
+	{
+		int segment = segmentFor(index);
+
+		return (E) segments.get(segment).get(offsetFor(index, segment));
+	}
+
+	@Override
+	public E get(int index)
+	{
+		int currentSize = size();
+
+		if (index < 0 || index >= currentSize)
+		{
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + currentSize);
+		}
+
+		return elementAt(index);
+	}
+
+	@Override
+	public int size()
+	{
+		return published.get();
+	}
+
+	// walks the elements present when the iterator was created
+	@Override
+	public Iterator<E> iterator()
+	{
+		return snapshot().iterator();
+	}
+
+	// the elements published so far as a fixed-size read-only list, nothing is copied
+	public List<E> snapshot()
+	{
+		final int end = size();
+
+		return new Snapshot(end);
+	}
+
+	// the elements in natural order, sorted again only after an append
+	public List<E> getSortedView()
+	{
+		return getSortedView(null);
+	}
+
+	// the elements in comparator order, sorted again only after an append or for another comparator
+	@SuppressWarnings("unchecked")
+	public List<E> getSortedView(Comparator<? super E> comparator)
+	{
+		SortedView<E> view = sortedView;
+
+		int currentSize = size();
+
+		if (view == null || view.elements.size() != currentSize || view.comparator != comparator)
+		{
+			Object[] elements = new Object[currentSize];
+
+			for (int i = 0; i < currentSize; i++)
+			{
+				elements[i] = elementAt(i);
+			}
+
+			Arrays.sort(elements, (Comparator<Object>) comparator);
+
+			view = new SortedView<>(comparator, Collections.unmodifiableList((List<E>) Arrays.asList(elements)));
+
+			sortedView = view;
+		}
+
+		return view.elements;
+	}
+
+	private static final class SortedView<E>
+	{
+		private final Comparator<? super E> comparator;
+		private final List<E> elements;
+
+		SortedView(Comparator<? super E> comparator, List<E> elements)
+		{
+			this.comparator = comparator;
+			this.elements = elements;
+		}
+	}
+
+	private final class Snapshot extends AbstractList<E> implements RandomAccess
+	{
+		private final int end;
+
+		Snapshot(int end)
+		{
+			this.end = end;
+		}
+
+		@Override
+		public E get(int index)
+		{
+			if (index < 0 || index >= end)
+			{
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + end);
+			}
+
+			return elementAt(index);
+		}
+
+		@Override
+		public int size()
+		{
+			return end;
+		}
+
+		@Override
+		public Iterator<E> iterator()
+		{
+			return new Iterator<E>()
+			{
+				private int next = 0;
+
+				@Override
+				public boolean hasNext()
+				{
+					return next < end;
+				}
+
+				@Override
+				public E next()
+				{
+					if (next >= end)
+					{
+						throw new NoSuchElementException();
+					}
+
+					return elementAt(next++);
+				}
+			};
+		}
+	}
+}
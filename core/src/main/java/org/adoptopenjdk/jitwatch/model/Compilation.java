@@ -6,27 +6,25 @@
 package org.adoptopenjdk.jitwatch.model;
 
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_ADDRESS;
-import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_BYTES;
-import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_COMPILER;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_COMPILE_ID;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_COMPILE_KIND;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_ENTRY;
-import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_LEVEL;
-import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_NMSIZE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_OSR_BCI;
-import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C2;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C2N;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.OSR;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_FAILURE;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
-import org.adoptopenjdk.jitwatch.model.assembly.AssemblyMethod;
+import org.adoptopenjdk.jitwatch.model.assembly.IAssemblyMethod;
 import org.adoptopenjdk.jitwatch.util.ParseUtil;
 
 public class Compilation
 {
+	// moves on with every change to a compilation or to the compilations of a member, in any model
+	private static final AtomicLong MODIFICATION_COUNT = new AtomicLong();
 	private Tag tagTaskQueued;
 
 	private Tag tagNMethod;
@@ -35,7 +33,7 @@ public class Compilation
 
 	private Tag tagTaskDone;
 
-	private AssemblyMethod assembly;
+	private IAssemblyMethod assembly;
 
 	private String compileID;
 
@@ -63,6 +61,18 @@ public class Compilation
 
 	private CompilerThread compilerThread = null;
 
+	private volatile CompilationSummary summary;
+
+	public static long getModificationCount()
+	{
+		return MODIFICATION_COUNT.get();
+	}
+
+	static void markModified()
+	{
+		MODIFICATION_COUNT.incrementAndGet();
+	}
+
 	public Compilation(IMetaMember member, int index)
 	{
 		this.member = member;
@@ -89,12 +99,12 @@ public class Compilation
 		return entryAddress;
 	}
 
-	public AssemblyMethod getAssembly()
+	public IAssemblyMethod getAssembly()
 	{
 		return assembly;
 	}
 
-	public void setAssembly(AssemblyMethod assembly)
+	public void setAssembly(IAssemblyMethod assembly)
 	{
 		this.assembly = assembly;
 	}
@@ -109,7 +119,7 @@ public class Compilation
 		}
 		else
 		{
-			result = new HashMap<>();
+			result = Collections.emptyMap();
 		}
 
 		return result;
@@ -130,7 +140,7 @@ public class Compilation
 		}
 		else
 		{
-			result = new HashMap<>();
+			result = Collections.emptyMap();
 		}
 
 		return result;
@@ -144,6 +154,8 @@ public class Compilation
 	public void setTagTaskQueued(Tag tagTaskQueued)
 	{
 		this.tagTaskQueued = tagTaskQueued;
+		summary = null;
+		markModified();
 
 		Map<String, String> attrs = tagTaskQueued.getAttributes();
 
@@ -174,6 +186,8 @@ public class Compilation
 	public void setTagNMethod(Tag tagNMethod)
 	{
 		this.tagNMethod = tagNMethod;
+		summary = null;
+		markModified();
 
 		Map<String, String> attrs = tagNMethod.getAttributes();
 
@@ -195,6 +209,8 @@ public class Compilation
 	public void setTagTask(Task tagTask)
 	{
 		this.tagTask = tagTask;
+		summary = null;
+		markModified();
 
 		Map<String, String> attrs = tagTask.getAttributes();
 
@@ -229,6 +245,8 @@ public class Compilation
 	public void setTagTaskDone(Tag tagTaskDone)
 	{
 		this.tagTaskDone = tagTaskDone;
+		summary = null;
+		markModified();
 	}
 
 	public int getIndex()
@@ -238,23 +256,33 @@ public class Compilation
 
 	public int getNativeSize()
 	{
-		int result = 0;
+		return getSummary().getNativeSize();
+	}
 
-		if (tagTaskDone != null)
-		{
-			result = Integer.parseInt(tagTaskDone.getAttributes().get(ATTR_NMSIZE));
-		}
+	public int getBytecodeSize()
+	{
+		return getSummary().getBytecodeSize();
+	}
 
-		return result;
+	public int getDecompiles()
+	{
+		return getSummary().getDecompiles();
 	}
 
-	public int getBytecodeSize()
+	public String getFailureReason()
 	{
-		int result = 0;
+		return getSummary().getFailureReason();
+	}
 
-		if (tagTask != null)
+	// rebuilt lazily after any tag is set so readers never re-parse the tags
+	public CompilationSummary getSummary()
+	{
+		CompilationSummary result = summary;
+
+		if (result == null)
 		{
-			result = Integer.parseInt(tagTask.getAttributes().get(ATTR_BYTES));
+			result = new CompilationSummary(this);
+			summary = result;
 		}
 
 		return result;
@@ -294,118 +322,17 @@ public class Compilation
 
 	public String getSignature()
 	{
-		StringBuilder builder = new StringBuilder();
-
-		builder.append("#").append(index + 1);
-
-		if (tagNMethod != null)
-		{
-			Map<String, String> tagAttributes = tagNMethod.getAttributes();
-
-			String level = tagAttributes.get(ATTR_LEVEL);
-			String compiler = tagAttributes.get(ATTR_COMPILER);
-			String compileKind = tagAttributes.get(ATTR_COMPILE_KIND);
-
-			builder.append("  (");
-
-			if (compiler != null)
-			{
-				builder.append(compiler.toUpperCase());
-			}
-
-			if (compileKind != null)
-			{
-				if (compiler != null)
-				{
-					builder.append(" / ");
-				}
-
-				builder.append(compileKind.toUpperCase());
-			}
-
-			if (level != null)
-			{
-				builder.append(" / Level ").append(level);
-			}
-
-			builder.append(")");
-		}
-
-		return builder.toString();
+		return getSummary().getSignature();
 	}
 
 	public String getCompiler()
 	{
-		String result = null;
-
-		if (tagNMethod != null)
-		{
-			StringBuilder builder = new StringBuilder();
-
-			Map<String, String> tagAttributes = tagNMethod.getAttributes();
-
-			String compiler = tagAttributes.get(ATTR_COMPILER);
-			String compileKind = tagAttributes.get(ATTR_COMPILE_KIND);
-
-			if (compiler != null)
-			{
-				builder.append(compiler.toUpperCase());
-			}
-
-			if (compileKind != null)
-			{
-				if (compiler != null)
-				{
-					builder.append(" ");
-				}
-
-				builder.append(compileKind.toUpperCase());
-			}
-
-			result = builder.toString();
-		}
-
-		return result;
+		return getSummary().getCompiler();
 	}
 
 	public int getLevel()
 	{
-		int result = -1;
-
-		Tag tag;
-
-		if (tagNMethod != null)
-		{
-			tag = tagNMethod;
-		}
-		else
-		{
-			tag = tagTaskQueued;
-		}
-
-		if (tag != null)
-		{
-			Map<String, String> tagAttributes = tag.getAttributes();
-
-			String level = tagAttributes.get(ATTR_LEVEL);
-
-			if (level != null)
-			{
-				try
-				{
-					result = Integer.parseInt(level);
-				}
-				catch (NumberFormatException nfe)
-				{
-				}
-			}
-			else if (C2.equalsIgnoreCase(tagAttributes.get(ATTR_COMPILER)))
-			{
-				result = 4;
-			}
-		}
-
-		return result;
+		return getSummary().getLevel();
 	}
 
 	public String toStringVerbose()
@@ -466,6 +393,7 @@ public class Compilation
 	public void setCompilerThread(CompilerThread compilerThread)
 	{
 		this.compilerThread = compilerThread;
+		markModified();
 	}
 
 	@Override
@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_BYTES;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_COMPILER;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_COMPILE_KIND;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_DECOMPILES;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_LEVEL;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_NMSIZE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_REASON;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C2;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_REASON_STALE_TASK;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_FAILURE;
+
+import java.util.Map;
+
+// Immutable snapshot of the values derived from a compilation's tags.
+// Built once per tag change so repeated reads don't re-parse attribute strings.
+public final class CompilationSummary
+{
+	private final int compileID;
+
+	private final int level;
+
+	private final String compiler;
+
+	private final String signature;
+
+	private final boolean isOSR;
+
+	private final boolean isC2N;
+
+	private final int osrBCI;
+
+	private final long stampTaskQueued;
+
+	private final long stampTaskCompilationStart;
+
+	private final long stampNMethodEmitted;
+
+	private final int nativeSize;
+
+	private final int bytecodeSize;
+
+	private final int decompiles;
+
+	private final boolean failed;
+
+	private final String failureReason;
+
+	private final boolean stale;
+
+	CompilationSummary(Compilation compilation)
+	{
+		Tag tagTaskQueued = compilation.getTagTaskQueued();
+		Tag tagNMethod = compilation.getTagNMethod();
+		Task tagTask = compilation.getTagTask();
+		Tag tagTaskDone = compilation.getTagTaskDone();
+
+		compileID = parseInt(compilation.getCompileID(), -1);
+
+		level = deriveLevel(tagNMethod != null ? tagNMethod : tagTaskQueued);
+
+		compiler = deriveCompiler(tagNMethod);
+		signature = deriveSignature(compilation.getIndex(), tagNMethod);
+
+		isOSR = compilation.isOSR();
+		isC2N = compilation.isC2N();
+		osrBCI = compilation.getOSRBCI();
+
+		stampTaskQueued = compilation.getStampTaskQueued();
+		stampTaskCompilationStart = compilation.getStampTaskCompilationStart();
+		stampNMethodEmitted = compilation.getStampNMethodEmitted();
+
+		nativeSize = tagTaskDone != null ? parseInt(tagTaskDone.getAttributes().get(ATTR_NMSIZE), 0) : 0;
+		bytecodeSize = tagTask != null ? parseInt(tagTask.getAttributes().get(ATTR_BYTES), 0) : 0;
+
+		decompiles = deriveDecompiles(tagTask, tagTaskQueued, tagNMethod);
+
+		failed = compilation.isFailed();
+
+		Tag tagFailure = tagTask != null ? tagTask.getFirstNamedChild(TAG_FAILURE) : null;
+
+		failureReason = tagFailure != null ? tagFailure.getAttributes().get(ATTR_REASON) : null;
+
+		stale = tagTask != null && isStaleTask(tagTask);
+	}
+
+	private static boolean isStaleTask(Task task)
+	{
+		boolean result = false;
+
+		for (Tag failure : task.getNamedChildren(TAG_FAILURE))
+		{
+			if (S_REASON_STALE_TASK.equals(failure.getAttributes().get(ATTR_REASON)))
+			{
+				result = true;
+				break;
+			}
+		}
+
+		return result;
+	}
+
+	private static int parseInt(String value, int defaultValue)
+	{
+		int result = defaultValue;
+
+		if (value != null)
+		{
+			try
+			{
+				result = Integer.parseInt(value);
+			}
+			catch (NumberFormatException nfe)
+			{
+			}
+		}
+
+		return result;
+	}
+
+	private static int deriveLevel(Tag tag)
+	{
+		int result = -1;
+
+		if (tag != null)
+		{
+			Map<String, String> tagAttributes = tag.getAttributes();
+
+			String levelString = tagAttributes.get(ATTR_LEVEL);
+
+			if (levelString != null)
+			{
+				result = parseInt(levelString, -1);
+			}
+			else if (C2.equalsIgnoreCase(tagAttributes.get(ATTR_COMPILER)))
+			{
+				result = 4;
+			}
+		}
+
+		return result;
+	}
+
+	private static String deriveCompiler(Tag tagNMethod)
+	{
+		String result = null;
+
+		if (tagNMethod != null)
+		{
+			StringBuilder builder = new StringBuilder();
+
+			Map<String, String> tagAttributes = tagNMethod.getAttributes();
+
+			String compilerString = tagAttributes.get(ATTR_COMPILER);
+			String compileKind = tagAttributes.get(ATTR_COMPILE_KIND);
+
+			if (compilerString != null)
+			{
+				builder.append(compilerString.toUpperCase());
+			}
+
+			if (compileKind != null)
+			{
+				if (compilerString != null)
+				{
+					builder.append(" ");
+				}
+
+				builder.append(compileKind.toUpperCase());
+			}
+
+			result = builder.toString();
+		}
+
+		return result;
+	}
+
+	private static String deriveSignature(int index, Tag tagNMethod)
+	{
+		StringBuilder builder = new StringBuilder();
+
+		builder.append("#").append(index + 1);
+
+		if (tagNMethod != null)
+		{
+			Map<String, String> tagAttributes = tagNMethod.getAttributes();
+
+			String levelString = tagAttributes.get(ATTR_LEVEL);
+			String compilerString = tagAttributes.get(ATTR_COMPILER);
+			String compileKind = tagAttributes.get(ATTR_COMPILE_KIND);
+
+			builder.append("  (");
+
+			if (compilerString != null)
+			{
+				builder.append(compilerString.toUpperCase());
+			}
+
+			if (compileKind != null)
+			{
+				if (compilerString != null)
+				{
+					builder.append(" / ");
+				}
+
+				builder.append(compileKind.toUpperCase());
+			}
+
+			if (levelString != null)
+			{
+				builder.append(" / Level ").append(levelString);
+			}
+
+			builder.append(")");
+		}
+
+		return builder.toString();
+	}
+
+	// HotSpot writes decompiles on the task, falling back to the queued and nmethod tags
+	private static int deriveDecompiles(Tag... tags)
+	{
+		int result = 0;
+
+		for (Tag tag : tags)
+		{
+			if (tag != null)
+			{
+				String value = tag.getAttributes().get(ATTR_DECOMPILES);
+
+				if (value != null)
+				{
+					result = parseInt(value, 0);
+					break;
+				}
+			}
+		}
+
+		return result;
+	}
+
+	// numeric compile_id or -1 if missing or not numeric
+	public int getCompileID()
+	{
+		return compileID;
+	}
+
+	public int getLevel()
+	{
+		return level;
+	}
+
+	public String getCompiler()
+	{
+		return compiler;
+	}
+
+	public String getSignature()
+	{
+		return signature;
+	}
+
+	public boolean isOSR()
+	{
+		return isOSR;
+	}
+
+	public boolean isC2N()
+	{
+		return isC2N;
+	}
+
+	public int getOSRBCI()
+	{
+		return osrBCI;
+	}
+
+	public long getStampTaskQueued()
+	{
+		return stampTaskQueued;
+	}
+
+	public long getStampTaskCompilationStart()
+	{
+		return stampTaskCompilationStart;
+	}
+
+	public long getStampNMethodEmitted()
+	{
+		return stampNMethodEmitted;
+	}
+
+	public long getCompilationDuration()
+	{
+		long duration = 0;
+
+		if (stampTaskCompilationStart != 0 && stampNMethodEmitted != 0)
+		{
+			duration = stampNMethodEmitted - stampTaskCompilationStart;
+		}
+
+		return duration;
+	}
+
+	public int getNativeSize()
+	{
+		return nativeSize;
+	}
+
+	public int getBytecodeSize()
+	{
+		return bytecodeSize;
+	}
+
+	public int getDecompiles()
+	{
+		return decompiles;
+	}
+
+	public boolean isFailed()
+	{
+		return failed;
+	}
+
+	public String getFailureReason()
+	{
+		return failureReason;
+	}
+
+	public boolean isStale()
+	{
+		return stale;
+	}
+}
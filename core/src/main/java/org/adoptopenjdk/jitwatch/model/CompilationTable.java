@@ -0,0 +1,492 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+// Immutable struct-of-arrays view of every compilation in the model.
+// Rows are in package/class/member walk order so whole-model scans touch
+// primitive columns instead of chasing the object graph.
+public class CompilationTable
+{
+	public enum Column
+	{
+		COMPILE_ID, MEMBER_INDEX, STAMP_QUEUED, STAMP_START, STAMP_EMITTED, DURATION, NATIVE_SIZE, BYTECODE_SIZE, LEVEL,
+		THREAD_INDEX
+	}
+
+	public static final int FLAG_OSR = 1;
+	public static final int FLAG_C2N = 1 << 1;
+	public static final int FLAG_FAILED = 1 << 2;
+	public static final int FLAG_STALE = 1 << 3;
+
+	public static final int MEMBER_FLAG_COMPILED = 1;
+
+	// below this many rows a parallel scan costs more than it saves
+	private static final int PARALLEL_THRESHOLD = 50_000;
+
+	public static final CompilationTable EMPTY = new CompilationTable(new IMetaMember[0], new Compilation[0], new int[0],
+			new ArrayList<CompilerThread>(), -1);
+
+	private final IMetaMember[] members;
+	private final Compilation[] compilations;
+
+	private final int[] compileIDs;
+	private final int[] memberIndexes;
+	private final long[] stampsQueued;
+	private final long[] stampsStart;
+	private final long[] stampsEmitted;
+	private final long[] durations;
+	private final int[] nativeSizes;
+	private final int[] bytecodeSizes;
+	private final int[] levels;
+	private final int[] threadIndexes;
+	private final byte[] flags;
+
+	private final byte[] memberFlags;
+
+	private final List<CompilerThread> compilerThreads;
+
+	// Compilation.getModificationCount() when the rows were read
+	private final long modificationCount;
+
+	// ascending row permutation per column, built on first use
+	private final int[][] sortOrders = new int[Column.values().length][];
+
+	public static CompilationTable build(IReadOnlyJITDataModel model)
+	{
+		// read first so a change made while building leaves the table stale
+		long modificationCount = Compilation.getModificationCount();
+
+		List<IMetaMember> memberList = new ArrayList<>();
+		List<Compilation> compilationList = new ArrayList<>();
+		List<Integer> memberIndexList = new ArrayList<>();
+
+		for (MetaPackage mp : model.getPackageManager().getRootPackages())
+		{
+			collect(mp, memberList, compilationList, memberIndexList);
+		}
+
+		int[] memberIndexes = new int[memberIndexList.size()];
+
+		for (int i = 0; i < memberIndexes.length; i++)
+		{
+			memberIndexes[i] = memberIndexList.get(i);
+		}
+
+		return new CompilationTable(memberList.toArray(new IMetaMember[0]), compilationList.toArray(new Compilation[0]),
+				memberIndexes, model.getCompilerThreads(), modificationCount);
+	}
+
+	private static void collect(MetaPackage mp, List<IMetaMember> memberList, List<Compilation> compilationList,
+			List<Integer> memberIndexList)
+	{
+		for (MetaPackage childPackage : mp.getChildPackages())
+		{
+			collect(childPackage, memberList, compilationList, memberIndexList);
+		}
+
+		for (MetaClass mc : mp.getPackageClasses())
+		{
+			for (IMetaMember mm : mc.getMetaMembers())
+			{
+				List<Compilation> memberCompilations = mm.getCompilations();
+
+				if (!memberCompilations.isEmpty())
+				{
+					int memberIndex = memberList.size();
+
+					memberList.add(mm);
+
+					for (Compilation compilation : memberCompilations)
+					{
+						compilationList.add(compilation);
+						memberIndexList.add(memberIndex);
+					}
+				}
+			}
+		}
+	}
+
+	private CompilationTable(IMetaMember[] members, Compilation[] compilations, int[] memberIndexes,
+			List<CompilerThread> compilerThreads, long modificationCount)
+	{
+		this.members = members;
+		this.compilations = compilations;
+		this.memberIndexes = memberIndexes;
+		this.compilerThreads = compilerThreads;
+		this.modificationCount = modificationCount;
+
+		int rows = compilations.length;
+
+		compileIDs = new int[rows];
+		stampsQueued = new long[rows];
+		stampsStart = new long[rows];
+		stampsEmitted = new long[rows];
+		durations = new long[rows];
+		nativeSizes = new int[rows];
+		bytecodeSizes = new int[rows];
+		levels = new int[rows];
+		threadIndexes = new int[rows];
+		flags = new byte[rows];
+
+		memberFlags = new byte[members.length];
+
+		for (int memberIndex = 0; memberIndex < members.length; memberIndex++)
+		{
+			if (members[memberIndex].isCompiled())
+			{
+				memberFlags[memberIndex] |= MEMBER_FLAG_COMPILED;
+			}
+		}
+
+		Map<CompilerThread, Integer> threadIndexMap = new IdentityHashMap<>();
+
+		for (int i = 0; i < compilerThreads.size(); i++)
+		{
+			threadIndexMap.put(compilerThreads.get(i), i);
+		}
+
+		for (int row = 0; row < rows; row++)
+		{
+			Compilation compilation = compilations[row];
+
+			CompilationSummary summary = compilation.getSummary();
+
+			compileIDs[row] = summary.getCompileID();
+			stampsQueued[row] = summary.getStampTaskQueued();
+			stampsStart[row] = summary.getStampTaskCompilationStart();
+			stampsEmitted[row] = summary.getStampNMethodEmitted();
+			durations[row] = summary.getCompilationDuration();
+			nativeSizes[row] = summary.getNativeSize();
+			bytecodeSizes[row] = summary.getBytecodeSize();
+			levels[row] = summary.getLevel();
+
+			Integer threadIndex = threadIndexMap.get(compilation.getCompilerThread());
+
+			threadIndexes[row] = threadIndex != null ? threadIndex : -1;
+
+			int rowFlags = 0;
+
+			if (summary.isOSR())
+			{
+				rowFlags |= FLAG_OSR;
+			}
+
+			if (summary.isC2N())
+			{
+				rowFlags |= FLAG_C2N;
+			}
+
+			if (summary.isFailed())
+			{
+				rowFlags |= FLAG_FAILED;
+			}
+
+			if (summary.isStale())
+			{
+				rowFlags |= FLAG_STALE;
+			}
+
+			flags[row] = (byte) rowFlags;
+		}
+	}
+
+	public int size()
+	{
+		return compilations.length;
+	}
+
+	public boolean isEmpty()
+	{
+		return compilations.length == 0;
+	}
+
+	public int getMemberCount()
+	{
+		return members.length;
+	}
+
+	public IMetaMember getMemberByIndex(int memberIndex)
+	{
+		return members[memberIndex];
+	}
+
+	public IMetaMember getMember(int row)
+	{
+		return members[memberIndexes[row]];
+	}
+
+	public Compilation getCompilation(int row)
+	{
+		return compilations[row];
+	}
+
+	public int getCompileID(int row)
+	{
+		return compileIDs[row];
+	}
+
+	public int getMemberIndex(int row)
+	{
+		return memberIndexes[row];
+	}
+
+	public long getStampTaskQueued(int row)
+	{
+		return stampsQueued[row];
+	}
+
+	public long getStampTaskCompilationStart(int row)
+	{
+		return stampsStart[row];
+	}
+
+	public long getStampNMethodEmitted(int row)
+	{
+		return stampsEmitted[row];
+	}
+
+	public long getCompilationDuration(int row)
+	{
+		return durations[row];
+	}
+
+	public int getNativeSize(int row)
+	{
+		return nativeSizes[row];
+	}
+
+	public int getBytecodeSize(int row)
+	{
+		return bytecodeSizes[row];
+	}
+
+	public int getLevel(int row)
+	{
+		return levels[row];
+	}
+
+	// index into getCompilerThreads() or -1 if the compilation ran on no known thread
+	public int getThreadIndex(int row)
+	{
+		return threadIndexes[row];
+	}
+
+	// false once a compilation has changed since the table was built
+	public boolean isCurrent()
+	{
+		return modificationCount == Compilation.getModificationCount();
+	}
+
+	public List<CompilerThread> getCompilerThreads()
+	{
+		return compilerThreads;
+	}
+
+	public boolean hasFlag(int row, int flag)
+	{
+		return (flags[row] & flag) != 0;
+	}
+
+	public boolean hasMemberFlag(int memberIndex, int flag)
+	{
+		return (memberFlags[memberIndex] & flag) != 0;
+	}
+
+	public long getValue(Column column, int row)
+	{
+		switch (column)
+		{
+		case COMPILE_ID:
+			return compileIDs[row];
+		case MEMBER_INDEX:
+			return memberIndexes[row];
+		case STAMP_QUEUED:
+			return stampsQueued[row];
+		case STAMP_START:
+			return stampsStart[row];
+		case STAMP_EMITTED:
+			return stampsEmitted[row];
+		case DURATION:
+			return durations[row];
+		case NATIVE_SIZE:
+			return nativeSizes[row];
+		case BYTECODE_SIZE:
+			return bytecodeSizes[row];
+		case LEVEL:
+			return levels[row];
+		case THREAD_INDEX:
+			return threadIndexes[row];
+		default:
+			throw new IllegalArgumentException("Unknown column " + column);
+		}
+	}
+
+	public long getMaxValue(Column column)
+	{
+		long result = 0;
+
+		int rows = size();
+
+		for (int row = 0; row < rows; row++)
+		{
+			long value = getValue(column, row);
+
+			if (row == 0 || value > result)
+			{
+				result = value;
+			}
+		}
+
+		return result;
+	}
+
+	// Row indexes in ascending column order, equal values keep row order.
+	// The returned array is shared and must not be modified.
+	public int[] getSortOrder(Column column)
+	{
+		int ordinal = column.ordinal();
+
+		int[] result;
+
+		synchronized (sortOrders)
+		{
+			result = sortOrders[ordinal];
+
+			if (result == null)
+			{
+				result = buildSortOrder(column);
+				sortOrders[ordinal] = result;
+			}
+		}
+
+		return result;
+	}
+
+	private int[] buildSortOrder(final Column column)
+	{
+		int rows = size();
+
+		long min = Long.MAX_VALUE;
+		long max = Long.MIN_VALUE;
+
+		for (int row = 0; row < rows; row++)
+		{
+			long value = getValue(column, row);
+
+			min = Math.min(min, value);
+			max = Math.max(max, value);
+		}
+
+		int[] result = new int[rows];
+
+		if (rows == 0)
+		{
+			return result;
+		}
+
+		// pack (value - min) into the high 32 bits and the row into the low 32 bits
+		// so a primitive sort orders by value then row
+		if (max - min >= 0 && max - min <= 0x7FFFFFFFL)
+		{
+			long[] packed = new long[rows];
+
+			for (int row = 0; row < rows; row++)
+			{
+				packed[row] = ((getValue(column, row) - min) << 32) | row;
+			}
+
+			if (rows >= PARALLEL_THRESHOLD)
+			{
+				Arrays.parallelSort(packed);
+			}
+			else
+			{
+				Arrays.sort(packed);
+			}
+
+			for (int i = 0; i < rows; i++)
+			{
+				result[i] = (int) packed[i];
+			}
+		}
+		else
+		{
+			Integer[] boxed = new Integer[rows];
+
+			for (int row = 0; row < rows; row++)
+			{
+				boxed[row] = row;
+			}
+
+			Arrays.sort(boxed, Comparator.comparingLong((Integer row) -> getValue(column, row)));
+
+			for (int i = 0; i < rows; i++)
+			{
+				result[i] = boxed[i];
+			}
+		}
+
+		return result;
+	}
+
+	// rows whose column value is in [minValue, maxValue], in ascending column order
+	public int[] selectRange(Column column, long minValue, long maxValue)
+	{
+		int[] order = getSortOrder(column);
+
+		int from = boundary(column, order, minValue, false);
+		int to = boundary(column, order, maxValue, true);
+
+		return from < to ? Arrays.copyOfRange(order, from, to) : new int[0];
+	}
+
+	// first position in order whose value is >= (or > when inclusive) the given value
+	private int boundary(Column column, int[] order, long value, boolean inclusive)
+	{
+		int lo = 0;
+		int hi = order.length;
+
+		while (lo < hi)
+		{
+			int mid = (lo + hi) >>> 1;
+
+			long midValue = getValue(column, order[mid]);
+
+			if (midValue < value || (inclusive && midValue == value))
+			{
+				lo = mid + 1;
+			}
+			else
+			{
+				hi = mid;
+			}
+		}
+
+		return lo;
+	}
+
+	// rows matching the predicate in row order, scanned in parallel for large tables
+	public int[] filter(IntPredicate predicate)
+	{
+		IntStream rows = IntStream.range(0, size());
+
+		if (size() >= PARALLEL_THRESHOLD)
+		{
+			rows = rows.parallel();
+		}
+
+		return rows.filter(predicate).toArray();
+	}
+}
@@ -17,6 +17,9 @@ public class CompilerThread
 
 	private List<Compilation> compilations;
 
+	// built on first read, discarded when a compilation is added
+	private volatile CompilerThreadTimeIndex timeIndex;
+
 	public String getThreadId()
 	{
 		return threadId;
@@ -38,6 +41,10 @@ public class CompilerThread
 	public void addCompilation(Compilation compilation)
 	{
 		compilations.add(compilation);
+
+		compilation.setCompilerThread(this);
+
+		timeIndex = null;
 	}
 
 	public List<Compilation> getCompilations()
@@ -48,95 +55,40 @@ public class CompilerThread
 	public void clear()
 	{
 		compilations.clear();
+
+		timeIndex = null;
 	}
 	
-	public int getLargestNativeSize()
+	public CompilerThreadTimeIndex getTimeIndex()
 	{
-		int result = 0;
+		CompilerThreadTimeIndex result = timeIndex;
 
-		if (!compilations.isEmpty())
+		if (result == null)
 		{
-			Compilation first = compilations.get(0);
-
-			result = first.getNativeSize();
-		}
-
-		for (Compilation compilation : compilations)
-		{
-			if (compilation.getNativeSize() > result)
-			{
-				result = compilation.getNativeSize();
-			}
+			result = new CompilerThreadTimeIndex(compilations);
+			timeIndex = result;
 		}
 
 		return result;
 	}
-	
-	public int getLargestBytecodeSize()
-	{
-		int result = 0;
-
-		if (!compilations.isEmpty())
-		{
-			Compilation first = compilations.get(0);
-
-			result = first.getBytecodeSize();
-		}
 
-		for (Compilation compilation : compilations)
-		{
-			if (compilation.getBytecodeSize() > result)
-			{
-				result = compilation.getBytecodeSize();
-			}
-		}
+	public int getLargestNativeSize()
+	{
+		return getTimeIndex().getLargestNativeSize();
+	}
 
-		return result;
+	public int getLargestBytecodeSize()
+	{
+		return getTimeIndex().getLargestBytecodeSize();
 	}
 
 	public long getEarliestQueuedTime()
 	{
-		long result = 0;
-
-		if (!compilations.isEmpty())
-		{
-			Compilation first = compilations.get(0);
-
-			result = first.getStampTaskQueued();
-		}
-
-		for (Compilation compilation : compilations)
-		{
-			if (compilation.getStampTaskQueued() < result)
-			{
-				result = compilation.getStampTaskQueued();
-			}
-		}
-
-		return result;
+		return getTimeIndex().getEarliestQueuedTime();
 	}
 
 	public long getLatestNMethodEmittedTime()
 	{
-		long result = 0;
-
-		if (!compilations.isEmpty())
-		{
-			Compilation first = compilations.get(0);
-
-			result = first.getStampNMethodEmitted();
-		}
-
-		for (Compilation compilation : compilations)
-		{
-			long emitted = compilation.getStampNMethodEmitted();
-			
-			if (emitted > result)
-			{
-				result = emitted;
-			}
-		}
-
-		return result;
+		return getTimeIndex().getLatestNMethodEmittedTime();
 	}
-}
\ No newline at end of file
+}
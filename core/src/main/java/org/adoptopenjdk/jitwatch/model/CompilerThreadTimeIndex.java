@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+// Immutable index over one compiler thread's compilations, sorted by
+// compilation start, with the queue length series precomputed
+public class CompilerThreadTimeIndex
+{
+	private final Compilation[] compilations;
+
+	private final long[] startStamps;
+
+	// widest distances either side of the start stamp, used to widen range queries
+	private long maxQueuedLeadIn = 0;
+	private long maxCompileDuration = 0;
+
+	private int largestNativeSize = 0;
+	private int largestBytecodeSize = 0;
+
+	private long earliestQueuedTime = 0;
+	private long latestNMethodEmittedTime = 0;
+
+	private final MinMaxTimeSeries queueLengths;
+
+	public CompilerThreadTimeIndex(List<Compilation> compilationList)
+	{
+		compilations = compilationList.toArray(new Compilation[0]);
+
+		int count = compilations.length;
+
+		if (count > 0)
+		{
+			Compilation first = compilations[0];
+
+			largestNativeSize = first.getNativeSize();
+			largestBytecodeSize = first.getBytecodeSize();
+			earliestQueuedTime = first.getStampTaskQueued();
+			latestNMethodEmittedTime = first.getStampNMethodEmitted();
+		}
+
+		for (Compilation compilation : compilations)
+		{
+			largestNativeSize = Math.max(largestNativeSize, compilation.getNativeSize());
+			largestBytecodeSize = Math.max(largestBytecodeSize, compilation.getBytecodeSize());
+			earliestQueuedTime = Math.min(earliestQueuedTime, compilation.getStampTaskQueued());
+			latestNMethodEmittedTime = Math.max(latestNMethodEmittedTime, compilation.getStampNMethodEmitted());
+
+			long start = compilation.getStampTaskCompilationStart();
+
+			maxQueuedLeadIn = Math.max(maxQueuedLeadIn, start - compilation.getStampTaskQueued());
+			maxCompileDuration = Math.max(maxCompileDuration, compilation.getStampNMethodEmitted() - start);
+		}
+
+		Arrays.sort(compilations, Comparator.comparingLong(Compilation::getStampTaskCompilationStart));
+
+		startStamps = new long[count];
+
+		for (int i = 0; i < count; i++)
+		{
+			startStamps[i] = compilations[i].getStampTaskCompilationStart();
+		}
+
+		queueLengths = buildQueueLengths();
+	}
+
+	// +1 at each queued stamp and -1 at each compilation start, merged in stamp order
+	private MinMaxTimeSeries buildQueueLengths()
+	{
+		int count = compilations.length;
+
+		long[] queued = new long[count];
+
+		for (int i = 0; i < count; i++)
+		{
+			queued[i] = compilations[i].getStampTaskQueued();
+		}
+
+		Arrays.sort(queued);
+
+		long[] stamps = new long[count * 2];
+		int[] lengths = new int[count * 2];
+
+		int q = 0;
+		int s = 0;
+		int length = 0;
+
+		for (int i = 0; i < stamps.length; i++)
+		{
+			// a queue at the same stamp as a start is counted first, matching a stable sort of the counters
+			if (s >= count || (q < count && queued[q] <= startStamps[s]))
+			{
+				stamps[i] = queued[q++];
+				length++;
+			}
+			else
+			{
+				stamps[i] = startStamps[s++];
+				length--;
+			}
+
+			lengths[i] = length;
+		}
+
+		return new MinMaxTimeSeries(stamps, lengths);
+	}
+
+	public int size()
+	{
+		return compilations.length;
+	}
+
+	public Compilation getCompilation(int index)
+	{
+		return compilations[index];
+	}
+
+	// index of the first compilation whose queued..emitted span can reach fromStamp
+	public int getFirstIndexInRange(long fromStamp)
+	{
+		return MinMaxTimeSeries.lowerBound(startStamps, fromStamp - maxCompileDuration);
+	}
+
+	// index after the last compilation whose queued..emitted span can reach toStamp
+	public int getEndIndexInRange(long toStamp)
+	{
+		return MinMaxTimeSeries.upperBound(startStamps, toStamp + maxQueuedLeadIn);
+	}
+
+	public int getLargestNativeSize()
+	{
+		return largestNativeSize;
+	}
+
+	public int getLargestBytecodeSize()
+	{
+		return largestBytecodeSize;
+	}
+
+	public long getEarliestQueuedTime()
+	{
+		return earliestQueuedTime;
+	}
+
+	public long getLatestNMethodEmittedTime()
+	{
+		return latestNMethodEmittedTime;
+	}
+
+	public MinMaxTimeSeries getQueueLengths()
+	{
+		return queueLengths;
+	}
+
+	public int getMaxQueueLength()
+	{
+		return queueLengths.getMaxValue();
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+// Immutable, stamp-sorted view of the JIT events with cumulative counts
+// per compilation level so graphs can sample any time range in O(log n)
+public class EventTimeIndex
+{
+	public static final int ALL_LEVELS = 0;
+
+	public static final int MAX_LEVEL = 4;
+
+	private final JITEvent[] events;
+
+	private final long[] stamps;
+
+	// cumulative[level][i] = number of events at that level in [0, i]
+	private final int[][] cumulative;
+
+	public static final EventTimeIndex EMPTY = new EventTimeIndex(new JITEvent[0]);
+
+	public static EventTimeIndex build(List<JITEvent> eventList)
+	{
+		JITEvent[] sorted = eventList.toArray(new JITEvent[0]);
+
+		Arrays.sort(sorted, Comparator.comparingLong(JITEvent::getStamp));
+
+		return new EventTimeIndex(sorted);
+	}
+
+	private EventTimeIndex(JITEvent[] sorted)
+	{
+		int count = sorted.length;
+
+		events = sorted;
+		stamps = new long[count];
+		cumulative = new int[MAX_LEVEL + 1][count];
+
+		int[] running = new int[MAX_LEVEL + 1];
+
+		for (int i = 0; i < count; i++)
+		{
+			JITEvent event = sorted[i];
+
+			stamps[i] = event.getStamp();
+
+			running[ALL_LEVELS]++;
+
+			int level = event.getLevel();
+
+			if (level > ALL_LEVELS && level <= MAX_LEVEL)
+			{
+				running[level]++;
+			}
+
+			for (int l = 0; l <= MAX_LEVEL; l++)
+			{
+				cumulative[l][i] = running[l];
+			}
+		}
+	}
+
+	public int size()
+	{
+		return events.length;
+	}
+
+	public boolean isEmpty()
+	{
+		return events.length == 0;
+	}
+
+	public JITEvent getEvent(int index)
+	{
+		return events[index];
+	}
+
+	public long getStamp(int index)
+	{
+		return stamps[index];
+	}
+
+	public long getFirstStamp()
+	{
+		return stamps.length == 0 ? 0 : stamps[0];
+	}
+
+	public long getLastStamp()
+	{
+		return stamps.length == 0 ? 0 : stamps[stamps.length - 1];
+	}
+
+	// index of first event with stamp >= given stamp
+	public int lowerBound(long stamp)
+	{
+		return MinMaxTimeSeries.lowerBound(stamps, stamp);
+	}
+
+	// index of first event with stamp > given stamp
+	public int upperBound(long stamp)
+	{
+		return MinMaxTimeSeries.upperBound(stamps, stamp);
+	}
+
+	public int getTotalCount(int level)
+	{
+		return stamps.length == 0 ? 0 : cumulative[level][stamps.length - 1];
+	}
+
+	public int countAtOrBefore(long stamp, int level)
+	{
+		int index = upperBound(stamp) - 1;
+
+		return index >= 0 ? cumulative[level][index] : 0;
+	}
+
+	// cumulative count at the end of each of the equal-width buckets over [fromStamp, toStamp]
+	public int[] sampleCumulativeCounts(int level, long fromStamp, long toStamp, int buckets)
+	{
+		int[] result = new int[Math.max(0, buckets)];
+
+		double bucketWidth = (toStamp - fromStamp) / (double) Math.max(1, buckets);
+
+		for (int bucket = 0; bucket < result.length; bucket++)
+		{
+			long bucketEnd = (bucket == buckets - 1) ? toStamp : fromStamp + (long) ((bucket + 1) * bucketWidth);
+
+			result[bucket] = countAtOrBefore(bucketEnd, level);
+		}
+
+		return result;
+	}
+}
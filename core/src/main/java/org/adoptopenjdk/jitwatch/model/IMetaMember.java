@@ -8,7 +8,7 @@ package org.adoptopenjdk.jitwatch.model;
 import java.util.List;
 import java.util.Map;
 
-import org.adoptopenjdk.jitwatch.model.assembly.AssemblyMethod;
+import org.adoptopenjdk.jitwatch.model.assembly.IAssemblyMethod;
 import org.adoptopenjdk.jitwatch.model.bytecode.BytecodeInstruction;
 import org.adoptopenjdk.jitwatch.model.bytecode.MemberBytecode;
 
@@ -44,12 +44,12 @@ public interface IMetaMember
 	Map<String, String> getCompiledAttributes();
 
 	Compilation getCompilationByCompileID(String compileID);
-	Compilation getCompilationByAddress(AssemblyMethod asmMethod);
+	Compilation getCompilationByAddress(IAssemblyMethod asmMethod);
 	
 	void setCompiled(boolean compiled);
 	boolean isCompiled();
 	
-	void addAssembly(AssemblyMethod asmMethod);
+	void addAssembly(IAssemblyMethod asmMethod);
 	
 	void setSelectedCompilation(int index);
 	Compilation getSelectedCompilation();
@@ -9,6 +9,8 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.List;
 
+import org.adoptopenjdk.jitwatch.model.bytecode.SourceMapper;
+
 public interface IReadOnlyJITDataModel
 {
     PackageManager getPackageManager();
@@ -17,6 +19,10 @@ public interface IReadOnlyJITDataModel
 
     List<JITEvent> getEventListCopy();
 
+    EventTimeIndex getEventTimeIndex();
+
+    CompilationTable getCompilationTable();
+
     List<CodeCacheEvent> getCodeCacheEvents();
     
 	List<CompilerThread> getCompilerThreads();
@@ -26,6 +32,10 @@ public interface IReadOnlyJITDataModel
 	CompilerThread createCompilerThread(String threadId, String threadName);
 
     Tag getEndOfLogTag();
+
+    SourceMapper getSourceMapper();
+
+    ModelFootprint getFootprint();
     
     int getJDKMajorVersion();
     
@@ -5,6 +5,7 @@
  */
 package org.adoptopenjdk.jitwatch.model;
 
+import java.io.IOException;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
@@ -13,10 +14,12 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.adoptopenjdk.jitwatch.metrics.ParseMetrics;
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyStore;
 import org.adoptopenjdk.jitwatch.model.bytecode.SourceMapper;
 import org.adoptopenjdk.jitwatch.util.ParseUtil;
 import org.adoptopenjdk.jitwatch.logger.Logger;
@@ -31,13 +34,22 @@ public class JITDataModel implements IReadOnlyJITDataModel
 	private PackageManager packageManager;
 	private JITStats stats;
 
-	// Not using CopyOnWriteArrayList as writes will vastly out number reads
-	private List<JITEvent> jitEvents = new ArrayList<>();
+	// appended without locks by the parser threads, readers are handed snapshots
+	private volatile AppendOnlyList<JITEvent> jitEvents = new AppendOnlyList<>();
 
-	// written during parse, make copy for graphing as needs sort
-	private List<CodeCacheEvent> codeCacheTagList = new ArrayList<>();
+	// sorted view of jitEvents for graphing, rebuilt only when events were added
+	private volatile EventTimeIndex eventTimeIndex = EventTimeIndex.EMPTY;
 
-	private Map<String, CompilerThread> compilerThreads = new HashMap<>();
+	private final Object eventTimeIndexLock = new Object();
+
+	// columnar view of all compilations, dropped whenever a compilation is added
+	private volatile CompilationTable compilationTable = null;
+
+	private final Object compilationTableLock = new Object();
+
+	private volatile AppendOnlyList<CodeCacheEvent> codeCacheTagList = new AppendOnlyList<>();
+
+	private final Map<String, CompilerThread> compilerThreads = new ConcurrentHashMap<>();
 
 	private Tag endOfLog;
 
@@ -45,6 +57,12 @@ public class JITDataModel implements IReadOnlyJITDataModel
 
 	private long baseTimestamp = 0;
 
+	private final SourceMapper sourceMapper = new SourceMapper();
+
+	private final ModelFootprint footprint = new ModelFootprint();
+
+	private AssemblyStore assemblyStore = null;
+
 	public JITDataModel()
 	{
 		packageManager = new PackageManager();
@@ -70,11 +88,21 @@ public class JITDataModel implements IReadOnlyJITDataModel
 
 		packageManager.clear();
 
-		SourceMapper.clear();
+		sourceMapper.clear();
+
+		footprint.reset();
+
+		closeAssemblyStore();
 
 		stats.reset();
 
-		jitEvents.clear();
+		synchronized (eventTimeIndexLock)
+		{
+			jitEvents = new AppendOnlyList<>();
+			eventTimeIndex = EventTimeIndex.EMPTY;
+		}
+
+		compilationTable = null;
 
 		for (CompilerThread thread : compilerThreads.values())
 		{
@@ -83,7 +111,7 @@ public class JITDataModel implements IReadOnlyJITDataModel
 
 		compilerThreads.clear();
 
-		codeCacheTagList.clear();
+		codeCacheTagList = new AppendOnlyList<>();
 	}
 
 	@Override public List<CompilerThread> getCompilerThreads()
@@ -135,21 +163,67 @@ public class JITDataModel implements IReadOnlyJITDataModel
 		return stats;
 	}
 
-	// ugly but better than using COWAL with so many writes
 	public void addEvent(JITEvent event)
 	{
-		synchronized (jitEvents)
+		jitEvents.append(event);
+
+		compilationTable = null;
+	}
+
+	// call when compilations were added without a matching JITEvent
+	public void invalidateCompilationTable()
+	{
+		compilationTable = null;
+	}
+
+	// read-only snapshot of the events added so far, later events are not seen
+	@Override public List<JITEvent> getEventListCopy()
+	{
+		return jitEvents.snapshot();
+	}
+
+	@Override public EventTimeIndex getEventTimeIndex()
+	{
+		EventTimeIndex result = eventTimeIndex;
+
+		if (result.size() != jitEvents.size())
 		{
-			jitEvents.add(event);
+			synchronized (eventTimeIndexLock)
+			{
+				result = eventTimeIndex;
+
+				List<JITEvent> events = jitEvents.snapshot();
+
+				if (result.size() != events.size())
+				{
+					result = EventTimeIndex.build(events);
+					eventTimeIndex = result;
+				}
+			}
 		}
+
+		return result;
 	}
 
-	@Override public List<JITEvent> getEventListCopy()
+	@Override public CompilationTable getCompilationTable()
 	{
-		synchronized (jitEvents)
+		CompilationTable result = compilationTable;
+
+		if (result == null || !result.isCurrent())
 		{
-			return new ArrayList<>(jitEvents);
+			synchronized (compilationTableLock)
+			{
+				result = compilationTable;
+
+				if (result == null || !result.isCurrent())
+				{
+					result = CompilationTable.build(this);
+					compilationTable = result;
+				}
+			}
 		}
+
+		return result;
 	}
 
 	public void addNativeBytes(long count)
@@ -274,24 +348,21 @@ public class JITDataModel implements IReadOnlyJITDataModel
 
 		if (metaClass != null)
 		{
-			List<IMetaMember> metaList = metaClass.getMetaMembers();
-
 			if (DEBUG_LOGGING)
 			{
-				logger.debug("Comparing msp against {} members of metaClass {}", metaList.size(), metaClass.toString());
+				logger.debug("Comparing msp against {} members of metaClass {}", metaClass.getMemberCount(), metaClass.toString());
 			}
 
-			for (IMetaMember member : metaList)
+			result = metaClass.getMemberForSignature(msp);
+
+			if (result != null)
 			{
-				if (member.matchesSignature(msp, true))
-				{
-					result = member;
-					break;
-				}
+				ParseMetrics.getInstance().cacheHit(ParseMetrics.CACHE_MEMBER_RESOLUTION);
 			}
-
-			if (result == null)
+			else
 			{
+				ParseMetrics.getInstance().cacheMiss(ParseMetrics.CACHE_MEMBER_RESOLUTION);
+
 				if (msp.getMemberName().equals("<init>"))
 				{
 					MetaConstructor metaConstructor = new MetaConstructor(msp, metaClass);
@@ -364,10 +435,7 @@ public class JITDataModel implements IReadOnlyJITDataModel
 
 	public void addCodeCacheEvent(CodeCacheEvent event)
 	{
-		synchronized (codeCacheTagList)
-		{
-			codeCacheTagList.add(event);
-		}
+		codeCacheTagList.append(event);
 	}
 
 	public void setEndOfLog(Tag tag)
@@ -380,12 +448,48 @@ public class JITDataModel implements IReadOnlyJITDataModel
 		return endOfLog;
 	}
 
-	@Override public List<CodeCacheEvent> getCodeCacheEvents()
+	@Override public SourceMapper getSourceMapper()
 	{
-		synchronized (codeCacheTagList)
+		return sourceMapper;
+	}
+
+	@Override public ModelFootprint getFootprint()
+	{
+		return footprint;
+	}
+
+	// null if no temporary file could be created, the assembly then stays on the heap
+	public synchronized AssemblyStore getAssemblyStore()
+	{
+		if (assemblyStore == null)
 		{
-			return new ArrayList<>(codeCacheTagList);
+			try
+			{
+				assemblyStore = new AssemblyStore();
+			}
+			catch (IOException e)
+			{
+				logger.error("Could not create assembly store", e);
+			}
 		}
+
+		return assemblyStore;
+	}
+
+	private synchronized void closeAssemblyStore()
+	{
+		if (assemblyStore != null)
+		{
+			assemblyStore.close();
+
+			assemblyStore = null;
+		}
+	}
+
+	// read-only snapshot in the order the events were added
+	@Override public List<CodeCacheEvent> getCodeCacheEvents()
+	{
+		return codeCacheTagList.snapshot();
 	}
 
 	@Override public long getBaseTimestamp()
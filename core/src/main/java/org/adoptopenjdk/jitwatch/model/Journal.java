@@ -5,29 +5,27 @@ import org.adoptopenjdk.jitwatch.util.ParseUtil;
 import java.util.*;
 
 public class Journal {
-    private List<Tag> entryList = new ArrayList();
+    private static final Comparator<Tag> STAMP_ORDER = new Comparator<Tag>() {
+        public int compare(Tag tag1, Tag tag2) {
+            long ts1 = ParseUtil.getStamp(tag1.getAttributes());
+            long ts2 = ParseUtil.getStamp(tag2.getAttributes());
+            return Long.compare(ts1, ts2);
+        }
+    };
+
+    // appended without locks by the parser
+    private final AppendOnlyList<Tag> entryList = new AppendOnlyList<>();
 
     public Journal() {
     }
 
     public void addEntry(Tag entry) {
-        synchronized(this.entryList) {
-            this.entryList.add(entry);
-        }
+        this.entryList.append(entry);
     }
 
+    // read-only, sorted by stamp and shared until the next entry is added
     public List<Tag> getEntryList() {
-        synchronized(this.entryList) {
-            List<Tag> copy = new ArrayList(this.entryList);
-            Collections.sort(copy, new Comparator<Tag>() {
-                public int compare(Tag tag1, Tag tag2) {
-                    long ts1 = ParseUtil.getStamp(tag1.getAttributes());
-                    long ts2 = ParseUtil.getStamp(tag2.getAttributes());
-                    return Long.compare(ts1, ts2);
-                }
-            });
-            return copy;
-        }
+        return this.entryList.getSortedView(STAMP_ORDER);
     }
 
     public String toString() {
@@ -14,14 +14,17 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_SLASH;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Map;
 
 //import org.adoptopenjdk.jitwatch.logger.Logger;
 //import org.adoptopenjdk.jitwatch.logger.LoggerFactory;
 import org.adoptopenjdk.jitwatch.loader.BytecodeLoader;
+import org.adoptopenjdk.jitwatch.metrics.ParseMetrics;
 import org.adoptopenjdk.jitwatch.model.bytecode.ClassBC;
+import org.adoptopenjdk.jitwatch.model.bytecode.SourceMapper;
 import org.adoptopenjdk.jitwatch.logger.Logger;
 import org.adoptopenjdk.jitwatch.logger.LoggerFactory;
 
@@ -35,12 +38,18 @@ public class MetaClass implements Comparable<MetaClass>
 
 	private boolean missingDef = false;
 
-	private List<IMetaMember> classMethods = new CopyOnWriteArrayList<>();
-	private List<IMetaMember> classConstructors = new CopyOnWriteArrayList<>();
+	private final AppendOnlyList<IMetaMember> classMethods = new AppendOnlyList<>();
+	private final AppendOnlyList<IMetaMember> classConstructors = new AppendOnlyList<>();
+
+	// sorted constructors then sorted methods, rebuilt only after a member is added
+	private volatile List<IMetaMember> sortedMembers = Collections.emptyList();
 
 	private int compiledMethodCount = 0;
 
-	private ClassBC classBytecode = null;
+	// loaded once under bytecodeLock, inner classes are then loaded under their own
+	private volatile ClassBC classBytecode = null;
+
+	private final Object bytecodeLock = new Object();
 
 	private static final Logger logger = LoggerFactory.getLogger(MetaClass.class);
 
@@ -52,18 +61,9 @@ public class MetaClass implements Comparable<MetaClass>
 
 	public IMetaMember getFirstConstructor()
 	{
-		IMetaMember result = null;
-
-		for (IMetaMember member : getMetaMembers())
-		{
-			if (member instanceof MetaConstructor)
-			{
-				result = member;
-				break;
-			}
-		}
+		List<IMetaMember> constructors = classConstructors.getSortedView();
 
-		return result;
+		return constructors.isEmpty() ? null : constructors.get(0);
 	}
 
 	public void incCompiledMethodCount()
@@ -108,24 +108,87 @@ public class MetaClass implements Comparable<MetaClass>
 			logger.debug("getClassBytecode for {} existing? {}", getName(), classBytecode != null);
 		}
 
-		if (classBytecode == null)
-		{		
-			classBytecode = BytecodeLoader.fetchBytecodeForClass(parentClassBC, classLocations, getFullyQualifiedName(), javapPath, true);
+		ClassBC result = classBytecode;
 
-			if (classBytecode != null)
+		if (result == null)
+		{
+			result = loadClassBytecode(parentClassBC, model, classLocations, javapPath);
+		}
+		else
+		{
+			ParseMetrics.getInstance().cacheHit(ParseMetrics.CACHE_BYTECODE);
+		}
+
+		return result;
+	}
+
+	private ClassBC loadClassBytecode(ClassBC parentClassBC, IReadOnlyJITDataModel model, List<String> classLocations,
+			Path javapPath)
+	{
+		synchronized (bytecodeLock)
+		{
+			ClassBC result = classBytecode;
+
+			if (result == null)
+			{
+				ParseMetrics.getInstance().cacheMiss(ParseMetrics.CACHE_BYTECODE);
+
+				result = BytecodeLoader.fetchBytecodeForClass(parentClassBC, classLocations, getFullyQualifiedName(), javapPath,
+						getSourceMapper(model));
+
+				if (result != null)
+				{
+					classBytecode = result;
+
+					addToFootprint(model, result);
+
+					loadInnerClasses(result, result.getInnerClassNames(), model, classLocations, javapPath);
+				}
+			}
+			else
 			{
-				loadInnerClasses(classBytecode, classBytecode.getInnerClassNames(), model, classLocations, javapPath);
+				ParseMetrics.getInstance().cacheHit(ParseMetrics.CACHE_BYTECODE);
 			}
+
+			return result;
 		}
+	}
 
-		return classBytecode;
+	// false if the bytecode was already loaded
+	private boolean setClassBytecodeIfAbsent(ClassBC classBC)
+	{
+		synchronized (bytecodeLock)
+		{
+			boolean result = classBytecode == null;
+
+			if (result)
+			{
+				classBytecode = classBC;
+			}
+
+			return result;
+		}
 	}
 	
+	private static void addToFootprint(IReadOnlyJITDataModel model, ClassBC classBC)
+	{
+		if (model != null)
+		{
+			model.getFootprint().addClassBytecode(classBC);
+		}
+	}
+
+	private static SourceMapper getSourceMapper(IReadOnlyJITDataModel model)
+	{
+		return model != null ? model.getSourceMapper() : null;
+	}
+
 	public ClassBC getClassBytecode()
 	{
 		return classBytecode;
 	}
 
+	// the inner classes not yet loaded are fetched with one javap run
 	private void loadInnerClasses(ClassBC parentClassBC, List<String> innerClassNames, IReadOnlyJITDataModel model, List<String> classLocations, Path javapPath)
 	{
 		if (DEBUG_LOGGING_BYTECODE)
@@ -133,6 +196,8 @@ public class MetaClass implements Comparable<MetaClass>
 			logger.info("innerClasses to load {}", innerClassNames.size());
 		}
 
+		Map<String, MetaClass> innerMetaClasses = new LinkedHashMap<>();
+
 		for (String innerClassName : innerClassNames)
 		{
 			if (DEBUG_LOGGING_BYTECODE)
@@ -144,13 +209,35 @@ public class MetaClass implements Comparable<MetaClass>
 
 			if (metaClassForInner != null)
 			{
-				metaClassForInner.getClassBytecode(parentClassBC, model, classLocations, javapPath);
+				if (metaClassForInner.classBytecode == null)
+				{
+					innerMetaClasses.put(innerClassName, metaClassForInner);
+				}
 			}
 			else
 			{
 				logger.warn("No MetaClass found for inner Class {}", innerClassName);
 			}
 		}
+
+		if (!innerMetaClasses.isEmpty())
+		{
+			Map<String, ClassBC> innerBytecode = BytecodeLoader.fetchBytecodeForClasses(parentClassBC, classLocations,
+					new ArrayList<>(innerMetaClasses.keySet()), javapPath, getSourceMapper(model));
+
+			for (Map.Entry<String, ClassBC> entry : innerBytecode.entrySet())
+			{
+				MetaClass metaClassForInner = innerMetaClasses.get(entry.getKey());
+
+				if (metaClassForInner.setClassBytecodeIfAbsent(entry.getValue()))
+				{
+					addToFootprint(model, entry.getValue());
+
+					metaClassForInner.loadInnerClasses(entry.getValue(), entry.getValue().getInnerClassNames(), model,
+							classLocations, javapPath);
+				}
+			}
+		}
 	}
 
 	public String toStringDetailed()
@@ -215,40 +302,67 @@ public class MetaClass implements Comparable<MetaClass>
 	{
 		if (member instanceof MetaConstructor)
 		{
-			classConstructors.add(member);
+			classConstructors.append(member);
 		}
 		else
 		{
-			classMethods.add(member);
+			classMethods.append(member);
 		}
 	}
 
+	// read-only, shared between callers until the next member is added
 	public List<IMetaMember> getMetaMembers()
 	{
-		List<IMetaMember> result = new ArrayList<>();
+		List<IMetaMember> result = sortedMembers;
+
+		if (result.size() != getMemberCount())
+		{
+			List<IMetaMember> constructors = classConstructors.getSortedView();
+			List<IMetaMember> methods = classMethods.getSortedView();
 
-		IMetaMember[] constructorsArray = classConstructors.toArray(new IMetaMember[classConstructors.size()]);
-		Arrays.sort(constructorsArray);
+			List<IMetaMember> members = new ArrayList<>(constructors.size() + methods.size());
 
-		IMetaMember[] methodsArray = classMethods.toArray(new IMetaMember[classMethods.size()]);
-		Arrays.sort(methodsArray);
+			members.addAll(constructors);
+			members.addAll(methods);
 
-		result.addAll(Arrays.asList(constructorsArray));
-		result.addAll(Arrays.asList(methodsArray));
+			result = Collections.unmodifiableList(members);
+
+			sortedMembers = result;
+		}
 
 		return result;
 	}
 
+	public int getMemberCount()
+	{
+		return classConstructors.size() + classMethods.size();
+	}
+
 	public IMetaMember getMemberForSignature(MemberSignatureParts msp)
 	{
 		IMetaMember result = null;
 
 		if (DEBUG_LOGGING_SIG_MATCH)
 		{
-			logger.debug("Comparing: {} members of {}", getMetaMembers().size(), this);
+			logger.debug("Comparing: {} members of {}", getMemberCount(), this);
+		}
+
+		// searched in the order added, nothing to sort or copy while the log is parsed
+		result = findMatchingMember(classConstructors, msp);
+
+		if (result == null)
+		{
+			result = findMatchingMember(classMethods, msp);
 		}
 
-		for (IMetaMember member : getMetaMembers())
+		return result;
+	}
+
+	private static IMetaMember findMatchingMember(List<IMetaMember> members, MemberSignatureParts msp)
+	{
+		IMetaMember result = null;
+
+		for (IMetaMember member : members)
 		{
 			if (member.matchesSignature(msp, true))
 			{
@@ -8,7 +8,6 @@ package org.adoptopenjdk.jitwatch.model;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.*;
 
@@ -16,8 +15,8 @@ public class MetaPackage implements Comparable<MetaPackage>
 {
     private String packageName;
 
-    private List<MetaPackage> childPackages = new CopyOnWriteArrayList<>();
-    private List<MetaClass> packageClasses = new CopyOnWriteArrayList<>();
+    private final AppendOnlyList<MetaPackage> childPackages = new AppendOnlyList<>();
+    private final AppendOnlyList<MetaClass> packageClasses = new AppendOnlyList<>();
 
     // support navigating back up the tree
     private MetaPackage parentPackage = null;
@@ -29,17 +28,16 @@ public class MetaPackage implements Comparable<MetaPackage>
         this.packageName = packageName;
     }
 
+    // sorted and read-only
     public List<MetaPackage> getChildPackages()
     {
-        MetaPackage[] asArray = childPackages.toArray(new MetaPackage[childPackages.size()]);
-        Arrays.sort(asArray);
-        return new ArrayList<>(Arrays.asList(asArray));
+        return childPackages.getSortedView();
     }
 
     public void addChildPackage(MetaPackage child)
     {
         child.setParentPackage(this);
-        childPackages.add(child);
+        childPackages.append(child);
     }
 
     public MetaPackage getChildPackage(String name)
@@ -55,11 +53,10 @@ public class MetaPackage implements Comparable<MetaPackage>
         return null;
     }
 
+    // sorted and read-only
     public List<MetaClass> getPackageClasses()
     {
-        MetaClass[] asArray = packageClasses.toArray(new MetaClass[packageClasses.size()]);
-        Arrays.sort(asArray);
-        return new ArrayList<>(Arrays.asList(asArray));
+        return packageClasses.getSortedView();
     }
 
     public List<String> getPackageComponents()
@@ -80,7 +77,7 @@ public class MetaPackage implements Comparable<MetaPackage>
 
     public void addClass(MetaClass metaClass)
     {
-        packageClasses.add(metaClass);
+        packageClasses.append(metaClass);
     }
 
     public String getName()
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+// Immutable step series of (stamp, value) pairs sorted by stamp.
+// Level k of the pyramid holds the min/max of each block of 2^k samples
+// so the min/max over any index range is found in O(log n).
+public class MinMaxTimeSeries
+{
+	private final long[] stamps;
+
+	private final int[][] levelMin;
+	private final int[][] levelMax;
+
+	public MinMaxTimeSeries(long[] stamps, int[] values)
+	{
+		if (stamps.length != values.length)
+		{
+			throw new IllegalArgumentException("stamps and values must be the same length");
+		}
+
+		this.stamps = stamps;
+
+		int levels = 1;
+
+		for (int len = values.length; len > 1; len = (len + 1) / 2)
+		{
+			levels++;
+		}
+
+		levelMin = new int[levels][];
+		levelMax = new int[levels][];
+
+		levelMin[0] = values;
+		levelMax[0] = values;
+
+		for (int level = 1; level < levels; level++)
+		{
+			int[] prevMin = levelMin[level - 1];
+			int[] prevMax = levelMax[level - 1];
+
+			int len = (prevMin.length + 1) / 2;
+
+			int[] min = new int[len];
+			int[] max = new int[len];
+
+			for (int i = 0; i < len; i++)
+			{
+				int left = 2 * i;
+				int right = Math.min(left + 1, prevMin.length - 1);
+
+				min[i] = Math.min(prevMin[left], prevMin[right]);
+				max[i] = Math.max(prevMax[left], prevMax[right]);
+			}
+
+			levelMin[level] = min;
+			levelMax[level] = max;
+		}
+	}
+
+	public int size()
+	{
+		return stamps.length;
+	}
+
+	public boolean isEmpty()
+	{
+		return stamps.length == 0;
+	}
+
+	public long getStamp(int index)
+	{
+		return stamps[index];
+	}
+
+	public int getValue(int index)
+	{
+		return levelMin[0][index];
+	}
+
+	public int getMaxValue()
+	{
+		return stamps.length == 0 ? 0 : levelMax[levelMax.length - 1][0];
+	}
+
+	// index of first sample with stamp >= given stamp
+	public int lowerBound(long stamp)
+	{
+		return lowerBound(stamps, stamp);
+	}
+
+	// index of first sample with stamp > given stamp
+	public int upperBound(long stamp)
+	{
+		return upperBound(stamps, stamp);
+	}
+
+	// value in effect at the given stamp, 0 before the first sample
+	public int getValueAt(long stamp)
+	{
+		int index = upperBound(stamp) - 1;
+
+		return index >= 0 ? getValue(index) : 0;
+	}
+
+	// min and max over samples [from, to), returned as {min, max}
+	public int[] getMinMax(int from, int to)
+	{
+		int min = Integer.MAX_VALUE;
+		int max = Integer.MIN_VALUE;
+
+		int lo = Math.max(0, from);
+		int hi = Math.min(stamps.length, to);
+
+		int level = 0;
+
+		while (lo < hi)
+		{
+			if ((lo & 1) == 1)
+			{
+				min = Math.min(min, levelMin[level][lo]);
+				max = Math.max(max, levelMax[level][lo]);
+				lo++;
+			}
+
+			if ((hi & 1) == 1)
+			{
+				hi--;
+				min = Math.min(min, levelMin[level][hi]);
+				max = Math.max(max, levelMax[level][hi]);
+			}
+
+			lo >>= 1;
+			hi >>= 1;
+			level++;
+		}
+
+		return new int[] { min, max };
+	}
+
+	// Aggregates the series into equal-width time buckets over [fromStamp, toStamp).
+	// Each bucket includes the value carried in from the previous sample so a
+	// constant stretch of the series still reports its level.
+	public void aggregate(long fromStamp, long toStamp, int buckets, int[] outMin, int[] outMax)
+	{
+		if (buckets <= 0)
+		{
+			return;
+		}
+
+		double bucketWidth = (toStamp - fromStamp) / (double) buckets;
+
+		int index = lowerBound(fromStamp);
+
+		int carried = index > 0 ? getValue(index - 1) : 0;
+
+		for (int bucket = 0; bucket < buckets; bucket++)
+		{
+			long bucketEnd = (bucket == buckets - 1) ? toStamp : fromStamp + (long) Math.ceil((bucket + 1) * bucketWidth);
+
+			int end = lowerBound(bucketEnd);
+
+			int min = carried;
+			int max = carried;
+
+			if (end > index)
+			{
+				int[] minMax = getMinMax(index, end);
+
+				min = Math.min(min, minMax[0]);
+				max = Math.max(max, minMax[1]);
+
+				carried = getValue(end - 1);
+				index = end;
+			}
+
+			outMin[bucket] = min;
+			outMax[bucket] = max;
+		}
+	}
+
+	static int lowerBound(long[] sorted, long stamp)
+	{
+		int lo = 0;
+		int hi = sorted.length;
+
+		while (lo < hi)
+		{
+			int mid = (lo + hi) >>> 1;
+
+			if (sorted[mid] < stamp)
+			{
+				lo = mid + 1;
+			}
+			else
+			{
+				hi = mid;
+			}
+		}
+
+		return lo;
+	}
+
+	static int upperBound(long[] sorted, long stamp)
+	{
+		int lo = 0;
+		int hi = sorted.length;
+
+		while (lo < hi)
+		{
+			int mid = (lo + hi) >>> 1;
+
+			if (sorted[mid] <= stamp)
+			{
+				lo = mid + 1;
+			}
+			else
+			{
+				hi = mid;
+			}
+		}
+
+		return lo;
+	}
+}
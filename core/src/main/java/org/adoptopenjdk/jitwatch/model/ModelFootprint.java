@@ -0,0 +1,455 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.HEADLESS_SEPARATOR;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_NEWLINE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_BC;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_KLASS;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_METHOD;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TYPE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyBlock;
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyInstruction;
+import org.adoptopenjdk.jitwatch.model.assembly.IAssemblyMethod;
+import org.adoptopenjdk.jitwatch.model.assembly.SpilledAssemblyMethod;
+import org.adoptopenjdk.jitwatch.model.bytecode.ClassBC;
+import org.adoptopenjdk.jitwatch.model.bytecode.MemberBytecode;
+import org.adoptopenjdk.jitwatch.logger.Logger;
+import org.adoptopenjdk.jitwatch.logger.LoggerFactory;
+
+// Estimates the retained size of the model as the parser builds it, assuming a 64 bit VM with
+// compressed oops and compact strings. Once the estimate passes the budget the text content of
+// new tags is discarded, the task trees are compacted and no more assembly is kept on the heap.
+public class ModelFootprint
+{
+	private static final Logger logger = LoggerFactory.getLogger(ModelFootprint.class);
+
+	private static final long STRING_BYTES = 40;
+	private static final long LIST_BYTES = 40;
+	private static final long REFERENCE_BYTES = 4;
+
+	private static final long TAG_BYTES = 40;
+	private static final long DICTIONARY_ENTRY_BYTES = 80;
+	private static final long COMPACT_TASK_BYTES = 96;
+
+	private static final long ASSEMBLY_METHOD_BYTES = 40;
+	private static final long ASSEMBLY_BLOCK_BYTES = 24;
+	private static final long ASSEMBLY_INSTRUCTION_BYTES = 48;
+	private static final long SPILLED_ASSEMBLY_BYTES = 64;
+
+	private static final long CLASS_BYTECODE_BYTES = 512;
+	private static final long MEMBER_BYTECODE_BYTES = 160;
+	private static final long BYTECODE_INSTRUCTION_BYTES = 96;
+
+	private volatile long budget = Long.MAX_VALUE;
+
+	private final LongAdder tagBytes = new LongAdder();
+	private final LongAdder assemblyBytes = new LongAdder();
+	private final LongAdder bytecodeBytes = new LongAdder();
+
+	private final LongAdder tasksCompacted = new LongAdder();
+	private final LongAdder taskBytesSaved = new LongAdder();
+	private final LongAdder textBytesDiscarded = new LongAdder();
+	private final LongAdder assemblyDropped = new LongAdder();
+	private final LongAdder assemblyBytesDropped = new LongAdder();
+
+	private final LongAdder assemblySpilled = new LongAdder();
+	private final LongAdder assemblyBytesSpilled = new LongAdder();
+
+	// parser thread only
+	private volatile boolean shedding = false;
+	private List<Task> expandedTasks = new ArrayList<>();
+	private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+	public void reset()
+	{
+		tagBytes.reset();
+		assemblyBytes.reset();
+		bytecodeBytes.reset();
+
+		tasksCompacted.reset();
+		taskBytesSaved.reset();
+		textBytesDiscarded.reset();
+		assemblyDropped.reset();
+		assemblyBytesDropped.reset();
+
+		assemblySpilled.reset();
+		assemblyBytesSpilled.reset();
+
+		shedding = false;
+		expandedTasks = new ArrayList<>();
+	}
+
+	public void setBudget(long budget)
+	{
+		this.budget = budget;
+	}
+
+	public long getBudget()
+	{
+		return budget;
+	}
+
+	public long getEstimatedBytes()
+	{
+		return tagBytes.sum() + assemblyBytes.sum() + bytecodeBytes.sum();
+	}
+
+	public boolean isOverBudget()
+	{
+		return getEstimatedBytes() > budget;
+	}
+
+	public boolean isShedding()
+	{
+		return shedding;
+	}
+
+	public boolean hasShed()
+	{
+		return tasksCompacted.sum() > 0 || textBytesDiscarded.sum() > 0 || assemblyDropped.sum() > 0;
+	}
+
+	public void retainTag(Tag tag)
+	{
+		if (shedding)
+		{
+			discardText(tag);
+		}
+
+		tagBytes.add(estimateTag(tag));
+
+		checkBudget();
+	}
+
+	public void retainTask(Task task)
+	{
+		tagBytes.add(estimateTask(task));
+
+		checkBudget();
+
+		if (shedding)
+		{
+			shedTask(task);
+		}
+		else
+		{
+			expandedTasks.add(task);
+		}
+	}
+
+	// false when the assembly should not be kept, spilled assembly only costs its view
+	public boolean admitAssembly(IAssemblyMethod assemblyMethod)
+	{
+		long size = estimateAssembly(assemblyMethod);
+
+		boolean result;
+
+		if (assemblyMethod instanceof SpilledAssemblyMethod)
+		{
+			result = true;
+
+			assemblySpilled.increment();
+			assemblyBytesSpilled.add(((SpilledAssemblyMethod) assemblyMethod).getStoredSize());
+		}
+		else
+		{
+			result = getEstimatedBytes() + size <= budget;
+		}
+
+		if (result)
+		{
+			assemblyBytes.add(size);
+		}
+		else
+		{
+			assemblyDropped.increment();
+			assemblyBytesDropped.add(size);
+		}
+
+		return result;
+	}
+
+	// class bytecode is only loaded for the classes the user opens so it is counted but never shed
+	public void addClassBytecode(ClassBC classBytecode)
+	{
+		bytecodeBytes.add(estimateClassBytecode(classBytecode));
+	}
+
+	private void checkBudget()
+	{
+		if (!shedding && isOverBudget())
+		{
+			shedding = true;
+
+			logger.warn("Model estimate {} MB is over the budget of {} MB, compacting {} task trees", toMegabytes(getEstimatedBytes()),
+					toMegabytes(budget), expandedTasks.size());
+
+			for (Task task : expandedTasks)
+			{
+				shedTask(task);
+			}
+
+			expandedTasks = new ArrayList<>();
+		}
+	}
+
+	private void shedTask(Task task)
+	{
+		if (task.isLast())
+		{
+			// a task cut short by the end of the log may not parse the same way again
+			return;
+		}
+
+		long discarded = discardText(task);
+
+		tagBytes.add(-discarded);
+
+		long before = estimateTask(task);
+
+		if (task.compact(deflater))
+		{
+			long saved = before - (COMPACT_TASK_BYTES + task.getCompactSize());
+
+			tagBytes.add(-saved);
+
+			tasksCompacted.increment();
+			taskBytesSaved.add(saved);
+		}
+	}
+
+	private long discardText(Tag tag)
+	{
+		long result = discardTextContent(tag);
+
+		textBytesDiscarded.add(result);
+
+		return result;
+	}
+
+	private static long discardTextContent(Tag tag)
+	{
+		long result = 0;
+
+		String textContent = tag.getTextContent();
+
+		if (textContent != null)
+		{
+			result += estimateString(textContent);
+
+			tag.discardTextContent();
+		}
+
+		for (Tag child : tag.getChildren())
+		{
+			result += discardTextContent(child);
+		}
+
+		return result;
+	}
+
+	public static long estimateString(String string)
+	{
+		return string != null ? STRING_BYTES + string.length() : 0;
+	}
+
+	private static long estimateStrings(List<String> strings)
+	{
+		long result = 0;
+
+		if (strings != null)
+		{
+			result += LIST_BYTES + REFERENCE_BYTES * strings.size();
+
+			for (String string : strings)
+			{
+				result += estimateString(string);
+			}
+		}
+
+		return result;
+	}
+
+	public static long estimateTag(Tag tag)
+	{
+		List<Tag> children = tag.getChildren();
+
+		long result = TAG_BYTES + LIST_BYTES + REFERENCE_BYTES * children.size();
+
+		result += estimateString(tag.getName());
+		result += estimateString(tag.getAttributeString());
+		result += estimateString(tag.getTextContent());
+
+		for (Tag child : children)
+		{
+			result += estimateTag(child);
+		}
+
+		return result;
+	}
+
+	public static long estimateTask(Task task)
+	{
+		long result;
+
+		if (task.isCompact())
+		{
+			result = COMPACT_TASK_BYTES + task.getCompactSize();
+		}
+		else
+		{
+			result = estimateTag(task) + DICTIONARY_ENTRY_BYTES * countDictionaryEntries(task);
+		}
+
+		return result;
+	}
+
+	private static int countDictionaryEntries(Tag tag)
+	{
+		int result = 0;
+
+		for (Tag child : tag.getChildren())
+		{
+			switch (child.getName())
+			{
+			case TAG_TYPE:
+			case TAG_METHOD:
+			case TAG_KLASS:
+			case TAG_BC:
+				result++;
+				break;
+			default:
+				break;
+			}
+
+			result += countDictionaryEntries(child);
+		}
+
+		return result;
+	}
+
+	public static long estimateAssembly(IAssemblyMethod assemblyMethod)
+	{
+		long result = ASSEMBLY_METHOD_BYTES + LIST_BYTES;
+
+		result += estimateString(assemblyMethod.getAssemblyMethodSignature());
+		result += estimateString(assemblyMethod.getNativeAddress());
+		result += estimateString(assemblyMethod.getEntryAddress());
+
+		if (assemblyMethod instanceof SpilledAssemblyMethod)
+		{
+			// decoding here would defeat the store
+			result += SPILLED_ASSEMBLY_BYTES;
+		}
+		else
+		{
+			result += estimateString(assemblyMethod.getHeader());
+
+			for (AssemblyBlock block : assemblyMethod.getBlocks())
+			{
+				result += ASSEMBLY_BLOCK_BYTES + LIST_BYTES + REFERENCE_BYTES * (1 + block.getInstructions().size());
+
+				result += estimateString(block.getTitle());
+
+				for (AssemblyInstruction instruction : block.getInstructions())
+				{
+					result += ASSEMBLY_INSTRUCTION_BYTES;
+
+					result += estimateString(instruction.getAnnotation());
+					result += estimateString(instruction.getMnemonic());
+					result += estimateString(instruction.getHexaCode());
+					result += estimateStrings(instruction.getPrefixes());
+					result += estimateStrings(instruction.getOperands());
+					result += estimateStrings(instruction.getCommentLines());
+				}
+			}
+		}
+
+		return result;
+	}
+
+	public static long estimateClassBytecode(ClassBC classBytecode)
+	{
+		long result = CLASS_BYTECODE_BYTES;
+
+		for (MemberBytecode memberBytecode : classBytecode.getMemberBytecodeList())
+		{
+			result += MEMBER_BYTECODE_BYTES + BYTECODE_INSTRUCTION_BYTES * memberBytecode.getInstructions().size();
+		}
+
+		return result;
+	}
+
+	private static String toMegabytes(long bytes)
+	{
+		return String.format("%.1f", bytes / (1024.0 * 1024.0));
+	}
+
+	// what was given up to stay within the budget, null if nothing was
+	public String getShedSummary()
+	{
+		String result = null;
+
+		if (hasShed())
+		{
+			StringBuilder builder = new StringBuilder();
+
+			builder.append("Model exceeded the budget of ").append(toMegabytes(budget)).append(" MB, now estimated at ");
+			builder.append(toMegabytes(getEstimatedBytes())).append(" MB: ");
+			builder.append(tasksCompacted.sum()).append(" task trees compacted saving ");
+			builder.append(toMegabytes(taskBytesSaved.sum())).append(" MB, ");
+			builder.append(toMegabytes(textBytesDiscarded.sum())).append(" MB of text content discarded, ");
+			builder.append(assemblyDropped.sum()).append(" assembly methods (");
+			builder.append(toMegabytes(assemblyBytesDropped.sum())).append(" MB) dropped");
+
+			result = builder.toString();
+		}
+
+		return result;
+	}
+
+	public String getReport()
+	{
+		StringBuilder builder = new StringBuilder();
+
+		builder.append("Model").append(HEADLESS_SEPARATOR).append("Estimated Bytes").append(S_NEWLINE);
+
+		builder.append("tags").append(HEADLESS_SEPARATOR).append(tagBytes.sum()).append(S_NEWLINE);
+		builder.append("assembly").append(HEADLESS_SEPARATOR).append(assemblyBytes.sum()).append(S_NEWLINE);
+		builder.append("class bytecode").append(HEADLESS_SEPARATOR).append(bytecodeBytes.sum()).append(S_NEWLINE);
+		builder.append("total").append(HEADLESS_SEPARATOR).append(getEstimatedBytes()).append(S_NEWLINE);
+		builder.append("budget").append(HEADLESS_SEPARATOR).append(budget).append(S_NEWLINE);
+
+		builder.append(S_NEWLINE);
+
+		builder.append("Shed").append(HEADLESS_SEPARATOR).append("Count").append(HEADLESS_SEPARATOR).append("Bytes").append(S_NEWLINE);
+
+		builder.append("compacted task trees").append(HEADLESS_SEPARATOR).append(tasksCompacted.sum()).append(HEADLESS_SEPARATOR);
+		builder.append(taskBytesSaved.sum()).append(S_NEWLINE);
+
+		builder.append("text content").append(HEADLESS_SEPARATOR).append(HEADLESS_SEPARATOR);
+		builder.append(textBytesDiscarded.sum()).append(S_NEWLINE);
+
+		builder.append("assembly methods").append(HEADLESS_SEPARATOR).append(assemblyDropped.sum()).append(HEADLESS_SEPARATOR);
+		builder.append(assemblyBytesDropped.sum()).append(S_NEWLINE);
+
+		builder.append(S_NEWLINE);
+
+		builder.append("Spilled").append(HEADLESS_SEPARATOR).append("Count").append(HEADLESS_SEPARATOR).append("Bytes On Disk").append(S_NEWLINE);
+
+		builder.append("assembly methods").append(HEADLESS_SEPARATOR).append(assemblySpilled.sum()).append(HEADLESS_SEPARATOR);
+		builder.append(assemblyBytesSpilled.sum()).append(S_NEWLINE);
+
+		return builder.toString();
+	}
+}
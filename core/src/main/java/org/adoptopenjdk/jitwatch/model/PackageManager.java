@@ -13,7 +13,6 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_ESCAPED_DOT;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.adoptopenjdk.jitwatch.logger.Logger;
 import org.adoptopenjdk.jitwatch.logger.LoggerFactory;
@@ -28,7 +27,7 @@ public class PackageManager
 	// package name -> MetaPackage
 	private Map<String, MetaPackage> metaPackages;
 
-	private List<MetaPackage> roots;
+	private AppendOnlyList<MetaPackage> roots;
 
 	public PackageManager()
 	{
@@ -39,7 +38,7 @@ public class PackageManager
 	{
 		metaClasses = new ConcurrentHashMap<>();
 		metaPackages = new ConcurrentHashMap<>();
-		roots = new CopyOnWriteArrayList<>();
+		roots = new AppendOnlyList<>();
 	}
 
 	public void addMetaClass(MetaClass metaClass)
@@ -106,7 +105,7 @@ public class PackageManager
 
 				if (depth == 0)
 				{
-					roots.add(mp);
+					roots.append(mp);
 				}
 				else
 				{
@@ -136,6 +135,7 @@ public class PackageManager
 		metaPackages.put(name, metaPackage);
 	}
 
+	// read-only, in the order the packages were first seen
 	public List<MetaPackage> getRootPackages()
 	{
 		return roots;
@@ -69,6 +69,17 @@ public class Tag
 		return textContent;
 	}
 
+	public void discardTextContent()
+	{
+		textContent = null;
+	}
+
+	// the original line was '<' + name + attributeString
+	public String getAttributeString()
+	{
+		return attributeString;
+	}
+
 	public void addChild(Tag child)
 	{
 		child.setParent(this);
@@ -80,6 +91,11 @@ public class Tag
 		return Collections.unmodifiableList(children);
 	}
 
+	protected void discardChildren()
+	{
+		children = new ArrayList<>(0);
+	}
+
 	public boolean isSelfClosing()
 	{
 		return selfClosing;
@@ -111,7 +127,7 @@ public class Tag
 	{
 		List<Tag> result = new ArrayList<>();
 
-		for (Tag child : children)
+		for (Tag child : getChildren())
 		{
 			if (child.getName().equals(name))
 			{
@@ -126,7 +142,7 @@ public class Tag
 	{	
 		List<Tag> result = new ArrayList<>();
 
-		for (Tag child : children)
+		for (Tag child : getChildren())
 		{
 			if (child.getName().equals(tagName))
 			{
@@ -210,11 +226,13 @@ public class Tag
 		}
 		else
 		{
-			if (showChildren && children.size() > 0)
+			List<Tag> tagChildren = getChildren();
+
+			if (showChildren && tagChildren.size() > 0)
 			{
 				builder.append(C_CLOSE_ANGLE).append(C_NEWLINE);
 
-				for (Tag child : children)
+				for (Tag child : tagChildren)
 				{
 					builder.append(child.toString());
 				}
@@ -267,7 +285,7 @@ public class Tag
 		{
 			return false;
 		}
-        if (children != null ? !children.equals(tag.children) : tag.children != null)
+        if (!getChildren().equals(tag.getChildren()))
 		{
 			return false;
 		}
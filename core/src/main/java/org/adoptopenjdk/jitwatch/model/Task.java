@@ -5,19 +5,32 @@
  */
 package org.adoptopenjdk.jitwatch.model;
 
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_CLOSE_ANGLE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_NEWLINE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_OPEN_ANGLE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SPACE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.DEBUG_LOGGING_PARSE_DICTIONARY;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_COMMA;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_DOT;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_NEWLINE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_OPEN_PARENTHESES;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_SLASH;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_SPACE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TASK;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_COMPILE_ID;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_METHOD;
 
+import java.io.ByteArrayOutputStream;
+import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 import org.adoptopenjdk.jitwatch.core.JITWatchConstants;
+import org.adoptopenjdk.jitwatch.core.TagProcessor;
 import org.adoptopenjdk.jitwatch.model.bytecode.Opcode;
 import org.adoptopenjdk.jitwatch.util.ParseUtil;
 import org.adoptopenjdk.jitwatch.logger.Logger;
@@ -28,7 +41,17 @@ public class Task extends Tag
 	private static final Logger logger = LoggerFactory.getLogger(Task.class);
 
 	private IParseDictionary parseDictionary;
-	
+
+	// Once compacted the children and the dictionary are only kept as the deflated log lines
+	// of the task, they are parsed again when next asked for and the result is held softly
+	private volatile byte[] compactLines = null;
+	private int compactLength;
+
+	private SoftReference<Task> decoded = null;
+
+	// only a task read by the TagProcessor can be written back as the lines it came from
+	private boolean parsedFromLog = false;
+
 	public Task(String attributeString, boolean selfClosing)
 	{
 		super(TAG_TASK, attributeString, selfClosing);
@@ -38,7 +61,203 @@ public class Task extends Tag
 
 	public IParseDictionary getParseDictionary()
 	{
-		return parseDictionary;
+		IParseDictionary result = parseDictionary;
+
+		if (result == null)
+		{
+			result = getDecoded().getParseDictionary();
+		}
+
+		return result;
+	}
+
+	@Override
+	public List<Tag> getChildren()
+	{
+		List<Tag> result;
+
+		if (isCompact())
+		{
+			result = getDecoded().getChildren();
+		}
+		else
+		{
+			result = super.getChildren();
+		}
+
+		return result;
+	}
+
+	public boolean isParsedFromLog()
+	{
+		return parsedFromLog;
+	}
+
+	public void setParsedFromLog(boolean parsedFromLog)
+	{
+		this.parsedFromLog = parsedFromLog;
+	}
+
+	public boolean isCompact()
+	{
+		return compactLines != null;
+	}
+
+	// deflated size in bytes, 0 when not compacted
+	public int getCompactSize()
+	{
+		byte[] lines = compactLines;
+
+		return lines != null ? lines.length : 0;
+	}
+
+	// true if the task was compacted by this call
+	public boolean compact(Deflater deflater)
+	{
+		if (isCompact() || !parsedFromLog)
+		{
+			return false;
+		}
+
+		StringBuilder builder = new StringBuilder();
+
+		appendLogLines(this, builder);
+
+		byte[] lines = builder.toString().getBytes(StandardCharsets.UTF_8);
+
+		deflater.reset();
+		deflater.setInput(lines);
+		deflater.finish();
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream(lines.length / 4 + 16);
+
+		byte[] buffer = new byte[4096];
+
+		while (!deflater.finished())
+		{
+			int count = deflater.deflate(buffer);
+
+			out.write(buffer, 0, count);
+		}
+
+		compactLength = lines.length;
+		compactLines = out.toByteArray();
+
+		discardChildren();
+
+		parseDictionary = null;
+
+		return true;
+	}
+
+	// the lines as the TagProcessor saw them, a self-closing tag given children is written open and closed
+	private static void appendLogLines(Tag tag, StringBuilder builder)
+	{
+		String attributeString = tag.getAttributeString();
+
+		if (attributeString.endsWith(S_SLASH + C_CLOSE_ANGLE))
+		{
+			attributeString = attributeString.substring(0, attributeString.length() - 2);
+		}
+		else if (attributeString.endsWith(String.valueOf(C_CLOSE_ANGLE)))
+		{
+			attributeString = attributeString.substring(0, attributeString.length() - 1);
+		}
+
+		String textContent = tag.getTextContent();
+
+		boolean open = !tag.isSelfClosing() || textContent != null || !tag.getChildren().isEmpty();
+
+		builder.append(C_OPEN_ANGLE).append(tag.getName()).append(attributeString);
+
+		if (open)
+		{
+			builder.append(C_CLOSE_ANGLE).append(C_NEWLINE);
+
+			if (textContent != null)
+			{
+				builder.append(textContent).append(C_NEWLINE);
+			}
+
+			for (Tag child : tag.getChildren())
+			{
+				appendLogLines(child, builder);
+			}
+
+			builder.append(tag.getClosingTag()).append(C_NEWLINE);
+		}
+		else
+		{
+			builder.append(S_SLASH).append(C_CLOSE_ANGLE).append(C_NEWLINE);
+		}
+	}
+
+	private synchronized Task getDecoded()
+	{
+		Task result = decoded != null ? decoded.get() : null;
+
+		if (result == null)
+		{
+			result = decode();
+
+			for (Tag child : result.getChildren())
+			{
+				child.setParent(this);
+			}
+
+			decoded = new SoftReference<>(result);
+		}
+
+		return result;
+	}
+
+	private Task decode()
+	{
+		Task result = null;
+
+		byte[] lines = new byte[compactLength];
+
+		Inflater inflater = new Inflater();
+
+		try
+		{
+			inflater.setInput(compactLines);
+
+			int offset = 0;
+
+			while (offset < lines.length && !inflater.finished())
+			{
+				offset += inflater.inflate(lines, offset, lines.length - offset);
+			}
+
+			TagProcessor tagProcessor = new TagProcessor();
+
+			for (String line : new String(lines, StandardCharsets.UTF_8).split(S_NEWLINE))
+			{
+				Tag tag = tagProcessor.processLine(line);
+
+				if (tag instanceof Task)
+				{
+					result = (Task) tag;
+				}
+			}
+		}
+		catch (DataFormatException e)
+		{
+			throw new IllegalStateException("Could not decode compacted task " + getAttributes().get(ATTR_COMPILE_ID), e);
+		}
+		finally
+		{
+			inflater.end();
+		}
+
+		// an empty task would silently lose the compilation
+		if (result == null)
+		{
+			throw new IllegalStateException("No task in the compacted lines of task " + getAttributes().get(ATTR_COMPILE_ID));
+		}
+
+		return result;
 	}
 	
 	public void addBCIOpcodeMapping(String methodID, int bci, Opcode opcode)
@@ -85,7 +304,9 @@ public class Task extends Tag
 	{
 		StringBuilder builder = new StringBuilder();
 
-		Tag methodTag = parseDictionary.getMethod(method);
+		IParseDictionary dictionary = getParseDictionary();
+
+		Tag methodTag = dictionary.getMethod(method);
 		
 		Map<String, String> methodTagAttrs = methodTag.getAttributes();
 
@@ -97,7 +318,7 @@ public class Task extends Tag
 
 		String klassId = methodTagAttrs.get(JITWatchConstants.ATTR_HOLDER);
 
-		Tag klassTag = parseDictionary.getKlass(klassId);
+		Tag klassTag = dictionary.getKlass(klassId);
 
 		Map<String, String> klassTagAttrs = klassTag.getAttributes();
 		
@@ -105,7 +326,7 @@ public class Task extends Tag
 		klassName = klassName.replace(S_SLASH, S_DOT);
 
 		builder.append(" <!-- ");
-		builder.append(ParseUtil.lookupType(returnTypeID, parseDictionary));
+		builder.append(ParseUtil.lookupType(returnTypeID, dictionary));
 		builder.append(C_SPACE);
 		builder.append(klassName);
 		builder.append(S_DOT);
@@ -118,7 +339,7 @@ public class Task extends Tag
 
 			for (String id : ids)
 			{
-				builder.append(ParseUtil.lookupType(id, parseDictionary));
+				builder.append(ParseUtil.lookupType(id, dictionary));
 				builder.append(S_COMMA);
 			}
 
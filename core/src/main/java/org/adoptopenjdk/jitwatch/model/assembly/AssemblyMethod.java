@@ -14,7 +14,7 @@ import org.adoptopenjdk.jitwatch.logger.LoggerFactory;
 
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.*;
 
-public class AssemblyMethod
+public class AssemblyMethod implements IAssemblyMethod
 {
 	private String header;
 
@@ -79,7 +79,7 @@ public class AssemblyMethod
 	{
 		int width = 0;
 
-		for (AssemblyBlock block : blocks)
+		for (AssemblyBlock block : getBlocks())
 		{
 			for (AssemblyInstruction instruction : block.getInstructions())
 			{
@@ -119,6 +119,8 @@ public class AssemblyMethod
 
 		int maxAnnoWidth = getMaxAnnotationWidth();
 
+		String header = getHeader();
+
 		if (header != null)
 		{
 			String[] headerLines = header.split(S_NEWLINE);
@@ -130,7 +132,7 @@ public class AssemblyMethod
 			}
 		}
 
-		for (AssemblyBlock block : blocks)
+		for (AssemblyBlock block : getBlocks())
 		{
 			builder.append(block.toString(maxAnnoWidth));
 		}
@@ -16,6 +16,7 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_HASH;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_NEWLINE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_SPACE;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -23,6 +24,7 @@ import org.adoptopenjdk.jitwatch.model.IMetaMember;
 import org.adoptopenjdk.jitwatch.model.LogParseException;
 import org.adoptopenjdk.jitwatch.model.MemberSignatureParts;
 import org.adoptopenjdk.jitwatch.model.MetaClass;
+import org.adoptopenjdk.jitwatch.model.ModelFootprint;
 import org.adoptopenjdk.jitwatch.model.PackageManager;
 import org.adoptopenjdk.jitwatch.util.StringUtil;
 import org.adoptopenjdk.jitwatch.logger.Logger;
@@ -44,17 +46,26 @@ public class AssemblyProcessor
 
 	private String entryAddress = null;
 
-	private List<AssemblyMethod> assemblyMethods = new ArrayList<>();
+	private List<IAssemblyMethod> assemblyMethods = new ArrayList<>();
 
 	private Architecture architecture = null;
 
 	private boolean isDisassembly = false;
 
+	private final AssemblyStore assemblyStore;
+
 	public AssemblyProcessor()
 	{
+		this(null);
+	}
+
+	// parsed methods are spilled to the store when there is one
+	public AssemblyProcessor(AssemblyStore assemblyStore)
+	{
+		this.assemblyStore = assemblyStore;
 	}
 
-	public List<AssemblyMethod> getAssemblyMethods()
+	public List<IAssemblyMethod> getAssemblyMethods()
 	{
 		return assemblyMethods;
 	}
@@ -242,10 +253,25 @@ public class AssemblyProcessor
 					logger.debug("Using assembly parser {}", parser.getClass().getName());
 				}
 
-				AssemblyMethod assemblyMethod = parser.parseAssembly(asmString, isDisassembly);
+				AssemblyMethod parsedMethod = parser.parseAssembly(asmString, isDisassembly);
 
-				assemblyMethod.setNativeAddress(nativeAddress);
-				assemblyMethod.setEntryAddress(entryAddress);
+				parsedMethod.setNativeAddress(nativeAddress);
+				parsedMethod.setEntryAddress(entryAddress);
+
+				// spilled once complete, nothing changes the method after this
+				IAssemblyMethod assemblyMethod = parsedMethod;
+
+				if (assemblyStore != null)
+				{
+					try
+					{
+						assemblyMethod = assemblyStore.store(parsedMethod, asmString, isDisassembly);
+					}
+					catch (IOException e)
+					{
+						logger.error("Could not spill assembly for {}", parsedMethod.getAssemblyMethodSignature(), e);
+					}
+				}
 
 				assemblyMethods.add(assemblyMethod);
 			}
@@ -265,14 +291,14 @@ public class AssemblyProcessor
 		isDisassembly = false;
 	}
 
-	public void attachAssemblyToMembers(PackageManager packageManager)
+	public void attachAssemblyToMembers(PackageManager packageManager, ModelFootprint footprint)
 	{
 		if (DEBUG_LOGGING_ASSEMBLY)
 		{
 			logger.debug("Attaching {} assembly methods", assemblyMethods.size());
 		}
 
-		for (AssemblyMethod assemblyMethod : assemblyMethods)
+		for (IAssemblyMethod assemblyMethod : assemblyMethods)
 		{
 			String asmSignature = assemblyMethod.getAssemblyMethodSignature();
 
@@ -308,7 +334,7 @@ public class AssemblyProcessor
 				logger.error("Could not parse MSP from line: {}", asmSignature, e);
 			}
 
-			if (currentMember != null)
+			if (currentMember != null && footprint.admitAssembly(assemblyMethod))
 			{
 				if (DEBUG_LOGGING_ASSEMBLY)
 				{
@@ -322,7 +348,7 @@ public class AssemblyProcessor
 					logger.debug("Set assembly on member {} {}", currentMember, assemblyMethod.toString());
 				}
 			}
-			else
+			else if (currentMember == null)
 			{
 				if (DEBUG_LOGGING_ASSEMBLY)
 				{
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model.assembly;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.adoptopenjdk.jitwatch.logger.Logger;
+import org.adoptopenjdk.jitwatch.logger.LoggerFactory;
+
+// Keeps the assembly text of each compiled method deflated in an append-only temporary file.
+// Records are read back and parsed again when a method is viewed, the last few stay decoded.
+public class AssemblyStore implements Closeable
+{
+	private static final Logger logger = LoggerFactory.getLogger(AssemblyStore.class);
+
+	private static final int DECODED_CACHE_SIZE = 16;
+
+	// compressed length, text length, architecture, disassembly flag
+	private static final int RECORD_HEADER_BYTES = 4 + 4 + 1 + 1;
+
+	private final Path path;
+
+	private final FileChannel channel;
+
+	private long size = 0;
+
+	private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+	private final ByteArrayOutputStream deflated = new ByteArrayOutputStream();
+
+	private final byte[] buffer = new byte[8192];
+
+	private final Map<Long, AssemblyMethod> decoded = new LinkedHashMap<Long, AssemblyMethod>(DECODED_CACHE_SIZE, 0.75f, true)
+	{
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, AssemblyMethod> eldest)
+		{
+			return size() > DECODED_CACHE_SIZE;
+		}
+	};
+
+	public AssemblyStore() throws IOException
+	{
+		path = Files.createTempFile("jitwatch-assembly", ".bin");
+
+		channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+	}
+
+	// the view keeps what is needed to attach the assembly to its compilation
+	public synchronized SpilledAssemblyMethod store(AssemblyMethod assemblyMethod, String assemblyString, boolean isDisassembly)
+			throws IOException
+	{
+		byte[] text = assemblyString.getBytes(StandardCharsets.UTF_8);
+
+		deflater.reset();
+		deflater.setInput(text);
+		deflater.finish();
+
+		deflated.reset();
+
+		while (!deflater.finished())
+		{
+			int count = deflater.deflate(buffer);
+
+			deflated.write(buffer, 0, count);
+		}
+
+		Architecture architecture = assemblyMethod.getArchitecture();
+
+		ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + deflated.size());
+
+		record.putInt(deflated.size());
+		record.putInt(text.length);
+		record.put((byte) (architecture != null ? architecture.ordinal() : -1));
+		record.put((byte) (isDisassembly ? 1 : 0));
+		record.put(deflated.toByteArray());
+		record.flip();
+
+		long offset = size;
+
+		while (record.hasRemaining())
+		{
+			size += channel.write(record, size);
+		}
+
+		return new SpilledAssemblyMethod(this, offset, (int) (size - offset), assemblyMethod);
+	}
+
+	synchronized AssemblyMethod decode(SpilledAssemblyMethod view)
+	{
+		AssemblyMethod result = decoded.get(view.getOffset());
+
+		if (result == null)
+		{
+			try
+			{
+				result = read(view);
+
+				decoded.put(view.getOffset(), result);
+			}
+			catch (IOException | DataFormatException e)
+			{
+				// not cached so a later request reads the record again
+				logger.error("Could not read assembly for {} from {}", view.getAssemblyMethodSignature(), path, e);
+
+				result = new AssemblyMethod(view.getArchitecture());
+
+				result.setNativeAddress(view.getNativeAddress());
+				result.setEntryAddress(view.getEntryAddress());
+			}
+		}
+
+		return result;
+	}
+
+	private AssemblyMethod read(SpilledAssemblyMethod view) throws IOException, DataFormatException
+	{
+		AssemblyMethod result = null;
+
+		ByteBuffer record = ByteBuffer.allocate(view.getStoredSize());
+
+		while (record.hasRemaining())
+		{
+			if (channel.read(record, view.getOffset() + record.position()) < 0)
+			{
+				throw new EOFException("Assembly record at " + view.getOffset() + " is past the end of " + path);
+			}
+		}
+
+		record.flip();
+
+		Inflater inflater = new Inflater();
+
+		try
+		{
+			int compressedLength = record.getInt();
+			int textLength = record.getInt();
+			int architectureOrdinal = record.get();
+			boolean isDisassembly = record.get() != 0;
+
+			inflater.setInput(record.array(), record.position(), compressedLength);
+
+			byte[] text = new byte[textLength];
+
+			int offset = 0;
+
+			while (offset < textLength && !inflater.finished())
+			{
+				offset += inflater.inflate(text, offset, textLength - offset);
+			}
+
+			Architecture architecture = architectureOrdinal >= 0 ? Architecture.values()[architectureOrdinal] : null;
+
+			IAssemblyParser parser = AssemblyUtil.getParserForArchitecture(architecture);
+
+			result = parser.parseAssembly(new String(text, StandardCharsets.UTF_8), isDisassembly);
+		}
+		finally
+		{
+			inflater.end();
+		}
+
+		result.setNativeAddress(view.getNativeAddress());
+		result.setEntryAddress(view.getEntryAddress());
+
+		return result;
+	}
+
+	public synchronized long getSize()
+	{
+		return size;
+	}
+
+	@Override
+	public synchronized void close()
+	{
+		decoded.clear();
+
+		deflater.end();
+
+		try
+		{
+			channel.close();
+
+			Files.deleteIfExists(path);
+		}
+		catch (IOException e)
+		{
+			logger.warn("Could not delete assembly store {}", path, e);
+		}
+	}
+}
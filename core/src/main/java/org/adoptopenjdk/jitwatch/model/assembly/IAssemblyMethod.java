@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model.assembly;
+
+import java.util.List;
+
+// The assembly of a compilation as the model hands it out, built by a parser or read back from an AssemblyStore
+public interface IAssemblyMethod
+{
+	Architecture getArchitecture();
+
+	String getAssemblyMethodSignature();
+
+	String getHeader();
+
+	List<AssemblyBlock> getBlocks();
+
+	int getMaxAnnotationWidth();
+
+	String getNativeAddress();
+
+	String getEntryAddress();
+}
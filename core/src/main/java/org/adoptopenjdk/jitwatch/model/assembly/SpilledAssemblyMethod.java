@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model.assembly;
+
+import java.util.List;
+
+// Assembly held in an AssemblyStore, the header and blocks are decoded when asked for
+public class SpilledAssemblyMethod implements IAssemblyMethod
+{
+	private final AssemblyStore store;
+
+	private final long offset;
+
+	private final int storedSize;
+
+	private final Architecture architecture;
+
+	private final String assemblyMethodSignature;
+
+	private final String nativeAddress;
+
+	private final String entryAddress;
+
+	SpilledAssemblyMethod(AssemblyStore store, long offset, int storedSize, AssemblyMethod assemblyMethod)
+	{
+		this.store = store;
+		this.offset = offset;
+		this.storedSize = storedSize;
+
+		architecture = assemblyMethod.getArchitecture();
+		assemblyMethodSignature = assemblyMethod.getAssemblyMethodSignature();
+		nativeAddress = assemblyMethod.getNativeAddress();
+		entryAddress = assemblyMethod.getEntryAddress();
+	}
+
+	long getOffset()
+	{
+		return offset;
+	}
+
+	// bytes used in the store
+	public int getStoredSize()
+	{
+		return storedSize;
+	}
+
+	@Override
+	public Architecture getArchitecture()
+	{
+		return architecture;
+	}
+
+	@Override
+	public String getAssemblyMethodSignature()
+	{
+		return assemblyMethodSignature;
+	}
+
+	@Override
+	public String getHeader()
+	{
+		return store.decode(this).getHeader();
+	}
+
+	@Override
+	public List<AssemblyBlock> getBlocks()
+	{
+		return store.decode(this).getBlocks();
+	}
+
+	@Override
+	public int getMaxAnnotationWidth()
+	{
+		return store.decode(this).getMaxAnnotationWidth();
+	}
+
+	@Override
+	public String getNativeAddress()
+	{
+		return nativeAddress;
+	}
+
+	@Override
+	public String getEntryAddress()
+	{
+		return entryAddress;
+	}
+
+	@Override
+	public String toString()
+	{
+		return store.decode(this).toString();
+	}
+}
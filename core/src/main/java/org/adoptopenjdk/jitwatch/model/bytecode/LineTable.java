@@ -9,6 +9,7 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_NEWLINE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.DEBUG_LOGGING_BYTECODE;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -24,6 +25,9 @@ public class LineTable
 
 	private MemberBytecode memberBytecode;
 
+	// rebuilt on the first lookup after the entries change
+	private volatile Index index;
+
 	public LineTable(MemberBytecode memberBytecode)
 	{
 		this.memberBytecode = memberBytecode;
@@ -38,6 +42,7 @@ public class LineTable
 	{
 		lineTableEntries.add(entry);
 		sort();
+		index = null;
 	}
 
 	public void add(LineTable lineTable)
@@ -46,61 +51,46 @@ public class LineTable
 		{
 			lineTableEntries.addAll(lineTable.lineTableEntries);
 			sort();
+			index = null;
 		}
 	}
 
-	public int getLastSourceLine()
-	{
-		return getSourceRange()[1];
-	}
-
-	public int[] getSourceRange(int startBCI, int endBCI)
+	private Index getIndex()
 	{
-		boolean first = true;
+		Index result = index;
 
-		int minSourceLine = 0;
-		int maxSourceLine = 0;
-
-		for (LineTableEntry entry : lineTableEntries)
+		if (result == null)
 		{
-			int entryBCI = entry.getBytecodeOffset();
-			int entrySourceLine = entry.getSourceOffset();
-
-			if (entryBCI >= startBCI && entryBCI <= endBCI)
-			{
-				if (first)
-				{
-					minSourceLine = entrySourceLine;
-					maxSourceLine = entrySourceLine;
-					first = false;
-				}
-				else
-				{
-					minSourceLine = Math.min(entrySourceLine, minSourceLine);
-					maxSourceLine = Math.max(entrySourceLine, maxSourceLine);
-				}
-			}
+			result = new Index(lineTableEntries);
+			index = result;
 		}
 
-		return new int[] { minSourceLine, maxSourceLine };
+		return result;
 	}
 
-	public int[] getSourceRange()
+	public int getLastSourceLine()
 	{
-		boolean first = true;
+		return getSourceRange()[1];
+	}
+
+	public int[] getSourceRange(int startBCI, int endBCI)
+	{
+		Index lineIndex = getIndex();
 
 		int minSourceLine = 0;
 		int maxSourceLine = 0;
 
-		for (LineTableEntry entry : lineTableEntries)
+		int first = lineIndex.firstBCIAtOrAfter(startBCI);
+		int last = lineIndex.lastBCIAtOrBefore(endBCI);
+
+		for (int i = first; i <= last; i++)
 		{
-			int entrySourceLine = entry.getSourceOffset();
+			int entrySourceLine = lineIndex.linesInBCIOrder[i];
 
-			if (first)
+			if (i == first)
 			{
 				minSourceLine = entrySourceLine;
 				maxSourceLine = entrySourceLine;
-				first = false;
 			}
 			else
 			{
@@ -112,6 +102,13 @@ public class LineTable
 		return new int[] { minSourceLine, maxSourceLine };
 	}
 
+	public int[] getSourceRange()
+	{
+		Index lineIndex = getIndex();
+
+		return new int[] { lineIndex.minSourceLine, lineIndex.maxSourceLine };
+	}
+
 	public boolean sourceLineInRange(int sourceLine)
 	{
 		boolean result = false;
@@ -143,20 +140,29 @@ public class LineTable
 		});
 	}
 
+	// the first entry for the line, otherwise the entry for the nearest following line unless
+	// the table starts before the line
 	public LineTableEntry getEntryForSourceLine(int sourceLine)
 	{
 		LineTableEntry result = null;
 
-		for (LineTableEntry entry : lineTableEntries)
+		Index lineIndex = getIndex();
+
+		if (lineIndex.entries.length > 0)
 		{
-			if (entry.getSourceOffset() == sourceLine)
+			int pos = lineIndex.firstLineAtOrAfter(sourceLine);
+
+			if (pos < lineIndex.sortedLines.length && lineIndex.sortedLines[pos] == sourceLine)
+			{
+				result = lineIndex.entries[lineIndex.entryForSortedLine[pos]];
+			}
+			else if (lineIndex.entries[0].getSourceOffset() < sourceLine)
 			{
-				result = entry;
-				break;
+				result = lineIndex.entries[0];
 			}
-			if (result == null || entry.getSourceOffset() > sourceLine && entry.getSourceOffset() < result.getSourceOffset())
+			else
 			{
-				result = entry;
+				result = lineIndex.entries[lineIndex.entryForSortedLine[pos]];
 			}
 		}
 
@@ -168,33 +174,27 @@ public class LineTable
 		return Collections.unmodifiableList(lineTableEntries);
 	}
 
+	// the line of the nearest entry at or before the BCI
 	public int findSourceLineForBytecodeOffset(int searchBCI)
 	{
-		int sourceAtClosestBCI = -1;
-		int distanceToClosestBCI = Integer.MAX_VALUE;
+		int result = -1;
 
-		for (LineTableEntry entry : lineTableEntries)
-		{
-			int entryBCI = entry.getBytecodeOffset();
+		Index lineIndex = getIndex();
 
-			int distance = searchBCI - entryBCI;
+		int pos = lineIndex.lastBCIAtOrBefore(searchBCI);
 
-			if (distance >= 0)
+		if (pos >= 0)
+		{
+			// entries sharing a BCI keep their table order
+			while (pos > 0 && lineIndex.bcis[pos - 1] == lineIndex.bcis[pos])
 			{
-				if (distance == 0)
-				{
-					sourceAtClosestBCI = entry.getSourceOffset();
-					break;
-				}
-				else if (distance < distanceToClosestBCI)
-				{
-					distanceToClosestBCI = distance;
-					sourceAtClosestBCI = entry.getSourceOffset();
-				}
+				pos--;
 			}
+
+			result = lineIndex.linesInBCIOrder[pos];
 		}
 
-		return sourceAtClosestBCI;
+		return result;
 	}
 
 	public int size()
@@ -259,4 +259,113 @@ public class LineTable
 		return true;
 	}
 
+	// the entries as primitive arrays ordered by BCI and by source line for binary search
+	private static final class Index
+	{
+		private final LineTableEntry[] entries;
+
+		private final int[] bcis;
+		private final int[] linesInBCIOrder;
+
+		private final int[] sortedLines;
+		private final int[] entryForSortedLine;
+
+		private final int minSourceLine;
+		private final int maxSourceLine;
+
+		Index(List<LineTableEntry> lineTableEntries)
+		{
+			entries = lineTableEntries.toArray(new LineTableEntry[0]);
+
+			int count = entries.length;
+
+			bcis = new int[count];
+			linesInBCIOrder = new int[count];
+
+			// line in the high bits, table position in the low so equal lines keep table order
+			long[] lineKeys = new long[count];
+
+			for (int i = 0; i < count; i++)
+			{
+				bcis[i] = entries[i].getBytecodeOffset();
+				linesInBCIOrder[i] = entries[i].getSourceOffset();
+				lineKeys[i] = ((long) linesInBCIOrder[i] << 32) | i;
+			}
+
+			Arrays.sort(lineKeys);
+
+			sortedLines = new int[count];
+			entryForSortedLine = new int[count];
+
+			for (int i = 0; i < count; i++)
+			{
+				sortedLines[i] = (int) (lineKeys[i] >> 32);
+				entryForSortedLine[i] = (int) lineKeys[i];
+			}
+
+			minSourceLine = count > 0 ? sortedLines[0] : 0;
+			maxSourceLine = count > 0 ? sortedLines[count - 1] : 0;
+		}
+
+		int firstBCIAtOrAfter(int bci)
+		{
+			return lowerBound(bcis, bci);
+		}
+
+		int lastBCIAtOrBefore(int bci)
+		{
+			return upperBound(bcis, bci) - 1;
+		}
+
+		int firstLineAtOrAfter(int line)
+		{
+			return lowerBound(sortedLines, line);
+		}
+
+		// first position holding a value above the key
+		private static int upperBound(int[] values, int key)
+		{
+			int low = 0;
+			int high = values.length;
+
+			while (low < high)
+			{
+				int mid = (low + high) >>> 1;
+
+				if (values[mid] <= key)
+				{
+					low = mid + 1;
+				}
+				else
+				{
+					high = mid;
+				}
+			}
+
+			return low;
+		}
+
+		// first position holding a value at or above the key
+		private static int lowerBound(int[] values, int key)
+		{
+			int low = 0;
+			int high = values.length;
+
+			while (low < high)
+			{
+				int mid = (low + high) >>> 1;
+
+				if (values[mid] < key)
+				{
+					low = mid + 1;
+				}
+				else
+				{
+					high = mid;
+				}
+			}
+
+			return low;
+		}
+	}
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model.bytecode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// The source lines of one source file cut into disjoint ranges, each naming the member whose
+// line table covers it. Where ranges overlap (lambdas, inner classes) the member met first
+// in class then member order wins, as the linear search did.
+public final class SourceLineIndex
+{
+	private final int[] rangeStarts;
+	private final int[] rangeEnds;
+	private final MemberBytecode[] rangeMembers;
+
+	private SourceLineIndex(int[] rangeStarts, int[] rangeEnds, MemberBytecode[] rangeMembers)
+	{
+		this.rangeStarts = rangeStarts;
+		this.rangeEnds = rangeEnds;
+		this.rangeMembers = rangeMembers;
+	}
+
+	public static SourceLineIndex build(List<ClassBC> classBytecodeList)
+	{
+		List<MemberBytecode> members = new ArrayList<>();
+		List<int[]> memberRanges = new ArrayList<>();
+
+		for (ClassBC classBC : classBytecodeList)
+		{
+			for (MemberBytecode memberBytecode : classBC.getMemberBytecodeList())
+			{
+				LineTable lineTable = memberBytecode.getLineTable();
+
+				if (lineTable != null && lineTable.size() > 0)
+				{
+					members.add(memberBytecode);
+					memberRanges.add(lineTable.getSourceRange());
+				}
+			}
+		}
+
+		int count = members.size();
+
+		Integer[] byStart = new Integer[count];
+
+		for (int i = 0; i < count; i++)
+		{
+			byStart[i] = i;
+		}
+
+		Arrays.sort(byStart, (a, b) -> Integer.compare(memberRanges.get(a)[0], memberRanges.get(b)[0]));
+
+		// every line where the covering member can change
+		int[] boundaries = new int[count * 2];
+
+		for (int i = 0; i < count; i++)
+		{
+			int[] range = memberRanges.get(i);
+
+			boundaries[i * 2] = range[0];
+			boundaries[i * 2 + 1] = range[1] + 1;
+		}
+
+		boundaries = Arrays.stream(boundaries).sorted().distinct().toArray();
+
+		List<int[]> ranges = new ArrayList<>();
+		List<MemberBytecode> rangeOwners = new ArrayList<>();
+
+		// members covering the current line, lowest position first
+		PriorityQueue<Integer> active = new PriorityQueue<>();
+
+		int next = 0;
+
+		for (int b = 0; b < boundaries.length - 1; b++)
+		{
+			int start = boundaries[b];
+			int end = boundaries[b + 1] - 1;
+
+			while (next < count && memberRanges.get(byStart[next])[0] <= start)
+			{
+				active.add(byStart[next++]);
+			}
+
+			while (!active.isEmpty() && memberRanges.get(active.peek())[1] < start)
+			{
+				active.poll();
+			}
+
+			if (!active.isEmpty())
+			{
+				MemberBytecode owner = members.get(active.peek());
+
+				int last = ranges.size() - 1;
+
+				if (last >= 0 && rangeOwners.get(last) == owner && ranges.get(last)[1] == start - 1)
+				{
+					ranges.get(last)[1] = end;
+				}
+				else
+				{
+					ranges.add(new int[] { start, end });
+					rangeOwners.add(owner);
+				}
+			}
+		}
+
+		int rangeCount = ranges.size();
+
+		int[] rangeStarts = new int[rangeCount];
+		int[] rangeEnds = new int[rangeCount];
+
+		for (int i = 0; i < rangeCount; i++)
+		{
+			rangeStarts[i] = ranges.get(i)[0];
+			rangeEnds[i] = ranges.get(i)[1];
+		}
+
+		return new SourceLineIndex(rangeStarts, rangeEnds, rangeOwners.toArray(new MemberBytecode[0]));
+	}
+
+	public MemberBytecode getMemberBytecodeForSourceLine(int sourceLine)
+	{
+		MemberBytecode result = null;
+
+		int pos = Arrays.binarySearch(rangeStarts, sourceLine);
+
+		if (pos < 0)
+		{
+			// the range starting before the line
+			pos = -pos - 2;
+		}
+
+		if (pos >= 0 && sourceLine <= rangeEnds[pos])
+		{
+			result = rangeMembers[pos];
+		}
+
+		return result;
+	}
+}
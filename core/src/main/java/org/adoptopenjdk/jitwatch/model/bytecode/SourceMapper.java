@@ -17,15 +17,20 @@ import java.util.Map;
 import org.adoptopenjdk.jitwatch.logger.Logger;
 import org.adoptopenjdk.jitwatch.logger.LoggerFactory;
 
+// Source file to bytecode mapping for one model. The index for a source file is built on its
+// first lookup and dropped when another class from that file is added.
 public class SourceMapper
 {
 	private static final Logger logger = LoggerFactory.getLogger(SourceMapper.class);
 
-	private static Map<String, List<ClassBC>> sourceToClassMap = new HashMap<>();
+	private final Map<String, List<ClassBC>> sourceToClassMap = new HashMap<>();
 
-	public static void clear()
+	private final Map<String, SourceLineIndex> sourceLineIndexes = new HashMap<>();
+
+	public synchronized void clear()
 	{
 		sourceToClassMap.clear();
+		sourceLineIndexes.clear();
 	}
 
 	private static String getFullyQualifiedSourceName(ClassBC classBytecode)
@@ -44,10 +49,10 @@ public class SourceMapper
 		return builder.toString();
 	}
 
-	public static void addSourceClassMapping(ClassBC classBytecode)
-	{	
+	public synchronized void addSourceClassMapping(ClassBC classBytecode)
+	{
 		String fqName = getFullyQualifiedSourceName(classBytecode);
-	
+
 		List<ClassBC> classBytecodeList = sourceToClassMap.get(fqName);
 
 		if (classBytecodeList == null)
@@ -58,9 +63,11 @@ public class SourceMapper
 		}
 
 		classBytecodeList.add(classBytecode);
+
+		sourceLineIndexes.remove(fqName);
 	}
 
-	public static List<ClassBC> getClassBytecodeList(ClassBC classBytecode)
+	public synchronized List<ClassBC> getClassBytecodeList(ClassBC classBytecode)
 	{
 		String fqName = getFullyQualifiedSourceName(classBytecode);
 
@@ -71,42 +78,20 @@ public class SourceMapper
 			result = new ArrayList<>();
 		}
 
-		return Collections.unmodifiableList(result);
+		return Collections.unmodifiableList(new ArrayList<>(result));
 	}
 
-	public static MemberBytecode getMemberBytecodeForSourceLine(ClassBC classBytecode, int sourceLine)
-	{		
+	public MemberBytecode getMemberBytecodeForSourceLine(ClassBC classBytecode, int sourceLine)
+	{
 		MemberBytecode result = null;
 
 		String fqName = getFullyQualifiedSourceName(classBytecode);
 
-		List<ClassBC> classBytecodeList = sourceToClassMap.get(fqName);
+		SourceLineIndex sourceLineIndex = getSourceLineIndex(fqName);
 
-		if (classBytecodeList != null)
+		if (sourceLineIndex != null)
 		{
-			if (DEBUG_LOGGING_TRIVIEW)
-			{
-				logger.debug("Found {} ClassBC for source {}", classBytecodeList.size(), fqName);
-			}
-
-			outer: for (ClassBC classBC : classBytecodeList)
-			{
-				for (MemberBytecode tempMemberBytecode : classBC.getMemberBytecodeList())
-				{
-					LineTable lineTable = tempMemberBytecode.getLineTable();
-
-					if (DEBUG_LOGGING_TRIVIEW)
-					{
-						logger.debug("Checking LineTable\n{}", lineTable.toString());
-					}
-
-					if (lineTable.sourceLineInRange(sourceLine))
-					{
-						result = tempMemberBytecode;
-						break outer;
-					}
-				}
-			}
+			result = sourceLineIndex.getMemberBytecodeForSourceLine(sourceLine);
 		}
 		else
 		{
@@ -121,6 +106,30 @@ public class SourceMapper
 		return result;
 	}
 
+	private synchronized SourceLineIndex getSourceLineIndex(String fqName)
+	{
+		SourceLineIndex result = sourceLineIndexes.get(fqName);
+
+		if (result == null)
+		{
+			List<ClassBC> classBytecodeList = sourceToClassMap.get(fqName);
+
+			if (classBytecodeList != null)
+			{
+				if (DEBUG_LOGGING_TRIVIEW)
+				{
+					logger.debug("Indexing {} ClassBC for source {}", classBytecodeList.size(), fqName);
+				}
+
+				result = SourceLineIndex.build(classBytecodeList);
+
+				sourceLineIndexes.put(fqName, result);
+			}
+		}
+
+		return result;
+	}
+
 	public static int getSourceLineFromBytecode(MemberBytecode memberBytecode, int bytecodeOffset)
 	{
 		int result = -1;
@@ -128,7 +137,7 @@ public class SourceMapper
 		if (memberBytecode != null)
 		{
 			LineTable lineTable = memberBytecode.getLineTable();
-			
+
 			result = lineTable.findSourceLineForBytecodeOffset(bytecodeOffset);
 		}
 
@@ -8,11 +8,15 @@ package org.adoptopenjdk.jitwatch.parser;
 import org.adoptopenjdk.jitwatch.core.IJITListener;
 import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
 import org.adoptopenjdk.jitwatch.core.TagProcessor;
+import org.adoptopenjdk.jitwatch.loader.DisposableURLClassLoader;
 import org.adoptopenjdk.jitwatch.logger.Logger;
 import org.adoptopenjdk.jitwatch.logger.LoggerFactory;
+import org.adoptopenjdk.jitwatch.metrics.ParseMetrics;
+import org.adoptopenjdk.jitwatch.metrics.PhaseTimer;
 import org.adoptopenjdk.jitwatch.model.*;
 import org.adoptopenjdk.jitwatch.model.CodeCacheEvent.CodeCacheEventType;
 import org.adoptopenjdk.jitwatch.util.ClassUtil;
+import org.adoptopenjdk.jitwatch.util.CountingReader;
 import org.adoptopenjdk.jitwatch.util.ParseUtil;
 
 import java.io.File;
@@ -58,6 +62,12 @@ public abstract class AbstractLogParser implements ILogParser
 
 	protected SplitLog splitLog = new SplitLog();
 
+	// the last task stored on a compilation, accounted once its task_done has been handled
+	private Task storedTask = null;
+
+	// the configured and parsed classpath of the log being read
+	private volatile DisposableURLClassLoader classLoader = null;
+
 	public AbstractLogParser(IJITListener jitListener)
 	{
 		model = new JITDataModel();
@@ -144,7 +154,15 @@ public abstract class AbstractLogParser implements ILogParser
 			}
 		}
 
-		ClassUtil.initialise(classpathURLList);
+		ClassUtil.close(classLoader);
+
+		classLoader = ClassUtil.createClassLoader(classpathURLList);
+	}
+
+	// null until the classpath has been configured for a parse
+	protected ClassLoader getClassLoader()
+	{
+		return classLoader;
 	}
 
 	protected void logEvent(JITEvent event)
@@ -177,7 +195,9 @@ public abstract class AbstractLogParser implements ILogParser
 			logger.debug("Log parser reset()");
 		}
 
-		ClassUtil.clear();
+		ClassUtil.close(classLoader);
+
+		classLoader = null;
 
 		getModel().reset();
 
@@ -193,6 +213,8 @@ public abstract class AbstractLogParser implements ILogParser
 
 		currentMember = null;
 
+		storedTask = null;
+
 		vmCommand = null;
 
 		parseLineNumber = 0;
@@ -285,7 +307,17 @@ public abstract class AbstractLogParser implements ILogParser
 
 		this.errorListener = errorListener;
 
-		splitLogFile(logFileReader);
+		model.getFootprint().setBudget(config.getModelBudgetBytes());
+
+		try (PhaseTimer timer = ParseMetrics.getInstance().startPhase(ParseMetrics.PHASE_SPLIT))
+		{
+			CountingReader countingReader = new CountingReader(logFileReader);
+
+			splitLogFile(countingReader);
+
+			timer.addBytes(countingReader.getCount());
+			timer.addItems(parseLineNumber);
+		}
 
 		if (DEBUG_LOGGING)
 		{
@@ -294,9 +326,27 @@ public abstract class AbstractLogParser implements ILogParser
 
 		parseLogFile();
 
+		reportShedModel();
+
+		// C2N stubs add compilations without an event so rebuild the table once the log is read
+		model.invalidateCompilationTable();
+		model.getCompilationTable();
+
 		jitListener.handleReadComplete();
 	}
 
+	private void reportShedModel()
+	{
+		String shedSummary = model.getFootprint().getShedSummary();
+
+		if (shedSummary != null)
+		{
+			logger.warn(shedSummary);
+
+			jitListener.handleLogEntry(shedSummary);
+		}
+	}
+
 	protected void handleTagQueued(Tag tag)
 	{
 		handleMethodLine(tag, EventType.QUEUE);
@@ -384,6 +434,13 @@ public abstract class AbstractLogParser implements ILogParser
 				logger.error("{} not found in {}", TAG_TASK_DONE, task);
 			}
 		}
+
+		if (storedTask == task)
+		{
+			model.getFootprint().retainTask(task);
+
+			storedTask = null;
+		}
 	}
 
 	protected void storeCodeCacheEvent(CodeCacheEventType eventType, Tag tag)
@@ -428,6 +485,8 @@ public abstract class AbstractLogParser implements ILogParser
 		compilation.setTagTaskQueued(tagTaskQueued);
 
 		metaMember.storeCompilation(compilation);
+
+		model.getFootprint().retainTag(tagTaskQueued);
 	}
 
 	protected void setTagNMethod(Tag tagNMethod, IMetaMember member)
@@ -441,6 +500,8 @@ public abstract class AbstractLogParser implements ILogParser
 		if (compilation != null)
 		{
 			compilation.setTagNMethod(tagNMethod);
+
+			model.getFootprint().retainTag(tagNMethod);
 		}
 		else
 		{
@@ -454,6 +515,8 @@ public abstract class AbstractLogParser implements ILogParser
 				compilation.setTagNMethod(tagNMethod);
 
 				member.storeCompilation(compilation);
+
+				model.getFootprint().retainTag(tagNMethod);
 			}
 			else
 			{
@@ -474,6 +537,8 @@ public abstract class AbstractLogParser implements ILogParser
 		{
 			compilation.setTagTask(tagTask);
 
+			storedTask = tagTask;
+
 			if (currentCompilerThread != null)
 			{
 				currentCompilerThread.addCompilation(compilation);
@@ -496,6 +561,9 @@ public abstract class AbstractLogParser implements ILogParser
 		if (compilation != null)
 		{
 			compilation.setTagTaskDone(tagTaskDone);
+
+			// task_done closes the compilation, derive its summary while the tags are hot
+			compilation.getSummary();
 		}
 		else
 		{
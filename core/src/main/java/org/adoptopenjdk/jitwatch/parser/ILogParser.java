@@ -6,25 +6,34 @@
 package org.adoptopenjdk.jitwatch.parser;
 
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.Reader;
+import java.util.List;
 
 import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
 import org.adoptopenjdk.jitwatch.model.JITDataModel;
 import org.adoptopenjdk.jitwatch.model.ParsedClasspath;
 import org.adoptopenjdk.jitwatch.model.SplitLog;
+import org.adoptopenjdk.jitwatch.util.CompressedLogUtil;
 
 public interface ILogParser
 {
 	void setConfig(JITWatchConfig config);
 
 	default void processLogFile(File logFile, ILogParseErrorListener listener) throws IOException{
-		processLogFile(new FileReader(logFile), listener);
+		processLogFile(CompressedLogUtil.openLogReader(logFile), listener);
 	}
 
 	void processLogFile(Reader logFileReader, ILogParseErrorListener listener) throws IOException;
 
+	// Main log plus the per compiler thread logs left by a VM that did not exit cleanly.
+	// Parsers for VMs that write a single log ignore the thread logs.
+	default void processLogFile(File logFile, List<File> compilerThreadLogFiles, ILogParseErrorListener listener)
+			throws IOException
+	{
+		processLogFile(logFile, listener);
+	}
+
 	SplitLog getSplitLog();
 
 	void stopParsing();
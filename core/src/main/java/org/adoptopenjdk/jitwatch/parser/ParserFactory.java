@@ -8,6 +8,8 @@ package org.adoptopenjdk.jitwatch.parser;
 import org.adoptopenjdk.jitwatch.core.IJITListener;
 import org.adoptopenjdk.jitwatch.parser.hotspot.HotSpotLogParser;
 import org.adoptopenjdk.jitwatch.parser.j9.J9LogParser;
+import org.adoptopenjdk.jitwatch.parser.jfr.JFRLogParser;
+import org.adoptopenjdk.jitwatch.parser.unified.UnifiedLogParser;
 import org.adoptopenjdk.jitwatch.parser.zing.ZingLogParser;
 
 public class ParserFactory
@@ -26,6 +28,10 @@ public class ParserFactory
 			return new J9LogParser(jitListener);
 		case ZING:
 			return new ZingLogParser(jitListener);
+		case UNIFIED:
+			return new UnifiedLogParser(jitListener);
+		case JFR:
+			return new JFRLogParser(jitListener);
 		default:
 			throw new RuntimeException("Unknown parser " + parserType);
 		}
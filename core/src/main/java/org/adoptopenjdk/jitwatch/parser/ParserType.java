@@ -2,7 +2,7 @@ package org.adoptopenjdk.jitwatch.parser;
 
 public enum ParserType
 {
-	HOTSPOT, J9, ZING;
+	HOTSPOT, J9, ZING, UNIFIED, JFR;
 
 	public String getDisplayName()
 	{
@@ -14,6 +14,10 @@ public enum ParserType
 			return "J9";
 		case ZING:
 			return "Zing";
+		case UNIFIED:
+			return "Unified Logging";
+		case JFR:
+			return "JDK Flight Recorder";
 		default:
 			throw new RuntimeException("Unknown parser type");
 		}
@@ -31,6 +35,10 @@ public enum ParserType
 				return J9;
 			case "zing":
 				return ZING;
+			case "unified":
+				return UNIFIED;
+			case "jfr":
+				return JFR;
 			}
 		}
 		
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.parser.hotspot;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_NAME;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_PROCESS;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_STAMP;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_THREAD;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.SKIP_BODY_TAGS;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_OPEN_ANGLE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_CLOSE_CDATA;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_HOTSPOT_LOG;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_OPEN_CDATA;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_OPEN_CLOSE_CDATA;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_START_COMPILE_THREAD;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.adoptopenjdk.jitwatch.core.TagProcessor;
+import org.adoptopenjdk.jitwatch.logger.Logger;
+import org.adoptopenjdk.jitwatch.logger.LoggerFactory;
+import org.adoptopenjdk.jitwatch.model.Tag;
+import org.adoptopenjdk.jitwatch.util.CompressedLogUtil;
+import org.adoptopenjdk.jitwatch.util.ParseUtil;
+import org.adoptopenjdk.jitwatch.util.StringUtil;
+
+// The tags of one hs_c<thread>_pid<process>.log file written by a HotSpot compiler
+// thread. The VM only copies these into the main log at a clean exit so a crashed
+// VM leaves them next to the main log.
+public class CompilerThreadLog
+{
+	private static final Logger logger = LoggerFactory.getLogger(CompilerThreadLog.class);
+
+	private static final Pattern PATTERN_FILE_NAME = Pattern.compile("hs_c(\\d+)_pid(\\d+)\\.log(\\.\\w+)?");
+
+	// stop looking for the hotspot_log tag after this many lines
+	private static final int HEADER_SCAN_LINES = 16;
+
+	private final File file;
+
+	private String threadId;
+	private String threadName;
+
+	private final List<Tag> tags = new ArrayList<>();
+
+	private long[] stamps;
+
+	private int position = 0;
+
+	private CompilerThreadLog(File file)
+	{
+		this.file = file;
+	}
+
+	// Compiler thread logs in the directory of the main log that were written by the same process
+	public static List<File> findCompilerThreadLogs(File mainLogFile)
+	{
+		List<File> result = new ArrayList<>();
+
+		String process = getProcessId(mainLogFile);
+
+		File directory = mainLogFile.getAbsoluteFile().getParentFile();
+
+		File[] candidates = directory != null ? directory.listFiles() : null;
+
+		if (process != null && candidates != null)
+		{
+			for (File candidate : candidates)
+			{
+				Matcher matcher = PATTERN_FILE_NAME.matcher(candidate.getName());
+
+				if (matcher.matches() && process.equals(matcher.group(2)) && candidate.isFile())
+				{
+					result.add(candidate);
+				}
+			}
+
+			Collections.sort(result);
+		}
+
+		return result;
+	}
+
+	public static boolean isCompilerThreadLog(File file)
+	{
+		return PATTERN_FILE_NAME.matcher(file.getName()).matches();
+	}
+
+	private static String getProcessId(File mainLogFile)
+	{
+		String result = null;
+
+		try (BufferedReader reader = new BufferedReader(CompressedLogUtil.openLogReader(mainLogFile)))
+		{
+			String line = reader.readLine();
+
+			for (int i = 0; line != null && i < HEADER_SCAN_LINES; i++)
+			{
+				line = line.trim();
+
+				if (line.startsWith(TAG_HOTSPOT_LOG))
+				{
+					Map<String, String> attrs = StringUtil.attributeStringToMap(line.substring(TAG_HOTSPOT_LOG.length()));
+
+					result = attrs.get(ATTR_PROCESS);
+					break;
+				}
+
+				line = reader.readLine();
+			}
+		}
+		catch (IOException ioe)
+		{
+			logger.warn("Could not read header of {}", mainLogFile, ioe);
+		}
+
+		return result;
+	}
+
+	// Builds the tags of one file with its own TagProcessor so files can be read in parallel.
+	// A task cut off by a crash is incomplete and dropped.
+	public static CompilerThreadLog read(File file) throws IOException
+	{
+		CompilerThreadLog result = new CompilerThreadLog(file);
+
+		TagProcessor tagProcessor = new TagProcessor();
+
+		try (BufferedReader reader = new BufferedReader(CompressedLogUtil.openLogReader(file), 65536))
+		{
+			String line = reader.readLine();
+
+			while (line != null)
+			{
+				String trimmedLine = line.trim();
+
+				if (trimmedLine.startsWith(S_OPEN_ANGLE) && !isSkipped(trimmedLine))
+				{
+					Tag tag = tagProcessor.processLine(trimmedLine);
+
+					if (tag != null)
+					{
+						result.addTag(tag);
+					}
+				}
+
+				line = reader.readLine();
+			}
+		}
+
+		result.complete();
+
+		return result;
+	}
+
+	private static boolean isSkipped(String line)
+	{
+		boolean isSkip = line.startsWith(TAG_OPEN_CDATA) || line.startsWith(TAG_CLOSE_CDATA)
+				|| line.startsWith(TAG_OPEN_CLOSE_CDATA);
+
+		if (!isSkip)
+		{
+			for (String skip : SKIP_BODY_TAGS)
+			{
+				if (line.startsWith(skip))
+				{
+					isSkip = true;
+					break;
+				}
+			}
+		}
+
+		return isSkip;
+	}
+
+	private void addTag(Tag tag)
+	{
+		if (TAG_START_COMPILE_THREAD.equals(tag.getName()))
+		{
+			threadId = tag.getAttributes().get(ATTR_THREAD);
+			threadName = tag.getAttributes().get(ATTR_NAME);
+		}
+		else
+		{
+			tags.add(tag);
+		}
+	}
+
+	private void complete()
+	{
+		if (threadId == null)
+		{
+			Matcher matcher = PATTERN_FILE_NAME.matcher(file.getName());
+
+			threadId = matcher.matches() ? matcher.group(1) : file.getName();
+		}
+
+		if (threadName == null)
+		{
+			threadName = "CompilerThread " + threadId;
+		}
+
+		// tags without a stamp keep the stamp of the tag before them so the order is preserved
+		stamps = new long[tags.size()];
+
+		long lastStamp = 0;
+
+		for (int i = 0; i < stamps.length; i++)
+		{
+			String stampAttr = tags.get(i).getAttributes().get(ATTR_STAMP);
+
+			if (stampAttr != null)
+			{
+				lastStamp = ParseUtil.parseStamp(stampAttr);
+			}
+
+			stamps[i] = lastStamp;
+		}
+	}
+
+	public File getFile()
+	{
+		return file;
+	}
+
+	public String getThreadId()
+	{
+		return threadId;
+	}
+
+	public String getThreadName()
+	{
+		return threadName;
+	}
+
+	public int getTagCount()
+	{
+		return tags.size();
+	}
+
+	public boolean hasNext()
+	{
+		return position < tags.size();
+	}
+
+	public long peekStamp()
+	{
+		return stamps[position];
+	}
+
+	public Tag next()
+	{
+		return tags.get(position++);
+	}
+
+	@Override
+	public String toString()
+	{
+		return file.getName() + " (" + threadName + ")";
+	}
+}
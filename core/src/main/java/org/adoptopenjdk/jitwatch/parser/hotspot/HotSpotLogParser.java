@@ -6,6 +6,7 @@
 package org.adoptopenjdk.jitwatch.parser.hotspot;
 
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_NAME;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_STAMP;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_THREAD;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_AT;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_OPEN_ANGLE;
@@ -22,6 +23,7 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_SLASH;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_SPACE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_CLOSE_CDATA;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_CODE_CACHE_FULL;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_COMPILATION_LOG;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_COMMAND;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_HOTSPOT_LOG_DONE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_NMETHOD;
@@ -42,32 +44,67 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_HOTSPOT_LOG;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_TIME_MS;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.UnsupportedEncodingException;
+import java.io.UncheckedIOException;
 import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.adoptopenjdk.jitwatch.core.IJITListener;
+import org.adoptopenjdk.jitwatch.metrics.ParseMetrics;
+import org.adoptopenjdk.jitwatch.metrics.PhaseTimer;
+import org.adoptopenjdk.jitwatch.model.CompilerThread;
 import org.adoptopenjdk.jitwatch.model.CodeCacheEvent.CodeCacheEventType;
 import org.adoptopenjdk.jitwatch.model.NumberedLine;
 import org.adoptopenjdk.jitwatch.model.Tag;
 import org.adoptopenjdk.jitwatch.model.Task;
 import org.adoptopenjdk.jitwatch.model.assembly.AssemblyProcessor;
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyStore;
 import org.adoptopenjdk.jitwatch.parser.AbstractLogParser;
+import org.adoptopenjdk.jitwatch.parser.ILogParseErrorListener;
+import org.adoptopenjdk.jitwatch.util.CompressedLogUtil;
 import org.adoptopenjdk.jitwatch.util.ParseUtil;
 import org.adoptopenjdk.jitwatch.util.StringUtil;
 import org.adoptopenjdk.jitwatch.util.VmVersionDetector;
 
 public class HotSpotLogParser extends AbstractLogParser
 {
+    // hs_c*.log files of a VM that did not exit cleanly, merged into the main log by stamp
+    private List<File> compilerThreadLogFiles = Collections.emptyList();
+
+    private boolean mainLogHasCompilationLogs = false;
+
     public HotSpotLogParser(IJITListener jitListener)
     {
         super(jitListener);
     }
 
+    @Override
+    public void processLogFile(File logFile, List<File> compilerThreadLogFiles, ILogParseErrorListener listener)
+            throws IOException
+    {
+        this.compilerThreadLogFiles = new ArrayList<>(compilerThreadLogFiles);
+
+        try
+        {
+            processLogFile(CompressedLogUtil.openLogReader(logFile), listener);
+        }
+        finally
+        {
+            this.compilerThreadLogFiles = Collections.emptyList();
+        }
+    }
+
     private void checkIfErrorDialogNeeded()
     {
         if (hasParseError)
@@ -121,26 +158,128 @@ public class HotSpotLogParser extends AbstractLogParser
     @Override
     protected void parseLogFile()
     {
-        parseHeaderLines();
+        ParseMetrics metrics = ParseMetrics.getInstance();
+
+        try (PhaseTimer timer = metrics.startPhase(ParseMetrics.PHASE_HEADER))
+        {
+            timer.addItems(splitLog.getHeaderLines().size());
+
+            parseHeaderLines();
+        }
+
+        try (PhaseTimer timer = metrics.startPhase(ParseMetrics.PHASE_CLASSPATH))
+        {
+            timer.addItems(splitLog.getClassLoaderLines().size());
+
+            buildParsedClasspath();
+        }
+
+        try (PhaseTimer timer = metrics.startPhase(ParseMetrics.PHASE_CLASS_MODEL))
+        {
+            timer.addItems(splitLog.getClassLoaderLines().size());
+
+            buildClassModel();
+        }
 
-        buildParsedClasspath();
+        List<CompilerThreadLog> compilerThreadLogs;
 
-        buildClassModel();
+        try (PhaseTimer timer = metrics.startPhase(ParseMetrics.PHASE_COMPILER_THREAD_LOGS))
+        {
+            compilerThreadLogs = readCompilerThreadLogs();
+
+            for (CompilerThreadLog threadLog : compilerThreadLogs)
+            {
+                timer.addItems(threadLog.getTagCount());
+            }
+        }
+
+        try (PhaseTimer timer = metrics.startPhase(ParseMetrics.PHASE_COMPILATION_TAGS))
+        {
+            timer.addItems(splitLog.getCompilationLines().size());
+
+            parseLogCompilationLines(compilerThreadLogs);
+        }
 
-        parseLogCompilationLines();
+        try (PhaseTimer timer = metrics.startPhase(ParseMetrics.PHASE_ASSEMBLY))
+        {
+            timer.addItems(splitLog.getAssemblyLines().size());
 
-        parseAssemblyLines();
+            parseAssemblyLines();
+        }
 
         checkIfErrorDialogNeeded();
     }
 
-    private void parseLogCompilationLines()
+    // Each compiler thread log is turned into tags on its own worker, the model is then
+    // updated on this thread in stamp order so a task always follows its task_queued
+    private List<CompilerThreadLog> readCompilerThreadLogs()
+    {
+        List<CompilerThreadLog> result = Collections.emptyList();
+
+        if (!compilerThreadLogFiles.isEmpty())
+        {
+            if (mainLogHasCompilationLogs)
+            {
+                logger.warn("Log already contains compiler thread output, ignoring {} compiler thread logs",
+                        compilerThreadLogFiles.size());
+            }
+            else
+            {
+                try
+                {
+                    result = compilerThreadLogFiles.parallelStream().map(file ->
+                    {
+                        try
+                        {
+                            return CompilerThreadLog.read(file);
+                        }
+                        catch (IOException ioe)
+                        {
+                            throw new UncheckedIOException(ioe);
+                        }
+                    }).collect(Collectors.toList());
+
+                    for (CompilerThreadLog threadLog : result)
+                    {
+                        jitListener.handleLogEntry("Read " + threadLog.getTagCount() + " tags from " + threadLog);
+                    }
+                }
+                catch (UncheckedIOException uioe)
+                {
+                    logger.error("Could not read compiler thread logs", uioe.getCause());
+
+                    logError("Could not read compiler thread logs: " + uioe.getCause().getMessage());
+
+                    result = Collections.emptyList();
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private void parseLogCompilationLines(List<CompilerThreadLog> compilerThreadLogs)
     {
         if (DEBUG_LOGGING)
         {
             logger.debug("parseLogCompilationLines()");
         }
 
+        PriorityQueue<CompilerThreadLog> pendingThreadLogs = new PriorityQueue<>(
+                Math.max(1, compilerThreadLogs.size()), Comparator.comparingLong(CompilerThreadLog::peekStamp));
+
+        Map<CompilerThreadLog, CompilerThread> threadsForLogs = new IdentityHashMap<>();
+
+        for (CompilerThreadLog threadLog : compilerThreadLogs)
+        {
+            threadsForLogs.put(threadLog, model.createCompilerThread(threadLog.getThreadId(), threadLog.getThreadName()));
+
+            if (threadLog.hasNext())
+            {
+                pendingThreadLogs.add(threadLog);
+            }
+        }
+
         for (NumberedLine numberedLine : splitLog.getCompilationLines())
         {
             if (!skipLine(numberedLine.getLine(), SKIP_BODY_TAGS))
@@ -151,10 +290,43 @@ public class HotSpotLogParser extends AbstractLogParser
 
                 if (tag != null)
                 {
+                    String stampAttr = tag.getAttributes().get(ATTR_STAMP);
+
+                    if (stampAttr != null && !pendingThreadLogs.isEmpty())
+                    {
+                        handleCompilerThreadTags(pendingThreadLogs, threadsForLogs, ParseUtil.parseStamp(stampAttr));
+                    }
+
                     handleTag(tag);
                 }
             }
         }
+
+        handleCompilerThreadTags(pendingThreadLogs, threadsForLogs, Long.MAX_VALUE);
+    }
+
+    // handles compiler thread tags stamped before the given stamp, main log tags win ties
+    private void handleCompilerThreadTags(PriorityQueue<CompilerThreadLog> pendingThreadLogs,
+            Map<CompilerThreadLog, CompilerThread> threadsForLogs, long beforeStamp)
+    {
+        // main log tags must not be attributed to the last merged thread
+        CompilerThread mainLogCompilerThread = currentCompilerThread;
+
+        while (!pendingThreadLogs.isEmpty() && pendingThreadLogs.peek().peekStamp() < beforeStamp)
+        {
+            CompilerThreadLog threadLog = pendingThreadLogs.poll();
+
+            currentCompilerThread = threadsForLogs.get(threadLog);
+
+            handleTag(threadLog.next());
+
+            if (threadLog.hasNext())
+            {
+                pendingThreadLogs.add(threadLog);
+            }
+        }
+
+        currentCompilerThread = mainLogCompilerThread;
     }
 
     private void parseAssemblyLines()
@@ -164,7 +336,10 @@ public class HotSpotLogParser extends AbstractLogParser
             logger.debug("parseAssemblyLines()");
         }
 
-        AssemblyProcessor asmProcessor = new AssemblyProcessor();
+        // no temporary file for logs without assembly
+        AssemblyStore assemblyStore = splitLog.getAssemblyLines().isEmpty() ? null : model.getAssemblyStore();
+
+        AssemblyProcessor asmProcessor = new AssemblyProcessor(assemblyStore);
 
         for (NumberedLine numberedLine : splitLog.getAssemblyLines())
         {
@@ -175,7 +350,7 @@ public class HotSpotLogParser extends AbstractLogParser
 
         asmProcessor.complete();
 
-        asmProcessor.attachAssemblyToMembers(model.getPackageManager());
+        asmProcessor.attachAssemblyToMembers(model.getPackageManager(), model.getFootprint());
 
         asmProcessor.clear();
     }
@@ -185,6 +360,8 @@ public class HotSpotLogParser extends AbstractLogParser
     {
         reading = true;
 
+        mainLogHasCompilationLogs = false;
+
         try (BufferedReader reader = new BufferedReader(hotspotLogReader, 65536))
         {
             String currentLine = reader.readLine();
@@ -221,7 +398,7 @@ public class HotSpotLogParser extends AbstractLogParser
         }
     }
 
-    private boolean skipLine(final String line, final Set<String> skipSet)
+    private static boolean skipLine(final String line, final Set<String> skipSet)
     {
         boolean isSkip = false;
 
@@ -248,6 +425,10 @@ public class HotSpotLogParser extends AbstractLogParser
             inHeader = false;
             return;
         }
+        else if (currentLine.startsWith(TAG_COMPILATION_LOG))
+        {
+            mainLogHasCompilationLogs = true;
+        }
         else if (currentLine.startsWith(TAG_XML))
         {
             inHeader = true;
@@ -341,6 +522,8 @@ public class HotSpotLogParser extends AbstractLogParser
     {
         String tagName = tag.getName();
 
+        ParseMetrics.getInstance().countTag(tagName);
+
         switch (tagName)
         {
 
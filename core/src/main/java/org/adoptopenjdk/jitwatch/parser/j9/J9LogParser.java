@@ -15,6 +15,8 @@ import java.io.IOException;
 import java.io.Reader;
 
 import org.adoptopenjdk.jitwatch.core.IJITListener;
+import org.adoptopenjdk.jitwatch.metrics.ParseMetrics;
+import org.adoptopenjdk.jitwatch.metrics.PhaseTimer;
 import org.adoptopenjdk.jitwatch.model.NumberedLine;
 import org.adoptopenjdk.jitwatch.model.Tag;
 import org.adoptopenjdk.jitwatch.model.Task;
@@ -33,38 +35,43 @@ public class J9LogParser extends AbstractLogParser
 	@Override
 	protected void parseLogFile()
 	{
-		for (NumberedLine numberedLine : splitLog.getCompilationLines())
+		try (PhaseTimer timer = ParseMetrics.getInstance().startPhase(ParseMetrics.PHASE_COMPILATION_TAGS))
 		{
-			processLineNumber = numberedLine.getLineNumber();
+			timer.addItems(splitLog.getCompilationLines().size());
 
-			J9Line j9Line = J9Util.parseLine(numberedLine.getLine());
-
-			if (DEBUG_LOGGING)
+			for (NumberedLine numberedLine : splitLog.getCompilationLines())
 			{
-				logger.debug("J9 log line parsed\n{}", j9Line);
-			}
+				processLineNumber = numberedLine.getLineNumber();
 
-			Tag tagQueued = j9Line.toTagQueued(compileID, timestampMillis);
-			Tag tagNMethod = j9Line.toTagNMethod(compileID, timestampMillis);
-			Tag tagTask = j9Line.toTagTask(compileID, timestampMillis);
+				J9Line j9Line = J9Util.parseLine(numberedLine.getLine());
 
-			compileID++;
+				if (DEBUG_LOGGING)
+				{
+					logger.debug("J9 log line parsed\n{}", j9Line);
+				}
 
-			timestampMillis++;
+				Tag tagQueued = j9Line.toTagQueued(compileID, timestampMillis);
+				Tag tagNMethod = j9Line.toTagNMethod(compileID, timestampMillis);
+				Tag tagTask = j9Line.toTagTask(compileID, timestampMillis);
 
-			if (tagQueued != null)
-			{
-				handleTag(tagQueued);
-			}
+				compileID++;
 
-			if (tagNMethod != null)
-			{
-				handleTag(tagNMethod);
-			}
+				timestampMillis++;
 
-			if (tagTask != null)
-			{
-				handleTag(tagTask);
+				if (tagQueued != null)
+				{
+					handleTag(tagQueued);
+				}
+
+				if (tagNMethod != null)
+				{
+					handleTag(tagNMethod);
+				}
+
+				if (tagTask != null)
+				{
+					handleTag(tagTask);
+				}
 			}
 		}
 	}
@@ -0,0 +1,16 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.parser.jfr;
+
+import java.util.List;
+
+import jdk.jfr.consumer.RecordedEvent;
+
+public interface IChunkListener
+{
+	// called on the reading thread for each chunk in file order
+	void handleChunk(List<RecordedEvent> events);
+}
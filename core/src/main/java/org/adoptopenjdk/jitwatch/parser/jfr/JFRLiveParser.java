@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.parser.jfr;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServerConnection;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+
+import com.sun.tools.attach.AttachNotSupportedException;
+import com.sun.tools.attach.VirtualMachine;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.management.jfr.RemoteRecordingStream;
+
+import org.adoptopenjdk.jitwatch.core.IJITListener;
+import org.adoptopenjdk.jitwatch.metrics.ParseMetrics;
+import org.adoptopenjdk.jitwatch.metrics.PhaseTimer;
+import org.adoptopenjdk.jitwatch.model.JITEvent;
+import org.adoptopenjdk.jitwatch.parser.ILogParseErrorListener;
+import org.adoptopenjdk.jitwatch.parser.unified.UnifiedCompilation;
+
+// Attaches to a running local JVM and streams its compiler events into the model as they
+// are committed so JIT warm-up can be watched without restarting with diagnostic flags.
+// The stream thread only queues events and blocks while the queue is full so a slow
+// model holds back the stream. Events are applied in batches on one thread and the
+// listener is told of each batch once it is in the model.
+public class JFRLiveParser extends JFRLogParser
+{
+	private static final int QUEUE_CAPACITY = 16384;
+	private static final int MAX_BATCH = 4096;
+	private static final long BATCH_WAIT_MILLIS = 200;
+
+	private static final Duration STATISTICS_PERIOD = Duration.ofSeconds(1);
+
+	private final BlockingQueue<RecordedEvent> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+	// events of the batch being applied, passed to the listener after it
+	private final List<JITEvent> batchJITEvents = new ArrayList<>();
+
+	// compilations read in the batch being applied, emitted once all of its events are applied
+	private final List<UnifiedCompilation> batchCompilations = new ArrayList<>();
+
+	private JMXConnector connector;
+	private RemoteRecordingStream stream;
+	private Thread applier;
+
+	private volatile boolean attached = false;
+
+	public JFRLiveParser(IJITListener jitListener)
+	{
+		super(jitListener);
+	}
+
+	public void attach(String pid, ILogParseErrorListener listener) throws IOException
+	{
+		detach();
+
+		reset();
+
+		configureDisposableClassLoader();
+
+		jitListener.handleReadStart();
+
+		this.errorListener = listener;
+
+		// only a successful attach is recorded
+		PhaseTimer attachTimer = ParseMetrics.getInstance().startPhase(ParseMetrics.PHASE_ATTACH);
+
+		String address;
+
+		try
+		{
+			VirtualMachine vm = VirtualMachine.attach(pid);
+
+			try
+			{
+				address = vm.startLocalManagementAgent();
+			}
+			finally
+			{
+				vm.detach();
+			}
+		}
+		catch (AttachNotSupportedException anse)
+		{
+			throw new IOException("Could not attach to JVM " + pid, anse);
+		}
+
+		connector = JMXConnectorFactory.connect(new JMXServiceURL(address));
+
+		MBeanServerConnection connection = connector.getMBeanServerConnection();
+
+		RuntimeMXBean runtime = ManagementFactory.newPlatformMXBeanProxy(connection, ManagementFactory.RUNTIME_MXBEAN_NAME,
+				RuntimeMXBean.class);
+
+		setStartTime(Instant.ofEpochMilli(runtime.getStartTime()));
+
+		stream = new RemoteRecordingStream(connection);
+
+		// the default 1s threshold would hide almost every compilation
+		stream.enable(EVENT_COMPILATION).withThreshold(Duration.ZERO);
+		stream.enable(EVENT_COMPILATION_FAILURE);
+		stream.enable(EVENT_COMPILER_INLINING);
+		stream.enable(EVENT_DEOPTIMIZATION).withoutStackTrace();
+		stream.enable(EVENT_CODE_CACHE_FULL);
+		stream.enable(EVENT_CODE_CACHE_STATISTICS).withPeriod(STATISTICS_PERIOD);
+		stream.enable(EVENT_CODE_SWEEPER_STATISTICS).withPeriod(STATISTICS_PERIOD);
+
+		stream.onEvent(this::enqueue);
+
+		stream.onClose(() -> attached = false);
+
+		reading = true;
+		attached = true;
+
+		// the stream is not closed when the target exits, it is local so watch the process
+		ProcessHandle.of(Long.parseLong(pid)).ifPresent(process -> process.onExit().thenRun(() -> attached = false));
+
+		applier = new Thread(this::applyEvents, "JITWatch JFR live " + pid);
+		applier.setDaemon(true);
+		applier.start();
+
+		stream.startAsync();
+
+		attachTimer.close();
+
+		jitListener.handleLogEntry("Attached to JVM " + pid + " (" + runtime.getVmName() + " " + runtime.getVmVersion() + ")");
+	}
+
+	public boolean isAttached()
+	{
+		return attached;
+	}
+
+	// the listener's handleReadComplete follows once the queued events are applied
+	public void detach()
+	{
+		attached = false;
+
+		if (stream != null)
+		{
+			stream.close();
+			stream = null;
+		}
+
+		if (applier != null)
+		{
+			try
+			{
+				applier.join();
+			}
+			catch (InterruptedException ie)
+			{
+				Thread.currentThread().interrupt();
+			}
+
+			applier = null;
+		}
+
+		if (connector != null)
+		{
+			try
+			{
+				connector.close();
+			}
+			catch (IOException ioe)
+			{
+				// expected once the target has exited
+				logger.debug("Could not close JMX connection: {}", ioe.getMessage());
+			}
+
+			connector = null;
+		}
+	}
+
+	@Override
+	public void stopParsing()
+	{
+		detach();
+	}
+
+	private void enqueue(RecordedEvent event)
+	{
+		boolean queued = false;
+
+		try
+		{
+			while (attached && !queued)
+			{
+				queued = queue.offer(event, BATCH_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+			}
+		}
+		catch (InterruptedException ie)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void applyEvents()
+	{
+		List<RecordedEvent> batch = new ArrayList<>(MAX_BATCH);
+
+		try
+		{
+			while (attached || !queue.isEmpty())
+			{
+				RecordedEvent first = queue.poll(BATCH_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+
+				if (first != null)
+				{
+					batch.add(first);
+
+					queue.drainTo(batch, MAX_BATCH - 1);
+
+					ParseMetrics metrics = ParseMetrics.getInstance();
+
+					metrics.recordQueueDepth(ParseMetrics.QUEUE_JFR_LIVE, batch.size());
+
+					try (PhaseTimer timer = metrics.startPhase(ParseMetrics.PHASE_COMPILATION_TAGS))
+					{
+						timer.addItems(batch.size());
+
+						applyBatch(batch);
+					}
+
+					batch.clear();
+				}
+			}
+		}
+		catch (InterruptedException ie)
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		queue.clear();
+
+		reading = false;
+
+		model.invalidateCompilationTable();
+		model.getCompilationTable();
+
+		jitListener.handleReadComplete();
+	}
+
+	private void applyBatch(List<RecordedEvent> batch)
+	{
+		// events of one flush are in the order thread buffers were written
+		batch.sort(EVENT_ORDER);
+
+		for (RecordedEvent event : batch)
+		{
+			handleEvent(event);
+		}
+
+		for (UnifiedCompilation compilation : batchCompilations)
+		{
+			emitCompilation(compilation);
+		}
+
+		batchCompilations.clear();
+
+		model.invalidateCompilationTable();
+
+		for (JITEvent event : batchJITEvents)
+		{
+			jitListener.handleJITEvent(event);
+		}
+
+		batchJITEvents.clear();
+	}
+
+	@Override
+	protected void logEvent(JITEvent event)
+	{
+		batchJITEvents.add(event);
+	}
+
+	// The inlining events of a compilation follow it in the same batch. Deoptimizations in a
+	// later batch only count as decompiles as the compilation is already in the model.
+	@Override
+	protected void compilationRead(UnifiedCompilation compilation)
+	{
+		batchCompilations.add(compilation);
+	}
+}
@@ -0,0 +1,566 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.parser.jfr;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.DEBUG_LOGGING;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_NMETHOD;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TASK;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TASK_QUEUED;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedObject;
+import jdk.jfr.consumer.RecordedThread;
+
+import org.adoptopenjdk.jitwatch.core.IJITListener;
+import org.adoptopenjdk.jitwatch.metrics.ParseMetrics;
+import org.adoptopenjdk.jitwatch.metrics.PhaseTimer;
+import org.adoptopenjdk.jitwatch.model.CodeCacheEvent;
+import org.adoptopenjdk.jitwatch.model.CodeCacheEvent.CodeCacheEventType;
+import org.adoptopenjdk.jitwatch.model.CompilerThread;
+import org.adoptopenjdk.jitwatch.model.Tag;
+import org.adoptopenjdk.jitwatch.model.Task;
+import org.adoptopenjdk.jitwatch.parser.AbstractLogParser;
+import org.adoptopenjdk.jitwatch.parser.ILogParseErrorListener;
+import org.adoptopenjdk.jitwatch.parser.unified.ClassFileMethod;
+import org.adoptopenjdk.jitwatch.parser.unified.UnifiedCompilation;
+import org.adoptopenjdk.jitwatch.parser.unified.UnifiedMemberResolver;
+
+// Builds the model from the compiler events of a JDK Flight Recorder recording so a
+// continuous production recording can be analysed without -XX:+LogCompilation.
+// jdk.Compilation has a 1s threshold in the default settings and jdk.CompilerInlining
+// is off, record with -XX:StartFlightRecording:settings=<jfc> enabling them for a full picture.
+public class JFRLogParser extends AbstractLogParser
+{
+	protected static final String EVENT_COMPILATION = "jdk.Compilation";
+	protected static final String EVENT_COMPILATION_FAILURE = "jdk.CompilationFailure";
+	protected static final String EVENT_COMPILER_INLINING = "jdk.CompilerInlining";
+	protected static final String EVENT_DEOPTIMIZATION = "jdk.Deoptimization";
+	protected static final String EVENT_CODE_CACHE_FULL = "jdk.CodeCacheFull";
+	protected static final String EVENT_CODE_CACHE_STATISTICS = "jdk.CodeCacheStatistics";
+	protected static final String EVENT_CODE_SWEEPER_STATISTICS = "jdk.CodeSweeperStatistics";
+	protected static final String EVENT_JVM_INFORMATION = "jdk.JVMInformation";
+
+	private static final Set<String> EVENT_NAMES = Set.of(EVENT_COMPILATION, EVENT_COMPILATION_FAILURE,
+			EVENT_COMPILER_INLINING, EVENT_DEOPTIMIZATION, EVENT_CODE_CACHE_FULL, EVENT_CODE_CACHE_STATISTICS,
+			EVENT_CODE_SWEEPER_STATISTICS, EVENT_JVM_INFORMATION);
+
+	// trap actions that throw away the nmethod, counted as a decompile of its method
+	private static final String ACTION_REINTERPRET = "reinterpret";
+	private static final String ACTION_MAKE_NOT_ENTRANT = "make_not_entrant";
+
+	private static final int MAX_PENDING_COMPILATIONS = 4096;
+
+	// until a jdk.CompilationFailure gives the reason
+	private static final String UNKNOWN_FAILURE = "compilation failed";
+
+	// a compilation is committed when it ends, order by start so it comes before its inlining events
+	protected static final Comparator<RecordedEvent> EVENT_ORDER = Comparator.comparing(RecordedEvent::getStartTime)
+			.thenComparing(event -> EVENT_COMPILATION.equals(event.getEventType().getName()) ? 0 : 1);
+
+	private final UnifiedMemberResolver memberResolver = new UnifiedMemberResolver(this::getClassLoader);
+
+	// in compile start order
+	private final List<UnifiedCompilation> compilations = new ArrayList<>();
+
+	private final Map<Integer, UnifiedCompilation> compileIdMap = new HashMap<>();
+
+	private final Map<String, Integer> decompileCounts = new HashMap<>();
+
+	// Inlining and failure events committed before the compilation they belong to.
+	// A stream sees these, a recording only when a compilation spans a chunk rotation
+	// as each chunk is sorted on its own. Bounded as a compilation under the
+	// jdk.Compilation threshold never arrives.
+	private final Map<Integer, List<RecordedEvent>> pendingEvents = new LinkedHashMap<Integer, List<RecordedEvent>>()
+	{
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, List<RecordedEvent>> eldest)
+		{
+			return size() > MAX_PENDING_COMPILATIONS;
+		}
+	};
+
+	private final Map<String, CompilerThread> compilerThreads = new HashMap<>();
+
+	// compiler thread names by thread id from the event thread of each compilation
+	private final Map<String, String> compilerThreadNames = new HashMap<>();
+
+	// latest unallocated capacity of each code heap
+	private final Map<String, Long> freeCodeHeap = new HashMap<>();
+
+	private final CompilerThread unknownCompilerThread = new CompilerThread("dummy", "dummy");
+
+	private File recording;
+
+	// set while reading so stopParsing can stop the reader threads
+	private volatile JFRRecordingReader recordingReader;
+
+	private Instant startTime;
+
+	public JFRLogParser(IJITListener jitListener)
+	{
+		super(jitListener);
+
+		currentCompilerThread = unknownCompilerThread;
+	}
+
+	@Override
+	public void reset()
+	{
+		super.reset();
+
+		memberResolver.clear();
+
+		compilations.clear();
+		compileIdMap.clear();
+		decompileCounts.clear();
+		pendingEvents.clear();
+		compilerThreads.clear();
+		compilerThreadNames.clear();
+		freeCodeHeap.clear();
+
+		startTime = null;
+	}
+
+	// a recording is binary so it is read from the file rather than as text
+	@Override
+	public void processLogFile(File logFile, ILogParseErrorListener listener) throws IOException
+	{
+		recording = logFile;
+
+		try
+		{
+			processLogFile(Reader.nullReader(), listener);
+		}
+		finally
+		{
+			recording = null;
+		}
+	}
+
+	@Override
+	public void stopParsing()
+	{
+		super.stopParsing();
+
+		JFRRecordingReader reader = recordingReader;
+
+		if (reader != null)
+		{
+			reader.stop();
+		}
+	}
+
+	// the events are read as they are parsed so only a few chunks are held at a time
+	@Override
+	protected void splitLogFile(Reader logFileReader)
+	{
+		if (recording == null)
+		{
+			logError("A JFR recording can only be read from its file");
+			return;
+		}
+
+		reading = true;
+	}
+
+	@Override
+	protected void parseLogFile()
+	{
+		if (recording == null)
+		{
+			return;
+		}
+
+		try (PhaseTimer timer = ParseMetrics.getInstance().startPhase(ParseMetrics.PHASE_COMPILATION_TAGS))
+		{
+			recordingReader = new JFRRecordingReader(EVENT_NAMES, EVENT_ORDER, Runtime.getRuntime().availableProcessors());
+
+			try
+			{
+				long eventCount = recordingReader.read(recording, this::handleChunk);
+
+				timer.addItems(eventCount);
+
+				jitListener.handleLogEntry("Read " + eventCount + " compiler events from " + recording.getName());
+			}
+			catch (IOException ioe)
+			{
+				logger.error("Could not read JFR recording {}", recording, ioe);
+
+				logError("Could not read JFR recording " + recording + " : " + ioe.getMessage());
+			}
+			finally
+			{
+				recordingReader = null;
+			}
+
+			// a compilation spanning a chunk rotation is read after those that started later
+			compilations.sort(Comparator.comparingLong(UnifiedCompilation::getTimestampMillisCompileStart));
+
+			for (UnifiedCompilation compilation : compilations)
+			{
+				emitCompilation(compilation);
+			}
+		}
+	}
+
+	// chunks arrive in time order, each sorted by EVENT_ORDER
+	private void handleChunk(List<RecordedEvent> events)
+	{
+		if (startTime == null && !events.isEmpty())
+		{
+			startTime = getStartTime(events);
+		}
+
+		for (RecordedEvent event : events)
+		{
+			if (!reading)
+			{
+				break;
+			}
+
+			handleEvent(event);
+		}
+	}
+
+	protected void setStartTime(Instant startTime)
+	{
+		this.startTime = startTime;
+	}
+
+	protected void handleEvent(RecordedEvent event)
+	{
+		processLineNumber++;
+
+		try
+		{
+			switch (event.getEventType().getName())
+			{
+			case EVENT_COMPILATION:
+				handleCompilation(event);
+				break;
+			case EVENT_COMPILATION_FAILURE:
+				handleCompilationFailure(event);
+				break;
+			case EVENT_COMPILER_INLINING:
+				handleInlining(event);
+				break;
+			case EVENT_DEOPTIMIZATION:
+				handleDeoptimization(event);
+				break;
+			case EVENT_CODE_CACHE_STATISTICS:
+				freeCodeHeap.put(event.getString("codeBlobType"), event.getLong("unallocatedCapacity"));
+				break;
+			case EVENT_CODE_CACHE_FULL:
+				freeCodeHeap.put(event.getString("codeBlobType"), event.getLong("unallocatedCapacity"));
+				model.addCodeCacheEvent(new CodeCacheEvent(CodeCacheEventType.CACHE_FULL, getStamp(event.getStartTime()), 0,
+						getFreeCodeCache()));
+				break;
+			case EVENT_CODE_SWEEPER_STATISTICS:
+				model.addCodeCacheEvent(new CodeCacheEvent(CodeCacheEventType.SWEEPER, getStamp(event.getStartTime()), 0, 0));
+				break;
+			default:
+				break;
+			}
+		}
+		catch (Exception e)
+		{
+			logger.error("Bad event {}: {}", processLineNumber, event, e);
+		}
+	}
+
+	// a recording holds compilations back until deoptimizations later in the file have been seen,
+	// then emits them in start order
+	protected void compilationRead(UnifiedCompilation compilation)
+	{
+		compilations.add(compilation);
+	}
+
+	protected void emitCompilation(UnifiedCompilation compilation)
+	{
+		if (DEBUG_LOGGING)
+		{
+			logger.debug("JFR compilation parsed\n{}", compilation);
+		}
+
+		// its task is now in the model so later events must not change it
+		compileIdMap.remove(compilation.getCompileId());
+
+		currentCompilerThread = getCompilerThread(compilation.getThreadId());
+
+		handleTag(compilation.toTagQueued());
+
+		if (compilation.getFailureReason() == null)
+		{
+			handleTag(compilation.toTagNMethod());
+		}
+
+		handleTag(compilation.toTagTask());
+	}
+
+	// stamps are relative to JVM start as in a LogCompilation log, else to the first event.
+	// jdk.JVMInformation is recorded at the start of every chunk so the first chunk has it.
+	private static Instant getStartTime(List<RecordedEvent> events)
+	{
+		Instant result = null;
+
+		for (RecordedEvent event : events)
+		{
+			if (EVENT_JVM_INFORMATION.equals(event.getEventType().getName()))
+			{
+				result = event.getInstant("jvmStartTime");
+				break;
+			}
+		}
+
+		if (result == null)
+		{
+			result = events.get(0).getStartTime();
+		}
+
+		return result;
+	}
+
+	private long getStamp(Instant instant)
+	{
+		return Math.max(0, Duration.between(startTime, instant).toMillis());
+	}
+
+	// -1 until the code cache statistics have been recorded
+	private long getFreeCodeCache()
+	{
+		long result = -1;
+
+		for (long free : freeCodeHeap.values())
+		{
+			result = Math.max(result, 0) + free;
+		}
+
+		return result;
+	}
+
+	private CompilerThread getCompilerThread(String threadId)
+	{
+		CompilerThread result = unknownCompilerThread;
+
+		if (threadId != null)
+		{
+			result = compilerThreads.get(threadId);
+
+			if (result == null)
+			{
+				result = model.createCompilerThread(threadId, compilerThreadNames.get(threadId));
+
+				compilerThreads.put(threadId, result);
+			}
+		}
+
+		return result;
+	}
+
+	private void handleCompilation(RecordedEvent event)
+	{
+		int compileId = event.getInt("compileId");
+
+		RecordedMethod method = event.getValue("method");
+
+		if (method == null || compileIdMap.containsKey(compileId))
+		{
+			return;
+		}
+
+		String className = method.getType().getName();
+		String methodName = method.getName();
+		String descriptor = method.getDescriptor();
+
+		ClassFileMethod classFileMethod = memberResolver.resolve(className, methodName, descriptor);
+
+		UnifiedCompilation compilation = new UnifiedCompilation();
+
+		compilation.setCompileId(compileId);
+		compilation.setTimestampMillisCompileStart(getStamp(event.getStartTime()));
+		compilation.setTimestampMillisCompileEnd(getStamp(event.getEndTime()));
+		compilation.setMethod(className, methodName, descriptor, classFileMethod);
+		compilation.setLevel(event.getInt("compileLevel"));
+
+		if (classFileMethod != null)
+		{
+			compilation.setBytecodeSize(classFileMethod.getBytecodeSize());
+		}
+
+		// the OSR bci is not recorded
+		if (event.getBoolean("isOsr"))
+		{
+			compilation.setOSR(-1);
+		}
+
+		if (event.getBoolean("succeded"))
+		{
+			compilation.setNativeSize((int) event.getLong("codeSize"));
+			compilation.setFreeCodeCache(getFreeCodeCache());
+		}
+		else
+		{
+			compilation.setFailureReason(UNKNOWN_FAILURE);
+		}
+
+		RecordedThread thread = event.getThread();
+
+		if (thread != null)
+		{
+			String threadId = Long.toString(thread.getOSThreadId());
+
+			String threadName = thread.getJavaName() != null ? thread.getJavaName() : thread.getOSName();
+
+			compilation.setThreadId(threadId);
+
+			compilerThreadNames.put(threadId, threadName);
+		}
+
+		Integer decompiles = decompileCounts.get(compilation.getSignature());
+
+		if (decompiles != null)
+		{
+			compilation.setDecompiles(decompiles);
+		}
+
+		compileIdMap.put(compileId, compilation);
+
+		List<RecordedEvent> pending = pendingEvents.remove(compileId);
+
+		if (pending != null)
+		{
+			for (RecordedEvent pendingEvent : pending)
+			{
+				handleEvent(pendingEvent);
+			}
+		}
+
+		compilationRead(compilation);
+	}
+
+	// null if the event was held back for its compilation
+	private UnifiedCompilation getCompilation(RecordedEvent event)
+	{
+		int compileId = event.getInt("compileId");
+
+		UnifiedCompilation result = compileIdMap.get(compileId);
+
+		if (result == null)
+		{
+			pendingEvents.computeIfAbsent(compileId, id -> new ArrayList<>()).add(event);
+		}
+
+		return result;
+	}
+
+	private void handleCompilationFailure(RecordedEvent event)
+	{
+		UnifiedCompilation compilation = getCompilation(event);
+
+		if (compilation != null)
+		{
+			compilation.setFailureReason(event.getString("failureMessage"));
+		}
+	}
+
+	private void handleInlining(RecordedEvent event)
+	{
+		UnifiedCompilation compilation = getCompilation(event);
+
+		RecordedMethod caller = event.getValue("caller");
+		RecordedObject callee = event.getValue("callee");
+
+		if (compilation == null || caller == null || callee == null)
+		{
+			return;
+		}
+
+		String calleeClassName = callee.getString("type").replace('/', '.');
+		String calleeMethodName = callee.getString("name");
+		String calleeDescriptor = callee.getString("descriptor");
+
+		ClassFileMethod calleeMethod = memberResolver.resolve(calleeClassName, calleeMethodName, calleeDescriptor);
+
+		compilation.addInlining(caller.getType().getName(), caller.getName(), caller.getDescriptor(), event.getInt("bci"),
+				calleeClassName, calleeMethodName, calleeDescriptor, calleeMethod, event.getString("message"),
+				event.getBoolean("succeeded"));
+	}
+
+	private void handleDeoptimization(RecordedEvent event)
+	{
+		UnifiedCompilation compilation = compileIdMap.get(event.getInt("compileId"));
+
+		RecordedMethod method = event.getValue("method");
+
+		String reason = event.getString("reason");
+		String action = event.getString("action");
+
+		String trapSignature = method != null
+				? UnifiedCompilation.toLogSignature(method.getType().getName(), method.getName(), method.getDescriptor())
+				: null;
+
+		String signature = compilation != null ? compilation.getSignature() : trapSignature;
+
+		if (signature != null && (ACTION_REINTERPRET.equals(action) || ACTION_MAKE_NOT_ENTRANT.equals(action)))
+		{
+			Integer count = decompileCounts.get(signature);
+
+			decompileCounts.put(signature, count != null ? count + 1 : 1);
+		}
+
+		// a bci in an inlined method cannot be shown against the compiled method
+		if (compilation != null && reason != null && compilation.getSignature().equals(trapSignature))
+		{
+			compilation.addUncommonTrap(event.getInt("bci"), reason, action != null ? action : "none");
+		}
+	}
+
+	@Override
+	protected void handleTag(Tag tag)
+	{
+		String tagName = tag.getName();
+
+		if (DEBUG_LOGGING)
+		{
+			logger.debug("handling {}", tagName);
+		}
+
+		switch (tagName)
+		{
+		case TAG_TASK_QUEUED:
+			handleTagQueued(tag);
+			break;
+
+		case TAG_NMETHOD:
+			handleTagNMethod(tag);
+			break;
+
+		case TAG_TASK:
+			handleTagTask((Task) tag);
+			break;
+
+		default:
+			break;
+		}
+	}
+}
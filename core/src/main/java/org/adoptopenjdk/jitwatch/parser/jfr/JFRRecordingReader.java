@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.parser.jfr;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.adoptopenjdk.jitwatch.logger.Logger;
+import org.adoptopenjdk.jitwatch.logger.LoggerFactory;
+
+// Reads the events of the given types from a JFR recording. A recording is a sequence of
+// self contained chunks, one per rotation of a continuous recording, so each chunk is
+// copied out and read on its own thread. Only a few chunks are read ahead and each is
+// passed on sorted once the chunks before it have been, so memory and temporary disk
+// use do not grow with the recording.
+public class JFRRecordingReader
+{
+	private static final Logger logger = LoggerFactory.getLogger(JFRRecordingReader.class);
+
+	private static final int CHUNK_MAGIC = 0x464C5200; // FLR\0
+
+	// magic, major and minor version then the chunk size including this header
+	private static final int CHUNK_HEADER_LENGTH = 16;
+	private static final int CHUNK_SIZE_OFFSET = 8;
+
+	private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+	private final Set<String> eventNames;
+
+	// events within a chunk are in the order thread buffers were flushed
+	private final Comparator<RecordedEvent> eventOrder;
+
+	private final int threads;
+
+	private volatile boolean reading = true;
+
+	public JFRRecordingReader(Set<String> eventNames, Comparator<RecordedEvent> eventOrder, int threads)
+	{
+		this.eventNames = eventNames;
+		this.eventOrder = eventOrder;
+		this.threads = Math.max(1, threads);
+	}
+
+	public void stop()
+	{
+		reading = false;
+	}
+
+	// number of events passed to the listener
+	public long read(File recording, IChunkListener listener) throws IOException
+	{
+		Path path = recording.toPath();
+
+		List<long[]> chunks = findChunks(path);
+
+		long result;
+
+		if (chunks.size() <= 1)
+		{
+			List<RecordedEvent> events = readChunk(path);
+
+			listener.handleChunk(events);
+
+			result = events.size();
+		}
+		else
+		{
+			result = readChunks(path, chunks, listener);
+		}
+
+		return result;
+	}
+
+	// offset and length of each complete chunk, a chunk still being written has no size yet
+	private static List<long[]> findChunks(Path path) throws IOException
+	{
+		List<long[]> result = new ArrayList<>();
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			long fileSize = channel.size();
+
+			long offset = 0;
+
+			ByteBuffer header = ByteBuffer.allocate(CHUNK_HEADER_LENGTH);
+
+			while (offset + CHUNK_HEADER_LENGTH <= fileSize)
+			{
+				header.clear();
+
+				while (header.hasRemaining())
+				{
+					if (channel.read(header, offset + header.position()) == -1)
+					{
+						throw new IOException("Truncated JFR recording: " + path);
+					}
+				}
+
+				if (header.getInt(0) != CHUNK_MAGIC)
+				{
+					throw new IOException("Not a JFR recording: " + path);
+				}
+
+				long chunkSize = header.getLong(CHUNK_SIZE_OFFSET);
+
+				if (chunkSize < CHUNK_HEADER_LENGTH || offset + chunkSize > fileSize)
+				{
+					logger.warn("Ignoring incomplete chunk at offset {} of {}", offset, path);
+					break;
+				}
+
+				result.add(new long[] { offset, chunkSize });
+
+				offset += chunkSize;
+			}
+		}
+
+		if (result.isEmpty())
+		{
+			throw new IOException("No complete chunk in JFR recording: " + path);
+		}
+
+		return result;
+	}
+
+	private long readChunks(Path path, List<long[]> chunks, IChunkListener listener) throws IOException
+	{
+		int threadCount = Math.min(threads, chunks.size());
+
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount, runnable ->
+		{
+			Thread thread = new Thread(runnable, "JITWatch JFR reader");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		// one chunk read ahead per thread while the listener takes the oldest
+		int maxInFlight = threadCount + 1;
+
+		Deque<Future<List<RecordedEvent>>> inFlight = new ArrayDeque<>();
+
+		Iterator<long[]> pending = chunks.iterator();
+
+		long result = 0;
+
+		try
+		{
+			while (reading && (pending.hasNext() || !inFlight.isEmpty()))
+			{
+				while (pending.hasNext() && inFlight.size() < maxInFlight)
+				{
+					long[] chunk = pending.next();
+
+					inFlight.add(executor.submit(() -> readChunkCopy(path, chunk[0], chunk[1])));
+				}
+
+				List<RecordedEvent> events = inFlight.poll().get();
+
+				listener.handleChunk(events);
+
+				result += events.size();
+			}
+		}
+		catch (InterruptedException ie)
+		{
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while reading " + path);
+		}
+		catch (ExecutionException ee)
+		{
+			Throwable cause = ee.getCause();
+
+			throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+		}
+		finally
+		{
+			for (Future<List<RecordedEvent>> future : inFlight)
+			{
+				future.cancel(true);
+			}
+
+			executor.shutdownNow();
+		}
+
+		return result;
+	}
+
+	// RecordingFile only reads whole files
+	private List<RecordedEvent> readChunkCopy(Path path, long offset, long length) throws IOException
+	{
+		Path chunkPath = Files.createTempFile("jitwatch-chunk", ".jfr");
+
+		try
+		{
+			try (FileChannel source = FileChannel.open(path, StandardOpenOption.READ);
+					FileChannel target = FileChannel.open(chunkPath, StandardOpenOption.WRITE))
+			{
+				long copied = 0;
+
+				boolean progressing = true;
+
+				while (copied < length && progressing)
+				{
+					long transferred = source.transferTo(offset + copied, length - copied, target);
+
+					progressing = transferred > 0;
+
+					copied += transferred;
+				}
+
+				if (copied < length)
+				{
+					// transferTo may make no progress, e.g. on a file that was truncated, so read what is left
+					copyRange(source, offset + copied, length - copied, target);
+				}
+			}
+
+			return readChunk(chunkPath);
+		}
+		finally
+		{
+			Files.deleteIfExists(chunkPath);
+		}
+	}
+
+	private static void copyRange(FileChannel source, long offset, long length, FileChannel target) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+
+		long copied = 0;
+
+		while (copied < length)
+		{
+			buffer.clear();
+			buffer.limit((int) Math.min(buffer.capacity(), length - copied));
+
+			int read = source.read(buffer, offset + copied);
+
+			if (read == -1)
+			{
+				throw new IOException("JFR recording ended inside a chunk at offset " + (offset + copied));
+			}
+
+			buffer.flip();
+
+			while (buffer.hasRemaining())
+			{
+				target.write(buffer);
+			}
+
+			copied += read;
+		}
+	}
+
+	private List<RecordedEvent> readChunk(Path path) throws IOException
+	{
+		List<RecordedEvent> result = new ArrayList<>();
+
+		try (RecordingFile recordingFile = new RecordingFile(path))
+		{
+			while (reading && recordingFile.hasMoreEvents())
+			{
+				RecordedEvent event = recordingFile.readEvent();
+
+				if (eventNames.contains(event.getEventType().getName()))
+				{
+					result.add(event);
+				}
+			}
+		}
+
+		result.sort(eventOrder);
+
+		return result;
+	}
+}
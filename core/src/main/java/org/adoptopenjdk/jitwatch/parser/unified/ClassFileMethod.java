@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.parser.unified;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+// Name, descriptor and bytecode of a method read straight from a class file.
+// Unified logging names methods without their descriptor so overloads are told
+// apart by bytecode size, which needs the Code attribute rather than reflection.
+public class ClassFileMethod
+{
+	private static final int MAGIC = 0xCAFEBABE;
+
+	private static final int CONSTANT_UTF8 = 1;
+	private static final int CONSTANT_INTEGER = 3;
+	private static final int CONSTANT_FLOAT = 4;
+	private static final int CONSTANT_LONG = 5;
+	private static final int CONSTANT_DOUBLE = 6;
+	private static final int CONSTANT_CLASS = 7;
+	private static final int CONSTANT_STRING = 8;
+	private static final int CONSTANT_FIELDREF = 9;
+	private static final int CONSTANT_METHODREF = 10;
+	private static final int CONSTANT_INTERFACE_METHODREF = 11;
+	private static final int CONSTANT_NAME_AND_TYPE = 12;
+	private static final int CONSTANT_METHOD_HANDLE = 15;
+	private static final int CONSTANT_METHOD_TYPE = 16;
+	private static final int CONSTANT_DYNAMIC = 17;
+	private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+	private static final int CONSTANT_MODULE = 19;
+	private static final int CONSTANT_PACKAGE = 20;
+
+	private static final String ATTRIBUTE_CODE = "Code";
+
+	private final String name;
+	private final String descriptor;
+
+	// null for native and abstract methods
+	private final byte[] code;
+
+	public ClassFileMethod(String name, String descriptor, byte[] code)
+	{
+		this.name = name;
+		this.descriptor = descriptor;
+		this.code = code;
+	}
+
+	public String getName()
+	{
+		return name;
+	}
+
+	public String getDescriptor()
+	{
+		return descriptor;
+	}
+
+	// bytecode length as logged by the JIT or -1 if the method has no code
+	public int getBytecodeSize()
+	{
+		return code != null ? code.length : -1;
+	}
+
+	// opcode at the bci or -1 if there is no code there
+	public int getOpcode(int bci)
+	{
+		return code != null && bci >= 0 && bci < code.length ? code[bci] & 0xFF : -1;
+	}
+
+	public static List<ClassFileMethod> readMethods(InputStream stream) throws IOException
+	{
+		DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+
+		if (in.readInt() != MAGIC)
+		{
+			throw new IOException("Not a class file");
+		}
+
+		skipFully(in, 4); // minor and major version
+
+		int constantPoolCount = in.readUnsignedShort();
+
+		String[] utf8 = new String[constantPoolCount];
+
+		for (int i = 1; i < constantPoolCount; i++)
+		{
+			int tag = in.readUnsignedByte();
+
+			switch (tag)
+			{
+			case CONSTANT_UTF8:
+				utf8[i] = in.readUTF();
+				break;
+			case CONSTANT_CLASS:
+			case CONSTANT_STRING:
+			case CONSTANT_METHOD_TYPE:
+			case CONSTANT_MODULE:
+			case CONSTANT_PACKAGE:
+				skipFully(in, 2);
+				break;
+			case CONSTANT_METHOD_HANDLE:
+				skipFully(in, 3);
+				break;
+			case CONSTANT_INTEGER:
+			case CONSTANT_FLOAT:
+			case CONSTANT_FIELDREF:
+			case CONSTANT_METHODREF:
+			case CONSTANT_INTERFACE_METHODREF:
+			case CONSTANT_NAME_AND_TYPE:
+			case CONSTANT_DYNAMIC:
+			case CONSTANT_INVOKE_DYNAMIC:
+				skipFully(in, 4);
+				break;
+			case CONSTANT_LONG:
+			case CONSTANT_DOUBLE:
+				// 8 byte constants take two slots
+				skipFully(in, 8);
+				i++;
+				break;
+			default:
+				throw new IOException("Unknown constant pool tag " + tag);
+			}
+		}
+
+		skipFully(in, 6); // access flags, this class, super class
+
+		int interfaceCount = in.readUnsignedShort();
+
+		skipFully(in, 2 * interfaceCount);
+
+		int fieldCount = in.readUnsignedShort();
+
+		for (int i = 0; i < fieldCount; i++)
+		{
+			skipFully(in, 6); // access flags, name, descriptor
+
+			skipAttributes(in);
+		}
+
+		int methodCount = in.readUnsignedShort();
+
+		List<ClassFileMethod> result = new ArrayList<>(methodCount);
+
+		for (int i = 0; i < methodCount; i++)
+		{
+			skipFully(in, 2); // access flags
+
+			String methodName = utf8[in.readUnsignedShort()];
+			String methodDescriptor = utf8[in.readUnsignedShort()];
+
+			byte[] methodCode = null;
+
+			int attributeCount = in.readUnsignedShort();
+
+			for (int a = 0; a < attributeCount; a++)
+			{
+				String attributeName = utf8[in.readUnsignedShort()];
+
+				int attributeLength = in.readInt();
+
+				if (ATTRIBUTE_CODE.equals(attributeName))
+				{
+					skipFully(in, 4); // max stack, max locals
+
+					int codeLength = in.readInt();
+
+					methodCode = new byte[codeLength];
+
+					in.readFully(methodCode);
+
+					skipFully(in, attributeLength - 8 - codeLength);
+				}
+				else
+				{
+					skipFully(in, attributeLength);
+				}
+			}
+
+			result.add(new ClassFileMethod(methodName, methodDescriptor, methodCode));
+		}
+
+		return result;
+	}
+
+	private static void skipAttributes(DataInputStream in) throws IOException
+	{
+		int attributeCount = in.readUnsignedShort();
+
+		for (int i = 0; i < attributeCount; i++)
+		{
+			skipFully(in, 2);
+
+			skipFully(in, in.readInt());
+		}
+	}
+
+	private static void skipFully(DataInputStream in, int count) throws IOException
+	{
+		int remaining = count;
+
+		while (remaining > 0)
+		{
+			int skipped = in.skipBytes(remaining);
+
+			if (skipped <= 0)
+			{
+				// skipBytes may return 0 before the end so confirm with a read
+				if (in.read() == -1)
+				{
+					throw new EOFException("Truncated class file");
+				}
+
+				skipped = 1;
+			}
+
+			remaining -= skipped;
+		}
+	}
+
+	@Override
+	public String toString()
+	{
+		return name + descriptor + " (" + getBytecodeSize() + " bytes)";
+	}
+}
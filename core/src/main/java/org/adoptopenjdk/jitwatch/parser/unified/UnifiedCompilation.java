@@ -0,0 +1,732 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.parser.unified;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_ACTION;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_ARGUMENTS;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_BCI;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_BYTES;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_CODE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_COMPILER;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_COMPILE_ID;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_COMPILE_KIND;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_DECOMPILES;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_FREE_CODE_CACHE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_HOLDER;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_ID;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_LEVEL;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_METHOD;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_NAME;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_NMSIZE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_OSR_BCI;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_PARSE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_REASON;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_RETURN;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_STAMP;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C1;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C2;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C2N;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_QUOTE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.OSR;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_APOSTROPHE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_CLOSE_ANGLE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_ENTITY_APOS;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_ENTITY_GT;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_ENTITY_LT;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_OPEN_ANGLE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_BC;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_CALL;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_CODE_CACHE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_FAILURE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_INLINE_FAIL;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_INLINE_SUCCESS;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_KLASS;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_METHOD;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_NMETHOD;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_PARSE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_PHASE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TASK_DONE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TASK_QUEUED;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TYPE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_UNCOMMON_TRAP;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.adoptopenjdk.jitwatch.model.Tag;
+import org.adoptopenjdk.jitwatch.model.Task;
+import org.adoptopenjdk.jitwatch.model.bytecode.Opcode;
+import org.adoptopenjdk.jitwatch.util.ParseUtil;
+
+// A compilation seen in a unified log or a JFR recording, built up from its compile
+// event, the inlining decisions made while compiling it and any later deoptimizations,
+// then converted to the LogCompilation tags the model is built from.
+// Unified logging has no compile end or native size so without them the nmethod is
+// stamped at the compile start and the native size is left out.
+public class UnifiedCompilation
+{
+	private int compileId;
+	private String threadId;
+	private long timestampMillisCompileStart;
+	private long timestampMillisCompileEnd = -1;
+
+	private String className;
+	private String methodName;
+	// null when the class file of the method was not on the classpath
+	private String descriptor;
+	private ClassFileMethod classFileMethod;
+
+	private int level = -1;
+	private int bytecodeSize = -1;
+	private boolean osr;
+	private int osrBCI = -1;
+	private boolean nativeWrapper;
+	private int decompiles;
+	private int nativeSize = -1;
+	private long freeCodeCache = -1;
+
+	private String failureReason;
+
+	private Task task;
+
+	private final List<ParseLevel> parseStack = new ArrayList<>();
+
+	// latest parse of each inlined method, for callers that are no longer on the stack
+	private final Map<String, ParseLevel> inlinedParses = new HashMap<>();
+
+	// indent of the first inlining line, which is a direct callee of the root method
+	private int baseIndent = -1;
+
+	private final Map<String, String> dictionaryIDs = new HashMap<>();
+
+	// attributes of each <method> in the dictionary, repeated as a child of every parse that calls it
+	private final Map<String, String> methodAttributes = new HashMap<>();
+
+	private int nextDictionaryID = 1;
+
+	private static class ParseLevel
+	{
+		private final Tag parseTag;
+		private final String methodID;
+		private final ClassFileMethod method;
+
+		ParseLevel(Tag parseTag, String methodID, ClassFileMethod method)
+		{
+			this.parseTag = parseTag;
+			this.methodID = methodID;
+			this.method = method;
+		}
+	}
+
+	public int getCompileId()
+	{
+		return compileId;
+	}
+
+	public void setCompileId(int compileId)
+	{
+		this.compileId = compileId;
+	}
+
+	public String getThreadId()
+	{
+		return threadId;
+	}
+
+	public void setThreadId(String threadId)
+	{
+		this.threadId = threadId;
+	}
+
+	public long getTimestampMillisCompileStart()
+	{
+		return timestampMillisCompileStart;
+	}
+
+	public void setTimestampMillisCompileStart(long timestampMillisCompileStart)
+	{
+		this.timestampMillisCompileStart = timestampMillisCompileStart;
+	}
+
+	public void setTimestampMillisCompileEnd(long timestampMillisCompileEnd)
+	{
+		this.timestampMillisCompileEnd = timestampMillisCompileEnd;
+	}
+
+	public String getClassName()
+	{
+		return className;
+	}
+
+	public String getMethodName()
+	{
+		return methodName;
+	}
+
+	// the descriptor and bytecode come from the class file when it was found
+	public void setMethod(String className, String methodName, ClassFileMethod classFileMethod)
+	{
+		this.className = className;
+		this.methodName = methodName;
+		this.classFileMethod = classFileMethod;
+
+		if (classFileMethod != null)
+		{
+			descriptor = classFileMethod.getDescriptor();
+		}
+	}
+
+	// for sources that log the descriptor, the class file is then only needed for the bytecode
+	public void setMethod(String className, String methodName, String descriptor, ClassFileMethod classFileMethod)
+	{
+		this.className = className;
+		this.methodName = methodName;
+		this.descriptor = descriptor;
+		this.classFileMethod = classFileMethod;
+	}
+
+	// false when the parameters of the method are not known
+	public boolean isMethodResolved()
+	{
+		return descriptor != null;
+	}
+
+	// the method in LogCompilation form: java/lang/String hashCode ()I
+	public String getSignature()
+	{
+		return toLogSignature(className, methodName, descriptor);
+	}
+
+	public int getLevel()
+	{
+		return level;
+	}
+
+	public void setLevel(int level)
+	{
+		this.level = level;
+	}
+
+	public int getBytecodeSize()
+	{
+		return bytecodeSize;
+	}
+
+	public void setBytecodeSize(int bytecodeSize)
+	{
+		this.bytecodeSize = bytecodeSize;
+	}
+
+	public boolean isOSR()
+	{
+		return osr;
+	}
+
+	public void setOSR(int osrBCI)
+	{
+		this.osr = true;
+		this.osrBCI = osrBCI;
+	}
+
+	public boolean isNativeWrapper()
+	{
+		return nativeWrapper;
+	}
+
+	public void setNativeWrapper(boolean nativeWrapper)
+	{
+		this.nativeWrapper = nativeWrapper;
+	}
+
+	public void setDecompiles(int decompiles)
+	{
+		this.decompiles = decompiles;
+	}
+
+	public void setNativeSize(int nativeSize)
+	{
+		this.nativeSize = nativeSize;
+	}
+
+	// free code cache after this compilation was installed, needs the native size to make a code cache event
+	public void setFreeCodeCache(long freeCodeCache)
+	{
+		this.freeCodeCache = freeCodeCache;
+	}
+
+	public String getFailureReason()
+	{
+		return failureReason;
+	}
+
+	public void setFailureReason(String failureReason)
+	{
+		this.failureReason = failureReason;
+	}
+
+	// without a descriptor the signature only identifies the method within this log
+	public static String toLogSignature(String className, String methodName, String descriptor)
+	{
+		String result = className.replace('.', '/') + " " + methodName;
+
+		if (descriptor != null)
+		{
+			result += " " + descriptor;
+		}
+
+		return result;
+	}
+
+	private String getCompiler()
+	{
+		return level >= 1 && level <= 3 ? C1 : C2;
+	}
+
+	public Tag toTagQueued()
+	{
+		StringBuilder attrs = new StringBuilder();
+
+		appendCommonAttributes(attrs, timestampMillisCompileStart);
+
+		return new Tag(TAG_TASK_QUEUED, attrs.toString().trim(), true);
+	}
+
+	public Tag toTagNMethod()
+	{
+		StringBuilder attrs = new StringBuilder();
+
+		if (nativeWrapper)
+		{
+			appendAttribute(attrs, ATTR_COMPILE_ID, Integer.toString(compileId));
+			appendAttribute(attrs, ATTR_COMPILE_KIND, C2N);
+			appendAttribute(attrs, ATTR_METHOD, getSignature());
+			appendAttribute(attrs, ATTR_STAMP, millisToSecondsString(timestampMillisCompileStart));
+		}
+		else
+		{
+			appendCommonAttributes(attrs, getTimestampMillisCompileEnd());
+			appendAttribute(attrs, ATTR_COMPILER, getCompiler());
+		}
+
+		return new Tag(TAG_NMETHOD, attrs.toString().trim(), true);
+	}
+
+	public Task toTagTask()
+	{
+		Task result = getTask();
+
+		String stamp = millisToSecondsString(getTimestampMillisCompileEnd());
+
+		StringBuilder doneAttrs = new StringBuilder();
+
+		if (failureReason != null)
+		{
+			StringBuilder failureAttrs = new StringBuilder();
+
+			appendAttribute(failureAttrs, ATTR_REASON, failureReason);
+			appendAttribute(failureAttrs, ATTR_STAMP, stamp);
+
+			result.addChild(new Tag(TAG_FAILURE, failureAttrs.toString().trim(), true));
+
+			appendAttribute(doneAttrs, "success", "0");
+		}
+		else
+		{
+			appendAttribute(doneAttrs, "success", "1");
+
+			if (nativeSize >= 0)
+			{
+				appendAttribute(doneAttrs, ATTR_NMSIZE, Integer.toString(nativeSize));
+
+				if (freeCodeCache >= 0)
+				{
+					result.addChild(new Tag(TAG_CODE_CACHE, attribute(ATTR_FREE_CODE_CACHE, Long.toString(freeCodeCache)), true));
+				}
+			}
+		}
+
+		appendAttribute(doneAttrs, ATTR_STAMP, stamp);
+
+		result.addChild(new Tag(TAG_TASK_DONE, doneAttrs.toString().trim(), true));
+
+		return result;
+	}
+
+	// the compile start when the end was not logged
+	private long getTimestampMillisCompileEnd()
+	{
+		return timestampMillisCompileEnd != -1 ? timestampMillisCompileEnd : timestampMillisCompileStart;
+	}
+
+	private void appendCommonAttributes(StringBuilder attrs, long stamp)
+	{
+		appendAttribute(attrs, ATTR_COMPILE_ID, Integer.toString(compileId));
+
+		if (osr)
+		{
+			appendAttribute(attrs, ATTR_COMPILE_KIND, OSR);
+			appendAttribute(attrs, ATTR_OSR_BCI, Integer.toString(osrBCI));
+		}
+
+		appendAttribute(attrs, ATTR_METHOD, getSignature());
+
+		if (bytecodeSize >= 0)
+		{
+			appendAttribute(attrs, ATTR_BYTES, Integer.toString(bytecodeSize));
+		}
+
+		if (level >= 0)
+		{
+			appendAttribute(attrs, ATTR_LEVEL, Integer.toString(level));
+		}
+
+		appendAttribute(attrs, ATTR_STAMP, millisToSecondsString(stamp));
+	}
+
+	private Task getTask()
+	{
+		if (task == null)
+		{
+			StringBuilder attrs = new StringBuilder();
+
+			appendCommonAttributes(attrs, timestampMillisCompileStart);
+
+			if (decompiles > 0)
+			{
+				appendAttribute(attrs, ATTR_DECOMPILES, Integer.toString(decompiles));
+			}
+
+			task = new Task(attrs.toString().trim(), false);
+		}
+
+		return task;
+	}
+
+	// the root <parse> tag, created with its dictionary entries on first use
+	private ParseLevel getRootParseLevel()
+	{
+		if (parseStack.isEmpty())
+		{
+			Task rootTask = getTask();
+
+			String rootMethodID = addDictionaryMethod(className, methodName, descriptor, bytecodeSize);
+
+			Tag phase = new Tag(TAG_PHASE, attribute(ATTR_NAME, ATTR_PARSE), false);
+
+			Tag parse = new Tag(TAG_PARSE, attribute(ATTR_METHOD, rootMethodID), false);
+
+			phase.addChild(parse);
+
+			rootTask.addChild(phase);
+
+			parseStack.add(new ParseLevel(parse, rootMethodID, classFileMethod));
+		}
+
+		return parseStack.get(0);
+	}
+
+	// One line of the inlining tree. Lines arrive depth first with the call depth in the indent.
+	public void addInlining(int indent, int bci, String calleeClassName, String calleeMethodName, ClassFileMethod callee,
+			int calleeBytecodeSize, String reason, boolean inlined)
+	{
+		getRootParseLevel();
+
+		if (baseIndent == -1)
+		{
+			baseIndent = indent;
+		}
+
+		int depth = Math.max(0, (indent - baseIndent) / 2);
+
+		// a deeper line than the stack holds follows a failed inline so attach it to the deepest parse
+		while (parseStack.size() > depth + 1)
+		{
+			parseStack.remove(parseStack.size() - 1);
+		}
+
+		String calleeDescriptor = callee != null ? callee.getDescriptor() : null;
+
+		addCall(parseStack.get(parseStack.size() - 1), bci, calleeClassName, calleeMethodName, calleeDescriptor, callee,
+				calleeBytecodeSize, reason, inlined);
+	}
+
+	// An inlining decision logged with its caller rather than a depth. Decisions mostly arrive
+	// depth first so the caller is the deepest parse of that method still on the stack. C2 can
+	// decide a call site after leaving it so otherwise it is the latest parse of that method.
+	public void addInlining(String callerClassName, String callerMethodName, String callerDescriptor, int bci,
+			String calleeClassName, String calleeMethodName, String calleeDescriptor, ClassFileMethod callee, String reason,
+			boolean inlined)
+	{
+		ParseLevel root = getRootParseLevel();
+
+		String callerID = dictionaryIDs.get(callerClassName + "::" + callerMethodName + callerDescriptor);
+
+		int depth = parseStack.size() - 1;
+
+		while (depth > 0 && !parseStack.get(depth).methodID.equals(callerID))
+		{
+			depth--;
+		}
+
+		ParseLevel caller = inlinedParses.get(callerID);
+
+		if (depth > 0 || caller == null || root.methodID.equals(callerID))
+		{
+			while (parseStack.size() > depth + 1)
+			{
+				parseStack.remove(parseStack.size() - 1);
+			}
+
+			caller = parseStack.get(depth);
+		}
+
+		int calleeBytecodeSize = callee != null ? callee.getBytecodeSize() : -1;
+
+		addCall(caller, bci, calleeClassName, calleeMethodName, calleeDescriptor, callee, calleeBytecodeSize,
+				reason, inlined);
+	}
+
+	private void addCall(ParseLevel caller, int bci, String calleeClassName, String calleeMethodName, String calleeDescriptor,
+			ClassFileMethod callee, int calleeBytecodeSize, String reason, boolean inlined)
+	{
+		int opcode = caller.method != null ? caller.method.getOpcode(bci) : -1;
+
+		if (opcode == -1)
+		{
+			// only invokes are logged so stand in a generic one when the caller bytecode is unknown
+			opcode = Opcode.INVOKEVIRTUAL.getCode();
+		}
+
+		String bcAttributes = attribute(ATTR_CODE, Integer.toString(opcode)) + " " + attribute(ATTR_BCI, Integer.toString(bci));
+
+		caller.parseTag.addChild(new Tag(TAG_BC, bcAttributes, true));
+
+		task.addBCIOpcodeMapping(caller.methodID, bci, Opcode.getByCode(opcode));
+
+		String calleeID = addDictionaryMethod(calleeClassName, calleeMethodName, calleeDescriptor, calleeBytecodeSize);
+
+		caller.parseTag.addChild(new Tag(TAG_METHOD, methodAttributes.get(calleeID), true));
+
+		caller.parseTag.addChild(new Tag(TAG_CALL, attribute(ATTR_METHOD, calleeID), true));
+
+		String decision = inlined ? TAG_INLINE_SUCCESS : TAG_INLINE_FAIL;
+
+		caller.parseTag.addChild(new Tag(decision, attribute(ATTR_REASON, reason), true));
+
+		if (inlined)
+		{
+			Tag calleeParse = new Tag(TAG_PARSE, attribute(ATTR_METHOD, calleeID), false);
+
+			caller.parseTag.addChild(calleeParse);
+
+			ParseLevel calleeLevel = new ParseLevel(calleeParse, calleeID, callee);
+
+			// a caller off the stack starts a new branch
+			if (caller != parseStack.get(parseStack.size() - 1))
+			{
+				parseStack.subList(1, parseStack.size()).clear();
+			}
+
+			parseStack.add(calleeLevel);
+
+			inlinedParses.put(calleeID, calleeLevel);
+		}
+	}
+
+	// a deoptimization of this compilation's code, only traps in the root method have a bci to annotate
+	public void addUncommonTrap(int bci, String reason, String action)
+	{
+		ParseLevel root = getRootParseLevel();
+
+		StringBuilder attrs = new StringBuilder();
+
+		appendAttribute(attrs, ATTR_BCI, Integer.toString(bci));
+		appendAttribute(attrs, ATTR_REASON, reason);
+		appendAttribute(attrs, ATTR_ACTION, action);
+		appendAttribute(attrs, ATTR_METHOD, root.methodID);
+
+		root.parseTag.addChild(new Tag(TAG_UNCOMMON_TRAP, attrs.toString().trim(), true));
+	}
+
+	// a method with no descriptor gets no return or arguments so it matches no member
+	private String addDictionaryMethod(String holderClassName, String name, String methodDescriptor, int bytes)
+	{
+		String key = holderClassName + "::" + name + (methodDescriptor != null ? methodDescriptor : "");
+
+		String result = dictionaryIDs.get(key);
+
+		if (result == null)
+		{
+			result = nextDictionaryID();
+
+			dictionaryIDs.put(key, result);
+
+			StringBuilder arguments = new StringBuilder();
+
+			String returnID = null;
+
+			if (methodDescriptor != null)
+			{
+				int closeParen = methodDescriptor.indexOf(')');
+
+				int pos = 1;
+
+				while (pos < closeParen)
+				{
+					int end = typeEnd(methodDescriptor, pos);
+
+					if (arguments.length() > 0)
+					{
+						arguments.append(' ');
+					}
+
+					arguments.append(addDictionaryType(methodDescriptor, pos, end));
+
+					pos = end;
+				}
+
+				returnID = addDictionaryType(methodDescriptor, closeParen + 1, methodDescriptor.length());
+			}
+
+			StringBuilder attrs = new StringBuilder();
+
+			appendAttribute(attrs, ATTR_ID, result);
+			appendAttribute(attrs, ATTR_HOLDER, addDictionaryKlass(holderClassName.replace('.', '/')));
+			appendAttribute(attrs, ATTR_NAME, name);
+
+			if (returnID != null)
+			{
+				appendAttribute(attrs, ATTR_RETURN, returnID);
+			}
+
+			if (arguments.length() > 0)
+			{
+				appendAttribute(attrs, ATTR_ARGUMENTS, arguments.toString());
+			}
+
+			if (bytes >= 0)
+			{
+				appendAttribute(attrs, ATTR_BYTES, Integer.toString(bytes));
+			}
+
+			String attributeString = attrs.toString().trim();
+
+			methodAttributes.put(result, attributeString);
+
+			getTask().addDictionaryMethod(result, new Tag(TAG_METHOD, attributeString, true));
+		}
+
+		return result;
+	}
+
+	// end of the field descriptor starting at pos
+	private static int typeEnd(String descriptor, int pos)
+	{
+		while (descriptor.charAt(pos) == '[')
+		{
+			pos++;
+		}
+
+		return descriptor.charAt(pos) == 'L' ? descriptor.indexOf(';', pos) + 1 : pos + 1;
+	}
+
+	// a primitive becomes a <type>, objects and arrays a <klass> as LogCompilation writes them
+	private String addDictionaryType(String descriptor, int start, int end)
+	{
+		char first = descriptor.charAt(start);
+
+		String result;
+
+		if (first == '[')
+		{
+			result = addDictionaryKlass(descriptor.substring(start, end));
+		}
+		else if (first == 'L')
+		{
+			result = addDictionaryKlass(descriptor.substring(start + 1, end - 1));
+		}
+		else
+		{
+			String typeName = ParseUtil.getPrimitiveClassName(first);
+
+			result = dictionaryIDs.get(typeName);
+
+			if (result == null)
+			{
+				result = nextDictionaryID();
+
+				dictionaryIDs.put(typeName, result);
+
+				String typeAttributes = attribute(ATTR_ID, result) + " " + attribute(ATTR_NAME, typeName);
+
+				getTask().addDictionaryType(result, new Tag(TAG_TYPE, typeAttributes, true));
+			}
+		}
+
+		return result;
+	}
+
+	private String addDictionaryKlass(String klassName)
+	{
+		String result = dictionaryIDs.get(klassName);
+
+		if (result == null)
+		{
+			result = nextDictionaryID();
+
+			dictionaryIDs.put(klassName, result);
+
+			String klassAttributes = attribute(ATTR_ID, result) + " " + attribute(ATTR_NAME, klassName);
+
+			getTask().addDictionaryKlass(result, new Tag(TAG_KLASS, klassAttributes, true));
+		}
+
+		return result;
+	}
+
+	private String nextDictionaryID()
+	{
+		return Integer.toString(nextDictionaryID++);
+	}
+
+	private static String attribute(String key, String value)
+	{
+		StringBuilder builder = new StringBuilder();
+
+		appendAttribute(builder, key, value);
+
+		return builder.toString().trim();
+	}
+
+	private static void appendAttribute(StringBuilder builder, String key, String value)
+	{
+		builder.append(key).append('=').append(C_QUOTE).append(escape(value)).append(C_QUOTE).append(' ');
+	}
+
+	// values are read back with the XML entities LogCompilation uses
+	private static String escape(String value)
+	{
+		return value.replace(S_APOSTROPHE, S_ENTITY_APOS).replace(S_OPEN_ANGLE, S_ENTITY_LT).replace(S_CLOSE_ANGLE, S_ENTITY_GT);
+	}
+
+	private static String millisToSecondsString(long millis)
+	{
+		return BigDecimal.valueOf(millis, 3).toPlainString();
+	}
+
+	@Override
+	public String toString()
+	{
+		return "UnifiedCompilation [compileId=" + compileId + ", threadId=" + threadId + ", timestampMillisCompileStart="
+				+ timestampMillisCompileStart + ", timestampMillisCompileEnd=" + timestampMillisCompileEnd + ", signature="
+				+ getSignature() + ", level=" + level + ", bytecodeSize=" + bytecodeSize + ", osr=" + osr + ", osrBCI=" + osrBCI
+				+ ", nativeWrapper=" + nativeWrapper + ", decompiles=" + decompiles + ", nativeSize=" + nativeSize
+				+ ", failureReason=" + failureReason + "]";
+	}
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.parser.unified;
+
+import org.adoptopenjdk.jitwatch.model.NumberedLine;
+
+// One line of unified JVM logging (-Xlog) output. The [decorators] are decoded by hand
+// as these logs run to hundreds of MB and every line passes through here.
+// Lines are decoded once while splitting and kept in the SplitLog as they are.
+public class UnifiedLine extends NumberedLine
+{
+	// uptime decorators above this are wall clock times (timemillis, timenanos)
+	private static final long MAX_UPTIME_MILLIS = 100_000_000_000L;
+
+	private final UnifiedLineType lineType;
+	private final long stamp;
+	private final String threadId;
+	private final int contentStart;
+
+	private UnifiedLine(long lineNumber, String text, UnifiedLineType lineType, long stamp, String threadId, int contentStart)
+	{
+		super(lineNumber, text);
+
+		this.lineType = lineType;
+		this.stamp = stamp;
+		this.threadId = threadId;
+		this.contentStart = contentStart;
+	}
+
+	// null if the line is not unified logging or has no JIT related tags
+	public static UnifiedLine decode(long lineNumber, String text)
+	{
+		long stamp = -1;
+
+		int threadStart = -1;
+		int threadEnd = -1;
+
+		int tagsStart = -1;
+		int tagsEnd = -1;
+
+		int length = text.length();
+		int pos = 0;
+
+		while (pos < length && text.charAt(pos) == '[')
+		{
+			int close = text.indexOf(']', pos + 1);
+
+			if (close == -1)
+			{
+				break;
+			}
+
+			int start = skipSpaces(text, pos + 1, close);
+			int end = close;
+
+			while (end > start && text.charAt(end - 1) == ' ')
+			{
+				end--;
+			}
+
+			if (start < end)
+			{
+				char first = text.charAt(start);
+
+				if (first >= '0' && first <= '9')
+				{
+					if (isDigits(text, start, end))
+					{
+						// pid then tid, keep the last one
+						threadStart = start;
+						threadEnd = end;
+					}
+					else if (stamp == -1)
+					{
+						stamp = parseUptimeMillis(text, start, end);
+					}
+				}
+				else if (!isLevel(text, start, end))
+				{
+					tagsStart = start;
+					tagsEnd = end;
+				}
+			}
+
+			pos = close + 1;
+		}
+
+		UnifiedLine result = null;
+
+		if (tagsStart != -1)
+		{
+			UnifiedLineType lineType = getLineType(text.substring(tagsStart, tagsEnd));
+
+			if (lineType != null)
+			{
+				if (pos < length && text.charAt(pos) == ' ')
+				{
+					pos++;
+				}
+
+				String threadId = threadStart != -1 ? text.substring(threadStart, threadEnd) : null;
+
+				result = new UnifiedLine(lineNumber, text, lineType, stamp, threadId, pos);
+			}
+		}
+
+		return result;
+	}
+
+	private static UnifiedLineType getLineType(String tags)
+	{
+		UnifiedLineType result = null;
+
+		if (tags.contains("inlining"))
+		{
+			result = UnifiedLineType.INLINING;
+		}
+		else if (tags.contains("deoptimization"))
+		{
+			result = UnifiedLineType.DEOPTIMIZATION;
+		}
+		else if (tags.contains("sweep"))
+		{
+			result = UnifiedLineType.SWEEPER;
+		}
+		else if (tags.contains("codecache"))
+		{
+			result = UnifiedLineType.CODECACHE;
+		}
+		else if (tags.contains("compilation"))
+		{
+			result = UnifiedLineType.COMPILATION;
+		}
+
+		return result;
+	}
+
+	private static boolean isLevel(String text, int start, int end)
+	{
+		int length = end - start;
+
+		return (length == 5 && (text.startsWith("trace", start) || text.startsWith("debug", start) || text.startsWith("error", start)))
+				|| (length == 4 && text.startsWith("info", start)) || (length == 7 && text.startsWith("warning", start));
+	}
+
+	// uptime as seconds (0.123s), millis (123ms) or nanos (123000000ns), -1 for other decorators
+	private static long parseUptimeMillis(String text, int start, int end)
+	{
+		long whole = 0;
+		long fraction = 0;
+
+		int fractionDigits = 0;
+
+		boolean inFraction = false;
+
+		int pos = start;
+
+		while (pos < end)
+		{
+			char c = text.charAt(pos);
+
+			if (c >= '0' && c <= '9')
+			{
+				if (!inFraction)
+				{
+					whole = whole * 10 + (c - '0');
+				}
+				else if (fractionDigits < 3)
+				{
+					fraction = fraction * 10 + (c - '0');
+					fractionDigits++;
+				}
+			}
+			else if (c == '.' && !inFraction)
+			{
+				inFraction = true;
+			}
+			else
+			{
+				break;
+			}
+
+			pos++;
+		}
+
+		long result = -1;
+
+		int unitLength = end - pos;
+
+		if (unitLength == 1 && text.charAt(pos) == 's')
+		{
+			for (; fractionDigits < 3; fractionDigits++)
+			{
+				fraction *= 10;
+			}
+
+			result = whole * 1000 + fraction;
+		}
+		else if (unitLength == 2 && !inFraction && text.charAt(pos + 1) == 's')
+		{
+			if (text.charAt(pos) == 'm')
+			{
+				result = whole;
+			}
+			else if (text.charAt(pos) == 'n')
+			{
+				result = whole / 1_000_000;
+			}
+		}
+
+		if (result > MAX_UPTIME_MILLIS)
+		{
+			result = -1;
+		}
+
+		return result;
+	}
+
+	static boolean isDigits(String text, int start, int end)
+	{
+		boolean result = start < end;
+
+		for (int i = start; result && i < end; i++)
+		{
+			char c = text.charAt(i);
+
+			result = c >= '0' && c <= '9';
+		}
+
+		return result;
+	}
+
+	static int skipSpaces(String text, int pos, int end)
+	{
+		while (pos < end && text.charAt(pos) == ' ')
+		{
+			pos++;
+		}
+
+		return pos;
+	}
+
+	// end of the token starting at pos
+	static int tokenEnd(String text, int pos, int end)
+	{
+		while (pos < end && text.charAt(pos) != ' ')
+		{
+			pos++;
+		}
+
+		return pos;
+	}
+
+	// digits at [start, end) or -1 if there are none
+	static int parseInt(String text, int start, int end)
+	{
+		int result = -1;
+
+		if (isDigits(text, start, end))
+		{
+			result = 0;
+
+			for (int i = start; i < end; i++)
+			{
+				result = result * 10 + (text.charAt(i) - '0');
+			}
+		}
+
+		return result;
+	}
+
+	public String getText()
+	{
+		return getLine();
+	}
+
+	public UnifiedLineType getLineType()
+	{
+		return lineType;
+	}
+
+	// uptime in millis or -1 if the line has no uptime decorator
+	public long getStamp()
+	{
+		return stamp;
+	}
+
+	// the tid decorator or null if it was not logged
+	public String getThreadId()
+	{
+		return threadId;
+	}
+
+	public int getContentStart()
+	{
+		return contentStart;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "UnifiedLine [lineType=" + lineType + ", stamp=" + stamp + ", threadId=" + threadId + ", content="
+				+ getText().substring(contentStart) + "]";
+	}
+}
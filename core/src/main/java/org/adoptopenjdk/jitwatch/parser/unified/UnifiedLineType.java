@@ -0,0 +1,11 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.parser.unified;
+
+public enum UnifiedLineType
+{
+	COMPILATION, INLINING, DEOPTIMIZATION, CODECACHE, SWEEPER
+}
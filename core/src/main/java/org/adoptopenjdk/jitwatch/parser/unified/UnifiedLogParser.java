@@ -0,0 +1,755 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.parser.unified;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.DEBUG_LOGGING;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_NMETHOD;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TASK;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TASK_QUEUED;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.adoptopenjdk.jitwatch.core.IJITListener;
+import org.adoptopenjdk.jitwatch.metrics.ParseMetrics;
+import org.adoptopenjdk.jitwatch.metrics.PhaseTimer;
+import org.adoptopenjdk.jitwatch.model.CodeCacheEvent;
+import org.adoptopenjdk.jitwatch.model.CodeCacheEvent.CodeCacheEventType;
+import org.adoptopenjdk.jitwatch.model.CompilerThread;
+import org.adoptopenjdk.jitwatch.model.NumberedLine;
+import org.adoptopenjdk.jitwatch.model.Tag;
+import org.adoptopenjdk.jitwatch.model.Task;
+import org.adoptopenjdk.jitwatch.parser.AbstractLogParser;
+
+// Parses unified JVM logging text, for example
+// -Xlog:jit+compilation=debug,jit+inlining=debug,deoptimization=debug,codecache=debug:file=jit.log:uptime,tid,level,tags
+// Compilations are held until the whole log is read as their inlining, failure and
+// deoptimization lines come later. Inlining lines are matched to the last compilation
+// started on the same thread so the tid decorator is needed when there is more than
+// one compiler thread.
+public class UnifiedLogParser extends AbstractLogParser
+{
+	private static final String MADE_NOT_ENTRANT = "made not entrant";
+	private static final String MADE_ZOMBIE = "made zombie";
+	private static final String COMPILE_SKIPPED = "COMPILE SKIPPED: ";
+	private static final String FAILED_TO_INLINE = "failed to inline: ";
+
+	private static final String[] INLINE_SUCCESS_PREFIXES = { "inline", "accessor", "intrinsic", "force inline",
+			"late inline succeeded", "incrementally inlined" };
+
+	// trap actions that throw away the nmethod, counted as a decompile of its method
+	private static final String ACTION_REINTERPRET = "reinterpret";
+	private static final String ACTION_MAKE_NOT_ENTRANT = "make_not_entrant";
+
+	private static final String KEY_FREE = "free=";
+	private static final String KEY_TOTAL_BLOBS = "total_blobs=";
+	private static final String IS_FULL = " is full";
+
+	private final UnifiedMemberResolver memberResolver = new UnifiedMemberResolver(this::getClassLoader);
+
+	// in compile start order
+	private final List<UnifiedCompilation> compilations = new ArrayList<>();
+
+	private final Map<Integer, UnifiedCompilation> compileIdMap = new HashMap<>();
+
+	// last compilation started on each tid, a null tid when the decorator was not logged
+	private final Map<String, UnifiedCompilation> threadCompilations = new HashMap<>();
+
+	private final Map<String, Integer> decompileCounts = new HashMap<>();
+
+	private final Map<String, CompilerThread> compilerThreads = new HashMap<>();
+
+	private final CompilerThread unknownCompilerThread = new CompilerThread("dummy", "dummy");
+
+	private long lastStamp = 0;
+
+	// sum of free= over the CodeHeap lines of the code cache summary being read
+	private long freeCodeCacheKb = -1;
+
+	private long lastSweeperStamp = -1;
+
+	public UnifiedLogParser(IJITListener jitListener)
+	{
+		super(jitListener);
+
+		currentCompilerThread = unknownCompilerThread;
+	}
+
+	@Override
+	public void reset()
+	{
+		super.reset();
+
+		memberResolver.clear();
+
+		compilations.clear();
+		compileIdMap.clear();
+		threadCompilations.clear();
+		decompileCounts.clear();
+		compilerThreads.clear();
+
+		lastStamp = 0;
+		freeCodeCacheKb = -1;
+		lastSweeperStamp = -1;
+	}
+
+	@Override
+	protected void splitLogFile(Reader logFileReader)
+	{
+		reading = true;
+
+		try (BufferedReader reader = new BufferedReader(logFileReader, 65536))
+		{
+			String currentLine = reader.readLine();
+
+			while (reading && currentLine != null)
+			{
+				UnifiedLine line = UnifiedLine.decode(parseLineNumber, currentLine);
+
+				if (line != null)
+				{
+					splitLog.addCompilationLine(line);
+				}
+
+				parseLineNumber++;
+
+				currentLine = reader.readLine();
+			}
+		}
+		catch (IOException ioe)
+		{
+			logger.error("Exception while splitting log file", ioe);
+		}
+	}
+
+	@Override
+	protected void parseLogFile()
+	{
+		try (PhaseTimer timer = ParseMetrics.getInstance().startPhase(ParseMetrics.PHASE_COMPILATION_TAGS))
+		{
+			timer.addItems(splitLog.getCompilationLines().size());
+
+			for (NumberedLine numberedLine : splitLog.getCompilationLines())
+			{
+				if (!reading)
+				{
+					break;
+				}
+
+				processLineNumber = numberedLine.getLineNumber();
+
+				// splitLogFile only keeps decoded lines
+				UnifiedLine line = (UnifiedLine) numberedLine;
+
+				if (line.getStamp() != -1)
+				{
+					lastStamp = line.getStamp();
+				}
+
+				try
+				{
+					switch (line.getLineType())
+					{
+					case COMPILATION:
+						handleCompilationLine(line);
+						break;
+					case INLINING:
+						handleInliningLine(line);
+						break;
+					case DEOPTIMIZATION:
+						handleDeoptimizationLine(line);
+						break;
+					case CODECACHE:
+						handleCodeCacheLine(line);
+						break;
+					case SWEEPER:
+						handleSweeperLine();
+						break;
+					default:
+						break;
+					}
+				}
+				catch (Exception e)
+				{
+					logger.error("Bad line {}: {}", processLineNumber, numberedLine.getLine(), e);
+				}
+			}
+
+			int unresolvedCount = 0;
+
+			for (UnifiedCompilation compilation : compilations)
+			{
+				if (DEBUG_LOGGING)
+				{
+					logger.debug("Unified compilation parsed\n{}", compilation);
+				}
+
+				// an overload cannot be chosen without the class file
+				if (!compilation.isMethodResolved())
+				{
+					unresolvedCount++;
+					continue;
+				}
+
+				currentCompilerThread = getCompilerThread(compilation.getThreadId());
+
+				if (compilation.isNativeWrapper())
+				{
+					handleTag(compilation.toTagNMethod());
+				}
+				else
+				{
+					handleTag(compilation.toTagQueued());
+
+					if (compilation.getFailureReason() == null)
+					{
+						handleTag(compilation.toTagNMethod());
+					}
+
+					handleTag(compilation.toTagTask());
+				}
+			}
+
+			if (unresolvedCount > 0)
+			{
+				logError(unresolvedCount + " compilations were skipped as the class files of their methods were not on the classpath");
+			}
+		}
+	}
+
+	private CompilerThread getCompilerThread(String threadId)
+	{
+		CompilerThread result = unknownCompilerThread;
+
+		if (threadId != null)
+		{
+			result = compilerThreads.get(threadId);
+
+			if (result == null)
+			{
+				result = model.createCompilerThread(threadId, "CompilerThread " + threadId);
+
+				compilerThreads.put(threadId, result);
+			}
+		}
+
+		return result;
+	}
+
+	// <id> <flags %sb!n> <tier> <Class::method> [@ <osr bci>] (<bytes> bytes) [message]
+	private void handleCompilationLine(UnifiedLine line)
+	{
+		String text = line.getText();
+
+		int end = text.length();
+
+		int pos = UnifiedLine.skipSpaces(text, line.getContentStart(), end);
+		int tokenEnd = UnifiedLine.tokenEnd(text, pos, end);
+
+		int compileId = UnifiedLine.parseInt(text, pos, tokenEnd);
+
+		if (compileId == -1)
+		{
+			return;
+		}
+
+		boolean osr = false;
+		boolean nativeWrapper = false;
+
+		pos = UnifiedLine.skipSpaces(text, tokenEnd, end);
+		tokenEnd = UnifiedLine.tokenEnd(text, pos, end);
+
+		// flags are printed in fixed columns so a blank flag splits them into several tokens
+		while (pos < tokenEnd && isFlags(text, pos, tokenEnd))
+		{
+			for (int i = pos; i < tokenEnd; i++)
+			{
+				osr |= text.charAt(i) == '%';
+				nativeWrapper |= text.charAt(i) == 'n';
+			}
+
+			pos = UnifiedLine.skipSpaces(text, tokenEnd, end);
+			tokenEnd = UnifiedLine.tokenEnd(text, pos, end);
+		}
+
+		// no tier column without tiered compilation
+		int level = tokenEnd - pos == 1 ? UnifiedLine.parseInt(text, pos, tokenEnd) : -1;
+
+		if (level != -1)
+		{
+			pos = UnifiedLine.skipSpaces(text, tokenEnd, end);
+			tokenEnd = UnifiedLine.tokenEnd(text, pos, end);
+		}
+
+		int separator = text.indexOf("::", pos);
+
+		if (separator == -1 || separator >= tokenEnd)
+		{
+			logger.warn("No method found on line {}: {}", processLineNumber, text);
+			return;
+		}
+
+		String className = getClassName(text, pos, separator);
+		String methodName = getMethodName(text, separator + 2, tokenEnd);
+
+		pos = UnifiedLine.skipSpaces(text, tokenEnd, end);
+
+		int osrBCI = -1;
+
+		if (pos < end && text.charAt(pos) == '@')
+		{
+			pos = UnifiedLine.skipSpaces(text, pos + 1, end);
+			tokenEnd = UnifiedLine.tokenEnd(text, pos, end);
+
+			osrBCI = UnifiedLine.parseInt(text, pos, tokenEnd);
+
+			pos = UnifiedLine.skipSpaces(text, tokenEnd, end);
+		}
+
+		int bytecodeSize = -1;
+
+		if (pos < end && text.charAt(pos) == '(')
+		{
+			int close = text.indexOf(')', pos);
+
+			if (close != -1)
+			{
+				bytecodeSize = UnifiedLine.parseInt(text, pos + 1, UnifiedLine.tokenEnd(text, pos + 1, close));
+
+				pos = close + 1;
+			}
+		}
+
+		String message = text.substring(pos).trim();
+
+		if (message.startsWith(COMPILE_SKIPPED))
+		{
+			UnifiedCompilation compilation = compileIdMap.get(compileId);
+
+			if (compilation != null)
+			{
+				compilation.setFailureReason(message.substring(COMPILE_SKIPPED.length()));
+			}
+		}
+		else if (message.startsWith(MADE_NOT_ENTRANT) || message.startsWith(MADE_ZOMBIE))
+		{
+			// code replaced by a higher tier is also made not entrant, deoptimization lines count decompiles
+		}
+		else if (!compileIdMap.containsKey(compileId))
+		{
+			UnifiedCompilation compilation = new UnifiedCompilation();
+
+			compilation.setCompileId(compileId);
+			compilation.setThreadId(line.getThreadId());
+			compilation.setTimestampMillisCompileStart(lastStamp);
+			compilation.setMethod(className, methodName, memberResolver.resolve(className, methodName, bytecodeSize));
+			compilation.setLevel(level);
+			compilation.setBytecodeSize(bytecodeSize);
+			compilation.setNativeWrapper(nativeWrapper);
+
+			if (osr)
+			{
+				compilation.setOSR(osrBCI);
+			}
+
+			Integer decompiles = decompileCounts.get(compilation.getSignature());
+
+			if (decompiles != null)
+			{
+				compilation.setDecompiles(decompiles);
+			}
+
+			compilations.add(compilation);
+			compileIdMap.put(compileId, compilation);
+
+			if (!nativeWrapper)
+			{
+				threadCompilations.put(line.getThreadId(), compilation);
+			}
+		}
+	}
+
+	private static boolean isFlags(String text, int start, int end)
+	{
+		boolean result = true;
+
+		for (int i = start; result && i < end; i++)
+		{
+			char c = text.charAt(i);
+
+			result = c == '%' || c == 's' || c == '!' || c == 'b' || c == 'n';
+		}
+
+		return result;
+	}
+
+	// hidden classes are printed as Name/0x... but LogCompilation writes Name+0x...
+	private static String getClassName(String text, int start, int end)
+	{
+		return text.substring(start, end).replace("/0x", "+0x");
+	}
+
+	// method handle intrinsics are printed with a basic type signature after the name
+	private static String getMethodName(String text, int start, int end)
+	{
+		int paren = text.indexOf('(', start);
+
+		return text.substring(start, paren != -1 && paren < end ? paren : end);
+	}
+
+	// <indent>@ <bci> <Class::method> (<bytes> bytes) <reason>
+	private void handleInliningLine(UnifiedLine line)
+	{
+		UnifiedCompilation compilation = threadCompilations.get(line.getThreadId());
+
+		String text = line.getText();
+
+		int at = text.indexOf('@', line.getContentStart());
+
+		if (compilation == null || at == -1)
+		{
+			return;
+		}
+
+		int end = text.length();
+
+		int pos = UnifiedLine.skipSpaces(text, at + 1, end);
+		int tokenEnd = UnifiedLine.tokenEnd(text, pos, end);
+
+		int bci = UnifiedLine.parseInt(text, pos, tokenEnd);
+
+		pos = UnifiedLine.skipSpaces(text, tokenEnd, end);
+		tokenEnd = UnifiedLine.tokenEnd(text, pos, end);
+
+		int separator = text.indexOf("::", pos);
+
+		if (bci == -1 || separator == -1 || separator >= tokenEnd)
+		{
+			return;
+		}
+
+		String className = getClassName(text, pos, separator);
+		String methodName = getMethodName(text, separator + 2, tokenEnd);
+
+		pos = UnifiedLine.skipSpaces(text, tokenEnd, end);
+
+		int bytecodeSize = -1;
+
+		if (pos < end && text.charAt(pos) == '(')
+		{
+			int close = text.indexOf(')', pos);
+
+			if (close != -1)
+			{
+				// -1 for (not loaded)
+				bytecodeSize = UnifiedLine.parseInt(text, pos + 1, UnifiedLine.tokenEnd(text, pos + 1, close));
+
+				pos = close + 1;
+			}
+		}
+
+		String reason = text.substring(pos).trim();
+
+		boolean inlined;
+
+		if (reason.startsWith(FAILED_TO_INLINE))
+		{
+			reason = reason.substring(FAILED_TO_INLINE.length());
+			inlined = false;
+		}
+		else
+		{
+			inlined = isInlineSuccess(reason);
+		}
+
+		ClassFileMethod callee = memberResolver.resolve(className, methodName, bytecodeSize);
+
+		compilation.addInlining(at - line.getContentStart(), bci, className, methodName, callee, bytecodeSize, reason, inlined);
+	}
+
+	private static boolean isInlineSuccess(String reason)
+	{
+		boolean result = false;
+
+		for (String prefix : INLINE_SUCCESS_PREFIXES)
+		{
+			if (reason.startsWith(prefix))
+			{
+				result = true;
+				break;
+			}
+		}
+
+		return result;
+	}
+
+	// key=value pairs, the form differs between JDK releases so each key is looked up on its own
+	private void handleDeoptimizationLine(UnifiedLine line)
+	{
+		String text = line.getText();
+
+		int from = line.getContentStart();
+
+		String reason = getValue(text, from, "reason=");
+		String action = getValue(text, from, "action=");
+
+		if (reason == null)
+		{
+			return;
+		}
+
+		int compileId = getIntValue(text, from, "cid=");
+
+		if (compileId == -1)
+		{
+			compileId = getIntValue(text, from, "compile_id=");
+		}
+
+		int bci = getIntValue(text, from, "trap_bci=");
+
+		String trapMethod = getValue(text, from, "method=");
+
+		if (trapMethod != null && bci == -1)
+		{
+			// method=java.lang.String.hashCode()I @ 24
+			int methodEnd = text.indexOf(trapMethod, from) + trapMethod.length();
+
+			int pos = UnifiedLine.skipSpaces(text, methodEnd, text.length());
+
+			if (pos < text.length() && text.charAt(pos) == '@')
+			{
+				pos = UnifiedLine.skipSpaces(text, pos + 1, text.length());
+
+				bci = UnifiedLine.parseInt(text, pos, UnifiedLine.tokenEnd(text, pos, text.length()));
+			}
+		}
+
+		if (trapMethod == null)
+		{
+			trapMethod = findMethodToken(text, from);
+		}
+
+		String trapClassName = null;
+		String trapMethodName = null;
+
+		if (trapMethod != null)
+		{
+			int paren = trapMethod.indexOf('(');
+			int nameEnd = paren != -1 ? paren : trapMethod.length();
+
+			int separator = trapMethod.indexOf("::");
+
+			if (separator != -1)
+			{
+				trapClassName = getClassName(trapMethod, 0, separator);
+				trapMethodName = trapMethod.substring(separator + 2, nameEnd);
+			}
+			else
+			{
+				int dot = trapMethod.lastIndexOf('.', nameEnd);
+
+				if (dot != -1)
+				{
+					trapClassName = getClassName(trapMethod, 0, dot);
+					trapMethodName = trapMethod.substring(dot + 1, nameEnd);
+				}
+			}
+		}
+
+		UnifiedCompilation compilation = compileId != -1 ? compileIdMap.get(compileId) : null;
+
+		String signature = null;
+
+		if (compilation != null)
+		{
+			signature = compilation.getSignature();
+		}
+		else if (trapClassName != null)
+		{
+			ClassFileMethod method = memberResolver.resolve(trapClassName, trapMethodName, -1);
+
+			signature = UnifiedCompilation.toLogSignature(trapClassName, trapMethodName,
+					method != null ? method.getDescriptor() : null);
+		}
+
+		if (signature != null && (ACTION_REINTERPRET.equals(action) || ACTION_MAKE_NOT_ENTRANT.equals(action)))
+		{
+			Integer count = decompileCounts.get(signature);
+
+			decompileCounts.put(signature, count != null ? count + 1 : 1);
+		}
+
+		// a bci in an inlined method cannot be shown against the compiled method
+		boolean trapInRoot = trapClassName == null
+				|| (trapClassName.equals(compilation != null ? compilation.getClassName() : null)
+						&& trapMethodName.equals(compilation.getMethodName()));
+
+		if (compilation != null && bci != -1 && trapInRoot)
+		{
+			compilation.addUncommonTrap(bci, reason, action != null ? action : "none");
+		}
+	}
+
+	// start of the value for key, which must start a word, or -1
+	private static int findValue(String text, int from, String key)
+	{
+		int result = -1;
+
+		int index = text.indexOf(key, from);
+
+		while (index != -1)
+		{
+			if (index == from || text.charAt(index - 1) == ' ')
+			{
+				result = UnifiedLine.skipSpaces(text, index + key.length(), text.length());
+				break;
+			}
+
+			index = text.indexOf(key, index + key.length());
+		}
+
+		return result;
+	}
+
+	private static String getValue(String text, int from, String key)
+	{
+		String result = null;
+
+		int start = findValue(text, from, key);
+
+		if (start != -1)
+		{
+			int end = UnifiedLine.tokenEnd(text, start, text.length());
+
+			if (end > start)
+			{
+				result = text.substring(start, end);
+			}
+		}
+
+		return result;
+	}
+
+	private static int getIntValue(String text, int from, String key)
+	{
+		int result = -1;
+
+		int start = findValue(text, from, key);
+
+		if (start != -1)
+		{
+			result = UnifiedLine.parseInt(text, start, UnifiedLine.tokenEnd(text, start, text.length()));
+		}
+
+		return result;
+	}
+
+	// first token holding a Class::method
+	private static String findMethodToken(String text, int from)
+	{
+		String result = null;
+
+		int separator = text.indexOf("::", from);
+
+		if (separator != -1)
+		{
+			int start = text.lastIndexOf(' ', separator) + 1;
+
+			result = text.substring(Math.max(start, from), UnifiedLine.tokenEnd(text, separator, text.length()));
+		}
+
+		return result;
+	}
+
+	// The code cache summary printed after each compilation: one line per CodeHeap with its
+	// free space then a total_blobs line. Free space across the heaps makes one event.
+	private void handleCodeCacheLine(UnifiedLine line)
+	{
+		String text = line.getText();
+
+		int from = line.getContentStart();
+
+		if (text.indexOf(IS_FULL, from) != -1)
+		{
+			model.addCodeCacheEvent(new CodeCacheEvent(CodeCacheEventType.CACHE_FULL, lastStamp, 0, 0));
+		}
+		else if (text.indexOf(KEY_TOTAL_BLOBS, from) != -1)
+		{
+			if (freeCodeCacheKb != -1)
+			{
+				model.addCodeCacheEvent(new CodeCacheEvent(CodeCacheEventType.COMPILATION, lastStamp, 0, freeCodeCacheKb * 1024));
+
+				freeCodeCacheKb = -1;
+			}
+		}
+		else
+		{
+			int start = findValue(text, from, KEY_FREE);
+
+			if (start != -1)
+			{
+				int end = start;
+
+				while (end < text.length() && Character.isDigit(text.charAt(end)))
+				{
+					end++;
+				}
+
+				int freeKb = UnifiedLine.parseInt(text, start, end);
+
+				if (freeKb != -1)
+				{
+					freeCodeCacheKb = Math.max(freeCodeCacheKb, 0) + freeKb;
+				}
+			}
+		}
+	}
+
+	// a sweep logs several lines, one event per stamp
+	private void handleSweeperLine()
+	{
+		if (lastStamp != lastSweeperStamp)
+		{
+			model.addCodeCacheEvent(new CodeCacheEvent(CodeCacheEventType.SWEEPER, lastStamp, 0, 0));
+
+			lastSweeperStamp = lastStamp;
+		}
+	}
+
+	@Override
+	protected void handleTag(Tag tag)
+	{
+		String tagName = tag.getName();
+
+		if (DEBUG_LOGGING)
+		{
+			logger.debug("handling {}", tagName);
+		}
+
+		switch (tagName)
+		{
+		case TAG_TASK_QUEUED:
+			handleTagQueued(tag);
+			break;
+
+		case TAG_NMETHOD:
+			handleTagNMethod(tag);
+			break;
+
+		case TAG_TASK:
+			handleTagTask((Task) tag);
+			break;
+
+		default:
+			break;
+		}
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.parser.unified;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.adoptopenjdk.jitwatch.logger.Logger;
+import org.adoptopenjdk.jitwatch.logger.LoggerFactory;
+import org.adoptopenjdk.jitwatch.util.ClassUtil;
+
+// Finds the descriptor of a method logged as Class::name (N bytes) by reading the
+// class file from the parser classpath. Overloads are matched on bytecode size.
+// Methods logged with a descriptor are looked up for their bytecode.
+public class UnifiedMemberResolver
+{
+	private static final Logger logger = LoggerFactory.getLogger(UnifiedMemberResolver.class);
+
+	private final Map<String, List<ClassFileMethod>> classMethods = new HashMap<>();
+
+	private final Map<String, ClassFileMethod> resolvedMethods = new HashMap<>();
+
+	// the parser's loader, replaced for each log it reads
+	private final Supplier<ClassLoader> classLoader;
+
+	public UnifiedMemberResolver(Supplier<ClassLoader> classLoader)
+	{
+		this.classLoader = classLoader;
+	}
+
+	// null if the class file was not found or has no method of that name
+	public ClassFileMethod resolve(String fqClassName, String methodName, int bytecodeSize)
+	{
+		String key = fqClassName + "::" + methodName + "/" + bytecodeSize;
+
+		ClassFileMethod result = resolvedMethods.get(key);
+
+		if (result == null && !resolvedMethods.containsKey(key))
+		{
+			result = chooseMethod(getClassMethods(fqClassName), methodName, bytecodeSize);
+
+			resolvedMethods.put(key, result);
+		}
+
+		return result;
+	}
+
+	// for sources that log the descriptor, null if the class file was not found
+	public ClassFileMethod resolve(String fqClassName, String methodName, String descriptor)
+	{
+		String key = fqClassName + "::" + methodName + descriptor;
+
+		ClassFileMethod result = resolvedMethods.get(key);
+
+		if (result == null && !resolvedMethods.containsKey(key))
+		{
+			for (ClassFileMethod method : getClassMethods(fqClassName))
+			{
+				if (method.getName().equals(methodName) && method.getDescriptor().equals(descriptor))
+				{
+					result = method;
+					break;
+				}
+			}
+
+			resolvedMethods.put(key, result);
+		}
+
+		return result;
+	}
+
+	private List<ClassFileMethod> getClassMethods(String fqClassName)
+	{
+		List<ClassFileMethod> result = classMethods.get(fqClassName);
+
+		if (result == null)
+		{
+			result = readClassMethods(fqClassName);
+
+			classMethods.put(fqClassName, result);
+		}
+
+		return result;
+	}
+
+	private List<ClassFileMethod> readClassMethods(String fqClassName)
+	{
+		List<ClassFileMethod> result = Collections.emptyList();
+
+		try (InputStream in = ClassUtil.getClassFileStream(classLoader.get(), fqClassName))
+		{
+			if (in != null)
+			{
+				result = ClassFileMethod.readMethods(in);
+			}
+			else
+			{
+				logger.debug("No class file for {}, its method parameters are unknown", fqClassName);
+			}
+		}
+		catch (IOException ioe)
+		{
+			logger.warn("Could not read class file for {}", fqClassName, ioe);
+		}
+
+		return result;
+	}
+
+	// the only method with the name, else the first with the name and bytecode size
+	private static ClassFileMethod chooseMethod(List<ClassFileMethod> methods, String methodName, int bytecodeSize)
+	{
+		ClassFileMethod firstNamed = null;
+		ClassFileMethod firstSized = null;
+
+		int namedCount = 0;
+
+		for (ClassFileMethod method : methods)
+		{
+			if (method.getName().equals(methodName))
+			{
+				namedCount++;
+
+				if (firstNamed == null)
+				{
+					firstNamed = method;
+				}
+
+				if (firstSized == null && method.getBytecodeSize() == bytecodeSize)
+				{
+					firstSized = method;
+				}
+			}
+		}
+
+		return namedCount > 1 && firstSized != null ? firstSized : firstNamed;
+	}
+
+	public void clear()
+	{
+		classMethods.clear();
+		resolvedMethods.clear();
+	}
+}
@@ -19,6 +19,8 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.adoptopenjdk.jitwatch.core.IJITListener;
+import org.adoptopenjdk.jitwatch.metrics.ParseMetrics;
+import org.adoptopenjdk.jitwatch.metrics.PhaseTimer;
 import org.adoptopenjdk.jitwatch.model.CompilerThread;
 import org.adoptopenjdk.jitwatch.model.NumberedLine;
 import org.adoptopenjdk.jitwatch.model.Tag;
@@ -296,52 +298,57 @@ public class ZingLogParser extends AbstractLogParser
 	@Override
 	protected void parseLogFile()
 	{
-		for (NumberedLine numberedLine : splitLog.getCompilationLines())
+		try (PhaseTimer timer = ParseMetrics.getInstance().startPhase(ParseMetrics.PHASE_COMPILATION_TAGS))
 		{
-			processLineNumber = numberedLine.getLineNumber();
+			timer.addItems(splitLog.getCompilationLines().size());
 
-			ZingLine zingLine = parseLine(numberedLine.getLine());
-
-			if (zingLine == null)
-			{
-				continue;
-			}
-
-			if (DEBUG_LOGGING)
+			for (NumberedLine numberedLine : splitLog.getCompilationLines())
 			{
-				logger.debug("Zing log line parsed\n{}", zingLine);
-			}
+				processLineNumber = numberedLine.getLineNumber();
 
-			switch (zingLine.getLineType())
-			{
-			case INSTALLED:
-				Tag tagQueued = zingLine.toTagQueued();
+				ZingLine zingLine = parseLine(numberedLine.getLine());
 
-				if (tagQueued != null)
+				if (zingLine == null)
 				{
-					handleTag(tagQueued);
+					continue;
 				}
 
-				Tag tagNMethod = zingLine.toTagNMethod();
-
-				if (tagNMethod != null)
+				if (DEBUG_LOGGING)
 				{
-					handleTag(tagNMethod);
+					logger.debug("Zing log line parsed\n{}", zingLine);
 				}
 
-				Tag tagTask = zingLine.toTagTask();
-
-				if (tagTask != null)
+				switch (zingLine.getLineType())
 				{
-					handleTag(tagTask);
-				}
+				case INSTALLED:
+					Tag tagQueued = zingLine.toTagQueued();
 
-				break;
-			default:
-				break;
+					if (tagQueued != null)
+					{
+						handleTag(tagQueued);
+					}
 
-			}
+					Tag tagNMethod = zingLine.toTagNMethod();
 
+					if (tagNMethod != null)
+					{
+						handleTag(tagNMethod);
+					}
+
+					Tag tagTask = zingLine.toTagTask();
+
+					if (tagTask != null)
+					{
+						handleTag(tagTask);
+					}
+
+					break;
+				default:
+					break;
+
+				}
+
+			}
 		}
 	}
 
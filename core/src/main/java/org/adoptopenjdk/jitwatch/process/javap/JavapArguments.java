@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.process.javap;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_BYTECODE_CLASSFILE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_NEWLINE;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// The javap arguments for one or more classes and the splitting of javap output back into
+// one string per class. Shared by the in-process, reflective and forked javap.
+public final class JavapArguments
+{
+	private static final String JAR_ENTRY_SEPARATOR = ".jar!";
+
+	// the class locations are usually the same list every call
+	private static Collection<String> lastClassLocations = Collections.emptyList();
+	private static String lastClassPath = null;
+
+	private JavapArguments()
+	{
+	}
+
+	public static List<String> build(Collection<String> classLocations, List<String> fqClassNames)
+	{
+		List<String> result = new ArrayList<>(fqClassNames.size() + 5);
+
+		result.add("-c");
+		result.add("-p");
+		result.add("-v");
+
+		String classPath = getClassPath(classLocations);
+
+		if (classPath == null)
+		{
+			result.addAll(fqClassNames);
+		}
+		else if (classPath.endsWith(JAR_ENTRY_SEPARATOR))
+		{
+			for (String fqClassName : fqClassNames)
+			{
+				result.add(classPath + "/" + fqClassName.replace('.', '/') + ".class");
+			}
+		}
+		else
+		{
+			result.add("-classpath");
+			result.add(classPath);
+			result.addAll(fqClassNames);
+		}
+
+		return result;
+	}
+
+	private static synchronized String getClassPath(Collection<String> classLocations)
+	{
+		if (classLocations == null || classLocations.isEmpty())
+		{
+			return null;
+		}
+
+		if (classLocations != lastClassLocations && !classLocations.equals(lastClassLocations))
+		{
+			StringBuilder classPathBuilder = new StringBuilder();
+
+			for (String cp : classLocations)
+			{
+				classPathBuilder.append(cp).append(File.pathSeparatorChar);
+			}
+
+			classPathBuilder.deleteCharAt(classPathBuilder.length() - 1);
+
+			lastClassLocations = new ArrayList<>(classLocations);
+			lastClassPath = classPathBuilder.toString();
+		}
+
+		return lastClassPath;
+	}
+
+	// javap writes the classes in the order given and skips any it cannot find, each
+	// starting with a Classfile line naming its class file
+	public static Map<String, String> splitOutput(String output, List<String> fqClassNames)
+	{
+		Map<String, String> result = new LinkedHashMap<>();
+
+		if (output != null)
+		{
+			String[] lines = output.split(S_NEWLINE);
+
+			int nextClass = 0;
+
+			String currentClass = null;
+			StringBuilder builder = new StringBuilder();
+
+			for (String line : lines)
+			{
+				if (line.startsWith(S_BYTECODE_CLASSFILE))
+				{
+					if (currentClass != null)
+					{
+						result.put(currentClass, builder.toString());
+					}
+
+					currentClass = null;
+					builder.setLength(0);
+
+					String classFile = line.trim().replace('\\', '/');
+
+					for (int i = nextClass; i < fqClassNames.size() && currentClass == null; i++)
+					{
+						String candidate = fqClassNames.get(i);
+
+						if (classFile.endsWith("/" + candidate.replace('.', '/') + ".class"))
+						{
+							currentClass = candidate;
+							nextClass = i + 1;
+						}
+					}
+				}
+
+				if (currentClass != null)
+				{
+					builder.append(line).append(S_NEWLINE);
+				}
+			}
+
+			if (currentClass != null)
+			{
+				result.put(currentClass, builder.toString());
+			}
+
+			// nothing to tell apart when a single class was asked for
+			if (result.isEmpty() && fqClassNames.size() == 1)
+			{
+				result.put(fqClassNames.get(0), output);
+			}
+		}
+
+		return result;
+	}
+}
@@ -5,7 +5,6 @@
  */
 package org.adoptopenjdk.jitwatch.process.javap;
 
-import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -55,52 +54,21 @@ public class JavapProcess extends AbstractProcess
 		logger.info("JavapProcess() executablePath: {}", executablePath);
 	}
 	
-	private List<String> getJavapCommands(Collection<String> classLocations, String fqClassName)
+	public boolean execute(Collection<String> classLocations, String fqClassName, Map<String, String> environment)
+			throws IOException
 	{
-		String[] args;
-
-		if (classLocations == null || classLocations.isEmpty())
-		{
-			args = new String[] { "-c", "-p", "-v", fqClassName };
-		}
-		else
-		{
-			StringBuilder classPathBuilder = new StringBuilder();
-
-			for (String cp : classLocations)
-			{
-				classPathBuilder.append(cp).append(File.pathSeparatorChar);
-			}
-
-			classPathBuilder.deleteCharAt(classPathBuilder.length() - 1);
-
-			String classPath = classPathBuilder.toString();
-
-			if (classPath.endsWith(".jar!"))
-			{
-				String jarPath = classPath + "/" + fqClassName.replace('.', '/') + ".class";
-				args = new String[]{"-c", "-p", "-v", jarPath};
-			}
-			else
-			{
-				args = new String[]{"-c", "-p", "-v", "-classpath", classPathBuilder.toString(), fqClassName};
-			}
-		}
-
-		List<String> commands = new ArrayList<>();
-		
-		commands.add(executablePath.toString());
-		commands.addAll(Arrays.asList(args));
-		
-		return commands;
+		return execute(classLocations, Collections.singletonList(fqClassName), environment);
 	}
-		
-	public boolean execute(Collection<String> classLocations, String fqClassName, Map<String, String> environment)
+
+	// one process for every class, split the output with JavapArguments.splitOutput
+	public boolean execute(Collection<String> classLocations, List<String> fqClassNames, Map<String, String> environment)
 			throws IOException
 	{
-		
-		List<String> commands = getJavapCommands(classLocations, fqClassName);
-		
+		List<String> commands = new ArrayList<>();
+
+		commands.add(executablePath.toString());
+		commands.addAll(JavapArguments.build(classLocations, fqClassNames));
+
 		return runCommands(commands, environment, null);
 	}
-}
\ No newline at end of file
+}
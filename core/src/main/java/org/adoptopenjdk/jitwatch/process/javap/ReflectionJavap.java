@@ -6,8 +6,6 @@
 package org.adoptopenjdk.jitwatch.process.javap;
 
 import java.io.ByteArrayOutputStream;
-import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.OutputStream;
 import java.lang.reflect.Method;
 import java.lang.reflect.Constructor;
@@ -16,6 +14,7 @@ import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.adoptopenjdk.jitwatch.loader.DisposableURLClassLoader;
@@ -36,6 +35,12 @@ public class ReflectionJavap
 
 	private static Class<?> classJavapTask;
 
+	// looked up once, a JavapTask instance holds the state of one run so each call makes its own
+	private static Constructor<?> constructor;
+	private static Method methodSetLog;
+	private static Method methodHandleOptions;
+	private static Method methodCall;
+
 	private static URL locateToolsJar()
 	{
 		Path javaHome = Paths.get(System.getProperty("java.home"));
@@ -96,11 +101,14 @@ public class ReflectionJavap
 			{
 				try
 				{
-					classJavapTask.getMethod("setLog", OutputStream.class);
-					classJavapTask.getMethod("handleOptions", String[].class);
-					classJavapTask.getMethod("call");
-
-					available = true;
+					constructor = classJavapTask.getDeclaredConstructor();
+					methodSetLog = classJavapTask.getMethod("setLog", OutputStream.class);
+					methodHandleOptions = classJavapTask.getMethod("handleOptions", String[].class);
+					methodCall = classJavapTask.getMethod("call");
+
+					// JDK 9+ finds the class but does not export its package
+					available = classJavapTask.getModule().isExported(classJavapTask.getPackageName(), ReflectionJavap.class
+							.getModule());
 				}
 				catch (NoSuchMethodException | SecurityException e)
 				{
@@ -116,27 +124,20 @@ public class ReflectionJavap
 
 	public static String getBytecode(List<String> classLocations, String fqClassName) throws Exception
 	{
-		String[] args = buildClassPathFromClassLocations(classLocations, fqClassName);
-
-		String byteCodeString = createJavapTaskFromArguments(fqClassName, args);
-
-		return byteCodeString;
+		return getBytecode(classLocations, Collections.singletonList(fqClassName));
 	}
 
-	private static String createJavapTaskFromArguments(String fqClassName, String[] args) throws Exception
+	// one javap run for every class, split with JavapArguments.splitOutput
+	public static String getBytecode(List<String> classLocations, List<String> fqClassNames) throws Exception
 	{
 		String byteCodeString = null;
 
 		if (classJavapTask != null)
 		{
+			String[] args = JavapArguments.build(classLocations, fqClassNames).toArray(new String[0]);
 
-			Constructor<?> constructor = classJavapTask.getDeclaredConstructor();
 			Object javapObject = constructor.newInstance();
 
-			Method methodSetLog = classJavapTask.getMethod("setLog", OutputStream.class);
-			Method methodHandleOptions = classJavapTask.getMethod("handleOptions", String[].class);
-			Method methodCall = classJavapTask.getMethod("call");
-
 			try (ByteArrayOutputStream baos = new ByteArrayOutputStream(BUFFER_SIZE))
 			{
 				methodSetLog.invoke(javapObject, baos);
@@ -146,31 +147,7 @@ public class ReflectionJavap
 				byteCodeString = baos.toString();
 			}
 		}
-		return byteCodeString;
-	}
 
-	private static String[] buildClassPathFromClassLocations(List<String> classLocations, String fqClassName)
-	{
-		String[] args;
-
-		if (classLocations == null || classLocations.isEmpty())
-		{
-			args = new String[] { "-c", "-p", "-v", fqClassName };
-		}
-		else
-		{
-			StringBuilder classPathBuilder = new StringBuilder();
-
-			for (String cp : classLocations)
-			{
-				classPathBuilder.append(cp).append(File.pathSeparatorChar);
-			}
-
-			classPathBuilder.deleteCharAt(classPathBuilder.length() - 1);
-
-			args = new String[] { "-c", "-p", "-v", "-classpath", classPathBuilder.toString(), fqClassName };
-		}
-
-		return args;
+		return byteCodeString;
 	}
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.process.javap;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.List;
+import java.util.spi.ToolProvider;
+
+import org.adoptopenjdk.jitwatch.logger.Logger;
+import org.adoptopenjdk.jitwatch.logger.LoggerFactory;
+
+// The javap of the running JDK called in-process through java.util.spi.ToolProvider. The
+// provider is looked up once and reused, each run creates its own task so runs can overlap.
+// JDK 9+ does not export com.sun.tools.javap so this replaces ReflectionJavap there.
+public final class ToolProviderJavap
+{
+	private static final Logger logger = LoggerFactory.getLogger(ToolProviderJavap.class);
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final ToolProvider JAVAP = ToolProvider.findFirst("javap").orElse(null);
+
+	private ToolProviderJavap()
+	{
+	}
+
+	public static boolean isAvailable()
+	{
+		return JAVAP != null;
+	}
+
+	// true for no javap or the one in JDK running JITWatch, a javap from another JDK has to be forked
+	public static boolean isRunningJdkJavap(Path javapPath)
+	{
+		boolean result = javapPath == null;
+
+		if (!result)
+		{
+			try
+			{
+				Path jdkHome = javapPath.toRealPath().getParent().getParent();
+
+				Path javaHome = Paths.get(System.getProperty("java.home")).toRealPath();
+
+				// a JDK 8 java.home is the jre directory inside the JDK
+				result = jdkHome != null && (jdkHome.equals(javaHome) || jdkHome.equals(javaHome.getParent()));
+			}
+			catch (IOException e)
+			{
+				logger.warn("Could not resolve javap {}", javapPath, e);
+			}
+		}
+
+		return result;
+	}
+
+	// one javap run for every class, split with JavapArguments.splitOutput
+	public static String getBytecode(Collection<String> classLocations, List<String> fqClassNames)
+	{
+		StringWriter out = new StringWriter(BUFFER_SIZE);
+		StringWriter err = new StringWriter();
+
+		int result;
+
+		try (PrintWriter outWriter = new PrintWriter(out); PrintWriter errWriter = new PrintWriter(err))
+		{
+			result = JAVAP.run(outWriter, errWriter, JavapArguments.build(classLocations, fqClassNames).toArray(new String[0]));
+		}
+
+		if (result != 0)
+		{
+			logger.warn("javap returned {} for {} classes: {}", result, fqClassNames.size(), err);
+		}
+
+		return out.toString();
+	}
+}
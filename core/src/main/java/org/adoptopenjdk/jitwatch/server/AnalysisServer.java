@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.server;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.adoptopenjdk.jitwatch.logger.Logger;
+import org.adoptopenjdk.jitwatch.logger.LoggerFactory;
+import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+// Answers JSON queries over HTTP against logs held in a ModelPool. Every query names its
+// log with ?log=<path> and the log is parsed on its first query.
+//
+//   /load         parse the log if it is not already pooled
+//   /models       the pooled logs, coldest first
+//   /evict        drop the log from the pool
+//   /members      class=<fq name>[&member=<name or signature>]
+//   /chain        class, member[&compilation=<index>]
+//   /toplist      list=<name>[&limit=<n>]
+//   /suggestions  [limit=<n>]
+//   /bytecode     class, member[&compilation=<index>]
+public class AnalysisServer
+{
+	private static final Logger logger = LoggerFactory.getLogger(AnalysisServer.class);
+
+	public static final String PARAM_LOG = "log";
+
+	private static final String CONTENT_TYPE_JSON = "application/json; charset=utf-8";
+
+	private static final int HTTP_OK = 200;
+	private static final int HTTP_BAD_REQUEST = 400;
+	private static final int HTTP_NOT_FOUND = 404;
+	private static final int HTTP_ERROR = 500;
+
+	private interface IModelQuery
+	{
+		String query(IReadOnlyJITDataModel model, Map<String, String> params);
+	}
+
+	private final ModelPool pool;
+
+	private final HttpServer server;
+	private final ExecutorService executor;
+
+	public AnalysisServer(ModelPool pool, InetSocketAddress address) throws IOException
+	{
+		this.pool = pool;
+
+		server = HttpServer.create(address, 0);
+
+		// a thread per request so a slow parse does not hold up queries on pooled logs
+		AtomicInteger threadCount = new AtomicInteger();
+
+		executor = Executors.newCachedThreadPool(runnable ->
+		{
+			Thread thread = new Thread(runnable, "JITWatch server " + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		server.setExecutor(executor);
+
+		server.createContext("/load", exchange -> handle(exchange, null));
+		server.createContext("/models", exchange -> respond(exchange, HTTP_OK, ModelQueries.models(pool)));
+		server.createContext("/evict", this::handleEvict);
+		server.createContext("/members", exchange -> handle(exchange, ModelQueries::members));
+		server.createContext("/chain", exchange -> handle(exchange, ModelQueries::compileChain));
+		server.createContext("/toplist", exchange -> handle(exchange, ModelQueries::topList));
+		server.createContext("/suggestions", exchange -> handle(exchange, ModelQueries::suggestions));
+		server.createContext("/bytecode", exchange -> handle(exchange, ModelQueries::bytecodeAnnotations));
+	}
+
+	public void start()
+	{
+		server.start();
+
+		logger.info("Analysis server listening on {}", getAddress());
+	}
+
+	public void stop()
+	{
+		server.stop(0);
+
+		executor.shutdownNow();
+	}
+
+	public InetSocketAddress getAddress()
+	{
+		return server.getAddress();
+	}
+
+	// a null query returns the summary of the log
+	private void handle(HttpExchange exchange, IModelQuery query) throws IOException
+	{
+		int status;
+		String body;
+
+		try
+		{
+			Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+
+			PooledModel pooledModel = pool.getPooledModel(getLogFile(params));
+
+			IReadOnlyJITDataModel model = pooledModel.getModel();
+
+			body = query != null ? query.query(model, params) : ModelQueries.summary(pooledModel, model);
+			status = HTTP_OK;
+		}
+		catch (IllegalArgumentException iae)
+		{
+			body = error(iae.getMessage());
+			status = HTTP_BAD_REQUEST;
+		}
+		catch (FileNotFoundException fnfe)
+		{
+			body = error("Log not found: " + fnfe.getMessage());
+			status = HTTP_NOT_FOUND;
+		}
+		catch (IOException | RuntimeException e)
+		{
+			logger.error("Query failed: {}", exchange.getRequestURI(), e);
+
+			body = error(e.toString());
+			status = HTTP_ERROR;
+		}
+
+		respond(exchange, status, body);
+	}
+
+	private void handleEvict(HttpExchange exchange) throws IOException
+	{
+		int status;
+		String body;
+
+		try
+		{
+			Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+
+			body = new JSONBuilder().beginObject().field("evicted", pool.evict(getLogFile(params))).endObject().toString();
+			status = HTTP_OK;
+		}
+		catch (IllegalArgumentException iae)
+		{
+			body = error(iae.getMessage());
+			status = HTTP_BAD_REQUEST;
+		}
+		catch (IOException ioe)
+		{
+			body = error(ioe.toString());
+			status = HTTP_ERROR;
+		}
+
+		respond(exchange, status, body);
+	}
+
+	private static File getLogFile(Map<String, String> params)
+	{
+		String log = params.get(PARAM_LOG);
+
+		if (log == null)
+		{
+			throw new IllegalArgumentException("Missing parameter: " + PARAM_LOG);
+		}
+
+		return new File(log);
+	}
+
+	private static String error(String message)
+	{
+		return new JSONBuilder().beginObject().field("error", message).endObject().toString();
+	}
+
+	private static void respond(HttpExchange exchange, int status, String body) throws IOException
+	{
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+		exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE_JSON);
+		exchange.sendResponseHeaders(status, bytes.length);
+
+		try (OutputStream out = exchange.getResponseBody())
+		{
+			out.write(bytes);
+		}
+	}
+
+	static Map<String, String> parseQuery(String rawQuery)
+	{
+		Map<String, String> result = new HashMap<>();
+
+		if (rawQuery != null)
+		{
+			for (String pair : rawQuery.split("&"))
+			{
+				int equals = pair.indexOf('=');
+
+				if (equals > 0)
+				{
+					result.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8), URLDecoder.decode(pair
+							.substring(equals + 1), StandardCharsets.UTF_8));
+				}
+			}
+		}
+
+		return result;
+	}
+}
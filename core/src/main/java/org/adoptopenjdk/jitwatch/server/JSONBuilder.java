@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.server;
+
+import org.adoptopenjdk.jitwatch.util.JSONUtil;
+
+// Builds one JSON document, separators are added from the previous character
+public class JSONBuilder
+{
+	private final StringBuilder builder = new StringBuilder();
+
+	private void separate()
+	{
+		int length = builder.length();
+
+		if (length > 0)
+		{
+			char last = builder.charAt(length - 1);
+
+			if (last != '{' && last != '[' && last != ':')
+			{
+				builder.append(',');
+			}
+		}
+	}
+
+	public JSONBuilder beginObject()
+	{
+		separate();
+		builder.append('{');
+		return this;
+	}
+
+	public JSONBuilder endObject()
+	{
+		builder.append('}');
+		return this;
+	}
+
+	public JSONBuilder beginArray()
+	{
+		separate();
+		builder.append('[');
+		return this;
+	}
+
+	public JSONBuilder endArray()
+	{
+		builder.append(']');
+		return this;
+	}
+
+	public JSONBuilder key(String key)
+	{
+		separate();
+		JSONUtil.appendQuoted(builder, key);
+		builder.append(':');
+		return this;
+	}
+
+	public JSONBuilder value(Object value)
+	{
+		separate();
+		JSONUtil.appendValue(builder, value);
+		return this;
+	}
+
+	public JSONBuilder field(String key, Object value)
+	{
+		return key(key).value(value);
+	}
+
+	@Override
+	public String toString()
+	{
+		return builder.toString();
+	}
+}
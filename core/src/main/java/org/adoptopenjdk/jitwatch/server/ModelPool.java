@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.server;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import org.adoptopenjdk.jitwatch.core.IJITListener;
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.logger.Logger;
+import org.adoptopenjdk.jitwatch.logger.LoggerFactory;
+import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
+import org.adoptopenjdk.jitwatch.model.JITEvent;
+import org.adoptopenjdk.jitwatch.parser.ILogParseErrorListener;
+import org.adoptopenjdk.jitwatch.parser.ILogParser;
+import org.adoptopenjdk.jitwatch.parser.ParserFactory;
+import org.adoptopenjdk.jitwatch.parser.ParserType;
+import org.adoptopenjdk.jitwatch.parser.hotspot.CompilerThreadLog;
+
+// Parsed models keyed by log path, least recently queried evicted first. A log that has
+// changed on disk since it was parsed is parsed again.
+public class ModelPool
+{
+	private static final Logger logger = LoggerFactory.getLogger(ModelPool.class);
+
+	private final ParserType parserType;
+	private final JITWatchConfig config;
+	private final int maxModels;
+
+	// access ordered so the eldest entry is the coldest
+	private final LinkedHashMap<String, PooledModel> pool = new LinkedHashMap<>(16, 0.75f, true);
+
+	public ModelPool(ParserType parserType, JITWatchConfig config, int maxModels)
+	{
+		if (maxModels < 1)
+		{
+			throw new IllegalArgumentException("maxModels must be positive: " + maxModels);
+		}
+
+		this.parserType = parserType;
+		this.config = config;
+		this.maxModels = maxModels;
+	}
+
+	public PooledModel getPooledModel(File logFile) throws IOException
+	{
+		if (!logFile.isFile())
+		{
+			throw new FileNotFoundException(logFile.getPath());
+		}
+
+		String logPath = logFile.getCanonicalPath();
+		long lastModified = logFile.lastModified();
+
+		PooledModel result;
+		boolean load = false;
+
+		synchronized (pool)
+		{
+			result = pool.get(logPath);
+
+			if (result == null || result.getLastModified() != lastModified)
+			{
+				result = new PooledModel(logPath, lastModified, () -> parse(new File(logPath)));
+
+				pool.put(logPath, result);
+
+				load = true;
+
+				evict();
+			}
+		}
+
+		if (load)
+		{
+			result.load();
+
+			// a failed parse is not cached so the next request retries it
+			if (result.isFailed())
+			{
+				remove(result);
+			}
+		}
+
+		return result;
+	}
+
+	public IReadOnlyJITDataModel getModel(File logFile) throws IOException
+	{
+		return getPooledModel(logFile).getModel();
+	}
+
+	// a query still holding an evicted model finishes with it
+	private void evict()
+	{
+		Iterator<PooledModel> iterator = pool.values().iterator();
+
+		while (pool.size() > maxModels && iterator.hasNext())
+		{
+			PooledModel eldest = iterator.next();
+
+			iterator.remove();
+
+			logger.info("Evicted {}", eldest.getLogPath());
+		}
+	}
+
+	private void remove(PooledModel pooledModel)
+	{
+		synchronized (pool)
+		{
+			pool.remove(pooledModel.getLogPath(), pooledModel);
+		}
+	}
+
+	public boolean evict(File logFile) throws IOException
+	{
+		synchronized (pool)
+		{
+			return pool.remove(logFile.getCanonicalPath()) != null;
+		}
+	}
+
+	// coldest first
+	public List<PooledModel> getPooledModels()
+	{
+		synchronized (pool)
+		{
+			return new ArrayList<>(pool.values());
+		}
+	}
+
+	public int getMaxModels()
+	{
+		return maxModels;
+	}
+
+	private IReadOnlyJITDataModel parse(File logFile) throws IOException
+	{
+		logger.info("Parsing {}", logFile);
+
+		LogListener listener = new LogListener(logFile.getName());
+
+		ILogParser parser = ParserFactory.getParser(parserType, listener);
+
+		parser.setConfig(config);
+
+		parser.processLogFile(logFile, CompilerThreadLog.findCompilerThreadLogs(logFile), listener);
+
+		return parser.getModel();
+	}
+
+	private static class LogListener implements IJITListener, ILogParseErrorListener
+	{
+		private final String logName;
+
+		LogListener(String logName)
+		{
+			this.logName = logName;
+		}
+
+		@Override
+		public void handleLogEntry(String entry)
+		{
+		}
+
+		@Override
+		public void handleErrorEntry(String entry)
+		{
+			logger.warn("{}: {}", logName, entry);
+		}
+
+		@Override
+		public void handleError(String title, String body)
+		{
+			logger.warn("{}: {} {}", logName, title, body);
+		}
+
+		@Override
+		public void handleJITEvent(JITEvent event)
+		{
+		}
+
+		@Override
+		public void handleReadStart()
+		{
+		}
+
+		@Override
+		public void handleReadComplete()
+		{
+		}
+	}
+}
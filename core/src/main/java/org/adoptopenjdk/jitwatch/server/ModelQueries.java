@@ -0,0 +1,428 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.server;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_BYTES;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_DECOMPILES;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.adoptopenjdk.jitwatch.chain.CompileChainWalker;
+import org.adoptopenjdk.jitwatch.chain.CompileNode;
+import org.adoptopenjdk.jitwatch.model.AnnotationException;
+import org.adoptopenjdk.jitwatch.model.Compilation;
+import org.adoptopenjdk.jitwatch.model.CompilationSummary;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
+import org.adoptopenjdk.jitwatch.model.MetaClass;
+import org.adoptopenjdk.jitwatch.model.bytecode.BytecodeAnnotationBuilder;
+import org.adoptopenjdk.jitwatch.model.bytecode.BytecodeAnnotationList;
+import org.adoptopenjdk.jitwatch.model.bytecode.BytecodeAnnotations;
+import org.adoptopenjdk.jitwatch.model.bytecode.LineAnnotation;
+import org.adoptopenjdk.jitwatch.report.Report;
+import org.adoptopenjdk.jitwatch.report.comparator.ScoreComparator;
+import org.adoptopenjdk.jitwatch.report.suggestion.SuggestionWalker;
+import org.adoptopenjdk.jitwatch.toplist.CompileTimeTopListVisitable;
+import org.adoptopenjdk.jitwatch.toplist.CompiledAttributeTopListVisitable;
+import org.adoptopenjdk.jitwatch.toplist.HotThrowTopListVisitable;
+import org.adoptopenjdk.jitwatch.toplist.ITopListScore;
+import org.adoptopenjdk.jitwatch.toplist.ITopListVisitable;
+import org.adoptopenjdk.jitwatch.toplist.InliningFailReasonTopListVisitable;
+import org.adoptopenjdk.jitwatch.toplist.MostUsedIntrinsicsTopListVisitable;
+import org.adoptopenjdk.jitwatch.toplist.NativeMethodSizeTopListVisitable;
+import org.adoptopenjdk.jitwatch.toplist.StaleTaskToplistVisitable;
+
+// The queries the server answers. Each builds its own walkers so any number can run
+// against the same model at once.
+public final class ModelQueries
+{
+	public static final String PARAM_CLASS = "class";
+	public static final String PARAM_MEMBER = "member";
+	public static final String PARAM_COMPILATION = "compilation";
+	public static final String PARAM_LIST = "list";
+	public static final String PARAM_LIMIT = "limit";
+
+	private static final int DEFAULT_LIMIT = 100;
+
+	private ModelQueries()
+	{
+	}
+
+	public static String summary(PooledModel pooledModel, IReadOnlyJITDataModel model)
+	{
+		JSONBuilder builder = new JSONBuilder();
+
+		builder.beginObject();
+		appendPooledModel(builder, pooledModel);
+		builder.field("compilations", model.getCompilationTable().size());
+		builder.field("compiledMembers", model.getCompilationTable().getMemberCount());
+		builder.field("jdkMajorVersion", model.getJDKMajorVersion());
+		builder.endObject();
+
+		return builder.toString();
+	}
+
+	public static String models(ModelPool pool)
+	{
+		JSONBuilder builder = new JSONBuilder();
+
+		builder.beginObject();
+		builder.field("maxModels", pool.getMaxModels());
+		builder.key("models").beginArray();
+
+		for (PooledModel pooledModel : pool.getPooledModels())
+		{
+			builder.beginObject();
+			appendPooledModel(builder, pooledModel);
+			builder.endObject();
+		}
+
+		builder.endArray();
+		builder.endObject();
+
+		return builder.toString();
+	}
+
+	private static void appendPooledModel(JSONBuilder builder, PooledModel pooledModel)
+	{
+		builder.field("log", pooledModel.getLogPath());
+		builder.field("loaded", pooledModel.isLoaded());
+		builder.field("loadMillis", pooledModel.getLoadMillis());
+		builder.field("queries", pooledModel.getQueryCount());
+	}
+
+	public static String members(IReadOnlyJITDataModel model, Map<String, String> params)
+	{
+		JSONBuilder builder = new JSONBuilder();
+
+		builder.beginArray();
+
+		for (IMetaMember member : findMembers(model, params))
+		{
+			builder.beginObject();
+			appendMember(builder, member);
+			builder.key("compilations").beginArray();
+
+			for (Compilation compilation : member.getCompilations())
+			{
+				CompilationSummary summary = compilation.getSummary();
+
+				builder.beginObject();
+				builder.field("index", compilation.getIndex());
+				builder.field("compileID", summary.getCompileID());
+				builder.field("level", summary.getLevel());
+				builder.field("compiler", summary.getCompiler());
+				builder.field("osrBCI", summary.isOSR() ? summary.getOSRBCI() : null);
+				builder.field("compileMillis", summary.isC2N() ? null : summary.getCompilationDuration());
+				builder.field("nativeSize", summary.getNativeSize());
+				builder.field("decompiles", summary.getDecompiles());
+				builder.field("failureReason", summary.isFailed() ? summary.getFailureReason() : null);
+				builder.endObject();
+			}
+
+			builder.endArray();
+			builder.endObject();
+		}
+
+		builder.endArray();
+
+		return builder.toString();
+	}
+
+	public static String compileChain(IReadOnlyJITDataModel model, Map<String, String> params)
+	{
+		Compilation compilation = findCompilation(model, params);
+
+		CompileNode root = compilation.getTagTask() != null ? new CompileChainWalker(model).buildCallTree(compilation) : null;
+
+		JSONBuilder builder = new JSONBuilder();
+
+		builder.beginObject();
+		appendMember(builder, compilation.getMember());
+		builder.field("compilation", compilation.getIndex());
+		builder.key("callees").beginArray();
+
+		if (root != null)
+		{
+			appendCallees(builder, root);
+		}
+
+		builder.endArray();
+		builder.endObject();
+
+		return builder.toString();
+	}
+
+	private static void appendCallees(JSONBuilder builder, CompileNode node)
+	{
+		for (CompileNode child : node.getChildren())
+		{
+			builder.beginObject();
+			builder.field("callee", child.getMethodID() != null ? child.getQualifiedMemberName() : null);
+			builder.field("inlined", child.isInlined());
+			builder.field("virtualCall", child.isVirtualCall());
+			builder.field("compiled", child.isCompiled());
+			builder.field("reason", child.getReason());
+			builder.key("callees").beginArray();
+			appendCallees(builder, child);
+			builder.endArray();
+			builder.endObject();
+		}
+	}
+
+	public static String topList(IReadOnlyJITDataModel model, Map<String, String> params)
+	{
+		ITopListVisitable visitable = createTopList(model, params.get(PARAM_LIST));
+
+		visitable.setMaxSize(getLimit(params));
+
+		JSONBuilder builder = new JSONBuilder();
+
+		builder.beginArray();
+
+		for (ITopListScore score : visitable.buildTopList())
+		{
+			builder.beginObject();
+			builder.field("score", score.getScore());
+
+			if (score.getKey() instanceof IMetaMember)
+			{
+				appendMember(builder, (IMetaMember) score.getKey());
+			}
+			else
+			{
+				builder.field("key", score.getKey());
+			}
+
+			builder.endObject();
+		}
+
+		builder.endArray();
+
+		return builder.toString();
+	}
+
+	private static ITopListVisitable createTopList(IReadOnlyJITDataModel model, String list)
+	{
+		if (list == null)
+		{
+			throw new IllegalArgumentException("Missing parameter: " + PARAM_LIST);
+		}
+
+		switch (list)
+		{
+		case "native_size":
+			return new NativeMethodSizeTopListVisitable(model, true);
+		case "bytecode_size":
+			return new CompiledAttributeTopListVisitable(model, ATTR_BYTES, true);
+		case "compile_time":
+			return new CompileTimeTopListVisitable(model, true);
+		case "decompiles":
+			return new CompiledAttributeTopListVisitable(model, ATTR_DECOMPILES, true);
+		case "inline_fail_reasons":
+			return new InliningFailReasonTopListVisitable(model, true);
+		case "intrinsics":
+			return new MostUsedIntrinsicsTopListVisitable(model, true);
+		case "hot_throws":
+			return new HotThrowTopListVisitable(model, true);
+		case "stale_tasks":
+			return new StaleTaskToplistVisitable(model, true);
+		default:
+			throw new IllegalArgumentException("Unknown top list: " + list);
+		}
+	}
+
+	public static String suggestions(IReadOnlyJITDataModel model, Map<String, String> params)
+	{
+		List<Report> reports = new SuggestionWalker(model).getReports(new ScoreComparator());
+
+		int limit = Math.min(getLimit(params), reports.size());
+
+		JSONBuilder builder = new JSONBuilder();
+
+		builder.beginArray();
+
+		for (Report report : reports.subList(0, limit))
+		{
+			builder.beginObject();
+			builder.field("type", report.getType());
+			builder.field("score", report.getScore());
+
+			if (report.getCaller() != null)
+			{
+				appendMember(builder, report.getCaller());
+			}
+
+			builder.field("bci", report.getBytecodeOffset());
+			builder.field("text", report.getText());
+			builder.endObject();
+		}
+
+		builder.endArray();
+
+		return builder.toString();
+	}
+
+	public static String bytecodeAnnotations(IReadOnlyJITDataModel model, Map<String, String> params)
+	{
+		Compilation compilation = findCompilation(model, params);
+
+		BytecodeAnnotations annotations;
+
+		try
+		{
+			annotations = new BytecodeAnnotationBuilder(false).buildBytecodeAnnotations(compilation.getMember(), compilation
+					.getIndex(), model);
+		}
+		catch (AnnotationException ae)
+		{
+			throw new IllegalStateException("Could not annotate " + compilation, ae);
+		}
+
+		JSONBuilder builder = new JSONBuilder();
+
+		builder.beginArray();
+
+		// the compiled member and the members inlined into it
+		for (IMetaMember member : annotations.getMembers())
+		{
+			BytecodeAnnotationList annotationList = annotations.getAnnotationList(member);
+
+			builder.beginObject();
+			appendMember(builder, member);
+			builder.key("annotations").beginArray();
+
+			for (Map.Entry<Integer, List<LineAnnotation>> entry : annotationList.getEntries())
+			{
+				for (LineAnnotation annotation : entry.getValue())
+				{
+					builder.beginObject();
+					builder.field("bci", entry.getKey());
+					builder.field("type", annotation.getType());
+					builder.field("text", annotation.getAnnotation());
+					builder.endObject();
+				}
+			}
+
+			builder.endArray();
+			builder.endObject();
+		}
+
+		builder.endArray();
+
+		return builder.toString();
+	}
+
+	private static void appendMember(JSONBuilder builder, IMetaMember member)
+	{
+		builder.field("class", member.getMetaClass().getFullyQualifiedName());
+		builder.field("member", member.toStringUnqualifiedMethodName(true, true));
+	}
+
+	// member is a method name or a signature like foo(int,java.lang.String), without it every
+	// member of the class matches
+	private static List<IMetaMember> findMembers(IReadOnlyJITDataModel model, Map<String, String> params)
+	{
+		String className = params.get(PARAM_CLASS);
+
+		if (className == null)
+		{
+			throw new IllegalArgumentException("Missing parameter: " + PARAM_CLASS);
+		}
+
+		MetaClass metaClass = model.getPackageManager().getMetaClass(className);
+
+		if (metaClass == null)
+		{
+			throw new IllegalArgumentException("Class not found: " + className);
+		}
+
+		String memberName = params.get(PARAM_MEMBER);
+
+		List<IMetaMember> result = new ArrayList<>();
+
+		for (IMetaMember member : metaClass.getMetaMembers())
+		{
+			if (memberName == null || memberName.equals(member.getMemberName()) || memberName.equals(member
+					.toStringUnqualifiedMethodName(false, true)))
+			{
+				result.add(member);
+			}
+		}
+
+		return result;
+	}
+
+	// the last compilation unless one is chosen by index
+	private static Compilation findCompilation(IReadOnlyJITDataModel model, Map<String, String> params)
+	{
+		if (params.get(PARAM_MEMBER) == null)
+		{
+			throw new IllegalArgumentException("Missing parameter: " + PARAM_MEMBER);
+		}
+
+		List<IMetaMember> members = findMembers(model, params);
+
+		if (members.isEmpty())
+		{
+			throw new IllegalArgumentException("Member not found: " + params.get(PARAM_MEMBER));
+		}
+		else if (members.size() > 1)
+		{
+			throw new IllegalArgumentException("Member is overloaded, give its signature: " + params.get(PARAM_MEMBER));
+		}
+
+		IMetaMember member = members.get(0);
+
+		Compilation result;
+
+		String index = params.get(PARAM_COMPILATION);
+
+		if (index == null)
+		{
+			result = member.getLastCompilation();
+		}
+		else
+		{
+			result = member.getCompilation(parseInt(PARAM_COMPILATION, index));
+		}
+
+		if (result == null)
+		{
+			throw new IllegalArgumentException("No such compilation of " + member);
+		}
+
+		return result;
+	}
+
+	private static int getLimit(Map<String, String> params)
+	{
+		String limit = params.get(PARAM_LIMIT);
+
+		int result = limit != null ? parseInt(PARAM_LIMIT, limit) : DEFAULT_LIMIT;
+
+		if (result < 1)
+		{
+			throw new IllegalArgumentException("limit must be positive: " + limit);
+		}
+
+		return result;
+	}
+
+	private static int parseInt(String param, String value)
+	{
+		try
+		{
+			return Integer.parseInt(value);
+		}
+		catch (NumberFormatException nfe)
+		{
+			throw new IllegalArgumentException("Not a number: " + param + "=" + value);
+		}
+	}
+}
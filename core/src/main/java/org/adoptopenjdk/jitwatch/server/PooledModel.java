@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.server;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
+
+// A log in the pool. The first request for it parses the log on its own thread, requests
+// arriving during the parse wait for that parse rather than starting another.
+public class PooledModel
+{
+	private final String logPath;
+	private final long lastModified;
+
+	private final FutureTask<IReadOnlyJITDataModel> loadTask;
+
+	private final AtomicLong queryCount = new AtomicLong();
+
+	private volatile boolean failed;
+	private volatile long loadMillis;
+	private volatile long lastQueried;
+
+	PooledModel(String logPath, long lastModified, Callable<IReadOnlyJITDataModel> loader)
+	{
+		this.logPath = logPath;
+		this.lastModified = lastModified;
+
+		loadTask = new FutureTask<>(() ->
+		{
+			long start = System.currentTimeMillis();
+
+			try
+			{
+				return loader.call();
+			}
+			catch (Exception e)
+			{
+				failed = true;
+
+				throw e;
+			}
+			finally
+			{
+				loadMillis = System.currentTimeMillis() - start;
+			}
+		});
+	}
+
+	void load()
+	{
+		loadTask.run();
+	}
+
+	public IReadOnlyJITDataModel getModel() throws IOException
+	{
+		IReadOnlyJITDataModel result;
+
+		try
+		{
+			result = loadTask.get();
+		}
+		catch (InterruptedException ie)
+		{
+			Thread.currentThread().interrupt();
+
+			throw new IOException("Interrupted waiting for " + logPath, ie);
+		}
+		catch (ExecutionException ee)
+		{
+			Throwable cause = ee.getCause();
+
+			if (cause instanceof IOException)
+			{
+				throw (IOException) cause;
+			}
+
+			throw new IOException("Could not load " + logPath, cause);
+		}
+
+		queryCount.incrementAndGet();
+
+		lastQueried = System.currentTimeMillis();
+
+		return result;
+	}
+
+	public String getLogPath()
+	{
+		return logPath;
+	}
+
+	public long getLastModified()
+	{
+		return lastModified;
+	}
+
+	public boolean isLoaded()
+	{
+		return loadTask.isDone();
+	}
+
+	public boolean isFailed()
+	{
+		return failed;
+	}
+
+	public long getLoadMillis()
+	{
+		return loadMillis;
+	}
+
+	public long getQueryCount()
+	{
+		return queryCount.get();
+	}
+
+	public long getLastQueried()
+	{
+		return lastQueried;
+	}
+}
@@ -6,25 +6,37 @@
 package org.adoptopenjdk.jitwatch.toplist;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.adoptopenjdk.jitwatch.compilation.AbstractCompilationVisitable;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
 import org.adoptopenjdk.jitwatch.model.IParseDictionary;
 import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
 import org.adoptopenjdk.jitwatch.model.LogParseException;
 import org.adoptopenjdk.jitwatch.model.Tag;
+import org.adoptopenjdk.jitwatch.treevisitor.ITreeVisitable;
 import org.adoptopenjdk.jitwatch.treevisitor.TreeVisitor;
 import org.adoptopenjdk.jitwatch.logger.Logger;
 import org.adoptopenjdk.jitwatch.logger.LoggerFactory;
 
 public abstract class AbstractTopListVisitable extends AbstractCompilationVisitable implements ITopListVisitable
 {
+	// below this many members the walk is not worth splitting across threads
+	private static final int PARALLEL_THRESHOLD = 10_000;
+
+	// keeps per-partition insertion sequences disjoint when merging
+	private static final int PARTITION_SEQUENCE_SHIFT = 40;
+
     protected IReadOnlyJITDataModel model;
-    protected List<ITopListScore> topList;
+    protected TopListCollector topList;
     protected boolean sortHighToLow;
 
+	private int maxSize = TopListCollector.UNBOUNDED;
+
+	private final int partitions = Runtime.getRuntime().availableProcessors();
+
     protected static final Logger logger = LoggerFactory.getLogger(AbstractTopListVisitable.class);
 
 	public AbstractTopListVisitable(IReadOnlyJITDataModel model, boolean sortHighToLow)
@@ -33,6 +45,17 @@ public abstract class AbstractTopListVisitable extends AbstractCompilationVisita
 		this.sortHighToLow = sortHighToLow;
 	}
 
+	public int getMaxSize()
+	{
+		return maxSize;
+	}
+
+	@Override
+	public void setMaxSize(int maxSize)
+	{
+		this.maxSize = maxSize;
+	}
+
 	@Override
 	public void reset()
 	{
@@ -42,7 +65,23 @@ public abstract class AbstractTopListVisitable extends AbstractCompilationVisita
 	public void postProcess()
 	{
 	}
-	
+
+	// Override together with scoreMember() when a member's scores do not depend on
+	// any other member, allowing the walk to be split across threads
+	protected boolean isPartitionable()
+	{
+		return false;
+	}
+
+	protected void scoreMember(IMetaMember mm, TopListCollector collector)
+	{
+	}
+
+	@Override
+	public void visit(IMetaMember mm)
+	{
+		scoreMember(mm, topList);
+	}
 
 	@Override
 	public void visitTag(Tag toVisit, IParseDictionary parseDictionary) throws LogParseException
@@ -53,29 +92,81 @@ public abstract class AbstractTopListVisitable extends AbstractCompilationVisita
 	@Override
 	public List<ITopListScore> buildTopList()
 	{
-		topList = new ArrayList<>();
+		topList = new TopListCollector(maxSize, sortHighToLow);
 
-		TreeVisitor.walkTree(model, this);
+		if (isPartitionable() && partitions > 1)
+		{
+			reset();
+
+			List<IMetaMember> members = collectMembers();
+
+			if (members.size() >= PARALLEL_THRESHOLD)
+			{
+				buildPartitioned(members);
+			}
+			else
+			{
+				for (IMetaMember member : members)
+				{
+					scoreMember(member, topList);
+				}
+			}
+		}
+		else
+		{
+			TreeVisitor.walkTree(model, this);
+		}
 
 		postProcess();
 
-		Collections.sort(topList, new Comparator<ITopListScore>()
+		return topList.toSortedList();
+	}
+
+	private List<IMetaMember> collectMembers()
+	{
+		final List<IMetaMember> members = new ArrayList<>();
+
+		TreeVisitor.walkTree(model, new ITreeVisitable()
 		{
 			@Override
-			public int compare(ITopListScore s1, ITopListScore s2)
+			public void visit(IMetaMember mm)
 			{
-				if (sortHighToLow)
-				{
-					return Long.compare(s2.getScore(), s1.getScore());
-				}
-				else
-				{
-					return Long.compare(s1.getScore(), s2.getScore());
-				}
+				members.add(mm);
+			}
 
+			@Override
+			public void reset()
+			{
 			}
 		});
 
-		return topList;
+		return members;
+	}
+
+	private void buildPartitioned(final List<IMetaMember> members)
+	{
+		final int memberCount = members.size();
+		final int partitionCount = Math.min(partitions, memberCount);
+
+		List<TopListCollector> partials = IntStream.range(0, partitionCount).parallel().mapToObj(partition ->
+		{
+			int from = (int) ((long) memberCount * partition / partitionCount);
+			int to = (int) ((long) memberCount * (partition + 1) / partitionCount);
+
+			TopListCollector collector = new TopListCollector(maxSize, sortHighToLow,
+					(long) partition << PARTITION_SEQUENCE_SHIFT);
+
+			for (int i = from; i < to; i++)
+			{
+				scoreMember(members.get(i), collector);
+			}
+
+			return collector;
+		}).collect(Collectors.toList());
+
+		for (TopListCollector partial : partials)
+		{
+			topList.merge(partial);
+		}
 	}
 }
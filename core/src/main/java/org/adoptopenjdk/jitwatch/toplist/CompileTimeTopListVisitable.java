@@ -5,8 +5,9 @@
  */
 package org.adoptopenjdk.jitwatch.toplist;
 
-import org.adoptopenjdk.jitwatch.model.Compilation;
-import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import java.util.List;
+
+import org.adoptopenjdk.jitwatch.model.CompilationTable;
 import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
 
 public class CompileTimeTopListVisitable extends AbstractTopListVisitable
@@ -16,15 +17,22 @@ public class CompileTimeTopListVisitable extends AbstractTopListVisitable
 		super(model, sortHighToLow);
 	}
 
+	// scans the duration column rather than walking the member tree
 	@Override
-	public void visit(IMetaMember mm)
+	public List<ITopListScore> buildTopList()
 	{
-		for (Compilation compilation : mm.getCompilations())
+		CompilationTable table = model.getCompilationTable();
+
+		topList = new TopListCollector(getMaxSize(), sortHighToLow);
+
+		for (int row = 0; row < table.size(); row++)
 		{
-			if (!compilation.isC2N())
+			if (!table.hasFlag(row, CompilationTable.FLAG_C2N))
 			{
-				topList.add(new MemberScore(mm, compilation.getCompilationDuration()));
+				topList.add(new MemberScore(table.getMember(row), table.getCompilationDuration(row)));
 			}
-		}	
+		}
+
+		return topList.toSortedList();
 	}
-}
\ No newline at end of file
+}
@@ -19,12 +19,18 @@ public class CompiledAttributeTopListVisitable extends AbstractTopListVisitable
 	}
 
 	@Override
-	public void visit(IMetaMember mm)
+	protected boolean isPartitionable()
+	{
+		return true;
+	}
+
+	@Override
+	protected void scoreMember(IMetaMember mm, TopListCollector collector)
 	{
 		if (mm.getCompiledAttribute(attr) != null)
 		{
 			long value = Long.valueOf(mm.getCompiledAttribute(attr));
-			topList.add(new MemberScore(mm, value));
+			collector.add(new MemberScore(mm, value));
 		}
 	}
 }
\ No newline at end of file
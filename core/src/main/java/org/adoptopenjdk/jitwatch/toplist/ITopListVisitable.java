@@ -12,4 +12,6 @@ import org.adoptopenjdk.jitwatch.treevisitor.ITreeVisitable;
 public interface ITopListVisitable extends ITreeVisitable
 {
 	List<ITopListScore> buildTopList();
+
+	void setMaxSize(int maxSize);
 }
\ No newline at end of file
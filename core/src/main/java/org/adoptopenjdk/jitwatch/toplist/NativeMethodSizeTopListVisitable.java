@@ -48,7 +48,13 @@ public class NativeMethodSizeTopListVisitable extends AbstractTopListVisitable
 	}
 
 	@Override
-	public void visit(IMetaMember metaMember)
+	protected boolean isPartitionable()
+	{
+		return true;
+	}
+
+	@Override
+	protected void scoreMember(IMetaMember metaMember, TopListCollector collector)
 	{		
 		for (Compilation compilation : metaMember.getCompilations())
 		{
@@ -56,7 +62,7 @@ public class NativeMethodSizeTopListVisitable extends AbstractTopListVisitable
 	
 			if (nativeSize != 0)
 			{
-				topList.add(new MemberScore(metaMember, nativeSize));
+				collector.add(new MemberScore(metaMember, nativeSize));
 			}
 		}
 	}
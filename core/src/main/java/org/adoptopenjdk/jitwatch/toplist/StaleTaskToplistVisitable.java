@@ -5,57 +5,45 @@
  */
 package org.adoptopenjdk.jitwatch.toplist;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 
-import org.adoptopenjdk.jitwatch.compilation.CompilationUtil;
-import org.adoptopenjdk.jitwatch.model.Compilation;
-import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.CompilationTable;
 import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
-import org.adoptopenjdk.jitwatch.model.Task;
 
 public class StaleTaskToplistVisitable extends AbstractTopListVisitable
 {
-	private final Map<IMetaMember, Integer> staleCompilationCountMap;
-
 	public StaleTaskToplistVisitable(IReadOnlyJITDataModel model, boolean sortHighToLow)
 	{
 		super(model, sortHighToLow);
-		staleCompilationCountMap = new HashMap<>();
 	}
 
+	// counts stale tasks per member from the compilation table flags
 	@Override
-	public void visit(IMetaMember metaMember)
+	public List<ITopListScore> buildTopList()
 	{
-		if (metaMember != null && metaMember.isCompiled())
-		{
+		CompilationTable table = model.getCompilationTable();
+
+		topList = new TopListCollector(getMaxSize(), sortHighToLow);
 
-			for (Compilation compilation : metaMember.getCompilations())
+		int[] staleCounts = new int[table.getMemberCount()];
+
+		for (int row = 0; row < table.size(); row++)
+		{
+			if (table.hasFlag(row, CompilationTable.FLAG_STALE)
+					&& table.hasMemberFlag(table.getMemberIndex(row), CompilationTable.MEMBER_FLAG_COMPILED))
 			{
-				Task taskTag = compilation.getTagTask();
-
-				if (taskTag != null && CompilationUtil.isStaleTask(taskTag))
-				{
-					if (staleCompilationCountMap.containsKey(metaMember))
-					{
-						int count = staleCompilationCountMap.get(metaMember);
-						staleCompilationCountMap.put(metaMember, count + 1);
-					}
-					else
-					{
-						staleCompilationCountMap.put(metaMember, 1);
-					}
-				}
+				staleCounts[table.getMemberIndex(row)]++;
 			}
 		}
-	}
 
-	@Override
-	public void postProcess()
-	{
-		for (Map.Entry<IMetaMember, Integer> entry : staleCompilationCountMap.entrySet())
+		for (int memberIndex = 0; memberIndex < staleCounts.length; memberIndex++)
 		{
-			topList.add(new MemberScore(entry.getKey(), entry.getValue().longValue()));
+			if (staleCounts[memberIndex] > 0)
+			{
+				topList.add(new MemberScore(table.getMemberByIndex(memberIndex), staleCounts[memberIndex]));
+			}
 		}
+
+		return topList.toSortedList();
 	}
-}
\ No newline at end of file
+}
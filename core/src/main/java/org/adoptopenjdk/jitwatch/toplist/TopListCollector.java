@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.toplist;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Keeps the best maxSize scores in a heap whose head is the worst retained score.
+// Equal scores are ranked by insertion sequence so the result matches a stable sort.
+public class TopListCollector
+{
+	public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+	private static final class Entry
+	{
+		private final ITopListScore score;
+		private final long sequence;
+
+		private Entry(ITopListScore score, long sequence)
+		{
+			this.score = score;
+			this.sequence = sequence;
+		}
+	}
+
+	private final int maxSize;
+	private final boolean sortHighToLow;
+
+	private final Comparator<Entry> rankComparator;
+
+	private final PriorityQueue<Entry> heap;
+
+	private long nextSequence;
+
+	public TopListCollector(int maxSize, boolean sortHighToLow)
+	{
+		this(maxSize, sortHighToLow, 0);
+	}
+
+	// firstSequence lets per-partition collectors keep the sequential visit order when merged
+	public TopListCollector(int maxSize, boolean sortHighToLow, long firstSequence)
+	{
+		if (maxSize < 1)
+		{
+			throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+		}
+
+		this.maxSize = maxSize;
+		this.sortHighToLow = sortHighToLow;
+		this.nextSequence = firstSequence;
+
+		rankComparator = new Comparator<Entry>()
+		{
+			@Override
+			public int compare(Entry e1, Entry e2)
+			{
+				int result;
+
+				if (TopListCollector.this.sortHighToLow)
+				{
+					result = Long.compare(e2.score.getScore(), e1.score.getScore());
+				}
+				else
+				{
+					result = Long.compare(e1.score.getScore(), e2.score.getScore());
+				}
+
+				if (result == 0)
+				{
+					result = Long.compare(e1.sequence, e2.sequence);
+				}
+
+				return result;
+			}
+		};
+
+		heap = new PriorityQueue<>(Math.min(maxSize, 1024) + 1, rankComparator.reversed());
+	}
+
+	public int getMaxSize()
+	{
+		return maxSize;
+	}
+
+	public boolean isSortHighToLow()
+	{
+		return sortHighToLow;
+	}
+
+	public void add(ITopListScore score)
+	{
+		offer(new Entry(score, nextSequence++));
+	}
+
+	private void offer(Entry entry)
+	{
+		if (heap.size() < maxSize)
+		{
+			heap.offer(entry);
+		}
+		else if (rankComparator.compare(entry, heap.peek()) < 0)
+		{
+			heap.poll();
+			heap.offer(entry);
+		}
+	}
+
+	public void merge(TopListCollector other)
+	{
+		if (other.sortHighToLow != sortHighToLow)
+		{
+			throw new IllegalArgumentException("Cannot merge top lists with different sort orders");
+		}
+
+		for (Entry entry : other.heap)
+		{
+			offer(entry);
+		}
+
+		nextSequence = Math.max(nextSequence, other.nextSequence);
+	}
+
+	public int size()
+	{
+		return heap.size();
+	}
+
+	public void clear()
+	{
+		heap.clear();
+	}
+
+	public List<ITopListScore> toSortedList()
+	{
+		List<Entry> entries = new ArrayList<>(heap);
+
+		Collections.sort(entries, rankComparator);
+
+		List<ITopListScore> result = new ArrayList<>(entries.size());
+
+		for (Entry entry : entries)
+		{
+			result.add(entry.score);
+		}
+
+		return result;
+	}
+}
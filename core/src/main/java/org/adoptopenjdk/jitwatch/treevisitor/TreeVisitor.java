@@ -7,6 +7,8 @@ package org.adoptopenjdk.jitwatch.treevisitor;
 
 import java.util.List;
 
+import org.adoptopenjdk.jitwatch.metrics.ParseMetrics;
+import org.adoptopenjdk.jitwatch.metrics.PhaseTimer;
 import org.adoptopenjdk.jitwatch.model.IMetaMember;
 import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
 import org.adoptopenjdk.jitwatch.model.MetaClass;
@@ -23,30 +25,44 @@ public final class TreeVisitor
 		visitable.reset();
 
 		List<MetaPackage> roots = model.getPackageManager().getRootPackages();
-				
-		for (MetaPackage mp : roots)
-		{			
-			walkPackage(mp, visitable);
+
+		try (PhaseTimer timer = ParseMetrics.getInstance().startPhase(ParseMetrics.PHASE_WALKER_PREFIX + getWalkerName(visitable)))
+		{
+			for (MetaPackage mp : roots)
+			{
+				walkPackage(mp, visitable, timer);
+			}
 		}
 	}
 
-	private static void walkPackage(MetaPackage mp, ITreeVisitable visitable)
+	private static String getWalkerName(ITreeVisitable visitable)
+	{
+		String name = visitable.getClass().getSimpleName();
+
+		return name.isEmpty() ? visitable.getClass().getName() : name;
+	}
+
+	private static void walkPackage(MetaPackage mp, ITreeVisitable visitable, PhaseTimer timer)
 	{
 		List<MetaPackage> childPackages = mp.getChildPackages();
 
 		for (MetaPackage childPackage : childPackages)
 		{
-			walkPackage(childPackage, visitable);
+			walkPackage(childPackage, visitable, timer);
 		}
 
 		List<MetaClass> packageClasses = mp.getPackageClasses();
 
 		for (MetaClass mc : packageClasses)
 		{
-			for (IMetaMember mm : mc.getMetaMembers())
+			List<IMetaMember> members = mc.getMetaMembers();
+
+			for (IMetaMember mm : members)
 			{
 				visitable.visit(mm);
 			}
+
+			timer.addItems(members.size());
 		}
 	}
 }
\ No newline at end of file
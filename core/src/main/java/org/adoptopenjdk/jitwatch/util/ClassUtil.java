@@ -10,23 +10,22 @@ import org.adoptopenjdk.jitwatch.logger.Logger;
 import org.adoptopenjdk.jitwatch.logger.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
-import java.util.ArrayList;
 import java.util.List;
 
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.DEBUG_LOGGING_CLASSPATH;
 
+// Each parser owns its loader so parsers running in parallel cannot close one another's
 public final class ClassUtil
 {
-	private static DisposableURLClassLoader disposableClassLoader = new DisposableURLClassLoader(new ArrayList<URL>());
-
 	private static final Logger logger = LoggerFactory.getLogger(ClassUtil.class);
 
 	private ClassUtil()
 	{
 	}
 
-	public static void initialise(final List<URL> urls)
+	public static DisposableURLClassLoader createClassLoader(final List<URL> urls)
 	{
 		if (DEBUG_LOGGING_CLASSPATH)
 		{
@@ -36,32 +35,44 @@ public final class ClassUtil
 			}
 		}
 
-		disposableClassLoader = new DisposableURLClassLoader(urls);
+		return new DisposableURLClassLoader(urls);
 	}
 
-	public static Class<?> loadClassWithoutInitialising(String fqClassName) throws ClassNotFoundException
+	public static Class<?> loadClassWithoutInitialising(ClassLoader classLoader, String fqClassName) throws ClassNotFoundException
 	{
 		if (DEBUG_LOGGING_CLASSPATH)
 		{
 			logger.debug("loadClassWithoutInitialising '{}'", fqClassName);
 		}
 
-		return Class.forName(fqClassName, false, disposableClassLoader);
+		return Class.forName(fqClassName, false, classLoader);
+	}
+
+	// null if the class file is not on the loader's classpath or the JDK
+	public static InputStream getClassFileStream(ClassLoader classLoader, String fqClassName)
+	{
+		InputStream result = null;
+
+		if (classLoader != null)
+		{
+			result = classLoader.getResourceAsStream(fqClassName.replace('.', '/') + ".class");
+		}
+
+		return result;
 	}
 
-	public static void clear()
+	public static void close(DisposableURLClassLoader classLoader)
 	{
-		if (disposableClassLoader != null)
+		if (classLoader != null)
 		{
 			try
 			{
-				disposableClassLoader.close();
+				classLoader.close();
 			}
 			catch (IOException e)
 			{
 				logger.warn("Could not close the DisposableURLClassLoader", e);
 			}
 		}
-		disposableClassLoader = null;
 	}
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.util;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+import org.adoptopenjdk.jitwatch.logger.Logger;
+import org.adoptopenjdk.jitwatch.logger.LoggerFactory;
+import org.tukaani.xz.XZInputStream;
+
+// Opens a log file that may be compressed, detected by its magic bytes rather than its name.
+// Decompression runs on other threads so it overlaps with log splitting and tag processing,
+// independent gzip members and zstd frames are decompressed in parallel.
+public final class CompressedLogUtil
+{
+	private static final Logger logger = LoggerFactory.getLogger(CompressedLogUtil.class);
+
+	public enum Compression
+	{
+		NONE, GZIP, ZSTD, XZ
+	}
+
+	private static final int BUFFER_SIZE = 65536;
+
+	// longer than any magic
+	private static final int HEADER_PEEK_LENGTH = 32;
+
+	private static final byte[] MAGIC_GZIP = { (byte) 0x1F, (byte) 0x8B };
+	private static final byte[] MAGIC_ZSTD = { (byte) 0x28, (byte) 0xB5, (byte) 0x2F, (byte) 0xFD };
+	private static final byte[] MAGIC_XZ = { (byte) 0xFD, (byte) 0x37, (byte) 0x7A, (byte) 0x58, (byte) 0x5A, (byte) 0x00 };
+
+	private CompressedLogUtil()
+	{
+	}
+
+	public static Compression detectCompression(byte[] header, int length)
+	{
+		Compression result = Compression.NONE;
+
+		if (startsWith(header, length, MAGIC_GZIP))
+		{
+			result = Compression.GZIP;
+		}
+		else if (startsWith(header, length, MAGIC_ZSTD))
+		{
+			result = Compression.ZSTD;
+		}
+		else if (startsWith(header, length, MAGIC_XZ))
+		{
+			result = Compression.XZ;
+		}
+
+		return result;
+	}
+
+	private static boolean startsWith(byte[] header, int length, byte[] magic)
+	{
+		boolean result = length >= magic.length;
+
+		for (int i = 0; result && i < magic.length; i++)
+		{
+			result = header[i] == magic[i];
+		}
+
+		return result;
+	}
+
+	public static Compression detectCompression(File file) throws IOException
+	{
+		try (InputStream in = new FileInputStream(file))
+		{
+			byte[] header = new byte[HEADER_PEEK_LENGTH];
+
+			return detectCompression(header, readHeader(in, header));
+		}
+	}
+
+	private static int readHeader(InputStream in, byte[] header) throws IOException
+	{
+		int filled = 0;
+
+		while (filled < header.length)
+		{
+			int read = in.read(header, filled, header.length - filled);
+
+			if (read == -1)
+			{
+				break;
+			}
+
+			filled += read;
+		}
+
+		return filled;
+	}
+
+	public static Reader openLogReader(File file) throws IOException
+	{
+		Reader result;
+
+		if (detectCompression(file) == Compression.NONE)
+		{
+			result = new FileReader(file);
+		}
+		else
+		{
+			result = new InputStreamReader(openLogStream(file));
+		}
+
+		return result;
+	}
+
+	public static InputStream openLogStream(File file) throws IOException
+	{
+		BufferedInputStream in = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE);
+
+		InputStream result = in;
+
+		try
+		{
+			in.mark(HEADER_PEEK_LENGTH);
+
+			byte[] header = new byte[HEADER_PEEK_LENGTH];
+
+			int headerLength = readHeader(in, header);
+
+			in.reset();
+
+			Compression compression = detectCompression(header, headerLength);
+
+			int threads = Runtime.getRuntime().availableProcessors();
+
+			switch (compression)
+			{
+			case GZIP:
+				result = new ParallelGzipInputStream(in, threads);
+				break;
+			case ZSTD:
+				result = new ParallelZstdInputStream(in, threads);
+				break;
+			case XZ:
+				result = new ReadAheadInputStream(new XZInputStream(in), "JITWatch xz reader");
+				break;
+			default:
+				break;
+			}
+
+			if (compression != Compression.NONE)
+			{
+				logger.info("Reading {} compressed log {}", compression, file);
+			}
+		}
+		catch (IOException ioe)
+		{
+			in.close();
+			throw ioe;
+		}
+
+		return result;
+	}
+}
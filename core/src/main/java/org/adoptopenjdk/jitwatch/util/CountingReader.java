@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.util;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+
+// Counts the characters read, one per byte for the ASCII logs written by the VM
+public class CountingReader extends FilterReader
+{
+	private long count = 0;
+
+	public CountingReader(Reader in)
+	{
+		super(in);
+	}
+
+	@Override
+	public int read() throws IOException
+	{
+		int result = super.read();
+
+		if (result != -1)
+		{
+			count++;
+		}
+
+		return result;
+	}
+
+	@Override
+	public int read(char[] buffer, int offset, int length) throws IOException
+	{
+		int result = super.read(buffer, offset, length);
+
+		if (result > 0)
+		{
+			count += result;
+		}
+
+		return result;
+	}
+
+	@Override
+	public long skip(long n) throws IOException
+	{
+		long result = super.skip(n);
+
+		count += result;
+
+		return result;
+	}
+
+	public long getCount()
+	{
+		return count;
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.util;
+
+public final class JSONUtil
+{
+	private JSONUtil()
+	{
+	}
+
+	public static String quote(String value)
+	{
+		StringBuilder builder = new StringBuilder(value.length() + 2);
+
+		appendQuoted(builder, value);
+
+		return builder.toString();
+	}
+
+	public static void appendQuoted(StringBuilder builder, String value)
+	{
+		builder.append('"');
+
+		for (int i = 0; i < value.length(); i++)
+		{
+			char c = value.charAt(i);
+
+			switch (c)
+			{
+			case '"':
+				builder.append("\\\"");
+				break;
+			case '\\':
+				builder.append("\\\\");
+				break;
+			case '\n':
+				builder.append("\\n");
+				break;
+			case '\r':
+				builder.append("\\r");
+				break;
+			case '\t':
+				builder.append("\\t");
+				break;
+			default:
+				if (c < 0x20)
+				{
+					builder.append(String.format("\\u%04x", (int) c));
+				}
+				else
+				{
+					builder.append(c);
+				}
+				break;
+			}
+		}
+
+		builder.append('"');
+	}
+
+	// numbers and booleans are written bare, anything else as a string
+	public static void appendValue(StringBuilder builder, Object value)
+	{
+		if (value == null)
+		{
+			builder.append("null");
+		}
+		else if (value instanceof Number || value instanceof Boolean)
+		{
+			builder.append(value);
+		}
+		else
+		{
+			appendQuoted(builder, value.toString());
+		}
+	}
+}
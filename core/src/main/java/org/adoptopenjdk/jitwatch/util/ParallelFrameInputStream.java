@@ -0,0 +1,345 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.SequenceInputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.adoptopenjdk.jitwatch.logger.Logger;
+import org.adoptopenjdk.jitwatch.logger.LoggerFactory;
+import org.adoptopenjdk.jitwatch.metrics.ParseMetrics;
+
+// Decompresses input made of independent frames (gzip members, zstd frames). The input is
+// cut into segments of whole frames that are decoded on a thread pool and returned in order.
+// From the first input that cannot be cut that way the rest is decoded by a single stream.
+public abstract class ParallelFrameInputStream extends InputStream
+{
+	private static final Logger logger = LoggerFactory.getLogger(ParallelFrameInputStream.class);
+
+	// compressed bytes per segment, a segment is only cut after a whole frame
+	protected static final int TARGET_SEGMENT_SIZE = 1024 * 1024;
+
+	// a frame that does not end within this many bytes is decoded sequentially
+	protected static final int MAX_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+	private static final int READ_SIZE = 64 * 1024;
+
+	// thrown by decodeSegment when the segment turned out not to hold whole frames
+	protected static class SegmentBoundaryException extends IOException
+	{
+		private static final long serialVersionUID = 1L;
+
+		public SegmentBoundaryException(String message)
+		{
+			super(message);
+		}
+
+		public SegmentBoundaryException(String message, Throwable cause)
+		{
+			super(message, cause);
+		}
+	}
+
+	private static class Segment
+	{
+		private final byte[] input;
+
+		private final Future<byte[]> output;
+
+		Segment(byte[] input, Future<byte[]> output)
+		{
+			this.input = input;
+			this.output = output;
+		}
+	}
+
+	private final InputStream source;
+
+	private final String threadName;
+
+	private final String queueName;
+
+	private final ExecutorService executor;
+
+	private final int maxInFlight;
+
+	private final Deque<Segment> inFlight = new ArrayDeque<>();
+
+	private byte[] buffer = new byte[TARGET_SEGMENT_SIZE + READ_SIZE];
+	private int buffered = 0;
+
+	private boolean sourceExhausted = false;
+
+	// no more segments are cut once input could not be split into whole frames
+	private boolean unsegmented = false;
+
+	private InputStream sequential = null;
+
+	private byte[] current = new byte[0];
+	private int position = 0;
+
+	protected ParallelFrameInputStream(InputStream source, int threads, String threadName, String queueName)
+	{
+		this.source = source;
+		this.threadName = threadName;
+		this.queueName = queueName;
+
+		int threadCount = Math.max(1, threads);
+
+		executor = Executors.newFixedThreadPool(threadCount, runnable ->
+		{
+			Thread thread = new Thread(runnable, threadName);
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		maxInFlight = threadCount * 2;
+	}
+
+	// length of the whole frames at the start of the buffered input to decode as the next segment,
+	// -1 if they cannot be found and the rest of the input has to be decoded sequentially
+	protected abstract int findSegmentEnd() throws IOException;
+
+	protected abstract byte[] decodeSegment(byte[] segment) throws IOException;
+
+	protected abstract InputStream openSequential(InputStream remaining) throws IOException;
+
+	// false if the input ends first
+	protected boolean ensureBuffered(int length) throws IOException
+	{
+		if (length > buffer.length)
+		{
+			buffer = Arrays.copyOf(buffer, Math.max(length, Math.min(buffer.length * 2, MAX_SEGMENT_SIZE + READ_SIZE)));
+		}
+
+		while (buffered < length && !sourceExhausted)
+		{
+			int read = source.read(buffer, buffered, buffer.length - buffered);
+
+			if (read == -1)
+			{
+				sourceExhausted = true;
+			}
+			else
+			{
+				buffered += read;
+			}
+		}
+
+		return buffered >= length;
+	}
+
+	protected byte[] getBuffer()
+	{
+		return buffer;
+	}
+
+	protected int getBuffered()
+	{
+		return buffered;
+	}
+
+	private void fillPipeline() throws IOException
+	{
+		while (!unsegmented && inFlight.size() < maxInFlight && ensureBuffered(1))
+		{
+			int length = findSegmentEnd();
+
+			if (length <= 0)
+			{
+				unsegmented = true;
+			}
+			else
+			{
+				final byte[] segment = Arrays.copyOf(buffer, length);
+
+				buffered -= length;
+
+				System.arraycopy(buffer, length, buffer, 0, buffered);
+
+				inFlight.add(new Segment(segment, executor.submit(() -> decodeSegment(segment))));
+			}
+		}
+	}
+
+	// decodes the given segment, those after it and the unread input with one stream on a read-ahead thread
+	private void switchToSequential(Segment first) throws IOException
+	{
+		List<InputStream> remaining = new ArrayList<>();
+
+		if (first != null)
+		{
+			remaining.add(new ByteArrayInputStream(first.input));
+		}
+
+		for (Segment segment : inFlight)
+		{
+			segment.output.cancel(true);
+
+			remaining.add(new ByteArrayInputStream(segment.input));
+		}
+
+		inFlight.clear();
+
+		remaining.add(new ByteArrayInputStream(buffer, 0, buffered));
+		remaining.add(source);
+
+		logger.info("Input cannot be split into whole frames, decompressing the rest sequentially");
+
+		sequential = new ReadAheadInputStream(openSequential(new SequenceInputStream(Collections.enumeration(remaining))),
+				threadName);
+	}
+
+	// segments already decoded, near zero when the parse waits on the decoders
+	private int countDecoded()
+	{
+		int result = 0;
+
+		for (Segment segment : inFlight)
+		{
+			if (segment.output.isDone())
+			{
+				result++;
+			}
+		}
+
+		return result;
+	}
+
+	// false at end of stream, true with data in current or once reading from the sequential stream
+	private boolean ensureData() throws IOException
+	{
+		boolean result = true;
+
+		while (result && sequential == null && position == current.length)
+		{
+			fillPipeline();
+
+			ParseMetrics.getInstance().recordQueueDepth(queueName, countDecoded());
+
+			Segment next = inFlight.poll();
+
+			if (next == null)
+			{
+				if (unsegmented)
+				{
+					switchToSequential(null);
+				}
+				else
+				{
+					result = false;
+				}
+			}
+			else
+			{
+				try
+				{
+					current = next.output.get();
+					position = 0;
+				}
+				catch (InterruptedException ie)
+				{
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException("Interrupted while decompressing");
+				}
+				catch (ExecutionException ee)
+				{
+					Throwable cause = ee.getCause();
+
+					if (cause instanceof SegmentBoundaryException)
+					{
+						switchToSequential(next);
+					}
+					else
+					{
+						throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+					}
+				}
+			}
+		}
+
+		return result;
+	}
+
+	@Override
+	public int read() throws IOException
+	{
+		int result = -1;
+
+		if (ensureData())
+		{
+			result = sequential != null ? sequential.read() : (current[position++] & 0xFF);
+		}
+
+		return result;
+	}
+
+	@Override
+	public int read(byte[] buffer, int offset, int length) throws IOException
+	{
+		int result = -1;
+
+		if (length == 0)
+		{
+			result = 0;
+		}
+		else if (ensureData())
+		{
+			if (sequential != null)
+			{
+				result = sequential.read(buffer, offset, length);
+			}
+			else
+			{
+				result = Math.min(length, current.length - position);
+
+				System.arraycopy(current, position, buffer, offset, result);
+
+				position += result;
+			}
+		}
+
+		return result;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		for (Segment segment : inFlight)
+		{
+			segment.output.cancel(true);
+		}
+
+		inFlight.clear();
+
+		executor.shutdownNow();
+
+		try
+		{
+			if (sequential != null)
+			{
+				sequential.close();
+			}
+		}
+		finally
+		{
+			source.close();
+		}
+	}
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+import org.adoptopenjdk.jitwatch.metrics.ParseMetrics;
+
+// Decompresses multi-member gzip (bgzip, pigz --independent, concatenated files) in parallel.
+// gzip has no member index so segments are cut at bytes that look like a member header and a
+// segment only counts once its members end exactly at its end with their CRC and size checked.
+// A single member gzip never finds a cut and is inflated sequentially.
+public class ParallelGzipInputStream extends ParallelFrameInputStream
+{
+	private static final int GZIP_MAGIC_1 = 0x1F;
+	private static final int GZIP_MAGIC_2 = 0x8B;
+	private static final int CM_DEFLATE = 8;
+
+	private static final int FLG_FHCRC = 2;
+	private static final int FLG_FEXTRA = 4;
+	private static final int FLG_FNAME = 8;
+	private static final int FLG_FCOMMENT = 16;
+	private static final int FLG_RESERVED = 0xE0;
+
+	private static final int OS_UNKNOWN = 255;
+	private static final int OS_MAX_DEFINED = 13;
+
+	private static final int FIXED_HEADER_LENGTH = 10;
+	private static final int TRAILER_LENGTH = 8;
+
+	private static final int SCAN_LENGTH = 64 * 1024;
+
+	private static final int INFLATE_BUFFER_SIZE = 64 * 1024;
+
+	public ParallelGzipInputStream(InputStream source, int threads)
+	{
+		super(source, threads, "JITWatch gzip inflater", ParseMetrics.QUEUE_PARALLEL_GZIP);
+	}
+
+	private static int readShortLE(byte[] bytes, int offset)
+	{
+		return (bytes[offset] & 0xFF) | ((bytes[offset + 1] & 0xFF) << 8);
+	}
+
+	private static int readIntLE(byte[] bytes, int offset)
+	{
+		return readShortLE(bytes, offset) | (readShortLE(bytes, offset + 2) << 16);
+	}
+
+	// a fixed member header with only defined flags, extra flags and OS values
+	private static boolean isMemberStart(byte[] bytes, int offset)
+	{
+		boolean result = false;
+
+		if ((bytes[offset] & 0xFF) == GZIP_MAGIC_1 && (bytes[offset + 1] & 0xFF) == GZIP_MAGIC_2
+				&& bytes[offset + 2] == CM_DEFLATE && (bytes[offset + 3] & FLG_RESERVED) == 0)
+		{
+			int extraFlags = bytes[offset + 8];
+			int os = bytes[offset + 9] & 0xFF;
+
+			result = (extraFlags == 0 || extraFlags == 2 || extraFlags == 4) && (os <= OS_MAX_DEFINED || os == OS_UNKNOWN);
+		}
+
+		return result;
+	}
+
+	@Override
+	protected int findSegmentEnd() throws IOException
+	{
+		int result = -1;
+
+		if (!ensureBuffered(TARGET_SEGMENT_SIZE))
+		{
+			// the rest of the input
+			result = getBuffered();
+		}
+		else
+		{
+			int scanFrom = TARGET_SEGMENT_SIZE;
+
+			while (result == -1 && scanFrom < MAX_SEGMENT_SIZE)
+			{
+				boolean more = ensureBuffered(Math.min(scanFrom + SCAN_LENGTH, MAX_SEGMENT_SIZE) + FIXED_HEADER_LENGTH);
+
+				byte[] bytes = getBuffer();
+
+				int scanTo = getBuffered() - FIXED_HEADER_LENGTH;
+
+				for (int i = scanFrom; i < scanTo; i++)
+				{
+					if (isMemberStart(bytes, i))
+					{
+						result = i;
+						break;
+					}
+				}
+
+				if (result == -1 && !more)
+				{
+					// no member starts in the last few bytes
+					result = getBuffered();
+				}
+
+				scanFrom = Math.max(scanFrom, scanTo);
+			}
+		}
+
+		return result;
+	}
+
+	// offset of the deflate data of the member starting at offset
+	private static int skipHeader(byte[] segment, int offset) throws SegmentBoundaryException
+	{
+		if (offset + FIXED_HEADER_LENGTH > segment.length || !isMemberStart(segment, offset))
+		{
+			throw new SegmentBoundaryException("No gzip member header at " + offset);
+		}
+
+		int flags = segment[offset + 3];
+
+		int position = offset + FIXED_HEADER_LENGTH;
+
+		if ((flags & FLG_FEXTRA) != 0)
+		{
+			position += (position + 2 <= segment.length) ? 2 + readShortLE(segment, position) : 2;
+		}
+
+		if ((flags & FLG_FNAME) != 0)
+		{
+			position = skipZeroTerminated(segment, position);
+		}
+
+		if ((flags & FLG_FCOMMENT) != 0)
+		{
+			position = skipZeroTerminated(segment, position);
+		}
+
+		if ((flags & FLG_FHCRC) != 0)
+		{
+			position += 2;
+		}
+
+		if (position > segment.length)
+		{
+			throw new SegmentBoundaryException("gzip member header runs past the segment");
+		}
+
+		return position;
+	}
+
+	private static int skipZeroTerminated(byte[] segment, int position)
+	{
+		int result = position;
+
+		while (result < segment.length && segment[result] != 0)
+		{
+			result++;
+		}
+
+		return result + 1;
+	}
+
+	@Override
+	protected byte[] decodeSegment(byte[] segment) throws IOException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream(segment.length * 4);
+
+		byte[] chunk = new byte[INFLATE_BUFFER_SIZE];
+
+		Inflater inflater = new Inflater(true);
+
+		CRC32 crc = new CRC32();
+
+		try
+		{
+			int offset = 0;
+
+			while (offset < segment.length)
+			{
+				int dataOffset = skipHeader(segment, offset);
+
+				inflater.reset();
+				inflater.setInput(segment, dataOffset, segment.length - dataOffset);
+
+				crc.reset();
+
+				long size = 0;
+
+				while (!inflater.finished())
+				{
+					int count = inflater.inflate(chunk);
+
+					if (count == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+					{
+						throw new SegmentBoundaryException("gzip member runs past the segment");
+					}
+
+					crc.update(chunk, 0, count);
+
+					out.write(chunk, 0, count);
+
+					size += count;
+				}
+
+				int trailer = segment.length - inflater.getRemaining();
+
+				if (trailer + TRAILER_LENGTH > segment.length || readIntLE(segment, trailer) != (int) crc.getValue()
+						|| readIntLE(segment, trailer + 4) != (int) size)
+				{
+					throw new SegmentBoundaryException("gzip member trailer does not match its data");
+				}
+
+				offset = trailer + TRAILER_LENGTH;
+			}
+		}
+		catch (DataFormatException dfe)
+		{
+			// a cut inside deflate data, or a corrupt file which the sequential stream reports
+			throw new SegmentBoundaryException("Segment does not start with a gzip member", dfe);
+		}
+		finally
+		{
+			inflater.end();
+		}
+
+		return out.toByteArray();
+	}
+
+	@Override
+	protected InputStream openSequential(InputStream remaining) throws IOException
+	{
+		return new GZIPInputStream(remaining, INFLATE_BUFFER_SIZE);
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.adoptopenjdk.jitwatch.metrics.ParseMetrics;
+
+import com.github.luben.zstd.ZstdInputStream;
+
+// Decompresses multi-frame zstd (pzstd, zstd --split, concatenated files) in parallel.
+// Frame ends are found from the frame and block headers without decompressing.
+// A frame larger than MAX_SEGMENT_SIZE, as zstd writes by default, is decompressed sequentially.
+public class ParallelZstdInputStream extends ParallelFrameInputStream
+{
+	private static final int ZSTD_MAGIC = 0xFD2FB528;
+
+	private static final int SKIPPABLE_MAGIC = 0x184D2A50;
+	private static final int SKIPPABLE_MAGIC_MASK = 0xFFFFFFF0;
+
+	private static final int MAGIC_LENGTH = 4;
+	private static final int SKIPPABLE_HEADER_LENGTH = 8;
+	private static final int BLOCK_HEADER_LENGTH = 3;
+	private static final int CHECKSUM_LENGTH = 4;
+
+	private static final int FHD_RESERVED = 0x08;
+	private static final int FHD_CHECKSUM = 0x04;
+	private static final int FHD_SINGLE_SEGMENT = 0x20;
+
+	private static final int[] DICTIONARY_ID_LENGTHS = { 0, 1, 2, 4 };
+
+	private static final int BLOCK_TYPE_RLE = 1;
+	private static final int BLOCK_TYPE_RESERVED = 3;
+
+	public ParallelZstdInputStream(InputStream source, int threads)
+	{
+		super(source, threads, "JITWatch zstd decoder", ParseMetrics.QUEUE_PARALLEL_ZSTD);
+	}
+
+	private static int readIntLE(byte[] bytes, int offset)
+	{
+		return (bytes[offset] & 0xFF) | ((bytes[offset + 1] & 0xFF) << 8) | ((bytes[offset + 2] & 0xFF) << 16)
+				| ((bytes[offset + 3] & 0xFF) << 24);
+	}
+
+	@Override
+	protected int findSegmentEnd() throws IOException
+	{
+		int result = 0;
+
+		while (result < TARGET_SEGMENT_SIZE && ensureBuffered(result + 1))
+		{
+			int frameLength = measureFrame(result);
+
+			if (frameLength == -1)
+			{
+				// the frames before it make a segment, the next call finds none
+				result = result > 0 ? result : -1;
+				break;
+			}
+
+			result += frameLength;
+		}
+
+		return result;
+	}
+
+	// length of the whole frame starting at offset or -1 if it is not buffered within MAX_SEGMENT_SIZE or is malformed
+	private int measureFrame(int start) throws IOException
+	{
+		int result = -1;
+
+		if (ensureBuffered(start + SKIPPABLE_HEADER_LENGTH))
+		{
+			byte[] bytes = getBuffer();
+
+			int magic = readIntLE(bytes, start);
+
+			if ((magic & SKIPPABLE_MAGIC_MASK) == SKIPPABLE_MAGIC)
+			{
+				long length = SKIPPABLE_HEADER_LENGTH + (readIntLE(bytes, start + MAGIC_LENGTH) & 0xFFFFFFFFL);
+
+				if (length <= MAX_SEGMENT_SIZE && ensureBuffered(start + (int) length))
+				{
+					result = (int) length;
+				}
+			}
+			else if (magic == ZSTD_MAGIC)
+			{
+				result = measureCompressedFrame(start, bytes[start + MAGIC_LENGTH] & 0xFF);
+			}
+		}
+
+		return result;
+	}
+
+	private int measureCompressedFrame(int start, int descriptor) throws IOException
+	{
+		int result = -1;
+
+		if ((descriptor & FHD_RESERVED) == 0)
+		{
+			boolean singleSegment = (descriptor & FHD_SINGLE_SEGMENT) != 0;
+
+			int contentSizeFlag = descriptor >>> 6;
+
+			int contentSizeLength = contentSizeFlag == 0 ? (singleSegment ? 1 : 0) : 1 << contentSizeFlag;
+
+			int position = start + MAGIC_LENGTH + 1 + (singleSegment ? 0 : 1) + DICTIONARY_ID_LENGTHS[descriptor & 3]
+					+ contentSizeLength;
+
+			boolean lastBlock = false;
+			boolean malformed = false;
+
+			while (!lastBlock && !malformed)
+			{
+				if (position - start > MAX_SEGMENT_SIZE || !ensureBuffered(position + BLOCK_HEADER_LENGTH))
+				{
+					malformed = true;
+				}
+				else
+				{
+					byte[] bytes = getBuffer();
+
+					int blockHeader = (bytes[position] & 0xFF) | ((bytes[position + 1] & 0xFF) << 8)
+							| ((bytes[position + 2] & 0xFF) << 16);
+
+					int blockType = (blockHeader >>> 1) & 3;
+
+					lastBlock = (blockHeader & 1) != 0;
+					malformed = blockType == BLOCK_TYPE_RESERVED;
+
+					position += BLOCK_HEADER_LENGTH + (blockType == BLOCK_TYPE_RLE ? 1 : blockHeader >>> 3);
+				}
+			}
+
+			if ((descriptor & FHD_CHECKSUM) != 0)
+			{
+				position += CHECKSUM_LENGTH;
+			}
+
+			if (!malformed && position - start <= MAX_SEGMENT_SIZE && ensureBuffered(position))
+			{
+				result = position - start;
+			}
+		}
+
+		return result;
+	}
+
+	@Override
+	protected byte[] decodeSegment(byte[] segment) throws IOException
+	{
+		try (InputStream in = new ZstdInputStream(new ByteArrayInputStream(segment)))
+		{
+			return in.readAllBytes();
+		}
+	}
+
+	@Override
+	protected InputStream openSequential(InputStream remaining) throws IOException
+	{
+		return new ZstdInputStream(remaining);
+	}
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.adoptopenjdk.jitwatch.metrics.ParseMetrics;
+
+// Reads the source stream on a background thread into a bounded queue of chunks
+// so an expensive source (a decompressor) runs concurrently with the consumer.
+public class ReadAheadInputStream extends InputStream
+{
+	private static final int CHUNK_SIZE = 256 * 1024;
+
+	private static final int MAX_QUEUED_CHUNKS = 16;
+
+	private static final byte[] END_OF_STREAM = new byte[0];
+
+	private final InputStream source;
+
+	private final BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<>(MAX_QUEUED_CHUNKS);
+
+	private final Thread readerThread;
+
+	private volatile IOException readerException;
+
+	private volatile boolean closed = false;
+
+	private byte[] current = null;
+	private int position = 0;
+
+	public ReadAheadInputStream(InputStream source, String threadName)
+	{
+		this.source = source;
+
+		readerThread = new Thread(this::readSource, threadName);
+		readerThread.setDaemon(true);
+		readerThread.start();
+	}
+
+	private void readSource()
+	{
+		try
+		{
+			while (!closed)
+			{
+				byte[] buffer = new byte[CHUNK_SIZE];
+
+				int filled = 0;
+
+				while (filled < buffer.length)
+				{
+					int read = source.read(buffer, filled, buffer.length - filled);
+
+					if (read == -1)
+					{
+						break;
+					}
+
+					filled += read;
+				}
+
+				if (filled > 0)
+				{
+					chunks.put(filled == buffer.length ? buffer : Arrays.copyOf(buffer, filled));
+				}
+
+				if (filled < buffer.length)
+				{
+					break;
+				}
+			}
+		}
+		catch (IOException ioe)
+		{
+			readerException = ioe;
+		}
+		catch (InterruptedException ie)
+		{
+			Thread.currentThread().interrupt();
+		}
+		finally
+		{
+			if (!closed)
+			{
+				try
+				{
+					chunks.put(END_OF_STREAM);
+				}
+				catch (InterruptedException ie)
+				{
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+	}
+
+	// false at end of stream
+	private boolean ensureChunk() throws IOException
+	{
+		if (current == END_OF_STREAM)
+		{
+			return false;
+		}
+
+		if (current == null || position == current.length)
+		{
+			// chunks already waiting, near zero when the parse waits on the disk
+			ParseMetrics.getInstance().recordQueueDepth(ParseMetrics.QUEUE_READ_AHEAD, chunks.size());
+
+			try
+			{
+				current = chunks.take();
+				position = 0;
+			}
+			catch (InterruptedException ie)
+			{
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while waiting for read ahead");
+			}
+
+			if (current == END_OF_STREAM && readerException != null)
+			{
+				throw readerException;
+			}
+		}
+
+		return current != END_OF_STREAM;
+	}
+
+	@Override
+	public int read() throws IOException
+	{
+		return ensureChunk() ? (current[position++] & 0xFF) : -1;
+	}
+
+	@Override
+	public int read(byte[] buffer, int offset, int length) throws IOException
+	{
+		int result = -1;
+
+		if (length == 0)
+		{
+			result = 0;
+		}
+		else if (ensureChunk())
+		{
+			result = Math.min(length, current.length - position);
+
+			System.arraycopy(current, position, buffer, offset, result);
+
+			position += result;
+		}
+
+		return result;
+	}
+
+	@Override
+	public int available()
+	{
+		return current != null && current != END_OF_STREAM ? current.length - position : 0;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		closed = true;
+
+		readerThread.interrupt();
+
+		chunks.clear();
+
+		// the source is not safe to close while the reader thread may be inside read()
+		try
+		{
+			readerThread.join();
+		}
+		catch (InterruptedException ie)
+		{
+			Thread.currentThread().interrupt();
+		}
+		finally
+		{
+			source.close();
+		}
+	}
+}
@@ -7,7 +7,7 @@ import org.adoptopenjdk.jitwatch.model.Compilation;
 import org.adoptopenjdk.jitwatch.model.IMetaMember;
 import org.adoptopenjdk.jitwatch.model.assembly.AssemblyBlock;
 import org.adoptopenjdk.jitwatch.model.assembly.AssemblyInstruction;
-import org.adoptopenjdk.jitwatch.model.assembly.AssemblyMethod;
+import org.adoptopenjdk.jitwatch.model.assembly.IAssemblyMethod;
 import org.adoptopenjdk.jitwatch.util.StringUtil;
 
 import java.util.ArrayList;
@@ -78,7 +78,7 @@ public class AssemblyTextBuilder
 
         if (compilation != null)
         {
-            AssemblyMethod asmMethod = compilation.getAssembly();
+            IAssemblyMethod asmMethod = compilation.getAssembly();
 
             if (asmMethod != null)
             {
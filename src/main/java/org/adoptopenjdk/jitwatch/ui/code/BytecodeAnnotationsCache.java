@@ -0,0 +1,249 @@
+package org.adoptopenjdk.jitwatch.ui.code;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
+import org.adoptopenjdk.jitwatch.model.bytecode.BytecodeAnnotationBuilder;
+import org.adoptopenjdk.jitwatch.model.bytecode.BytecodeAnnotationList;
+import org.adoptopenjdk.jitwatch.model.bytecode.BytecodeAnnotations;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Annotations built on first request per (member, compilation), the least recently used dropped past MAX_WEIGHT annotated lines
+public class BytecodeAnnotationsCache
+{
+    private static final Logger LOG = Logger.getInstance(BytecodeAnnotationsCache.class);
+
+    private static final int MAX_WEIGHT = 100_000;
+    private static final int WARM_UP_MEMBERS = 32;
+    private static final long WAIT_SLICE_MS = 50;
+    private static final int WARM_UP_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
+    private final Supplier<BytecodeAnnotationBuilder> builderFactory;
+
+    private final LinkedHashMap<Key, Entry> cache = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<Key, FutureTask<BytecodeAnnotations>> building = new ConcurrentHashMap<>();
+    private final ExecutorService warmUpExecutor = AppExecutorUtil.createBoundedApplicationPoolExecutor("JITWatch annotations",
+            WARM_UP_THREADS);
+
+    private long weight = 0;
+    private int generation = 0;
+
+    public BytecodeAnnotationsCache(Supplier<BytecodeAnnotationBuilder> builderFactory)
+    {
+        this.builderFactory = builderFactory;
+    }
+
+    public BytecodeAnnotations get(IMetaMember member, int compilationIndex, IReadOnlyJITDataModel model)
+    {
+        Key key = new Key(member, compilationIndex);
+        int buildGeneration;
+
+        synchronized (cache)
+        {
+            Entry entry = cache.get(key);
+            if (entry != null)
+            {
+                return entry.annotations;
+            }
+            buildGeneration = generation;
+        }
+
+        // callers asking for the same member while it is being built wait for that build
+        FutureTask<BytecodeAnnotations> task = new FutureTask<>(() -> build(member, compilationIndex, model));
+        FutureTask<BytecodeAnnotations> existing = building.putIfAbsent(key, task);
+
+        if (existing == null)
+        {
+            try
+            {
+                task.run();
+                BytecodeAnnotations annotations = task.get();
+                put(key, annotations, buildGeneration);
+                return annotations;
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            catch (ExecutionException e)
+            {
+                LOG.error("Failed to build annotations", e.getCause());
+                return null;
+            }
+            finally
+            {
+                building.remove(key, task);
+            }
+        }
+
+        try
+        {
+            while (true)
+            {
+                ProgressManager.checkCanceled();
+                try
+                {
+                    return existing.get(WAIT_SLICE_MS, TimeUnit.MILLISECONDS);
+                }
+                catch (TimeoutException e)
+                {
+                    // still building, look for cancellation again
+                }
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        catch (ExecutionException e)
+        {
+            return null;
+        }
+    }
+
+    private BytecodeAnnotations build(IMetaMember member, int compilationIndex, IReadOnlyJITDataModel model) throws Exception
+    {
+        if (!member.isCompiled())
+        {
+            return new BytecodeAnnotations();
+        }
+        return builderFactory.get().buildBytecodeAnnotations(member, compilationIndex, model);
+    }
+
+    private void put(Key key, BytecodeAnnotations annotations, int buildGeneration)
+    {
+        synchronized (cache)
+        {
+            // built against a model that has since been replaced
+            if (buildGeneration != generation)
+            {
+                return;
+            }
+
+            Entry entry = new Entry(annotations, weigh(annotations));
+            Entry previous = cache.put(key, entry);
+            if (previous != null)
+            {
+                weight -= previous.weight;
+            }
+            weight += entry.weight;
+
+            Iterator<Entry> iterator = cache.values().iterator();
+            while (weight > MAX_WEIGHT && cache.size() > 1 && iterator.hasNext())
+            {
+                weight -= iterator.next().weight;
+                iterator.remove();
+            }
+        }
+    }
+
+    private static int weigh(BytecodeAnnotations annotations)
+    {
+        int result = 1;
+        for (IMetaMember member : annotations.getMembers())
+        {
+            BytecodeAnnotationList list = annotations.getAnnotationList(member);
+            if (list != null)
+            {
+                result += list.annotatedLineCount();
+            }
+        }
+        return result;
+    }
+
+    // builds the annotations of the most often compiled members in the background
+    public void warmUp(Collection<IMetaMember> members, IReadOnlyJITDataModel model)
+    {
+        List<IMetaMember> hottest = new ArrayList<>();
+        for (IMetaMember member : members)
+        {
+            if (member.isCompiled())
+            {
+                hottest.add(member);
+            }
+        }
+
+        hottest.sort(Comparator.comparingInt((IMetaMember member) -> member.getCompilations().size())
+                .thenComparingInt(member -> member.getLastCompilation().getNativeSize())
+                .reversed());
+
+        for (IMetaMember member : hottest.subList(0, Math.min(WARM_UP_MEMBERS, hottest.size())))
+        {
+            warmUpExecutor.execute(() -> get(member, 0, model));
+        }
+    }
+
+    public void clear()
+    {
+        synchronized (cache)
+        {
+            cache.clear();
+            weight = 0;
+            generation++;
+        }
+    }
+
+    private static class Entry
+    {
+        private final BytecodeAnnotations annotations;
+        private final int weight;
+
+        Entry(BytecodeAnnotations annotations, int weight)
+        {
+            this.annotations = annotations;
+            this.weight = weight;
+        }
+    }
+
+    private static class Key
+    {
+        private final IMetaMember member;
+        private final int compilationIndex;
+
+        Key(IMetaMember member, int compilationIndex)
+        {
+            this.member = member;
+            this.compilationIndex = compilationIndex;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof Key))
+            {
+                return false;
+            }
+            Key other = (Key) o;
+            return compilationIndex == other.compilationIndex && member.equals(other.member);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(member, compilationIndex);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.adoptopenjdk.jitwatch.ui.code;
+
+import com.intellij.codeInsight.daemon.LineMarkerInfo;
+import com.intellij.codeInsight.daemon.LineMarkerProvider;
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.markup.GutterIconRenderer;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiComment;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiWhiteSpace;
+import com.intellij.util.text.CharArrayUtil;
+import org.adoptopenjdk.jitwatch.model.bytecode.BCAnnotationType;
+import org.adoptopenjdk.jitwatch.model.bytecode.LineAnnotation;
+
+import javax.swing.*;
+
+// Gutter icon on each source line with inlining, intrinsic, eliminated allocation or uncommon trap annotations
+public class JitLineMarkerProvider implements LineMarkerProvider
+{
+    @Override
+    public LineMarkerInfo<?> getLineMarkerInfo(PsiElement element)
+    {
+        // one marker per line, on its first leaf
+        if (element.getFirstChild() != null || element instanceof PsiWhiteSpace || element instanceof PsiComment)
+        {
+            return null;
+        }
+
+        JitWatchModelService modelService = JitWatchModelService.getInstance(element.getProject());
+        if (modelService.getModel() == null)
+        {
+            return null;
+        }
+
+        PsiFile psiFile = element.getContainingFile();
+        Document document = psiFile != null ? PsiDocumentManager.getInstance(element.getProject()).getDocument(psiFile) : null;
+        if (document == null)
+        {
+            return null;
+        }
+
+        int offset = element.getTextRange().getStartOffset();
+        int line = document.getLineNumber(offset);
+        if (CharArrayUtil.shiftForward(document.getCharsSequence(), document.getLineStartOffset(line), " \t") != offset)
+        {
+            return null;
+        }
+
+        LineAnnotation[] annotations = modelService.getSourceLineAnnotations(psiFile).getAnnotations(line);
+        if (annotations.length == 0)
+        {
+            return null;
+        }
+
+        String tooltip = buildTooltip(annotations);
+        return new LineMarkerInfo<>(element, element.getTextRange(), getIcon(annotations), e -> tooltip, null,
+                GutterIconRenderer.Alignment.LEFT, () -> "JIT annotations");
+    }
+
+    private static Icon getIcon(LineAnnotation[] annotations)
+    {
+        boolean inlineFail = false;
+        boolean inlineSuccess = false;
+
+        for (LineAnnotation annotation : annotations)
+        {
+            BCAnnotationType type = annotation.getType();
+            if (type == BCAnnotationType.UNCOMMON_TRAP)
+            {
+                return AllIcons.General.Warning;
+            }
+            inlineFail |= type == BCAnnotationType.INLINE_FAIL;
+            inlineSuccess |= type == BCAnnotationType.INLINE_SUCCESS;
+        }
+
+        if (inlineFail)
+        {
+            return AllIcons.General.Error;
+        }
+        return inlineSuccess ? AllIcons.General.InspectionsOK : AllIcons.General.Information;
+    }
+
+    private static String buildTooltip(LineAnnotation[] annotations)
+    {
+        StringBuilder builder = new StringBuilder("<html>");
+        for (int i = 0; i < annotations.length; i++)
+        {
+            if (i > 0)
+            {
+                builder.append("<br>");
+            }
+            builder.append(StringUtil.escapeXmlEntities(annotations[i].getAnnotation()));
+        }
+        return builder.append("</html>").toString();
+    }
+}
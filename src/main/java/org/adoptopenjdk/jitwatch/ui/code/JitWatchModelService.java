@@ -2,7 +2,7 @@ package org.adoptopenjdk.jitwatch.ui.code;
 
 import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
 import com.intellij.openapi.application.ApplicationManager;
-import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleUtil;
 import com.intellij.openapi.project.Project;
@@ -10,11 +10,15 @@ import com.intellij.openapi.projectRoots.JavaSdk;
 import com.intellij.openapi.roots.CompilerModuleExtension;
 import com.intellij.openapi.roots.ModuleRootManager;
 import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.SimpleModificationTracker;
 import com.intellij.openapi.util.SystemInfo;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
-import com.intellij.util.containers.ContainerUtil;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import org.adoptopenjdk.jitwatch.core.JITWatchConstants;
 import org.adoptopenjdk.jitwatch.model.IMetaMember;
 import org.adoptopenjdk.jitwatch.model.IParseDictionary;
@@ -32,19 +36,22 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.adoptopenjdk.jitwatch.ui.code.languages.JitWatchLanguageSupportUtil.LanguageSupport;
 
 public class JitWatchModelService
 {
-    private static final Logger LOG = Logger.getInstance(JitWatchModelService.class);
     public static final String SOURCES_JAR_APPENDIX = "-sources.jar";
 
     private final Project project;
     private IReadOnlyJITDataModel model = null;
-    private final Map<MetaClass, Map<IMetaMember, BytecodeAnnotations>> bytecodeAnnotations = new HashMap<>();
+    private final BytecodeAnnotationsCache bytecodeAnnotations = new BytecodeAnnotationsCache(IJBytecodeAnnotationBuilder::new);
     private final List<JitWatchLanguageSupport<PsiElement, PsiElement>> allLanguages = JitWatchLanguageSupportUtil.getAllSupportedLanguages();
     private final List<Runnable> updateListeners = new ArrayList<>();
+    private final Map<MetaClass, MemberSignatureIndex> signatureIndexes = new ConcurrentHashMap<>();
+    // changes when the model or any loaded class bytecode changes
+    private final SimpleModificationTracker annotationsTracker = new SimpleModificationTracker();
 
     public JitWatchModelService(Project project)
     {
@@ -64,6 +71,9 @@ public class JitWatchModelService
     public void setParserResult(ILogParser parser)
     {
         model = parser != null ? parser.getModel(): null;
+        signatureIndexes.clear();
+        bytecodeAnnotations.clear();
+        annotationsTracker.incModificationCount();
 
         SwingUtilities.invokeLater(() ->
         {
@@ -120,7 +130,7 @@ public class JitWatchModelService
             return null;
         }
 
-        return ContainerUtil.find(metaClass.getMetaMembers(), metaMember -> methodMatchesSignature(method, new PsiMetaMemberWrapper(metaMember)));
+        return getSignatureIndex(containingClass, metaClass, languageSupport).getMetaMember(method);
     }
 
     public PsiElement getPsiMember(IMetaMember metaMember)
@@ -142,15 +152,19 @@ public class JitWatchModelService
             return null;
         }
 
-        List<PsiElement> allMethods = languageSupport.getAllMethods(psiClass);
-        return ContainerUtil.find(allMethods, psiMethod -> methodMatchesSignature(psiMethod, new PsiMetaMemberWrapper(metaMember)));
+        return getSignatureIndex(psiClass, metaMember.getMetaClass(), languageSupport).getPsiMember(metaMember);
     }
 
-    private boolean methodMatchesSignature(PsiElement method, PsiMetaMemberWrapper metaMemberWrapper)
+    private MemberSignatureIndex getSignatureIndex(PsiElement psiClass, MetaClass metaClass,
+                                                   JitWatchLanguageSupport<PsiElement, PsiElement> languageSupport)
     {
-        JitWatchLanguageSupport<PsiElement, PsiElement> languageSupport = LanguageSupport.forLanguage(method.getLanguage());
-        return languageSupport.matchesSignature(method, metaMemberWrapper.getMemberName(),
-                metaMemberWrapper.getParamTypeNames(), metaMemberWrapper.getReturnTypeName());
+        MemberSignatureIndex index = signatureIndexes.get(metaClass);
+        if (index == null || !index.isUpToDate(psiClass, metaClass))
+        {
+            index = MemberSignatureIndex.build(psiClass, metaClass, languageSupport);
+            signatureIndexes.put(metaClass, index);
+        }
+        return index;
     }
 
     public PsiElement getPsiClass(MetaClass metaClass)
@@ -177,7 +191,11 @@ public class JitWatchModelService
         {
             ApplicationManager.getApplication().runReadAction(() -> loadBytecode(file));
 
-            SwingUtilities.invokeLater(callback);
+            SwingUtilities.invokeLater(() ->
+            {
+                DaemonCodeAnalyzer.getInstance(project).restart(file);
+                callback.run();
+            });
         });
     }
 
@@ -237,7 +255,6 @@ public class JitWatchModelService
         List<PsiElement> allClasses = languageSupport.getAllClasses(file);
         for (PsiElement cls : allClasses)
         {
-            Map<IMetaMember, BytecodeAnnotations> memberAnnotations = new HashMap<>();
             MetaClass metaClass = ApplicationManager.getApplication().runReadAction((Computable<MetaClass>) () -> getMetaClass(cls));
             if (metaClass == null)
             {
@@ -245,9 +262,23 @@ public class JitWatchModelService
             }
 
             metaClass.getClassBytecode(model, classLocations, javapPath);
-            buildAllBytecodeAnnotations(metaClass, memberAnnotations);
-            bytecodeAnnotations.put(metaClass, memberAnnotations);
+            bytecodeAnnotations.warmUp(metaClass.getMetaMembers(), model);
         }
+
+        annotationsTracker.incModificationCount();
+    }
+
+    // edits within the existing lines keep the annotations, they only come from the bytecode
+    public SourceLineAnnotations getSourceLineAnnotations(PsiFile psiFile)
+    {
+        return CachedValuesManager.getCachedValue(psiFile, () ->
+        {
+            Document document = PsiDocumentManager.getInstance(project).getDocument(psiFile);
+            int lineCount = document != null ? document.getLineCount() : 0;
+            SourceLineAnnotations annotations = SourceLineAnnotations.build(this, psiFile, lineCount);
+            ModificationTracker lineCountTracker = document != null ? document::getLineCount : ModificationTracker.NEVER_CHANGED;
+            return CachedValueProvider.Result.create(annotations, annotationsTracker, lineCountTracker);
+        });
     }
 
     private Path findJavapPath(Module module)
@@ -273,22 +304,6 @@ public class JitWatchModelService
         return Files.isRegularFile(result) ? result : null;
     }
 
-    private void buildAllBytecodeAnnotations(MetaClass metaClass, Map<IMetaMember, BytecodeAnnotations> target)
-    {
-        for (IMetaMember metaMember : metaClass.getMetaMembers())
-        {
-            try
-            {
-                BytecodeAnnotations annotations = new IJBytecodeAnnotationBuilder().buildBytecodeAnnotations(metaMember, 0, model);
-                target.put(metaMember, annotations);
-            }
-            catch (Exception e)
-            {
-                LOG.error("Failed to build annotations", e);
-            }
-        }
-    }
-
     public void processBytecodeAnnotations(PsiFile psiFile, Callback5<PsiElement, IMetaMember, MemberBytecode, BytecodeInstruction, List<LineAnnotation>> callback)
     {
         JitWatchLanguageSupport<PsiElement, PsiElement> languageSupport = LanguageSupport.forLanguage(psiFile.getLanguage());
@@ -310,25 +325,17 @@ public class JitWatchModelService
                 continue;
             }
 
-            Map<IMetaMember, BytecodeAnnotations> classAnnotations = bytecodeAnnotations.get(metaClass);
-            if (classAnnotations == null)
-            {
-                continue;
-            }
-
+            MemberSignatureIndex signatureIndex = getSignatureIndex(cls, metaClass, languageSupport);
             List<PsiElement> allMethods = languageSupport.getAllMethods(cls);
             for (PsiElement method : allMethods)
             {
-                IMetaMember member = classAnnotations.keySet().stream()
-                        .filter(metaMember -> methodMatchesSignature(method, new PsiMetaMemberWrapper(metaMember)))
-                        .findFirst()
-                        .orElse(null);
+                IMetaMember member = signatureIndex.getMetaMember(method);
                 if (member == null)
                 {
                     continue;
                 }
 
-                BytecodeAnnotations annotations = classAnnotations.get(member);
+                BytecodeAnnotations annotations = bytecodeAnnotations.get(member, 0, model);
                 if (annotations == null)
                 {
                     continue;
@@ -358,34 +365,37 @@ public class JitWatchModelService
         }
     }
 
-    public void processMemberBytecodeAnnotations(IMetaMember member,
-                                                 Callback5<PsiElement, IMetaMember, MemberBytecode, BytecodeInstruction, List<LineAnnotation>> callback)
+    // annotations are built on a pooled thread, the callback is called on the EDT
+    public void processMemberBytecodeAnnotationsAsync(IMetaMember member,
+                                                      Callback5<PsiElement, IMetaMember, MemberBytecode, BytecodeInstruction, List<LineAnnotation>> callback)
     {
-        ClassBC classBytecode = member.getMetaClass().getClassBytecode();
-        if (classBytecode == null)
+        ApplicationManager.getApplication().executeOnPooledThread(() ->
         {
-            return;
-        }
-
-        Map<IMetaMember, BytecodeAnnotations> classAnnotations = bytecodeAnnotations.get(member.getMetaClass());
+            ClassBC classBytecode = member.getMetaClass().getClassBytecode();
+            if (classBytecode == null)
+            {
+                return;
+            }
 
-        if (classAnnotations == null)
-        {
-            return;
-        }
+            BytecodeAnnotations annotations = bytecodeAnnotations.get(member, 0, model);
+            if (annotations == null)
+            {
+                return;
+            }
 
-        BytecodeAnnotations annotations = classAnnotations.get(member);
-        if (annotations == null)
-        {
-            return;
-        }
+            MemberBytecode memberBytecode = classBytecode.getMemberBytecode(member);
+            if (memberBytecode == null)
+            {
+                return;
+            }
 
-        MemberBytecode memberBytecode =  classBytecode.getMemberBytecode(member);
-        if (memberBytecode == null)
-        {
-            return;
-        }
+            SwingUtilities.invokeLater(() -> processMemberBytecodeAnnotations(member, memberBytecode, annotations, callback));
+        });
+    }
 
+    private void processMemberBytecodeAnnotations(IMetaMember member, MemberBytecode memberBytecode, BytecodeAnnotations annotations,
+                                                  Callback5<PsiElement, IMetaMember, MemberBytecode, BytecodeInstruction, List<LineAnnotation>> callback)
+    {
         PsiElement psiMember = getPsiMember(member);
         for (IMetaMember memberWithAnnot : annotations.getMembers())
         {
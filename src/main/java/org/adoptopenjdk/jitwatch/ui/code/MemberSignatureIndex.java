@@ -0,0 +1,101 @@
+package org.adoptopenjdk.jitwatch.ui.code;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.MetaClass;
+import org.adoptopenjdk.jitwatch.ui.code.languages.JitWatchLanguageSupport;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+// PSI methods of one class paired with its MetaClass members by source level name(params)return,
+// stale once the file changes or members are added to the MetaClass
+public class MemberSignatureIndex
+{
+    private final PsiElement psiClass;
+    private final long modificationStamp;
+    private final int memberCount;
+
+    private final Map<String, IMetaMember> membersBySignature = new HashMap<>();
+    private final Map<String, SmartPsiElementPointer<PsiElement>> psiBySignature = new HashMap<>();
+    private final Map<PsiElement, String> signaturesByPsi = new HashMap<>();
+
+    private MemberSignatureIndex(PsiElement psiClass, long modificationStamp, int memberCount)
+    {
+        this.psiClass = psiClass;
+        this.modificationStamp = modificationStamp;
+        this.memberCount = memberCount;
+    }
+
+    public static MemberSignatureIndex build(PsiElement psiClass, MetaClass metaClass,
+                                             JitWatchLanguageSupport<PsiElement, PsiElement> languageSupport)
+    {
+        List<IMetaMember> metaMembers = metaClass.getMetaMembers();
+
+        MemberSignatureIndex index = new MemberSignatureIndex(psiClass, getModificationStamp(psiClass), metaMembers.size());
+
+        List<PsiMetaMemberWrapper> unmatched = new ArrayList<>();
+        for (IMetaMember metaMember : metaMembers)
+        {
+            unmatched.add(new PsiMetaMemberWrapper(metaMember));
+        }
+
+        SmartPointerManager pointerManager = SmartPointerManager.getInstance(psiClass.getProject());
+
+        for (PsiElement method : languageSupport.getAllMethods(psiClass))
+        {
+            Iterator<PsiMetaMemberWrapper> iterator = unmatched.iterator();
+            while (iterator.hasNext())
+            {
+                PsiMetaMemberWrapper wrapper = iterator.next();
+                if (languageSupport.matchesSignature(method, wrapper.getMemberName(), wrapper.getParamTypeNames(),
+                        wrapper.getReturnTypeName()))
+                {
+                    String signatureKey = wrapper.getSignatureKey();
+                    index.membersBySignature.put(signatureKey, wrapper.getMember());
+                    index.psiBySignature.put(signatureKey, pointerManager.createSmartPsiElementPointer(method));
+                    index.signaturesByPsi.put(method, signatureKey);
+                    iterator.remove();
+                    break;
+                }
+            }
+        }
+        return index;
+    }
+
+    private static long getModificationStamp(PsiElement psiClass)
+    {
+        PsiFile file = psiClass.getContainingFile();
+        return file != null ? file.getModificationStamp() : -1;
+    }
+
+    // members are only ever appended to a MetaClass so a different count means new members
+    public boolean isUpToDate(PsiElement psiClass, MetaClass metaClass)
+    {
+        return this.psiClass == psiClass && psiClass.isValid() && modificationStamp == getModificationStamp(psiClass)
+                && memberCount == metaClass.getMemberCount();
+    }
+
+    public PsiElement getPsiClass()
+    {
+        return psiClass;
+    }
+
+    public IMetaMember getMetaMember(PsiElement method)
+    {
+        String signatureKey = signaturesByPsi.get(method);
+        return signatureKey != null ? membersBySignature.get(signatureKey) : null;
+    }
+
+    public PsiElement getPsiMember(IMetaMember metaMember)
+    {
+        SmartPsiElementPointer<PsiElement> pointer = psiBySignature.get(PsiMetaMemberWrapper.getSignatureKey(metaMember));
+        return pointer != null ? pointer.getElement() : null;
+    }
+}
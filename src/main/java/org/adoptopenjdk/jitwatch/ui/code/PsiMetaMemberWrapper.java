@@ -16,6 +16,11 @@ public class PsiMetaMemberWrapper
         this.member = member;
     }
 
+    public IMetaMember getMember()
+    {
+        return member;
+    }
+
     public String getMemberName()
     {
         return member.getMemberName();
@@ -47,4 +52,28 @@ public class PsiMetaMemberWrapper
         }
         return returnTypeName;
     }
+
+    public String getSignatureKey()
+    {
+        return buildSignatureKey(getMemberName(), getParamTypeNames(), getReturnTypeName());
+    }
+
+    public static String getSignatureKey(IMetaMember member)
+    {
+        return new PsiMetaMemberWrapper(member).getSignatureKey();
+    }
+
+    private static String buildSignatureKey(String memberName, List<String> paramTypeNames, String returnTypeName)
+    {
+        StringBuilder builder = new StringBuilder(memberName).append('(');
+        for (int i = 0; i < paramTypeNames.size(); i++)
+        {
+            if (i > 0)
+            {
+                builder.append(',');
+            }
+            builder.append(paramTypeNames.get(i));
+        }
+        return builder.append(')').append(returnTypeName).toString();
+    }
 }
@@ -0,0 +1,79 @@
+package org.adoptopenjdk.jitwatch.ui.code;
+
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.psi.PsiFile;
+import org.adoptopenjdk.jitwatch.model.bytecode.BCAnnotationType;
+import org.adoptopenjdk.jitwatch.model.bytecode.LineAnnotation;
+import org.adoptopenjdk.jitwatch.model.bytecode.LineTable;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// The bytecode annotations of a source file moved onto the source lines they came from, indexed by document line
+public class SourceLineAnnotations
+{
+    public static final Set<BCAnnotationType> EDITOR_TYPES = EnumSet.of(BCAnnotationType.INLINE_SUCCESS,
+            BCAnnotationType.INLINE_FAIL, BCAnnotationType.INTRINSIC_USED, BCAnnotationType.ELIMINATED_ALLOCATION,
+            BCAnnotationType.UNCOMMON_TRAP);
+
+    private static final LineAnnotation[] NONE = new LineAnnotation[0];
+
+    private final LineAnnotation[][] annotationsByLine;
+
+    private SourceLineAnnotations(LineAnnotation[][] annotationsByLine)
+    {
+        this.annotationsByLine = annotationsByLine;
+    }
+
+    public static SourceLineAnnotations build(JitWatchModelService modelService, PsiFile psiFile, int lineCount)
+    {
+        Map<Integer, List<LineAnnotation>> lines = new HashMap<>();
+
+        modelService.processBytecodeAnnotations(psiFile, (method, member, memberBytecode, instruction, annotationsForBCI) ->
+        {
+            ProgressManager.checkCanceled();
+
+            LineTable lineTable = memberBytecode.getLineTable();
+            if (lineTable == null)
+            {
+                return;
+            }
+
+            // line tables count from 1, lines past the end come from inlined Kotlin functions
+            int line = lineTable.findSourceLineForBytecodeOffset(instruction.getOffset()) - 1;
+            if (line < 0 || line >= lineCount)
+            {
+                return;
+            }
+
+            for (LineAnnotation annotation : annotationsForBCI)
+            {
+                if (EDITOR_TYPES.contains(annotation.getType()))
+                {
+                    List<LineAnnotation> lineAnnotations = lines.computeIfAbsent(line, k -> new ArrayList<>());
+                    if (!lineAnnotations.contains(annotation))
+                    {
+                        lineAnnotations.add(annotation);
+                    }
+                }
+            }
+        });
+
+        LineAnnotation[][] annotationsByLine = new LineAnnotation[lineCount][];
+        for (Map.Entry<Integer, List<LineAnnotation>> entry : lines.entrySet())
+        {
+            annotationsByLine[entry.getKey()] = entry.getValue().toArray(NONE);
+        }
+        return new SourceLineAnnotations(annotationsByLine);
+    }
+
+    public LineAnnotation[] getAnnotations(int line)
+    {
+        LineAnnotation[] result = line >= 0 && line < annotationsByLine.length ? annotationsByLine[line] : null;
+        return result != null ? result : NONE;
+    }
+}
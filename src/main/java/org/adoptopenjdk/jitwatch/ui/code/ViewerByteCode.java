@@ -27,6 +27,7 @@ public class ViewerByteCode extends CodePanelBase
 {
     private final BytecodeTextBuilder bytecodeTextBuilder;
     private RangeHighlighter lineRangeHighlighter;
+    private IMetaMember annotatedMember;
 
     public ViewerByteCode(Project project)
     {
@@ -38,6 +39,7 @@ public class ViewerByteCode extends CodePanelBase
     public void setContentFromMember(IMetaMember member, boolean reload)
     {
         bytecodeTextBuilder.setCurrentMember(member);
+        annotatedMember = null;
 
         WriteCommandAction.runWriteCommandAction(getProject(), () ->
         {
@@ -65,8 +67,15 @@ public class ViewerByteCode extends CodePanelBase
         MarkupModel markupModel = DocumentMarkupModel.forDocument(getViewerDocument(), getProject(), true);
         markupModel.removeAllHighlighters();
 
-        getModelService().processMemberBytecodeAnnotations(member, (method, member1, memberBytecode, instruction, annotationsForBCI) ->
+        annotatedMember = member;
+
+        getModelService().processMemberBytecodeAnnotationsAsync(member, (method, member1, memberBytecode, instruction, annotationsForBCI) ->
         {
+            // another member was shown while the annotations were built
+            if (annotatedMember != member)
+            {
+                return;
+            }
             Integer line = bytecodeTextBuilder.findLine(member1, instruction.getOffset());
             if (line == null)
             {
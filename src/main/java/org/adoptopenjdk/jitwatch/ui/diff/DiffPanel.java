@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.ui.diff;
+
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.table.JBTable;
+import org.adoptopenjdk.jitwatch.diff.CompilationDiff;
+import org.adoptopenjdk.jitwatch.diff.DiffChange;
+import org.adoptopenjdk.jitwatch.diff.IJITDiffListener;
+import org.adoptopenjdk.jitwatch.diff.MemberDiff;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+// Shows the changes between the loaded log and another one as the diff finds them
+public class DiffPanel extends JPanel implements IJITDiffListener
+{
+    // the table is for browsing, LaunchHeadless --diff writes every change
+    private static final int MAX_ROWS = 10_000;
+
+    private static final String[] COLUMNS = { "Member", "Compilation", "Change", "Key", "Before", "After" };
+
+    private final DefaultTableModel tableModel;
+    private final JLabel lblSummary;
+
+    private final String title;
+
+    private int rowCount = 0;
+
+    public DiffPanel(String baseName, String changedName)
+    {
+        setLayout(new BorderLayout());
+
+        title = "Diff " + changedName;
+
+        tableModel = new DefaultTableModel(COLUMNS, 0)
+        {
+            @Override
+            public boolean isCellEditable(int row, int column)
+            {
+                return false;
+            }
+        };
+
+        JBTable tableView = new JBTable(tableModel);
+        tableView.setAutoCreateRowSorter(true);
+        tableView.getColumnModel().getColumn(0).setPreferredWidth(400);
+        tableView.getColumnModel().getColumn(3).setPreferredWidth(400);
+
+        lblSummary = new JLabel("Comparing " + baseName + " with " + changedName);
+
+        JPanel summaryPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        summaryPanel.add(lblSummary);
+
+        add(summaryPanel, BorderLayout.NORTH);
+        add(new JBScrollPane(tableView), BorderLayout.CENTER);
+    }
+
+    public String getTitle()
+    {
+        return title;
+    }
+
+    // called on the diff thread
+    @Override
+    public void handleMemberDiff(MemberDiff memberDiff)
+    {
+        List<Object[]> rows = new ArrayList<>();
+
+        for (CompilationDiff compilationDiff : memberDiff.getCompilationDiffs())
+        {
+            if (compilationDiff.isAdded())
+            {
+                rows.add(new Object[] { memberDiff.getMemberKey(), compilationDiff.getMatchKey(), "ADDED", "Native size", "",
+                        compilationDiff.getChanged().getNativeSize() });
+            }
+            else if (compilationDiff.isRemoved())
+            {
+                rows.add(new Object[] { memberDiff.getMemberKey(), compilationDiff.getMatchKey(), "REMOVED", "Native size",
+                        compilationDiff.getBase().getNativeSize(), "" });
+            }
+            else
+            {
+                for (DiffChange change : compilationDiff.getChanges())
+                {
+                    rows.add(new Object[] { memberDiff.getMemberKey(), compilationDiff.getMatchKey(), change.getType(),
+                            change.getKey(), change.getBefore(), change.getAfter() });
+                }
+            }
+        }
+
+        SwingUtilities.invokeLater(() ->
+        {
+            for (Object[] row : rows)
+            {
+                if (rowCount < MAX_ROWS)
+                {
+                    tableModel.addRow(row);
+                }
+
+                rowCount++;
+            }
+        });
+    }
+
+    @Override
+    public void handleDiffComplete(List<DiffChange> summaryChanges)
+    {
+        StringBuilder builder = new StringBuilder();
+
+        for (DiffChange change : summaryChanges)
+        {
+            builder.append(change.getKey()).append(": ").append(change.getBefore()).append(" -> ").append(change.getAfter())
+                    .append("   ");
+        }
+
+        SwingUtilities.invokeLater(() ->
+        {
+            String shown = rowCount > MAX_ROWS ? " (first " + MAX_ROWS + " of " + rowCount + " shown)" : "";
+
+            lblSummary.setText(rowCount + " changes" + shown + "   " + builder);
+        });
+    }
+}
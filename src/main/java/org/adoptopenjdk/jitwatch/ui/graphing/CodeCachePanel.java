@@ -10,7 +10,7 @@ import org.adoptopenjdk.jitwatch.model.Tag;
 import org.adoptopenjdk.jitwatch.ui.main.JITWatchUI;
 
 import java.awt.*;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
@@ -43,9 +43,9 @@ public class CodeCachePanel extends AbstractGraphPanel
 
         labelLeft = true;
 
-        List<CodeCacheEvent> codeCacheEvents = mainUI.getJITDataModel().getCodeCacheEvents();
+        List<CodeCacheEvent> codeCacheEvents = new ArrayList<>(mainUI.getJITDataModel().getCodeCacheEvents());
 
-        Collections.sort(codeCacheEvents, Comparator.comparingLong(CodeCacheEvent::getStamp));
+        codeCacheEvents.sort(Comparator.comparingLong(CodeCacheEvent::getStamp));
 
         if (!codeCacheEvents.isEmpty())
         {
@@ -13,7 +13,6 @@ import org.adoptopenjdk.jitwatch.ui.main.JITWatchUI;
 import javax.swing.*;
 import java.awt.*;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 public class HistoPanel extends JPanel
@@ -90,9 +89,7 @@ public class HistoPanel extends JPanel
                 return;
             }
 
-            List<Map.Entry<Long, Integer>> result = histo.getSortedData();
-
-            if (result.size() > 0)
+            if (histo.getTotalCount() > 0)
             {
                 minX = 0;
                 maxX = histo.getLastTime();
@@ -107,16 +104,23 @@ public class HistoPanel extends JPanel
 
                 Color colourLine = Color.RED;
 
-                for (Map.Entry<Long, Integer> entry : result)
+                g2d.setColor(colourLine);
+                g2d.setStroke(new BasicStroke(2.0f));
+
+                int bucketCount = histo.getBucketCount();
+
+                for (int i = 0; i < bucketCount; i++)
                 {
-                    long key = entry.getKey();
-                    int value = entry.getValue();
+                    long value = histo.getBucketFrequency(i);
+
+                    if (value == 0)
+                    {
+                        continue;
+                    }
 
-                    double x = graphGapLeft + normaliseX(key);
+                    double x = graphGapLeft + normaliseX(histo.getBucketValue(i));
                     double y = graphGapTop + normaliseY(value);
 
-                    g2d.setColor(colourLine);
-                    g2d.setStroke(new BasicStroke(2.0f));
                     g2d.drawLine((int) x, (int) (graphGapTop + chartHeight), (int) x, (int) y);
                 }
 
@@ -8,13 +8,12 @@ package org.adoptopenjdk.jitwatch.ui.graphing;
 import org.adoptopenjdk.jitwatch.model.IMetaMember;
 import org.adoptopenjdk.jitwatch.ui.main.JITWatchUI;
 import org.adoptopenjdk.jitwatch.model.Compilation;
-import org.adoptopenjdk.jitwatch.model.JITEvent;
+import org.adoptopenjdk.jitwatch.model.EventTimeIndex;
 import org.adoptopenjdk.jitwatch.model.JITStats;
 import org.adoptopenjdk.jitwatch.model.Tag;
 import org.adoptopenjdk.jitwatch.util.ParseUtil;
 
 import java.awt.*;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 
@@ -23,10 +22,8 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.*;
 public class TimeLinePanel extends AbstractGraphPanel
 {
     private IMetaMember selectedMember = null;
-    private int compilationIndex = 0;
     private static final int MARKET_DIAMETER = 10;
     private boolean labelLeft = true;
-    private boolean drawnQueueEvent = false;
 
     public TimeLinePanel(JITWatchUI mainUI)
     {
@@ -60,31 +57,27 @@ public class TimeLinePanel extends AbstractGraphPanel
             selectedMember = mainUI.getSelectedMember();
         }
 
-        List<JITEvent> events = mainUI.getJITDataModel().getEventListCopy();
-        compilationIndex = 0;
+        EventTimeIndex events = mainUI.getJITDataModel().getEventTimeIndex();
 
         if (!events.isEmpty())
         {
-            events.sort(Comparator.comparingLong(JITEvent::getStamp));
+            minX = events.getFirstStamp();
 
-            JITEvent firstEvent = events.get(0);
-            minX = firstEvent.getStamp();
-
-            JITEvent lastEvent = events.get(events.size() - 1);
+            long lastEventStamp = events.getLastStamp();
             Tag endOfLogTag = mainUI.getJITDataModel().getEndOfLogTag();
 
             if (endOfLogTag != null)
             {
                 maxX = getStampFromTag(endOfLogTag);
-                maxX = Math.min(maxX, (long) (lastEvent.getStamp() * 1.1));
+                maxX = Math.min(maxX, (long) (lastEventStamp * 1.1));
             }
             else
             {
-                maxX = lastEvent.getStamp();
+                maxX = lastEventStamp;
             }
 
             minY = 0;
-            calculateMaxCompiles(events);
+            maxY = events.size();
             drawAxes(g2d);
             drawEvents(g2d, events);
             showSelectedMemberLabel(g2d);
@@ -95,45 +88,40 @@ public class TimeLinePanel extends AbstractGraphPanel
         }
     }
 
-    private void calculateMaxCompiles(List<JITEvent> events)
+    private void drawMemberEvents(Graphics2D g2d, EventTimeIndex events, List<Compilation> compilations)
     {
-        maxY = events.size();
-    }
-
-    private void drawMemberEvents(Graphics2D g2d, List<Compilation> compilations, long stamp, double yPos)
-    {
-        if (compilationIndex >= compilations.size())
+        for (Compilation compilation : compilations)
         {
-            return;
-        }
+            if (compilation.isC2N())
+            {
+                continue;
+            }
 
-        Compilation compilation = compilations.get(compilationIndex);
+            Tag tagNMethod = compilation.getTagNMethod();
+            long stamp = compilation.getStampTaskCompilationStart();
 
-        if (!compilation.isC2N())
-        {
-            if (!drawnQueueEvent)
-            {
-                Tag tagTaskQueued = compilation.getTagTaskQueued();
+            // member events are drawn against the task event that started the compilation
+            int cumulativeCount = events.countAtOrBefore(stamp, EventTimeIndex.ALL_LEVELS);
 
-                if (tagTaskQueued != null && compilation.getStampTaskQueued() == stamp)
-                {
-                    drawMemberEvent(g2d, compilation, tagTaskQueued, stamp, yPos);
-                    drawnQueueEvent = true;
-                }
+            if (tagNMethod == null || cumulativeCount == 0)
+            {
+                continue;
             }
 
-            Tag tagNMethod = compilation.getTagNMethod();
+            double yPos = graphGapTop + normaliseY(cumulativeCount);
+
+            Tag tagTaskQueued = compilation.getTagTaskQueued();
 
-            if (tagNMethod != null && compilation.getStampTaskCompilationStart() == stamp)
+            if (tagTaskQueued != null && compilation.getStampTaskQueued() == stamp)
             {
-                drawMemberEvent(g2d, compilation, tagNMethod, stamp, yPos);
-                compilationIndex++;
-                drawnQueueEvent = false;
+                drawMemberEvent(g2d, compilation, tagTaskQueued, yPos);
             }
+
+            drawMemberEvent(g2d, compilation, tagNMethod, yPos);
         }
     }
 
-    private void drawMemberEvent(Graphics2D g2d, Compilation compilation, Tag tag, long stamp, double yPos)
+    private void drawMemberEvent(Graphics2D g2d, Compilation compilation, Tag tag, double yPos)
     {
         long journalEventTime = ParseUtil.getStamp(tag.getAttributes());
 
@@ -162,74 +150,55 @@ public class TimeLinePanel extends AbstractGraphPanel
         g2d.drawString(label, labelX, labelY);
     }
 
-    private void drawEvents(Graphics2D g2d, List<JITEvent> events)
+    private void drawEvents(Graphics2D g2d, EventTimeIndex events)
     {
         Color colourTotal = Color.BLACK;
         float lineWidth = 2.0f;
-        g2d.setStroke(new BasicStroke(lineWidth));
-
-        int cumTotal = 0;
-        double lastCX = graphGapLeft + normaliseX(minX);
-        double lastCY = graphGapTop + normaliseY(0);
 
         showStatsLegend(g2d);
 
-        for (JITEvent event : events)
-        {
-            long stamp = event.getStamp();
-            cumTotal++;
+        drawLevelGraph(g2d, EventTimeIndex.ALL_LEVELS, events, colourTotal, lineWidth);
 
-            double x = graphGapLeft + normaliseX(stamp);
-            double y = graphGapTop + normaliseY(cumTotal);
+        if (selectedMember != null)
+        {
+            List<Compilation> compilations = selectedMember.getCompilations();
 
-            if (selectedMember != null)
+            if (!compilations.isEmpty())
             {
-                List<Compilation> compilations = selectedMember.getCompilations();
-                if (!compilations.isEmpty())
-                {
-                    drawMemberEvents(g2d, compilations, stamp, y);
-                }
+                drawMemberEvents(g2d, events, compilations);
             }
-
-            g2d.setColor(colourTotal);
-            g2d.drawLine((int) lastCX, (int) lastCY, (int) x, (int) y);
-
-            lastCX = x;
-            lastCY = y;
         }
 
-        continueLineToEndOfXAxis(g2d, lastCX, lastCY, colourTotal, lineWidth);
-
         drawLevelGraph(g2d, 1, events, Color.BLUE, lineWidth);
         drawLevelGraph(g2d, 2, events, Color.RED, lineWidth);
         drawLevelGraph(g2d, 3, events, Color.MAGENTA, lineWidth);
         drawLevelGraph(g2d, 4, events, Color.GREEN, lineWidth);
-
     }
 
-    private void drawLevelGraph(Graphics2D g2d, int level, List<JITEvent> events, Color color, float lineWidth)
+    // samples the cumulative count once per pixel column so cost depends on width, not event count
+    private void drawLevelGraph(Graphics2D g2d, int level, EventTimeIndex events, Color color, float lineWidth)
     {
-        int cumLevel = 0;
+        long firstStamp = events.getFirstStamp();
+        long lastStamp = events.getLastStamp();
+
+        double startX = graphGapLeft + normaliseX(firstStamp);
+        double endX = graphGapLeft + normaliseX(lastStamp);
+
+        int buckets = Math.max(1, (int) Math.ceil(endX - startX));
+
+        int[] counts = events.sampleCumulativeCounts(level, firstStamp, lastStamp, buckets);
 
         double lastCX = graphGapLeft + normaliseX(minX);
         double lastCY = graphGapTop + normaliseY(0);
 
+        g2d.setColor(color);
         g2d.setStroke(new BasicStroke(lineWidth));
 
-        for (JITEvent event : events)
+        for (int bucket = 0; bucket < buckets; bucket++)
         {
-            if (event.getLevel() == level)
-            {
-                cumLevel++;
-            }
-
-            long stamp = event.getStamp();
-
-            double x = graphGapLeft + normaliseX(stamp);
-
-            double y = graphGapTop + normaliseY(cumLevel);
+            double x = startX + (endX - startX) * (bucket + 1) / buckets;
+            double y = graphGapTop + normaliseY(counts[bucket]);
 
-            g2d.setColor(color);
             g2d.drawLine((int) lastCX, (int) lastCY, (int) x, (int) y);
 
             lastCX = x;
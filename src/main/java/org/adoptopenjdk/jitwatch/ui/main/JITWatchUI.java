@@ -24,11 +24,15 @@ import org.adoptopenjdk.jitwatch.core.ErrorLog;
 import org.adoptopenjdk.jitwatch.core.IJITListener;
 import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
 import org.adoptopenjdk.jitwatch.core.JITWatchConstants;
+import org.adoptopenjdk.jitwatch.diff.JITDiff;
+import org.adoptopenjdk.jitwatch.diff.JITSnapshot;
+import org.adoptopenjdk.jitwatch.metrics.ParseMetrics;
 import org.adoptopenjdk.jitwatch.model.*;
 import org.adoptopenjdk.jitwatch.parser.ILogParseErrorListener;
 import org.adoptopenjdk.jitwatch.parser.ILogParser;
 import org.adoptopenjdk.jitwatch.parser.ParserFactory;
 import org.adoptopenjdk.jitwatch.parser.ParserType;
+import org.adoptopenjdk.jitwatch.parser.hotspot.CompilerThreadLog;
 import org.adoptopenjdk.jitwatch.report.Report;
 import org.adoptopenjdk.jitwatch.report.comparator.ScoreComparator;
 import org.adoptopenjdk.jitwatch.report.escapeanalysis.eliminatedallocation.EliminatedAllocationWalker;
@@ -36,10 +40,12 @@ import org.adoptopenjdk.jitwatch.report.locks.OptimisedLocksWalker;
 import org.adoptopenjdk.jitwatch.report.suggestion.SuggestionWalker;
 import org.adoptopenjdk.jitwatch.ui.code.*;
 import org.adoptopenjdk.jitwatch.ui.compilechain.CompileChainPanel;
+import org.adoptopenjdk.jitwatch.ui.diff.DiffPanel;
 import org.adoptopenjdk.jitwatch.ui.graphing.CodeCachePanel;
 import org.adoptopenjdk.jitwatch.ui.graphing.HistoPanel;
 import org.adoptopenjdk.jitwatch.ui.graphing.TimeLinePanel;
 import org.adoptopenjdk.jitwatch.ui.log.LogPanel;
+import org.adoptopenjdk.jitwatch.ui.metrics.MetricsPanel;
 import org.adoptopenjdk.jitwatch.ui.nmethod.codecache.CodeCacheLayoutPanel;
 import org.adoptopenjdk.jitwatch.ui.nmethod.compilerthread.CompilerThreadPanel;
 import org.adoptopenjdk.jitwatch.ui.parserchooser.IParserSelectedListener;
@@ -120,10 +126,15 @@ public class JITWatchUI implements IJITListener, ILogParseErrorListener, IStageA
     private Content suggestionReportContent;
     private ReportPanel optimisedLockPanel;
     private Content optimizedLockContent;
+    private DiffPanel diffPanel;
+    private Content diffContent;
 
     private LogPanel logPanel;
     private Content logContent;
 
+    private MetricsPanel metricsPanel;
+    private Content metricsContent;
+
     private JLabel lblVmVersion;
     private JLabel lblHeap;
 
@@ -178,7 +189,14 @@ public class JITWatchUI implements IJITListener, ILogParseErrorListener, IStageA
             {
                 try
                 {
-                    logParser.processLogFile(jitLogFile, JITWatchUI.this);
+                    List<File> compilerThreadLogs = CompilerThreadLog.findCompilerThreadLogs(jitLogFile);
+
+                    if (!compilerThreadLogs.isEmpty())
+                    {
+                        log("Merging " + compilerThreadLogs.size() + " compiler thread logs left by the VM");
+                    }
+
+                    logParser.processLogFile(jitLogFile, compilerThreadLogs, JITWatchUI.this);
                     JitWatchModelService.getInstance(project).setParserResult(logParser);
                     SwingUtilities.invokeLater(() ->
                     {
@@ -203,6 +221,7 @@ public class JITWatchUI implements IJITListener, ILogParseErrorListener, IStageA
     {
         parseStartTime = System.currentTimeMillis();
         isReadingLogFile = true;
+        ParseMetrics.getInstance().reset();
         clear();
 
         SwingUtilities.invokeLater(new Runnable()
@@ -359,6 +378,29 @@ public class JITWatchUI implements IJITListener, ILogParseErrorListener, IStageA
             }
         };
 
+        AnAction diffAction = new AnAction("Compare the JIT behaviour with another log", "Compare Log", AllIcons.Actions.Diff)
+        {
+            @Override
+            public void actionPerformed(@NotNull AnActionEvent e)
+            {
+                SwingUtilities.invokeLater(() ->
+                {
+                    File otherLogFile = chooseLogFile("Choose JIT log file to compare with");
+
+                    if (otherLogFile != null)
+                    {
+                        diffWithLog(otherLogFile);
+                    }
+                });
+            }
+            @Override
+            public void update(@NotNull AnActionEvent e)
+            {
+                Presentation presentation = e.getPresentation();
+                presentation.setEnabled(jitLogFile != null && !isReadingLogFile);
+            }
+        };
+
         AnAction stopAction = new AnAction("Stop loading", "Stop", AllIcons.Actions.Suspend)
         {
             @Override
@@ -388,6 +430,7 @@ public class JITWatchUI implements IJITListener, ILogParseErrorListener, IStageA
         DefaultActionGroup actionGroup = new DefaultActionGroup();
 
         actionGroup.add(openLogAction);
+        actionGroup.add(diffAction);
         actionGroup.add(stopAction);
         actionGroup.add(resetAction);
 
@@ -562,6 +605,10 @@ public class JITWatchUI implements IJITListener, ILogParseErrorListener, IStageA
         logContent = contentManager.getFactory().createContent(logPanel, "Log", false);
         contentManager.addContent(logContent);
 
+        metricsPanel = new MetricsPanel();
+        metricsContent = contentManager.getFactory().createContent(metricsPanel, "Metrics", false);
+        contentManager.addContent(metricsContent);
+
         int refreshMillis = 1000;
 
         Timer timer = new Timer(refreshMillis, new ActionListener()
@@ -725,13 +772,13 @@ public class JITWatchUI implements IJITListener, ILogParseErrorListener, IStageA
          */
     }
 
-    private boolean chooseJITLog(Project project)
+    private File chooseLogFile(String title)
     {
         JFileChooser fileChooser = new JFileChooser();
-        fileChooser.setDialogTitle("Choose JIT log file");
+        fileChooser.setDialogTitle(title);
         fileChooser.setFileSelectionMode(JFileChooser.FILES_ONLY);
-        fileChooser.setAcceptAllFileFilterUsed(false);
-        fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("Log Files", "log"));
+        // compressed logs are detected by content, any name can be picked through the accept all filter
+        fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("Log Files", "log", "gz", "zst", "xz"));
 
         String searchDir = getConfig().getLastLogDir();
         if (searchDir == null)
@@ -741,10 +788,21 @@ public class JITWatchUI implements IJITListener, ILogParseErrorListener, IStageA
 
         fileChooser.setCurrentDirectory(new File(searchDir));
 
+        File result = null;
+
         int returnValue = fileChooser.showOpenDialog(mainPanel);
         if (returnValue == JFileChooser.APPROVE_OPTION)
         {
-            File selectedFile = fileChooser.getSelectedFile();
+            result = fileChooser.getSelectedFile();
+        }
+        return result;
+    }
+
+    private boolean chooseJITLog(Project project)
+    {
+        File selectedFile = chooseLogFile("Choose JIT log file");
+        if (selectedFile != null)
+        {
             setJITLogFile(selectedFile);
 
             JITWatchConfig config = getConfig();
@@ -776,6 +834,77 @@ public class JITWatchUI implements IJITListener, ILogParseErrorListener, IStageA
         refreshLog();
     }
 
+    // the loaded log is the base, the other log is parsed with its own parser and dropped
+    // once its snapshot is taken
+    private void diffWithLog(File otherLogFile)
+    {
+        ParserType parserType = (ParserType) parserChooser.getCombo().getSelectedItem();
+
+        if (diffContent != null)
+        {
+            contentManager.removeContent(diffContent, true);
+        }
+
+        diffPanel = new DiffPanel(jitLogFile.getName(), otherLogFile.getName());
+        diffContent = contentManager.getFactory().createContent(diffPanel, diffPanel.getTitle(), false);
+        contentManager.addContent(diffContent, 1);
+        contentManager.setSelectedContent(diffContent);
+
+        DiffPanel panel = diffPanel;
+
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "Comparing with " + otherLogFile.getName(), false)
+        {
+            @Override
+            public void run(@NotNull ProgressIndicator indicator)
+            {
+                try
+                {
+                    JITSnapshot base = JITSnapshot.build(logParser.getModel());
+
+                    ILogParser otherParser = ParserFactory.getParser(parserType, new IJITListener()
+                    {
+                        @Override
+                        public void handleJITEvent(JITEvent event)
+                        {
+                        }
+
+                        @Override
+                        public void handleLogEntry(String entry)
+                        {
+                            log(entry);
+                        }
+
+                        @Override
+                        public void handleErrorEntry(String entry)
+                        {
+                            log(entry);
+                        }
+
+                        @Override
+                        public void handleReadStart()
+                        {
+                        }
+
+                        @Override
+                        public void handleReadComplete()
+                        {
+                        }
+                    });
+
+                    otherParser.setConfig(getConfig());
+
+                    JITSnapshot changed = JITDiff.snapshotLog(otherParser, otherLogFile, JITWatchUI.this);
+
+                    JITDiff.compare(base, changed, panel);
+                }
+                catch (IOException ioe)
+                {
+                    log("Exception during log comparison: " + ioe.toString());
+                }
+            }
+        });
+    }
+
     private void stopParsing()
     {
         if (isReadingLogFile)
@@ -929,6 +1058,11 @@ public class JITWatchUI implements IJITListener, ILogParseErrorListener, IStageA
             refreshLog();
         }
 
+        if (metricsPanel.isShowing())
+        {
+            metricsPanel.refresh(logParser != null ? logParser.getModel() : null);
+        }
+
         long totalMemory = Runtime.getRuntime().totalMemory();
         long freeMemory = Runtime.getRuntime().freeMemory();
         long usedMemory = totalMemory - freeMemory;
@@ -1109,6 +1243,12 @@ public class JITWatchUI implements IJITListener, ILogParseErrorListener, IStageA
 
     private void closeAllTabs()
     {
+        if (diffContent != null)
+        {
+            contentManager.removeContent(diffContent, true);
+            diffPanel = null;
+            diffContent = null;
+        }
         if (topListContent != null)
         {
             contentManager.removeContent(topListContent, true);
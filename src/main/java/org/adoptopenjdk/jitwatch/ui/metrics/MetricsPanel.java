@@ -0,0 +1,58 @@
+package org.adoptopenjdk.jitwatch.ui.metrics;
+
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.components.JBTextArea;
+import org.adoptopenjdk.jitwatch.metrics.ParseMetrics;
+import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
+
+import javax.swing.*;
+import java.awt.*;
+
+public class MetricsPanel extends JPanel
+{
+    private JBTextArea textAreaMetrics;
+
+    private IReadOnlyJITDataModel model;
+
+    private String lastReport = "";
+
+    public MetricsPanel()
+    {
+        setLayout(new BorderLayout());
+
+        textAreaMetrics = new JBTextArea();
+        textAreaMetrics.setEditable(false);
+        textAreaMetrics.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        add(new JBScrollPane(textAreaMetrics), BorderLayout.CENTER);
+
+        JButton btnReset = new JButton("Reset");
+        btnReset.addActionListener(e ->
+        {
+            ParseMetrics.getInstance().reset();
+            refresh(model);
+        });
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        buttonPanel.add(btnReset);
+        add(buttonPanel, BorderLayout.NORTH);
+    }
+
+    public void refresh(IReadOnlyJITDataModel model)
+    {
+        this.model = model;
+
+        String report = ParseMetrics.getInstance().getReport();
+
+        if (model != null)
+        {
+            report += "\n" + model.getFootprint().getReport();
+        }
+
+        if (!report.equals(lastReport))
+        {
+            lastReport = report;
+            textAreaMetrics.setText(report);
+            textAreaMetrics.setCaretPosition(0);
+        }
+    }
+}
@@ -282,8 +282,6 @@ public class CodeCacheLayoutPanel extends AbstractNMethodPanel
             return;
         }
 
-        // TimerUtil.timerStart(getClass().getName() + ".redraw()");
-
         IMetaMember selectedMember = parent.getSelectedMember();
 
         if (selectedMember == null)
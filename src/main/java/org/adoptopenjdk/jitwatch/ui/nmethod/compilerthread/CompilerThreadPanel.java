@@ -7,7 +7,9 @@ package org.adoptopenjdk.jitwatch.ui.nmethod.compilerthread;
 
 import org.adoptopenjdk.jitwatch.model.Compilation;
 import org.adoptopenjdk.jitwatch.model.CompilerThread;
+import org.adoptopenjdk.jitwatch.model.CompilerThreadTimeIndex;
 import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.MinMaxTimeSeries;
 import org.adoptopenjdk.jitwatch.ui.main.JITWatchUI;
 import org.adoptopenjdk.jitwatch.ui.nmethod.AbstractNMethodPanel;
 
@@ -15,9 +17,6 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.LinkedList;
 import java.util.List;
 
 public class CompilerThreadPanel extends AbstractNMethodPanel
@@ -36,6 +35,9 @@ public class CompilerThreadPanel extends AbstractNMethodPanel
     private double paneWidth;
     private double paneHeight;
 
+    private double visibleFromX;
+    private double visibleToX;
+
     private JPanel contextualControls;
     private JCheckBox cbOnlyFailures;
     private boolean showOnlyFailedCompiles = false;
@@ -45,35 +47,6 @@ public class CompilerThreadPanel extends AbstractNMethodPanel
         NATIVE_SIZE, BYTECODE_SIZE, EXPANSIONS, TIMINGS, QUEUE_LENGTH
     }
 
-    private class QueueCounter
-    {
-        private long timestamp;
-        private boolean add;
-        private Compilation compilation;
-
-        public QueueCounter(long timestamp, boolean add, Compilation compilation)
-        {
-            this.timestamp = timestamp;
-            this.add = add;
-            this.compilation = compilation;
-        }
-
-        public long getTimestamp()
-        {
-            return timestamp;
-        }
-
-        public boolean isAdd()
-        {
-            return add;
-        }
-
-        public Compilation getCompilation()
-        {
-            return compilation;
-        }
-    }
-
     private PlotMode plotMode = PlotMode.NATIVE_SIZE;
 
     public CompilerThreadPanel(JITWatchUI parent)
@@ -102,27 +75,31 @@ public class CompilerThreadPanel extends AbstractNMethodPanel
 
         int compilerThreadCount = threads.size();
 
+        maxQueueLength = 0;
+
         for (int i = 0; i < compilerThreadCount; i++)
         {
-            CompilerThread thread = threads.get(i);
+            CompilerThreadTimeIndex index = threads.get(i).getTimeIndex();
 
-            long earliestQueuedTime = thread.getEarliestQueuedTime();
-            long latestEmittedTime = thread.getLatestNMethodEmittedTime();
+            long earliestQueuedTime = index.getEarliestQueuedTime();
+            long latestEmittedTime = index.getLatestNMethodEmittedTime();
 
             if (i == 0)
             {
                 minTime = earliestQueuedTime;
                 maxTime = latestEmittedTime;
-                maxNativeSize = thread.getLargestNativeSize();
-                maxBytecodeSize = thread.getLargestBytecodeSize();
+                maxNativeSize = index.getLargestNativeSize();
+                maxBytecodeSize = index.getLargestBytecodeSize();
             }
             else
             {
                 minTime = Math.min(minTime, earliestQueuedTime);
                 maxTime = Math.max(maxTime, latestEmittedTime);
-                maxNativeSize = Math.max(maxNativeSize, thread.getLargestNativeSize());
-                maxBytecodeSize = Math.max(maxBytecodeSize, thread.getLargestBytecodeSize());
+                maxNativeSize = Math.max(maxNativeSize, index.getLargestNativeSize());
+                maxBytecodeSize = Math.max(maxBytecodeSize, index.getLargestBytecodeSize());
             }
+
+            maxQueueLength = Math.max(maxQueueLength, index.getMaxQueueLength());
         }
     }
 
@@ -231,10 +208,13 @@ public class CompilerThreadPanel extends AbstractNMethodPanel
         }
 
         double rowHeight = paneHeight / threads.size();
-        maxQueueLength = 0;
         double usableHeight = rowHeight * 0.9;
         double y = rowHeight / 2;
 
+        Rectangle visible = pane.getVisibleRect();
+        visibleFromX = visible.getMinX();
+        visibleToX = visible.getMaxX();
+
         for (CompilerThread thread : threads)
         {
             g.setColor(new Color(32, 32, 32));
@@ -257,7 +237,8 @@ public class CompilerThreadPanel extends AbstractNMethodPanel
     {
         IMetaMember selectedMember = parent.getSelectedMember();
         Compilation selectedCompilation = (selectedMember == null) ? null : selectedMember.getSelectedCompilation();
-        List<Compilation> compilations = thread.getCompilations();
+
+        CompilerThreadTimeIndex index = thread.getTimeIndex();
 
         plotThreadHeader(g, thread, y, rowHeight);
 
@@ -266,8 +247,13 @@ public class CompilerThreadPanel extends AbstractNMethodPanel
 
         Graphics2D g2d = (Graphics2D) g;
 
-        for (Compilation compilation : compilations)
+        int from = index.getFirstIndexInRange(getTimestampForX(visibleFromX));
+        int to = index.getEndIndexInRange(getTimestampForX(visibleToX));
+
+        for (int i = from; i < to; i++)
         {
+            Compilation compilation = index.getCompilation(i);
+
             if (selectedMember != null && selectedMember.equals(compilation.getMember()))
             {
                 if (compilation.equals(selectedCompilation))
@@ -317,126 +303,97 @@ public class CompilerThreadPanel extends AbstractNMethodPanel
         }
     }
 
+    // The queue is drawn as one min/max column per visible pixel from the precomputed
+    // queue length series. Only the selected member's queue entries are drawn individually
+    // but every queued compilation in view can be clicked.
     private void plotQueueLengths(Graphics2D g, CompilerThread thread, double y, double rowHeight)
     {
-        List<QueueCounter> counters = getQueueCounters(thread);
+        CompilerThreadTimeIndex index = thread.getTimeIndex();
+        MinMaxTimeSeries queueLengths = index.getQueueLengths();
 
-        long lastTimestamp = -1;
         plotThreadHeader(g, thread, y, rowHeight);  // Draw thread header
 
-        List<Compilation> liveQueue = new LinkedList<>();
         double oneHeight = (1.0 / maxQueueLength) * rowHeight;
         oneHeight = Math.min(oneHeight, rowHeight / 20);
 
-        IMetaMember selectedMember = parent.getSelectedMember();
-        Compilation selectedCompilation = (selectedMember == null) ? null : selectedMember.getSelectedCompilation();
+        double baseLine = y + rowHeight / 2;
 
-        int stringHeight = g.getFontMetrics().getHeight();
+        int fromX = (int) Math.max(Math.floor(visibleFromX), getXOffset());
+        int toX = (int) Math.ceil(visibleToX);
+        int columns = toX - fromX;
 
-        for (QueueCounter counter : counters)
+        if (columns > 0 && !queueLengths.isEmpty())
         {
-            long timestamp = counter.getTimestamp();
-            int queueLength = liveQueue.size();
+            int[] minLengths = new int[columns];
+            int[] maxLengths = new int[columns];
 
-            if (lastTimestamp != -1)
-            {
-                double x1 = getScaledTimestampX(lastTimestamp);
-                double x2 = getScaledTimestampX(timestamp);
-                double baseLine = y + rowHeight / 2;
+            queueLengths.aggregate(getTimestampForX(fromX), getTimestampForX(toX), columns, minLengths, maxLengths);
 
-                boolean compilationMemberInQueue = false;
+            for (int column = 0; column < columns; column++)
+            {
+                int maxLength = maxLengths[column];
 
-                for (int i = 0; i < queueLength; i++)
+                if (maxLength > 0)
                 {
-                    Compilation compilation = liveQueue.get(i);
-                    double startY = baseLine - (i + 1) * oneHeight;
-                    double rectWidth = x2 - x1;
+                    int ix = fromX + column;
+                    int iy = (int) Math.round(baseLine - maxLength * oneHeight);
 
+                    // solid up to the minimum, outline up to the maximum
                     g.setColor(Color.WHITE);
-                    if (compilation.getMember().equals(selectedMember))
-                    {
-                        g.setColor(new Color(0, 220, 255));  // COLOR_SELECTED_COMPILATION
-                        compilationMemberInQueue = true;
-                    }
-
-                    int ix = (int) Math.round(x1);
-                    int iy = (int) Math.round(startY);
-                    int iw = (int) Math.ceil(rectWidth);
-                    int ih = (int) Math.round(oneHeight);
-
-                    g.fillRect(ix, iy, iw, ih);
+                    g.drawLine(ix, (int) Math.round(baseLine - minLengths[column] * oneHeight), ix, (int) Math.round(baseLine));
+                    g.setColor(Color.LIGHT_GRAY);
+                    g.drawLine(ix, iy, ix, (int) Math.round(baseLine - minLengths[column] * oneHeight));
+                }
+            }
+        }
 
-                    //if (rectWidth > 4)
-                    {
-                        g.drawRect(ix, iy, iw, ih);
-                    }
+        IMetaMember selectedMember = parent.getSelectedMember();
+        Compilation selectedCompilation = (selectedMember == null) ? null : selectedMember.getSelectedCompilation();
 
-                    addMouseListenerForCompilation(ix, iy, iw, ih, compilation);
-                }
+        int from = index.getFirstIndexInRange(getTimestampForX(visibleFromX));
+        int to = index.getEndIndexInRange(getTimestampForX(visibleToX));
 
-                float labelX = (float) getXOffset() + 4;
-                float labelY = (float) (baseLine - rowHeight + stringHeight / 2 + 4);
-                String label = String.valueOf(maxQueueLength);
+        for (int i = from; i < to; i++)
+        {
+            Compilation compilation = index.getCompilation(i);
 
-                FontMetrics fm = g.getFontMetrics();
-                int textWidth = fm.stringWidth(label);
-                int textHeight = fm.getAscent();
+            double x1 = getScaledTimestampX(compilation.getStampTaskQueued());
+            double x2 = getScaledTimestampX(compilation.getStampTaskCompilationStart());
 
-                g.setColor(Color.BLACK);
-                g.fillRect(Math.round(labelX), Math.round(labelY - textHeight), textWidth, textHeight);
-                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                g.setColor(Color.YELLOW);
-                g.drawString(label, labelX, labelY);
-                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+            int position = Math.max(1, queueLengths.getValueAt(compilation.getStampTaskQueued()));
 
-                if (compilationMemberInQueue)
-                {
-                    plotMarker(g, x1, y - rowHeight / 2, selectedCompilation, true);
-                }
-            }
+            int ix = (int) Math.round(x1);
+            int iy = (int) Math.round(baseLine - position * oneHeight);
+            int iw = (int) Math.ceil(x2 - x1);
+            int ih = (int) Math.round(oneHeight);
 
-            Compilation compilation = counter.getCompilation();
-            if (counter.isAdd())
-            {
-                liveQueue.add(compilation);
-            }
-            else
+            if (selectedMember != null && selectedMember.equals(compilation.getMember()))
             {
-                liveQueue.remove(compilation);
-            }
-
-            lastTimestamp = timestamp;
-        }
-    }
+                g.setColor(new Color(0, 220, 255));  // COLOR_SELECTED_COMPILATION
+                g.fillRect(ix, iy, iw, ih);
 
-    private List<QueueCounter> getQueueCounters(CompilerThread thread)
-    {
-        List<QueueCounter> result = new ArrayList<>();
+                plotMarker(g, x1, y - rowHeight / 2, selectedCompilation, true);
+            }
 
-        for (Compilation compilation : thread.getCompilations())
-        {
-            result.add(new QueueCounter(compilation.getStampTaskQueued(), true, compilation));
-            result.add(new QueueCounter(compilation.getStampTaskCompilationStart(), false, compilation));
+            addMouseListenerForCompilation(ix, iy, iw, ih, compilation);
         }
 
-        result.sort(Comparator.comparingLong(QueueCounter::getTimestamp));
+        int stringHeight = g.getFontMetrics().getHeight();
 
-        int tempQueueLength = 0;
+        float labelX = (float) getXOffset() + 4;
+        float labelY = (float) (baseLine - rowHeight + stringHeight / 2 + 4);
+        String label = String.valueOf(maxQueueLength);
 
-        for (QueueCounter counter : result)
-        {
-            if (counter.isAdd())
-            {
-                tempQueueLength++;
-            }
-            else
-            {
-                tempQueueLength--;
-            }
-            maxQueueLength = Math.max(tempQueueLength, maxQueueLength);
-        }
+        FontMetrics fm = g.getFontMetrics();
+        int textWidth = fm.stringWidth(label);
+        int textHeight = fm.getAscent();
 
-        return result;
+        g.setColor(Color.BLACK);
+        g.fillRect(Math.round(labelX), Math.round(labelY - textHeight), textWidth, textHeight);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setColor(Color.YELLOW);
+        g.drawString(label, labelX, labelY);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
     }
 
     private void plotThreadHeader(Graphics g, CompilerThread thread, double y, double rowHeight)
@@ -471,6 +428,11 @@ public class CompilerThreadPanel extends AbstractNMethodPanel
         return getXOffset() + ((timestamp - minTime) / (double) timeRange) * panePlotWidth;
     }
 
+    private long getTimestampForX(double x)
+    {
+        return minTime + (long) (((x - getXOffset()) / panePlotWidth) * timeRange);
+    }
+
     private String getCompilerThreadName(CompilerThread thread)
     {
         String threadName = thread.getThreadName();
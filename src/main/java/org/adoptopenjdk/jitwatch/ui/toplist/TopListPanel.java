@@ -27,6 +27,9 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.*;
 public class TopListPanel extends JPanel
 {
     private static final String MEMBER = "Member";
+
+    // the table only shows the head of each list so don't collect or sort the rest
+    private static final int TOP_LIST_SIZE = 1000;
     private DefaultTableModel tableModel;
     private JBTable tableView;
     private TopListWrapper topListWrapper;
@@ -60,14 +63,20 @@ public class TopListPanel extends JPanel
                 new AbstractTopListVisitable(model, false)
                 {
                     @Override
-                    public void visit(IMetaMember mm)
+                    protected boolean isPartitionable()
+                    {
+                        return true;
+                    }
+
+                    @Override
+                    protected void scoreMember(IMetaMember mm, TopListCollector collector)
                     {
                         String compileID = mm.getCompiledAttribute(ATTR_COMPILE_ID);
                         String compileKind = mm.getCompiledAttribute(ATTR_COMPILE_KIND);
                         if (compileID != null && (compileKind == null || !OSR.equals(compileKind)))
                         {
-                            long value = Long.valueOf(mm.getCompiledAttribute(ATTR_COMPILE_ID));
-                            topList.add(new MemberScore(mm, value));
+                            long value = Long.valueOf(compileID);
+                            collector.add(new MemberScore(mm, value));
                         }
                     }
                 }, new String[]{"Order", MEMBER, "_"});
@@ -76,14 +85,20 @@ public class TopListPanel extends JPanel
                 new AbstractTopListVisitable(model, false)
                 {
                     @Override
-                    public void visit(IMetaMember mm)
+                    protected boolean isPartitionable()
+                    {
+                        return true;
+                    }
+
+                    @Override
+                    protected void scoreMember(IMetaMember mm, TopListCollector collector)
                     {
                         String compileID = mm.getCompiledAttribute(ATTR_COMPILE_ID);
                         String compileKind = mm.getCompiledAttribute(ATTR_COMPILE_KIND);
                         if (compileID != null && compileKind != null && OSR.equals(compileKind))
                         {
-                            long value = Long.valueOf(mm.getCompiledAttribute(ATTR_COMPILE_ID));
-                            topList.add(new MemberScore(mm, value));
+                            long value = Long.valueOf(compileID);
+                            collector.add(new MemberScore(mm, value));
                         }
                     }
                 }, new String[] { "Order", MEMBER, "_" });
@@ -104,6 +119,11 @@ public class TopListPanel extends JPanel
         attrMap.put(tlCompilationOrderOSR.getTitle(), tlCompilationOrderOSR);
         attrMap.put(tlStaleTasks.getTitle(), tlStaleTasks);
 
+        for (TopListWrapper wrapper : attrMap.values())
+        {
+            wrapper.getVisitable().setMaxSize(TOP_LIST_SIZE);
+        }
+
         List<String> keyList = new ArrayList<>(attrMap.keySet());
         Collections.sort(keyList);  // Sort the list alphabetically
 
@@ -1,57 +1,44 @@
 package org.adoptopenjdk.jitwatch.util;
 
-import org.adoptopenjdk.jitwatch.logger.ILoggerBackend;
+import org.adoptopenjdk.jitwatch.logger.AsyncLoggerBackend;
 import org.adoptopenjdk.jitwatch.logger.Logger;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
-
-public class IntelliJLoggerBackend implements ILoggerBackend
+public class IntelliJLoggerBackend extends AsyncLoggerBackend
 {
     private static final com.intellij.openapi.diagnostic.Logger LOG = com.intellij.openapi.diagnostic.Logger.getInstance("JitWatch4i");
 
+    private final StringBuilder lineBuilder = new StringBuilder(256);
+
     @Override
-    public void writeLog(Class<?> clazz, Logger.Level level, String message, Throwable throwable, Object... args)
+    protected boolean isEnabled(Logger.Level level)
     {
         switch (level)
         {
             case DEBUG:
-                if (!LOG.isDebugEnabled())
-                {
-                    return;
-                }
-                break;
+                return LOG.isDebugEnabled();
             case TRACE:
-                if (!LOG.isTraceEnabled())
-                {
-                    return;
-                }
-                break;
-        }
-
-        String messageWithArgs = message;
-        for (Object arg : args)
-        {
-            int index = messageWithArgs.indexOf("{}");
-            if (index >= 0)
-            {
-                messageWithArgs = messageWithArgs.substring(0, index) + arg + messageWithArgs.substring(index + 2);
-            }
+                return LOG.isTraceEnabled();
+            default:
+                return true;
         }
+    }
 
-        StringBuffer stringBuffer = new StringBuffer();
-        stringBuffer.append("(");
-        stringBuffer.append(clazz.getName());
-        stringBuffer.append(") - ");
-        stringBuffer.append(messageWithArgs);
+    @Override
+    protected void publish(long timestamp, Class<?> clazz, Logger.Level level, String message, Throwable throwable)
+    {
+        lineBuilder.setLength(0);
+        lineBuilder.append("(");
+        lineBuilder.append(clazz.getName());
+        lineBuilder.append(") - ");
+        lineBuilder.append(message);
 
         if (throwable != null)
         {
-            stringBuffer.append("\n");
-            stringBuffer.append(formatErrorTrace(throwable));
+            lineBuilder.append("\n");
+            lineBuilder.append(formatErrorTrace(throwable));
         }
 
-        String msg = stringBuffer.toString();
+        String msg = lineBuilder.toString();
 
         if (throwable != null)
         {
@@ -98,11 +85,4 @@ public class IntelliJLoggerBackend implements ILoggerBackend
             }
         }
     }
-
-    private String formatErrorTrace(Throwable throwable)
-    {
-        StringWriter errors = new StringWriter();
-        throwable.printStackTrace(new PrintWriter(errors));
-        return errors.toString();
-    }
 }